@@ -0,0 +1,42 @@
+package com.github.dieterdepaepe.jsearch.benchmark;
+
+import com.github.dieterdepaepe.jsearch.datastructure.collection.DroppingTreeSet;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks offering elements to a {@link DroppingTreeSet}, as done when selecting the best nodes in beam search.
+ * @author Dieter De Paepe
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DroppingTreeSetBenchmark {
+    private static final int ELEMENTS_OFFERED = 100000;
+
+    @Param({"10", "1000"})
+    private int maximumSize;
+
+    private Integer[] elements;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(0);
+        elements = new Integer[ELEMENTS_OFFERED];
+        for (int i = 0; i < ELEMENTS_OFFERED; i++)
+            elements[i] = random.nextInt();
+    }
+
+    @Benchmark
+    public DroppingTreeSet<Integer> offer() {
+        DroppingTreeSet<Integer> set = new DroppingTreeSet<>(maximumSize, DroppingTreeSet.Conserve.LOWEST);
+        for (Integer element : elements)
+            set.offer(element);
+        return set;
+    }
+}
@@ -0,0 +1,100 @@
+package com.github.dieterdepaepe.jsearch.benchmark;
+
+import com.github.dieterdepaepe.jsearch.datastructure.priority.*;
+import com.google.common.collect.Ordering;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the basic operations of the {@link PriorityQueue} implementations. Each benchmark fills a new queue,
+ * so the cost of {@code deleteMinimum} and {@code decreaseKey} is found by subtracting the {@code insert} score.
+ * @author Dieter De Paepe
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PriorityQueueBenchmark {
+    @Param({"FIBONACCI", "DARY", "RADIX"})
+    private QueueType queueType;
+
+    @Param({"1000", "100000"})
+    private int size;
+
+    private Long[] keys;
+    private Long[] decreasedKeys;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(0);
+        keys = new Long[size];
+        decreasedKeys = new Long[size];
+        for (int i = 0; i < size; i++) {
+            long key = random.nextInt(Integer.MAX_VALUE);
+            keys[i] = key;
+            decreasedKeys[i] = key / 2;
+        }
+    }
+
+    @Benchmark
+    public PriorityQueue<Long, Integer> insert() {
+        PriorityQueue<Long, Integer> queue = queueType.create();
+        for (int i = 0; i < size; i++)
+            queue.insert(keys[i], i);
+        return queue;
+    }
+
+    @Benchmark
+    public long insertAndDeleteMinimum() {
+        PriorityQueue<Long, Integer> queue = queueType.create();
+        for (int i = 0; i < size; i++)
+            queue.insert(keys[i], i);
+
+        long sum = 0;
+        while (!queue.isEmpty())
+            sum += queue.deleteMinimum().getValue();
+        return sum;
+    }
+
+    @Benchmark
+    public PriorityQueue<Long, Integer> insertAndDecreaseKey() {
+        PriorityQueue<Long, Integer> queue = queueType.create();
+        @SuppressWarnings("unchecked")
+        PriorityQueueEntry<Long, Integer>[] entries = new PriorityQueueEntry[size];
+        for (int i = 0; i < size; i++)
+            entries[i] = queue.insert(keys[i], i);
+        for (int i = 0; i < size; i++)
+            queue.decreaseKey(entries[i], decreasedKeys[i]);
+        return queue;
+    }
+
+    /**
+     * The benchmarked priority queue implementations.
+     */
+    public enum QueueType {
+        FIBONACCI {
+            @Override
+            PriorityQueue<Long, Integer> create() {
+                return FibonacciHeap.create();
+            }
+        },
+        DARY {
+            @Override
+            PriorityQueue<Long, Integer> create() {
+                return DaryHeap.create(Ordering.<Long>natural());
+            }
+        },
+        RADIX {
+            @Override
+            PriorityQueue<Long, Integer> create() {
+                return RadixHeap.create();
+            }
+        };
+
+        abstract PriorityQueue<Long, Integer> create();
+    }
+}
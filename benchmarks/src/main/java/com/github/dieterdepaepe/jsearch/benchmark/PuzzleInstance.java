@@ -0,0 +1,68 @@
+package com.github.dieterdepaepe.jsearch.benchmark;
+
+import com.github.dieterdepaepe.jsearch.problem.npuzzle.Move;
+import com.github.dieterdepaepe.jsearch.problem.npuzzle.PuzzleFields;
+import com.github.dieterdepaepe.jsearch.problem.npuzzle.SlidingPuzzle;
+
+import java.util.Random;
+
+/**
+ * Graded sliding puzzle instances used by the solver benchmarks. Each instance is created by applying a fixed
+ * sequence of random moves to the solved puzzle, so an instance is identical between benchmark runs.
+ * @author Dieter De Paepe
+ */
+public enum PuzzleInstance {
+    /** An 8-puzzle with an optimal solution of 14 moves. */
+    EASY(3, 16, 0),
+    /** An 8-puzzle with an optimal solution of 18 moves. */
+    MEDIUM(3, 30, 3),
+    /** An 8-puzzle with an optimal solution of 22 moves. */
+    HARD(3, 30, 9),
+    /** A 24-puzzle with an optimal solution of 30 moves. */
+    LARGE_EASY(5, 40, 0),
+    /** A 24-puzzle with an optimal solution of 42 moves. */
+    LARGE_MEDIUM(5, 60, 0);
+
+    private final int dimension;
+    private final int scrambleMoves;
+    private final long seed;
+
+    PuzzleInstance(int dimension, int scrambleMoves, long seed) {
+        this.dimension = dimension;
+        this.scrambleMoves = scrambleMoves;
+        this.seed = seed;
+    }
+
+    /**
+     * Creates the puzzle of this instance.
+     * @return a new puzzle
+     */
+    public SlidingPuzzle createPuzzle() {
+        return new SlidingPuzzle(dimension);
+    }
+
+    /**
+     * Creates the start state of this instance, the target state is {@link SlidingPuzzle#createFields()}.
+     * @param puzzle a puzzle created by {@link #createPuzzle()}
+     * @return the scrambled puzzle state
+     */
+    public PuzzleFields createStartState(SlidingPuzzle puzzle) {
+        Random random = new Random(seed);
+        PuzzleFields fields = puzzle.createFields();
+        Move previousMove = null;
+        int movesDone = 0;
+        while (movesDone < scrambleMoves) {
+            Move move = Move.values()[random.nextInt(Move.values().length)];
+            // Skip moves that would undo the previous move or that have no effect
+            if (previousMove != null && move == Move.inverse(previousMove))
+                continue;
+            PuzzleFields movedFields = puzzle.move(fields, move);
+            if (movedFields == fields)
+                continue;
+            fields = movedFields;
+            previousMove = move;
+            movesDone++;
+        }
+        return fields;
+    }
+}
@@ -0,0 +1,73 @@
+package com.github.dieterdepaepe.jsearch.benchmark;
+
+import com.github.dieterdepaepe.jsearch.problem.npuzzle.*;
+import com.github.dieterdepaepe.jsearch.search.constructive.Cost;
+import com.github.dieterdepaepe.jsearch.search.constructive.Heuristic;
+import com.github.dieterdepaepe.jsearch.search.constructive.Solution;
+import com.github.dieterdepaepe.jsearch.search.constructive.Solver;
+import com.github.dieterdepaepe.jsearch.search.constructive.Solvers;
+import com.github.dieterdepaepe.jsearch.search.constructive.cost.IntegerCost;
+import com.github.dieterdepaepe.jsearch.search.constructive.solver.idastar.IDAStarSolver;
+import com.github.dieterdepaepe.jsearch.search.constructive.solver.idastar.ParallelIDAStarSolver;
+import com.github.dieterdepaepe.jsearch.search.constructive.solver.smastar.SMAStarSolver;
+import com.github.dieterdepaepe.jsearch.search.constructive.util.BasicManager;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the time needed by the memory-bounded {@link Solver}s to solve a 24-puzzle {@link PuzzleInstance}. These
+ * instances have a search space that is too large for the solvers that keep all generated nodes in memory.
+ * @author Dieter De Paepe
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ScalingBenchmark {
+    @Param({"LARGE_EASY", "LARGE_MEDIUM"})
+    private PuzzleInstance instance;
+
+    private PuzzleEnvironment environment;
+    private PuzzleSearchNodeGenerator generator;
+    private PuzzleSearchNode startNode;
+    private Cost unbounded;
+
+    @Setup
+    public void setUp() {
+        SlidingPuzzle puzzle = instance.createPuzzle();
+        environment = new PuzzleEnvironment(puzzle, puzzle.createFields());
+        generator = new PuzzleSearchNodeGenerator();
+        startNode = generator.createStartState(instance.createStartState(puzzle), environment);
+        unbounded = IntegerCost.valueOf(Integer.MAX_VALUE);
+    }
+
+    @Benchmark
+    public Solution<? extends PuzzleSearchNode> idaStar() {
+        return solve(new IDAStarSolver(), new ManhattanDistance());
+    }
+
+    @Benchmark
+    public Solution<? extends PuzzleSearchNode> idaStarLinearConflict() {
+        return solve(new IDAStarSolver(), new LinearConflict());
+    }
+
+    @Benchmark
+    public Solution<? extends PuzzleSearchNode> parallelIdaStarLinearConflict() {
+        return solve(new ParallelIDAStarSolver(), new LinearConflict());
+    }
+
+    @Benchmark
+    public Solution<? extends PuzzleSearchNode> smaStar() {
+        return solve(new SMAStarSolver(100000), new ManhattanDistance());
+    }
+
+    private Solution<? extends PuzzleSearchNode> solve(Solver<? super PuzzleSearchNode, ? super PuzzleEnvironment> solver,
+                                                       Heuristic<? super PuzzleSearchNode, ? super PuzzleEnvironment> heuristic) {
+        BasicManager<PuzzleSearchNode> manager = new BasicManager<>(unbounded);
+        Solvers.solve(solver, manager, generator, heuristic, environment, startNode);
+        return manager.getSolution();
+    }
+}
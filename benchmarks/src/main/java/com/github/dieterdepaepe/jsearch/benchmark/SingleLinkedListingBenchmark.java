@@ -0,0 +1,54 @@
+package com.github.dieterdepaepe.jsearch.benchmark;
+
+import com.github.dieterdepaepe.jsearch.datastructure.lightweight.SingleLinkedListing;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the operations of {@link SingleLinkedListing} used to track the path to a search node.
+ * @author Dieter De Paepe
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SingleLinkedListingBenchmark {
+    @Param({"10", "100"})
+    private int length;
+
+    private SingleLinkedListing<Integer> listing;
+    private SingleLinkedListing<Integer> equalListing;
+
+    @Setup
+    public void setUp() {
+        listing = extend();
+        equalListing = extend();
+    }
+
+    @Benchmark
+    public SingleLinkedListing<Integer> extend() {
+        SingleLinkedListing<Integer> result = SingleLinkedListing.of();
+        for (int i = 0; i < length; i++)
+            result = result.extend(i);
+        return result;
+    }
+
+    @Benchmark
+    public List<Integer> toList() {
+        return listing.toList();
+    }
+
+    @Benchmark
+    public int hashCodeOfListing() {
+        return listing.hashCode();
+    }
+
+    @Benchmark
+    public boolean equalsOfListing() {
+        return listing.equals(equalListing);
+    }
+}
@@ -0,0 +1,169 @@
+package com.github.dieterdepaepe.jsearch.benchmark;
+
+import com.github.dieterdepaepe.jsearch.problem.npuzzle.*;
+import com.github.dieterdepaepe.jsearch.search.constructive.Cost;
+import com.github.dieterdepaepe.jsearch.search.constructive.Solution;
+import com.github.dieterdepaepe.jsearch.search.constructive.Solver;
+import com.github.dieterdepaepe.jsearch.search.constructive.Solvers;
+import com.github.dieterdepaepe.jsearch.search.constructive.cost.IntegerCost;
+import com.github.dieterdepaepe.jsearch.search.constructive.solver.AStarSolver;
+import com.github.dieterdepaepe.jsearch.search.constructive.solver.AStarStateSolver;
+import com.github.dieterdepaepe.jsearch.search.constructive.solver.AnytimeWeightedAStarSolver;
+import com.github.dieterdepaepe.jsearch.search.constructive.solver.CheckpointingAStarSolver;
+import com.github.dieterdepaepe.jsearch.search.constructive.solver.DepthFirstSolver;
+import com.github.dieterdepaepe.jsearch.search.constructive.solver.HashClosedList;
+import com.github.dieterdepaepe.jsearch.search.constructive.solver.HeuristicEvaluation;
+import com.github.dieterdepaepe.jsearch.search.constructive.solver.MMSolver;
+import com.github.dieterdepaepe.jsearch.search.constructive.solver.PortfolioSolver;
+import com.github.dieterdepaepe.jsearch.search.constructive.solver.RBFSSolver;
+import com.github.dieterdepaepe.jsearch.search.constructive.solver.TieBreaker;
+import com.github.dieterdepaepe.jsearch.search.constructive.solver.beamsearch.BeamSearchSolver;
+import com.github.dieterdepaepe.jsearch.search.constructive.solver.beamsearch.SelectNBest;
+import com.github.dieterdepaepe.jsearch.search.constructive.solver.external.ExternalAStarSolver;
+import com.github.dieterdepaepe.jsearch.search.constructive.solver.idastar.IDAStarSolver;
+import com.github.dieterdepaepe.jsearch.search.constructive.solver.idastar.ParallelIDAStarSolver;
+import com.github.dieterdepaepe.jsearch.search.constructive.solver.iterativedeepening.IterativeDeepeningSolver;
+import com.github.dieterdepaepe.jsearch.search.constructive.solver.smastar.SMAStarSolver;
+import com.github.dieterdepaepe.jsearch.search.constructive.util.BasicManager;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the time needed by each {@link Solver} to solve a {@link PuzzleInstance}.
+ *
+ * <p>Solvers that do not stop by themselves in the unbounded sliding puzzle search space (depth first search,
+ * iterative deepening and beam search) are given a cost bound. For depth first search and iterative deepening, this
+ * bound is the optimal solution cost, so they measure the cost of proving optimality. Beam search is bounded
+ * at twice the optimal solution cost.</p>
+ * @author Dieter De Paepe
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SolverBenchmark {
+    @Param({"EASY", "MEDIUM", "HARD"})
+    private PuzzleInstance instance;
+
+    private PuzzleEnvironment environment;
+    private PuzzleSearchNodeGenerator generator;
+    private ManhattanDistance heuristic;
+    private PuzzleSearchNode startNode;
+    private Cost unbounded;
+    private Cost optimalCost;
+    private Cost beamCostBound;
+    private File directory;
+
+    @Setup
+    public void setUp() throws IOException {
+        SlidingPuzzle puzzle = instance.createPuzzle();
+        environment = new PuzzleEnvironment(puzzle, puzzle.createFields());
+        generator = new PuzzleSearchNodeGenerator();
+        heuristic = new ManhattanDistance();
+        startNode = generator.createStartState(instance.createStartState(puzzle), environment);
+        unbounded = IntegerCost.valueOf(Integer.MAX_VALUE);
+
+        int optimalMoves = solve(new AStarStateSolver(), unbounded).getNode().getMovesPerformed();
+        optimalCost = IntegerCost.valueOf(optimalMoves);
+        beamCostBound = IntegerCost.valueOf(2 * optimalMoves);
+        directory = Files.createTempDirectory("solver-benchmark").toFile();
+    }
+
+    @TearDown
+    public void tearDown() {
+        directory.delete();
+    }
+
+    @Benchmark
+    public Solution<? extends PuzzleSearchNode> aStar() {
+        return solve(new AStarSolver(), unbounded);
+    }
+
+    @Benchmark
+    public Solution<? extends PuzzleSearchNode> aStarState() {
+        return solve(new AStarStateSolver(), unbounded);
+    }
+
+    @Benchmark
+    public Solution<? extends PuzzleSearchNode> aStarStateLazy() {
+        return solve(new AStarStateSolver(null, TieBreaker.ARBITRARY, HashClosedList.factory(), HeuristicEvaluation.LAZY), unbounded);
+    }
+
+    @Benchmark
+    public Solution<? extends PuzzleSearchNode> anytimeWeightedAStar() {
+        return solve(new AnytimeWeightedAStarSolver(2), unbounded);
+    }
+
+    @Benchmark
+    public Solution<? extends PuzzleSearchNode> checkpointingAStar() throws IOException {
+        // Each invocation needs an empty journal, otherwise the finished search of a previous invocation is resumed
+        File journalFile = File.createTempFile("journal", ".bin", directory);
+        try {
+            return solve(new CheckpointingAStarSolver<>(new PuzzleSearchNodeSerializer(), PuzzleSearchNode.ENCODED_STATE_SIZE, journalFile), unbounded);
+        } finally {
+            journalFile.delete();
+        }
+    }
+
+    @Benchmark
+    public Solution<? extends PuzzleSearchNode> externalAStar() {
+        return solve(new ExternalAStarSolver<>(new PuzzleSearchNodeSerializer(), PuzzleSearchNode.ENCODED_STATE_SIZE, directory), unbounded);
+    }
+
+    @Benchmark
+    public Solution<? extends PuzzleSearchNode> idaStar() {
+        return solve(new IDAStarSolver(), unbounded);
+    }
+
+    @Benchmark
+    public Solution<? extends PuzzleSearchNode> parallelIdaStar() {
+        return solve(new ParallelIDAStarSolver(), unbounded);
+    }
+
+    @Benchmark
+    public Solution<? extends PuzzleSearchNode> portfolio() {
+        return solve(new PortfolioSolver<PuzzleSearchNode, PuzzleEnvironment>(new AStarStateSolver(), new IDAStarSolver()), unbounded);
+    }
+
+    @Benchmark
+    public Solution<? extends PuzzleSearchNode> mm() {
+        return solve(new MMSolver(), unbounded);
+    }
+
+    @Benchmark
+    public Solution<? extends PuzzleSearchNode> rbfs() {
+        return solve(new RBFSSolver(), unbounded);
+    }
+
+    @Benchmark
+    public Solution<? extends PuzzleSearchNode> smaStar() {
+        return solve(new SMAStarSolver(10000), unbounded);
+    }
+
+    @Benchmark
+    public Solution<? extends PuzzleSearchNode> beamSearch() {
+        return solve(new BeamSearchSolver<>(new SelectNBest(1000)), beamCostBound);
+    }
+
+    @Benchmark
+    public Solution<? extends PuzzleSearchNode> depthFirst() {
+        return solve(new DepthFirstSolver(), optimalCost);
+    }
+
+    @Benchmark
+    public Solution<? extends PuzzleSearchNode> iterativeDeepening() {
+        return solve(new IterativeDeepeningSolver<PuzzleSearchNode, PuzzleEnvironment>(new DepthFirstSolver()), optimalCost);
+    }
+
+    private Solution<? extends PuzzleSearchNode> solve(Solver<? super PuzzleSearchNode, ? super PuzzleEnvironment> solver, Cost costBound) {
+        BasicManager<PuzzleSearchNode> manager = new BasicManager<>(costBound);
+        Solvers.solve(solver, manager, generator, heuristic, environment, startNode);
+        return manager.getSolution();
+    }
+}
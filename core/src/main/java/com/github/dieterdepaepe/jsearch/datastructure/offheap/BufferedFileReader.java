@@ -0,0 +1,85 @@
+package com.github.dieterdepaepe.jsearch.datastructure.offheap;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Reads a file sequentially through a buffer, for files consisting of variable size records. Before reading a record
+ * (or part of it), {@link #fill(int)} makes sure the buffer holds enough bytes, after which the record can be read
+ * from the buffer returned by {@link #getBuffer()}. Records larger than the buffer are supported: the buffer grows
+ * as needed.
+ *
+ * <p>This implementation is not thread-safe.</p>
+ *
+ * @author Dieter De Paepe
+ */
+public class BufferedFileReader implements Closeable {
+    private final FileChannel channel;
+    private ByteBuffer buffer;
+    private long position;
+
+    /**
+     * Opens a file for reading, starting at its first byte.
+     * @param file the file to read
+     * @param bufferSize the initial size of the buffer, in bytes
+     * @throws IOException if the file could not be opened
+     */
+    public BufferedFileReader(File file, int bufferSize) throws IOException {
+        checkArgument(bufferSize > 0, "bufferSize should be > 0");
+        this.channel = new FileInputStream(file).getChannel();
+        this.buffer = ByteBuffer.allocate(bufferSize);
+        this.buffer.flip();
+    }
+
+    /**
+     * Makes sure the buffer contains at least the given number of unread bytes, reading from the file if needed.
+     * @param length the number of bytes
+     * @return false if the end of the file was reached first, in which case the buffer contains all remaining bytes
+     * @throws IOException if the file could not be read
+     */
+    public boolean fill(int length) throws IOException {
+        if (buffer.remaining() >= length)
+            return true;
+        position += buffer.position();
+        if (buffer.capacity() < length) {
+            ByteBuffer largerBuffer = ByteBuffer.allocate(length);
+            largerBuffer.put(buffer);
+            buffer = largerBuffer;
+        } else {
+            buffer.compact();
+        }
+        while (buffer.position() < length && channel.read(buffer) >= 0) {
+            // Keep reading until enough bytes are available
+        }
+        buffer.flip();
+        return buffer.remaining() >= length;
+    }
+
+    /**
+     * Gets the buffer, positioned at the first unread byte. Reading from it advances the reader. The buffer may be
+     * replaced or compacted by the next call to {@link #fill(int)}.
+     * @return the buffer
+     */
+    public ByteBuffer getBuffer() {
+        return buffer;
+    }
+
+    /**
+     * Gets the position in the file of the first unread byte.
+     * @return the position
+     */
+    public long getPosition() {
+        return position + buffer.position();
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
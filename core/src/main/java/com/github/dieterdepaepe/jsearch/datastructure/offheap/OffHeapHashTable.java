@@ -0,0 +1,219 @@
+package com.github.dieterdepaepe.jsearch.datastructure.offheap;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * A hash table that maps fixed-width binary keys to {@code long} values, stored outside of the Java heap.
+ *
+ * <p>Entries are stored using open addressing with linear probing in one or more {@link ByteBuffer} segments. Each
+ * slot takes {@code keySize + 9} bytes: a marker byte, the key and the value. No objects are created per entry,
+ * which makes this table suited for storing large numbers of small keys, such as encoded search space states.
+ * The segments are either direct buffers, or memory mapped regions of a file, in which case the operating system
+ * can page the table to disk.</p>
+ *
+ * <p>The capacity of the table is fixed at creation. Entries cannot be removed.</p>
+ *
+ * <p>This implementation is not thread-safe.</p>
+ *
+ * @author Dieter De Paepe
+ */
+public class OffHeapHashTable {
+    private static final byte FREE = 0;
+    private static final byte OCCUPIED = 1;
+    private static final double MAX_LOAD_FACTOR = 0.75;
+
+    private final int keySize;
+    private final int slotSize;
+    private final long capacity;
+    private final long slotMask;
+    private final int segmentShift;
+    private final long segmentMask;
+    private final ByteBuffer[] segments;
+    private long size;
+
+    /**
+     * Creates a new table in direct memory.
+     * @param keySize the size of each key, in bytes
+     * @param capacity the maximum number of entries that the table should be able to hold
+     * @return an empty table
+     * @throws IllegalArgumentException if {@code keySize <= 0} or {@code capacity <= 0}
+     */
+    public static OffHeapHashTable allocateDirect(int keySize, long capacity) {
+        OffHeapHashTable table = new OffHeapHashTable(keySize, capacity);
+        for (int i = 0; i < table.segments.length; i++)
+            table.segments[i] = ByteBuffer.allocateDirect(table.getSegmentSizeInBytes());
+        return table;
+    }
+
+    /**
+     * Creates a new table which is stored in a memory mapped file. Any existing content of the file is discarded.
+     * The mapping remains valid until the table is garbage collected, even when the file is deleted.
+     * @param file the file in which to store the table
+     * @param keySize the size of each key, in bytes
+     * @param capacity the maximum number of entries that the table should be able to hold
+     * @return an empty table
+     * @throws IOException if the file could not be created or mapped
+     * @throws IllegalArgumentException if {@code keySize <= 0} or {@code capacity <= 0}
+     */
+    public static OffHeapHashTable mapFile(File file, int keySize, long capacity) throws IOException {
+        OffHeapHashTable table = new OffHeapHashTable(keySize, capacity);
+        long segmentSize = table.getSegmentSizeInBytes();
+        try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw")) {
+            // Truncating first guarantees the mapped regions are zero filled.
+            randomAccessFile.setLength(0);
+            randomAccessFile.setLength(segmentSize * table.segments.length);
+            FileChannel channel = randomAccessFile.getChannel();
+            for (int i = 0; i < table.segments.length; i++)
+                table.segments[i] = channel.map(FileChannel.MapMode.READ_WRITE, i * segmentSize, segmentSize);
+        }
+        return table;
+    }
+
+    private OffHeapHashTable(int keySize, long capacity) {
+        checkArgument(keySize > 0, "keySize should be > 0");
+        checkArgument(capacity > 0, "capacity should be > 0");
+
+        this.keySize = keySize;
+        this.slotSize = keySize + 9;
+        this.capacity = capacity;
+
+        long minimumNumberOfSlots = (long) Math.ceil(capacity / MAX_LOAD_FACTOR);
+        long numberOfSlots = Long.highestOneBit(minimumNumberOfSlots);
+        if (numberOfSlots < minimumNumberOfSlots)
+            numberOfSlots <<= 1;
+        long maxSlotsPerSegment = Integer.highestOneBit(Integer.MAX_VALUE / slotSize);
+        long slotsPerSegment = Math.min(numberOfSlots, maxSlotsPerSegment);
+        long numberOfSegments = numberOfSlots / slotsPerSegment;
+        checkArgument(numberOfSegments <= Integer.MAX_VALUE, "capacity is too large");
+
+        this.slotMask = numberOfSlots - 1;
+        this.segmentShift = Long.numberOfTrailingZeros(slotsPerSegment);
+        this.segmentMask = slotsPerSegment - 1;
+        this.segments = new ByteBuffer[(int) numberOfSegments];
+        this.size = 0;
+    }
+
+    private int getSegmentSizeInBytes() {
+        return (int) ((segmentMask + 1) * slotSize);
+    }
+
+    /**
+     * Returns the value associated with the specified key.
+     * @param key a buffer containing the key at its current position, the buffer is not modified
+     * @param defaultValue the value to return when the key is not present
+     * @return the associated value, or {@code defaultValue}
+     */
+    public long get(ByteBuffer key, long defaultValue) {
+        long slot = findSlot(key);
+        ByteBuffer segment = segments[(int) (slot >>> segmentShift)];
+        int offset = (int) (slot & segmentMask) * slotSize;
+        if (segment.get(offset) == FREE)
+            return defaultValue;
+        return segment.getLong(offset + 1 + keySize);
+    }
+
+    /**
+     * Associates the specified value with the specified key, replacing any previously associated value.
+     * @param key a buffer containing the key at its current position, the buffer is not modified
+     * @param value the value
+     * @throws IllegalStateException if the key is not yet present and the table is full
+     */
+    public void put(ByteBuffer key, long value) {
+        long slot = findSlot(key);
+        ByteBuffer segment = segments[(int) (slot >>> segmentShift)];
+        int offset = (int) (slot & segmentMask) * slotSize;
+        if (segment.get(offset) == FREE) {
+            if (size == capacity)
+                throw new IllegalStateException("The table is full, capacity: " + capacity);
+            segment.put(offset, OCCUPIED);
+            int keyPosition = key.position();
+            for (int i = 0; i < keySize; i++)
+                segment.put(offset + 1 + i, key.get(keyPosition + i));
+            size++;
+        }
+        segment.putLong(offset + 1 + keySize, value);
+    }
+
+    /**
+     * Locates the slot that holds the key, or the free slot where it should be inserted.
+     */
+    private long findSlot(ByteBuffer key) {
+        long slot = hash(key) & slotMask;
+        while (true) {
+            ByteBuffer segment = segments[(int) (slot >>> segmentShift)];
+            int offset = (int) (slot & segmentMask) * slotSize;
+            if (segment.get(offset) == FREE || keyEquals(segment, offset + 1, key))
+                return slot;
+            slot = (slot + 1) & slotMask;
+        }
+    }
+
+    private boolean keyEquals(ByteBuffer segment, int offset, ByteBuffer key) {
+        int keyPosition = key.position();
+        int i = 0;
+        for (; i + 8 <= keySize; i += 8)
+            if (segment.getLong(offset + i) != key.getLong(keyPosition + i))
+                return false;
+        for (; i < keySize; i++)
+            if (segment.get(offset + i) != key.get(keyPosition + i))
+                return false;
+        return true;
+    }
+
+    private long hash(ByteBuffer key) {
+        int keyPosition = key.position();
+        long hash = 0x9E3779B97F4A7C15L;
+        int i = 0;
+        for (; i + 8 <= keySize; i += 8)
+            hash = (hash ^ key.getLong(keyPosition + i)) * 0xC2B2AE3D27D4EB4FL;
+        for (; i < keySize; i++)
+            hash = (hash ^ key.get(keyPosition + i)) * 0xC2B2AE3D27D4EB4FL;
+
+        // Final avalanche step of MurmurHash3, so the low bits used for the slot depend on all key bits.
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+        hash *= 0xC4CEB9FE1A85EC53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    /**
+     * Returns the number of entries stored in this table.
+     * @return the number of entries
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Returns the maximum number of entries this table can hold.
+     * @return the capacity
+     */
+    public long getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Returns the size of the keys stored in this table.
+     * @return the key size, in bytes
+     */
+    public int getKeySize() {
+        return keySize;
+    }
+
+    @Override
+    public String toString() {
+        return "OffHeapHashTable{" +
+                "keySize=" + keySize +
+                ", size=" + size +
+                ", capacity=" + capacity +
+                '}';
+    }
+}
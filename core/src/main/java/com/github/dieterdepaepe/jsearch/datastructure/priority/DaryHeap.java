@@ -0,0 +1,347 @@
+package com.github.dieterdepaepe.jsearch.datastructure.priority;
+
+import com.google.common.base.Function;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.Iterators;
+import com.google.common.collect.Ordering;
+
+import java.util.*;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * An array-backed, indexed <a href="http://en.wikipedia.org/wiki/D-ary_heap">d-ary heap</a>. Each stored entry has an
+ * accompanying key which represents its priority. A lower key value represents a higher priority. When 2 entries have
+ * the same priority, the order is undefined.
+ *
+ * <p>All entries are stored in a single array, where the children of the entry at index {@code i} are stored at
+ * indices {@code d * i + 1} up to {@code d * i + d}. Each entry remembers its own index, which allows it to be
+ * relocated in the heap when its key is decreased or when it is deleted. Compared to a {@link FibonacciHeap}, this
+ * layout is considerably more cache friendly, which typically makes it faster in practice despite the worse
+ * theoretical bounds. A higher arity {@code d} results in a shallower heap, making insertions and key decreases
+ * cheaper at the expense of more comparisons when removing the minimum.</p>
+ *
+ * <p>The d-ary heap provides the following running times:</p>
+ * <ul>
+ *     <li>{@code O(1)}: minimum entry retrieval</li>
+ *     <li>{@code O(log n / log d)}: insertion, reducing the key of a stored entry</li>
+ *     <li>{@code O(d log n / log d)}: removing the minimum entry, deleting any specified entry</li>
+ * </ul>
+ *
+ * <p>The same ownership relation between heap and entries as described in {@link FibonacciHeap} applies.</p>
+ *
+ * <p>This implementation is not thread-safe.</p>
+ *
+ * @param <K> the type of the keys stored in this heap
+ * @param <V> the type of the values stored in this heap
+ * @author Dieter De Paepe
+ */
+public class DaryHeap<K, V> implements PriorityQueue<K, V>, Iterable<DaryHeapEntry<K, V>> {
+    /** The default arity, which offers a good balance between heap depth and comparisons per level. */
+    public static final int DEFAULT_ARITY = 4;
+    private static final int INITIAL_CAPACITY = 16;
+
+    private int arity;
+    private Comparator<? super K> keyComparator;
+    private DaryHeapEntry<K, V>[] entries;
+    private int size;
+
+    /**
+     * Creates a new heap with the specified arity that uses the specified comparator for its keys.
+     * @param arity the maximum number of children of each entry
+     * @param keyComparator the comparator used for key ordering
+     * @param <K> the type of keys stored in the heap
+     * @param <V> the type of values stored in the heap
+     * @return an empty heap
+     * @throws IllegalArgumentException if {@code arity < 2}
+     */
+    public static <K, V> DaryHeap<K, V> create(int arity, Comparator<? super K> keyComparator) {
+        return new DaryHeap<>(arity, keyComparator);
+    }
+
+    /**
+     * Creates a new heap with the {@link #DEFAULT_ARITY default arity} that uses the specified comparator
+     * for its keys.
+     * @param keyComparator the comparator used for key ordering
+     * @param <K> the type of keys stored in the heap
+     * @param <V> the type of values stored in the heap
+     * @return an empty heap
+     */
+    public static <K, V> DaryHeap<K, V> create(Comparator<? super K> keyComparator) {
+        return new DaryHeap<>(DEFAULT_ARITY, keyComparator);
+    }
+
+    /**
+     * Creates a new heap with the {@link #DEFAULT_ARITY default arity} which uses the natural ordering of its keys.
+     * @param <K> the type of keys stored in the heap
+     * @param <V> the type of values stored in the heap
+     * @return an empty heap
+     */
+    public static <K extends Comparable, V> DaryHeap<K, V> create() {
+        return new DaryHeap<>(DEFAULT_ARITY, Ordering.<K>natural());
+    }
+
+    /**
+     * Returns a factory that creates d-ary heaps with the specified arity.
+     * @param arity the maximum number of children of each entry
+     * @return a stateless factory
+     * @throws IllegalArgumentException if {@code arity < 2}
+     */
+    public static PriorityQueueFactory factory(final int arity) {
+        checkArgument(arity >= 2, "arity should be >= 2");
+        return new PriorityQueueFactory() {
+            @Override
+            public <K, V> PriorityQueue<K, V> create(Comparator<? super K> keyComparator) {
+                return DaryHeap.create(arity, keyComparator);
+            }
+
+            @Override
+            public String toString() {
+                return "DaryHeap.factory(" + arity + ")";
+            }
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private DaryHeap(int arity, Comparator<? super K> keyComparator) {
+        checkArgument(arity >= 2, "arity should be >= 2");
+        this.arity = arity;
+        this.keyComparator = Preconditions.checkNotNull(keyComparator);
+        this.entries = (DaryHeapEntry<K, V>[]) new DaryHeapEntry[INITIAL_CAPACITY];
+        this.size = 0;
+    }
+
+    /**
+     * Inserts an element into this heap.
+     * <p>
+     * This operation has a running time of {@code O(log n / log d)}
+     * @param key the priority key for this element (a lower value means higher priority)
+     * @param element the element to insert
+     * @return the entry, owned by this heap, used to store the provided element
+     */
+    @Override
+    public DaryHeapEntry<K, V> insert(K key, V element) {
+        if (size == entries.length)
+            entries = Arrays.copyOf(entries, size + (size >> 1));
+
+        DaryHeapEntry<K, V> entry = new DaryHeapEntry<>(key, element);
+        entry.index = size;
+        entries[size] = entry;
+        size++;
+        siftUp(entry);
+        return entry;
+    }
+
+    /**
+     * Decreases the priority key of the given entry. If the new key value is greater than or equal to the
+     * current key value, nothing will happen. <strong>When passing an {@code entry} that is owned by another heap,
+     * the result is undefined.</strong>
+     * <p>
+     * This operation has a running time of {@code O(log n / log d)}
+     * @param entry the entry, owned by this heap, for which to reduce the priority key
+     * @param newKey the new key value
+     * @throws IllegalArgumentException if it can be determined that the specified entry
+     * is no longer part of any heap
+     */
+    public void decreaseKey(DaryHeapEntry<K, V> entry, K newKey) throws IllegalArgumentException {
+        if (entry.hasBeenRemoved())
+            throw new IllegalArgumentException("Attempting to decrease the key of an entry that is no longer present in a heap.");
+
+        if (keyComparator.compare(newKey, entry.key) >= 0)
+            return;
+
+        entry.key = newKey;
+        siftUp(entry);
+    }
+
+    /**
+     * Decreases the priority key of the given entry, which should be a {@link DaryHeapEntry}.
+     * @see #decreaseKey(DaryHeapEntry, Object)
+     */
+    @Override
+    public void decreaseKey(PriorityQueueEntry<K, V> entry, K newKey) throws IllegalArgumentException {
+        decreaseKey((DaryHeapEntry<K, V>) entry, newKey);
+    }
+
+    /**
+     * Returns, but does not remove, the entry with the lowest key stored in this heap.
+     * <p>
+     * This operation runs in {@code O(1)}.
+     * @return an entry owned by this heap, or null if this heap is empty
+     */
+    @Override
+    public DaryHeapEntry<K, V> findMinimum() {
+        return size == 0 ? null : entries[0];
+    }
+
+    /**
+     * Removes and returns the entry with the lowest key value from the heap. The heap loses ownership
+     * over the returned entry.
+     * <p>
+     * This operation has a running time of {@code O(d log n / log d)}.
+     * @return the entry with the lowest key stored in this heap or null if this heap is empty
+     */
+    @Override
+    public DaryHeapEntry<K, V> deleteMinimum() {
+        DaryHeapEntry<K, V> result = findMinimum();
+        if (result != null)
+            delete(result);
+        return result;
+    }
+
+    /**
+     * Deletes the given entry from this heap. <strong>When passing an {@code entry} that is owned by another heap,
+     * the result is undefined.</strong>
+     * <p>
+     * This operation has a running time of {@code O(d log n / log d)}.
+     * @param entry an entry owned by this queue
+     * @throws IllegalArgumentException if it can be determined that the specified entry is no longer part of any heap
+     */
+    public void delete(DaryHeapEntry<K, V> entry) {
+        if (entry.hasBeenRemoved())
+            throw new IllegalArgumentException("Attempting to delete an entry that is no longer present in a heap.");
+
+        int index = entry.index;
+        size--;
+        DaryHeapEntry<K, V> lastEntry = entries[size];
+        entries[size] = null;
+        entry.index = DaryHeapEntry.REMOVED;
+
+        if (lastEntry == entry)
+            return;
+
+        // Fill the gap with the last entry, and restore the heap property in whichever direction is needed.
+        lastEntry.index = index;
+        entries[index] = lastEntry;
+        if (index > 0 && keyComparator.compare(lastEntry.key, entries[(index - 1) / arity].key) < 0)
+            siftUp(lastEntry);
+        else
+            siftDown(lastEntry);
+    }
+
+    /**
+     * Deletes the given entry, which should be a {@link DaryHeapEntry}, from this heap.
+     * @see #delete(DaryHeapEntry)
+     */
+    @Override
+    public void delete(PriorityQueueEntry<K, V> entry) {
+        delete((DaryHeapEntry<K, V>) entry);
+    }
+
+    /**
+     * Moves the entry towards the root until its parent has a key lower than or equal to its own.
+     */
+    private void siftUp(DaryHeapEntry<K, V> entry) {
+        int index = entry.index;
+        while (index > 0) {
+            int parentIndex = (index - 1) / arity;
+            DaryHeapEntry<K, V> parent = entries[parentIndex];
+            if (keyComparator.compare(entry.key, parent.key) >= 0)
+                break;
+            entries[index] = parent;
+            parent.index = index;
+            index = parentIndex;
+        }
+        entries[index] = entry;
+        entry.index = index;
+    }
+
+    /**
+     * Moves the entry away from the root until all its children have a key greater than or equal to its own.
+     */
+    private void siftDown(DaryHeapEntry<K, V> entry) {
+        int index = entry.index;
+        while (true) {
+            int firstChildIndex = index * arity + 1;
+            if (firstChildIndex >= size || firstChildIndex < 0)
+                break;
+
+            int lastChildIndex = Math.min(firstChildIndex + arity, size);
+            int minChildIndex = firstChildIndex;
+            for (int i = firstChildIndex + 1; i < lastChildIndex; i++)
+                if (keyComparator.compare(entries[i].key, entries[minChildIndex].key) < 0)
+                    minChildIndex = i;
+
+            DaryHeapEntry<K, V> minChild = entries[minChildIndex];
+            if (keyComparator.compare(minChild.key, entry.key) >= 0)
+                break;
+            entries[index] = minChild;
+            minChild.index = index;
+            index = minChildIndex;
+        }
+        entries[index] = entry;
+        entry.index = index;
+    }
+
+    /**
+     * Returns an iterator that iterates over all entries in the heap in no particular order. The iterator does not
+     * support removal. The behavior of the iterator is undefined once the heap is modified.
+     * @return an Iterator
+     */
+    @Override
+    public Iterator<DaryHeapEntry<K, V>> iterator() {
+        return Iterators.limit(Iterators.forArray(entries), size);
+    }
+
+    /**
+     * Returns a collection view of the heap. The collection is backed by the heap, so any changes to the heap will
+     * be reflected in the collection. If the heap is modified while an iteration over the collection is in progress,
+     * the results of the iteration are undefined.
+     * @return an unmodifiable collection
+     */
+    @Override
+    public Collection<V> asCollection() {
+        final Function<DaryHeapEntry<K, V>, V> valueFunction = new Function<DaryHeapEntry<K, V>, V>() {
+            @Override
+            public V apply(DaryHeapEntry<K, V> input) {
+                return input.getValue();
+            }
+        };
+        return new AbstractCollection<V>() {
+            @Override
+            public Iterator<V> iterator() {
+                return Iterators.transform(DaryHeap.this.iterator(), valueFunction);
+            }
+
+            @Override
+            public int size() {
+                return DaryHeap.this.size();
+            }
+        };
+    }
+
+    /**
+     * Removes all stored entries from this heap. The ownership of all entries is abandoned.
+     */
+    @Override
+    public void clear() {
+        Arrays.fill(entries, 0, size, null);
+        size = 0;
+    }
+
+    /**
+     * Returns the number of elements stored in this heap.
+     * @return the size of the heap
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns whether this heap contains any elements.
+     * @return true if this heap is empty
+     */
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public String toString() {
+        return "DaryHeap{" +
+                "arity=" + arity +
+                ", size=" + size +
+                '}';
+    }
+}
@@ -0,0 +1,59 @@
+package com.github.dieterdepaepe.jsearch.datastructure.priority;
+
+/**
+ * A data container used by a {@link DaryHeap} to store data owned by that heap. Each entry can
+ * be owned by at most a single {@code DaryHeap}, this owning heap should be used to perform any actions involving
+ * this entry.
+ *
+ * @author Dieter De Paepe
+ */
+public class DaryHeapEntry<K, V> implements PriorityQueueEntry<K, V> {
+    /** Index used to indicate the entry is no longer part of a heap. */
+    static final int REMOVED = -1;
+
+    V value;
+    K key;
+    /** The index of this entry in the array of its heap. */
+    int index;
+
+    /**
+     * Creates a new entry that is not yet stored in any heap.
+     * @param key the priority key
+     * @param value the value to store in this entry
+     */
+    DaryHeapEntry(K key, V value) {
+        this.value = value;
+        this.key = key;
+    }
+
+    /**
+     * Returns whether this entry has been removed from its heap.
+     * @return true if the entry has been removed from its heap
+     */
+    boolean hasBeenRemoved() {
+        return index == REMOVED;
+    }
+
+    @Override
+    public V getValue() {
+        return value;
+    }
+
+    @Override
+    public void setValue(V value) {
+        this.value = value;
+    }
+
+    @Override
+    public K getKey() {
+        return key;
+    }
+
+    @Override
+    public String toString() {
+        return "DaryHeapEntry{" +
+                key + ", " +
+                value +
+                '}';
+    }
+}
@@ -40,11 +40,23 @@ import java.util.*;
  * @param <V> the type of the values stored in this heap
  * @author Dieter De Paepe
  */
-public class FibonacciHeap<K, V> implements Iterable<FibonacciHeapEntry<K, V>> {
+public class FibonacciHeap<K, V> implements PriorityQueue<K, V>, Iterable<FibonacciHeapEntry<K, V>> {
     private static final double PHI = 1.6180339887498948482;
     private static final int MAX_ENTRY_DEGREE_PLUS_ONE = (int) Math.floor(Math.log(Integer.MAX_VALUE) / Math.log(PHI)) + 1;
 
-    private Comparator<K> keyComparator;
+    private static final PriorityQueueFactory FACTORY = new PriorityQueueFactory() {
+        @Override
+        public <K, V> PriorityQueue<K, V> create(Comparator<? super K> keyComparator) {
+            return FibonacciHeap.create(keyComparator);
+        }
+
+        @Override
+        public String toString() {
+            return "FibonacciHeap.factory()";
+        }
+    };
+
+    private Comparator<? super K> keyComparator;
     private FibonacciHeapEntry<K, V> minTreeRoot;
     private int size;
 
@@ -55,7 +67,7 @@ public class FibonacciHeap<K, V> implements Iterable<FibonacciHeapEntry<K, V>> {
      * @param <V> the type of values stored in the heap
      * @return an empty heap
      */
-    public static <K, V> FibonacciHeap<K, V> create(Comparator<K> keyComparator) {
+    public static <K, V> FibonacciHeap<K, V> create(Comparator<? super K> keyComparator) {
         return new FibonacciHeap<>(keyComparator);
     }
 
@@ -69,7 +81,15 @@ public class FibonacciHeap<K, V> implements Iterable<FibonacciHeapEntry<K, V>> {
         return new FibonacciHeap<>(Ordering.<K>natural());
     }
 
-    private FibonacciHeap(Comparator<K> keyComparator) {
+    /**
+     * Returns a factory that creates Fibonacci heaps.
+     * @return a stateless factory
+     */
+    public static PriorityQueueFactory factory() {
+        return FACTORY;
+    }
+
+    private FibonacciHeap(Comparator<? super K> keyComparator) {
         this.keyComparator = Preconditions.checkNotNull(keyComparator);
         minTreeRoot = null;
         size = 0;
@@ -83,6 +103,7 @@ public class FibonacciHeap<K, V> implements Iterable<FibonacciHeapEntry<K, V>> {
      * @param element the element to insert
      * @return the entry, owned by this heap, used to store the provided element
      */
+    @Override
     public FibonacciHeapEntry<K, V> insert(K key, V element) throws IllegalArgumentException {
         FibonacciHeapEntry<K, V> newTreeRoot = new FibonacciHeapEntry<>(key, element);
 
@@ -135,6 +156,15 @@ public class FibonacciHeap<K, V> implements Iterable<FibonacciHeapEntry<K, V>> {
             minTreeRoot = entry;
     }
 
+    /**
+     * Decreases the priority key of the given entry, which should be a {@link FibonacciHeapEntry}.
+     * @see #decreaseKey(FibonacciHeapEntry, Object)
+     */
+    @Override
+    public void decreaseKey(PriorityQueueEntry<K, V> entry, K newKey) throws IllegalArgumentException {
+        decreaseKey((FibonacciHeapEntry<K, V>) entry, newKey);
+    }
+
     /**
      * Adjusts the references of both entries so that {@code child} becomes a child entry of {@code parent}. Also
      * updates the degree of {@code parent}.
@@ -247,6 +277,7 @@ public class FibonacciHeap<K, V> implements Iterable<FibonacciHeapEntry<K, V>> {
      * This operation has a worst case timing of {@code O(n)}, but an amortized time of {@code O(log n)}
      * @return the entry with the lowest key stored in this heap or null if this heap is empty
      */
+    @Override
     public FibonacciHeapEntry<K, V> deleteMinimum() {
         if (minTreeRoot == null)
             return null;
@@ -385,6 +416,15 @@ public class FibonacciHeap<K, V> implements Iterable<FibonacciHeapEntry<K, V>> {
         size--;
     }
 
+    /**
+     * Deletes the given entry, which should be a {@link FibonacciHeapEntry}, from this heap.
+     * @see #delete(FibonacciHeapEntry)
+     */
+    @Override
+    public void delete(PriorityQueueEntry<K, V> entry) {
+        delete((FibonacciHeapEntry<K, V>) entry);
+    }
+
     /**
      * Absorbs all elements of the specified heap into this heap. <strong>This causes this heap to take ownership over all
      * entries owned by {@code otherHeap}.</strong> After this call, {@code otherHeap} will have been cleared.
@@ -426,6 +466,7 @@ public class FibonacciHeap<K, V> implements Iterable<FibonacciHeapEntry<K, V>> {
      * the results of the iteration are undefined.
      * @return an unmodifiable collection
      */
+    @Override
     public Collection<V> asCollection() {
         final Function<FibonacciHeapEntry<K, V>, V> valueFunction = new Function<FibonacciHeapEntry<K, V>, V>() {
             @Override
@@ -449,6 +490,7 @@ public class FibonacciHeap<K, V> implements Iterable<FibonacciHeapEntry<K, V>> {
     /**
      * Removes all stored entries from this heap. The ownership of all entries is abandoned.
      */
+    @Override
     public void clear() {
         minTreeRoot = null;
         size = 0;
@@ -460,6 +502,7 @@ public class FibonacciHeap<K, V> implements Iterable<FibonacciHeapEntry<K, V>> {
      * This operation runs in {@code O(1)}.
      * @return an entry owned by this heap
      */
+    @Override
     public FibonacciHeapEntry<K, V> findMinimum() {
         return minTreeRoot;
     }
@@ -468,6 +511,7 @@ public class FibonacciHeap<K, V> implements Iterable<FibonacciHeapEntry<K, V>> {
      * Returns the number of elements stored in this heap.
      * @return the size of the heap
      */
+    @Override
     public int size() {
         return size;
     }
@@ -476,6 +520,7 @@ public class FibonacciHeap<K, V> implements Iterable<FibonacciHeapEntry<K, V>> {
      * Returns whether this heap contains any elements.
      * @return true if this heap is empty
      */
+    @Override
     public boolean isEmpty() {
         return minTreeRoot == null;
     }
@@ -7,7 +7,7 @@ package com.github.dieterdepaepe.jsearch.datastructure.priority;
  *
  * @author Dieter De Paepe
  */
-public class FibonacciHeapEntry<K, V> {
+public class FibonacciHeapEntry<K, V> implements PriorityQueueEntry<K, V> {
     V value;
     K key;
     FibonacciHeapEntry<K, V> parent;
@@ -40,6 +40,7 @@ public class FibonacciHeapEntry<K, V> {
      * Returns the value stored in this entry.
      * @return the stored value
      */
+    @Override
     public V getValue() {
         return value;
     }
@@ -48,6 +49,7 @@ public class FibonacciHeapEntry<K, V> {
      * Replaces the value stored in this entry.
      * @param value the new value
      */
+    @Override
     public void setValue(V value) {
         this.value = value;
     }
@@ -57,6 +59,7 @@ public class FibonacciHeapEntry<K, V> {
      * @return the key value
      * @see FibonacciHeap#decreaseKey(FibonacciHeapEntry, Object)
      */
+    @Override
     public K getKey() {
         return key;
     }
@@ -0,0 +1,83 @@
+package com.github.dieterdepaepe.jsearch.datastructure.priority;
+
+import java.util.Collection;
+
+/**
+ * A priority queue which provides access to its stored entries. Each stored entry has an accompanying key which
+ * represents its priority. A lower key value represents a higher priority. When 2 entries have the same priority,
+ * the order is undefined.
+ *
+ * <p>Implementations hand out a {@link PriorityQueueEntry} for each inserted element, which can later be used to
+ * decrease the key of, or delete, that element. The ownership relation between a queue and its entries, as described
+ * in {@link FibonacciHeap}, applies to all implementations: the behaviour of any method taking an entry as parameter
+ * is only defined when that entry is present in that queue.</p>
+ *
+ * @param <K> the type of the keys stored in this queue
+ * @param <V> the type of the values stored in this queue
+ * @author Dieter De Paepe
+ * @see PriorityQueueFactory
+ */
+public interface PriorityQueue<K, V> {
+    /**
+     * Inserts an element into this queue.
+     * @param key the priority key for this element (a lower value means higher priority)
+     * @param element the element to insert
+     * @return the entry, owned by this queue, used to store the provided element
+     */
+    public PriorityQueueEntry<K, V> insert(K key, V element);
+
+    /**
+     * Decreases the priority key of the given entry. If the new key value is greater than the current key value,
+     * the behaviour is implementation dependent.
+     * @param entry the entry, owned by this queue, for which to reduce the priority key
+     * @param newKey the new key value
+     * @throws IllegalArgumentException if it can be determined that the specified entry
+     * is no longer part of any queue
+     */
+    public void decreaseKey(PriorityQueueEntry<K, V> entry, K newKey);
+
+    /**
+     * Deletes the given entry from this queue.
+     * @param entry an entry owned by this queue
+     * @throws IllegalArgumentException if it can be determined that the specified entry is no longer part of any queue
+     */
+    public void delete(PriorityQueueEntry<K, V> entry);
+
+    /**
+     * Returns, but does not remove, the entry with the lowest key stored in this queue.
+     * @return an entry owned by this queue, or null if this queue is empty
+     */
+    public PriorityQueueEntry<K, V> findMinimum();
+
+    /**
+     * Removes and returns the entry with the lowest key value from the queue. The queue loses ownership
+     * over the returned entry.
+     * @return the entry with the lowest key stored in this queue or null if this queue is empty
+     */
+    public PriorityQueueEntry<K, V> deleteMinimum();
+
+    /**
+     * Returns a collection view of the queue. The collection is backed by the queue, so any changes to the queue will
+     * be reflected in the collection. If the queue is modified while an iteration over the collection is in progress,
+     * the results of the iteration are undefined.
+     * @return an unmodifiable collection
+     */
+    public Collection<V> asCollection();
+
+    /**
+     * Removes all stored entries from this queue. The ownership of all entries is abandoned.
+     */
+    public void clear();
+
+    /**
+     * Returns the number of elements stored in this queue.
+     * @return the size of the queue
+     */
+    public int size();
+
+    /**
+     * Returns whether this queue contains any elements.
+     * @return true if this queue is empty
+     */
+    public boolean isEmpty();
+}
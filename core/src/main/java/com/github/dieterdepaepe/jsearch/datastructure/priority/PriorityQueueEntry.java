@@ -0,0 +1,30 @@
+package com.github.dieterdepaepe.jsearch.datastructure.priority;
+
+/**
+ * A data container used by a {@link PriorityQueue} to store a value and its priority key. Each entry can be owned
+ * by at most a single queue, this owning queue should be used to perform any actions involving this entry.
+ *
+ * @param <K> the type of the priority key
+ * @param <V> the type of the stored value
+ * @author Dieter De Paepe
+ */
+public interface PriorityQueueEntry<K, V> {
+    /**
+     * Gets the key stored in this entry.
+     * @return the key value
+     * @see PriorityQueue#decreaseKey(PriorityQueueEntry, Object)
+     */
+    public K getKey();
+
+    /**
+     * Returns the value stored in this entry.
+     * @return the stored value
+     */
+    public V getValue();
+
+    /**
+     * Replaces the value stored in this entry.
+     * @param value the new value
+     */
+    public void setValue(V value);
+}
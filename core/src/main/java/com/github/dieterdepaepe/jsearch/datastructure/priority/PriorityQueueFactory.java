@@ -0,0 +1,22 @@
+package com.github.dieterdepaepe.jsearch.datastructure.priority;
+
+import java.util.Comparator;
+
+/**
+ * A factory for {@link PriorityQueue} instances. This allows users of a priority queue, such as the best-first
+ * solvers, to be configured with the queue implementation that performs best for a specific problem.
+ *
+ * @author Dieter De Paepe
+ * @see FibonacciHeap#factory()
+ * @see DaryHeap#factory(int)
+ */
+public interface PriorityQueueFactory {
+    /**
+     * Creates a new, empty priority queue.
+     * @param keyComparator the comparator used for key ordering
+     * @param <K> the type of keys stored in the queue
+     * @param <V> the type of values stored in the queue
+     * @return an empty queue
+     */
+    public <K, V> PriorityQueue<K, V> create(Comparator<? super K> keyComparator);
+}
@@ -0,0 +1,362 @@
+package com.github.dieterdepaepe.jsearch.datastructure.priority;
+
+import com.google.common.base.Function;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.Iterators;
+
+import java.util.*;
+
+/**
+ * A <a href="http://en.wikipedia.org/wiki/Radix_heap">radix heap</a> is a monotone priority queue for keys that can
+ * be mapped to {@code long} values. Each stored entry has an accompanying key which represents its priority. A lower
+ * key value represents a higher priority. No guarantees are made about the order of entries with an equal priority.
+ *
+ * <p>A radix heap is <i>monotone</i>: the key of the last removed minimum entry acts as a lower bound for all keys
+ * in the heap. Inserting an entry, or decreasing the key of an entry, to a key below this lower bound will cause the
+ * entry to be treated as if it had a key equal to the lower bound. The key reported by the entry is not changed.
+ * This makes the heap well suited for best-first searches such as A*, where keys of newly inserted entries are
+ * typically not lower than the key of the last removed entry.</p>
+ *
+ * <p>Entries are distributed over 65 buckets based on the highest bit in which their key differs from the lower bound.
+ * Compared to a {@link FibonacciHeap}, entries hold no references to each other and no tree consolidation
+ * is needed. The radix heap provides the following running times, with {@code C} being the difference between the
+ * highest and lowest key present in the heap:</p>
+ * <ul>
+ *     <li>{@code O(1)}: insertion, decreasing the key of a stored entry, deleting any specified entry</li>
+ *     <li>amortized {@code O(log C)}: minimum entry retrieval or removal</li>
+ * </ul>
+ *
+ * <p>The same ownership relation between heap and entries as described in {@link FibonacciHeap} applies.</p>
+ *
+ * <p>This implementation is not thread-safe.</p>
+ *
+ * @param <K> the type of the keys stored in this heap
+ * @param <V> the type of the values stored in this heap
+ * @author Dieter De Paepe
+ */
+public class RadixHeap<K, V> implements PriorityQueue<K, V>, Iterable<RadixHeapEntry<K, V>> {
+    private static final int NUMBER_OF_BUCKETS = Long.SIZE + 1;
+    private static final int INITIAL_BUCKET_CAPACITY = 4;
+
+    private KeyMapping<? super K> keyMapping;
+    private RadixHeapEntry<K, V>[][] buckets;
+    private int[] bucketSizes;
+    /** The rank of the last removed minimum entry, all ranks in the heap are greater than or equal to this value. */
+    private long lowerBoundRank;
+    private int size;
+
+    /**
+     * Creates a new heap that uses the specified mapping to order its keys.
+     * @param keyMapping the mapping of keys to {@code long} values
+     * @param <K> the type of keys stored in the heap
+     * @param <V> the type of values stored in the heap
+     * @return an empty heap
+     */
+    public static <K, V> RadixHeap<K, V> create(KeyMapping<? super K> keyMapping) {
+        return new RadixHeap<>(keyMapping);
+    }
+
+    /**
+     * Creates a new heap which uses {@code Long} keys.
+     * @param <V> the type of values stored in the heap
+     * @return an empty heap
+     */
+    public static <V> RadixHeap<Long, V> create() {
+        return new RadixHeap<>(new KeyMapping<Long>() {
+            @Override
+            public long toLong(Long key) {
+                return key;
+            }
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private RadixHeap(KeyMapping<? super K> keyMapping) {
+        this.keyMapping = Preconditions.checkNotNull(keyMapping);
+        this.buckets = (RadixHeapEntry<K, V>[][]) new RadixHeapEntry[NUMBER_OF_BUCKETS][];
+        this.bucketSizes = new int[NUMBER_OF_BUCKETS];
+        clear();
+    }
+
+    /**
+     * Inserts an element into this heap.
+     * <p>
+     * This operation has a running time of {@code O(1)}
+     * @param key the priority key for this element (a lower value means higher priority)
+     * @param element the element to insert
+     * @return the entry, owned by this heap, used to store the provided element
+     */
+    @Override
+    public RadixHeapEntry<K, V> insert(K key, V element) {
+        RadixHeapEntry<K, V> entry = new RadixHeapEntry<>(key, element);
+        entry.rank = toRank(key);
+        addToBucket(entry);
+        size++;
+        return entry;
+    }
+
+    /**
+     * Decreases the priority key of the given entry. If the new key value is greater than or equal to the
+     * current key value, nothing will happen. <strong>When passing an {@code entry} that is owned by another heap,
+     * the result is undefined.</strong>
+     * <p>
+     * This operation has a running time of {@code O(1)}
+     * @param entry the entry, owned by this heap, for which to reduce the priority key
+     * @param newKey the new key value
+     * @throws IllegalArgumentException if it can be determined that the specified entry
+     * is no longer part of any heap
+     */
+    public void decreaseKey(RadixHeapEntry<K, V> entry, K newKey) throws IllegalArgumentException {
+        if (entry.hasBeenRemoved())
+            throw new IllegalArgumentException("Attempting to decrease the key of an entry that is no longer present in a heap.");
+
+        long newRank = toRank(newKey);
+        if (isLowerRank(entry.rank, newRank))
+            return;
+        if (entry.rank == newRank) {
+            // The entry keeps its place, but a key below the lower bound may still be decreased
+            if (keyMapping.toLong(newKey) < keyMapping.toLong(entry.key))
+                entry.key = newKey;
+            return;
+        }
+
+        removeFromBucket(entry);
+        entry.key = newKey;
+        entry.rank = newRank;
+        addToBucket(entry);
+    }
+
+    /**
+     * Decreases the priority key of the given entry, which should be a {@link RadixHeapEntry}.
+     * @see #decreaseKey(RadixHeapEntry, Object)
+     */
+    @Override
+    public void decreaseKey(PriorityQueueEntry<K, V> entry, K newKey) throws IllegalArgumentException {
+        decreaseKey((RadixHeapEntry<K, V>) entry, newKey);
+    }
+
+    /**
+     * Returns, but does not remove, the entry with the lowest key stored in this heap.
+     * <p>
+     * This operation has an amortized running time of {@code O(log C)}.
+     * @return an entry owned by this heap, or null if this heap is empty
+     */
+    @Override
+    public RadixHeapEntry<K, V> findMinimum() {
+        if (size == 0)
+            return null;
+
+        if (bucketSizes[0] == 0)
+            redistributeFirstNonEmptyBucket();
+        return buckets[0][bucketSizes[0] - 1];
+    }
+
+    /**
+     * Removes and returns the entry with the lowest key value from the heap. The heap loses ownership
+     * over the returned entry.
+     * <p>
+     * This operation has an amortized running time of {@code O(log C)}.
+     * @return the entry with the lowest key stored in this heap or null if this heap is empty
+     */
+    @Override
+    public RadixHeapEntry<K, V> deleteMinimum() {
+        RadixHeapEntry<K, V> result = findMinimum();
+        if (result != null)
+            delete(result);
+        return result;
+    }
+
+    /**
+     * Deletes the given entry from this heap. <strong>When passing an {@code entry} that is owned by another heap,
+     * the result is undefined.</strong>
+     * <p>
+     * This operation has a running time of {@code O(1)}.
+     * @param entry an entry owned by this queue
+     * @throws IllegalArgumentException if it can be determined that the specified entry is no longer part of any heap
+     */
+    public void delete(RadixHeapEntry<K, V> entry) {
+        if (entry.hasBeenRemoved())
+            throw new IllegalArgumentException("Attempting to delete an entry that is no longer present in a heap.");
+
+        removeFromBucket(entry);
+        entry.bucket = RadixHeapEntry.REMOVED;
+        size--;
+    }
+
+    /**
+     * Deletes the given entry, which should be a {@link RadixHeapEntry}, from this heap.
+     * @see #delete(RadixHeapEntry)
+     */
+    @Override
+    public void delete(PriorityQueueEntry<K, V> entry) {
+        delete((RadixHeapEntry<K, V>) entry);
+    }
+
+    /**
+     * Returns an iterator that iterates over all entries in the heap in no particular order. The iterator does not
+     * support removal. The behavior of the iterator is undefined once the heap is modified.
+     * @return an Iterator
+     */
+    public Iterator<RadixHeapEntry<K, V>> iterator() {
+        List<Iterator<RadixHeapEntry<K, V>>> bucketIterators = new ArrayList<>();
+        for (int i = 0; i < NUMBER_OF_BUCKETS; i++)
+            if (bucketSizes[i] > 0)
+                bucketIterators.add(Iterators.limit(Iterators.forArray(buckets[i]), bucketSizes[i]));
+        return Iterators.unmodifiableIterator(Iterators.concat(bucketIterators.iterator()));
+    }
+
+    /**
+     * Returns a collection view of the heap. The collection is backed by the heap, so any changes to the heap will
+     * be reflected in the collection. If the heap is modified while an iteration over the collection is in progress,
+     * the results of the iteration are undefined.
+     * @return an unmodifiable collection
+     */
+    @Override
+    public Collection<V> asCollection() {
+        final Function<RadixHeapEntry<K, V>, V> valueFunction = new Function<RadixHeapEntry<K, V>, V>() {
+            @Override
+            public V apply(RadixHeapEntry<K, V> input) {
+                return input.getValue();
+            }
+        };
+        return new AbstractCollection<V>() {
+            @Override
+            public Iterator<V> iterator() {
+                return Iterators.transform(RadixHeap.this.iterator(), valueFunction);
+            }
+
+            @Override
+            public int size() {
+                return RadixHeap.this.size();
+            }
+        };
+    }
+
+    /**
+     * Removes all stored entries from this heap. The ownership of all entries is abandoned.
+     */
+    @Override
+    public void clear() {
+        for (int i = 0; i < NUMBER_OF_BUCKETS; i++) {
+            if (buckets[i] != null)
+                Arrays.fill(buckets[i], 0, bucketSizes[i], null);
+            bucketSizes[i] = 0;
+        }
+        lowerBoundRank = 0;
+        size = 0;
+    }
+
+    /**
+     * Returns the number of elements stored in this heap.
+     * @return the size of the heap
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns whether this heap contains any elements.
+     * @return true if this heap is empty
+     */
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Converts a key to its rank: an unsigned value with the same order as the keys.
+     */
+    private long toRank(K key) {
+        // Flipping the sign bit maps the signed long order onto the unsigned order.
+        long rank = keyMapping.toLong(key) ^ Long.MIN_VALUE;
+        return isLowerRank(rank, lowerBoundRank) ? lowerBoundRank : rank;
+    }
+
+    private static boolean isLowerRank(long rank, long otherRank) {
+        return (rank ^ Long.MIN_VALUE) < (otherRank ^ Long.MIN_VALUE);
+    }
+
+    private int getBucketIndex(long rank) {
+        return Long.SIZE - Long.numberOfLeadingZeros(rank ^ lowerBoundRank);
+    }
+
+    private void addToBucket(RadixHeapEntry<K, V> entry) {
+        int bucketIndex = getBucketIndex(entry.rank);
+        RadixHeapEntry<K, V>[] bucket = buckets[bucketIndex];
+        int bucketSize = bucketSizes[bucketIndex];
+        if (bucket == null) {
+            bucket = newBucket(INITIAL_BUCKET_CAPACITY);
+            buckets[bucketIndex] = bucket;
+        } else if (bucketSize == bucket.length) {
+            bucket = Arrays.copyOf(bucket, bucketSize * 2);
+            buckets[bucketIndex] = bucket;
+        }
+        bucket[bucketSize] = entry;
+        bucketSizes[bucketIndex] = bucketSize + 1;
+        entry.bucket = bucketIndex;
+        entry.position = bucketSize;
+    }
+
+    private void removeFromBucket(RadixHeapEntry<K, V> entry) {
+        RadixHeapEntry<K, V>[] bucket = buckets[entry.bucket];
+        int lastPosition = --bucketSizes[entry.bucket];
+        RadixHeapEntry<K, V> lastEntry = bucket[lastPosition];
+        bucket[entry.position] = lastEntry;
+        lastEntry.position = entry.position;
+        bucket[lastPosition] = null;
+    }
+
+    /**
+     * Raises the lower bound to the lowest rank in the first non-empty bucket, and moves all entries from that
+     * bucket to lower buckets. Afterwards, the first bucket will contain at least one entry.
+     */
+    private void redistributeFirstNonEmptyBucket() {
+        int bucketIndex = 1;
+        while (bucketSizes[bucketIndex] == 0)
+            bucketIndex++;
+
+        RadixHeapEntry<K, V>[] bucket = buckets[bucketIndex];
+        int bucketSize = bucketSizes[bucketIndex];
+
+        long minimumRank = bucket[0].rank;
+        for (int i = 1; i < bucketSize; i++)
+            if (isLowerRank(bucket[i].rank, minimumRank))
+                minimumRank = bucket[i].rank;
+        lowerBoundRank = minimumRank;
+
+        // All entries share the bits above the bucket index with the new lower bound, so they end up in lower buckets.
+        bucketSizes[bucketIndex] = 0;
+        for (int i = 0; i < bucketSize; i++) {
+            RadixHeapEntry<K, V> entry = bucket[i];
+            bucket[i] = null;
+            addToBucket(entry);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private RadixHeapEntry<K, V>[] newBucket(int capacity) {
+        return (RadixHeapEntry<K, V>[]) new RadixHeapEntry[capacity];
+    }
+
+    @Override
+    public String toString() {
+        return "RadixHeap{" +
+                "size=" + size +
+                '}';
+    }
+
+    /**
+     * An order preserving mapping of keys to {@code long} values. For any 2 keys {@code a} and {@code b}, if
+     * {@code a} is smaller than {@code b}, {@code toLong(a) < toLong(b)} should hold.
+     * @param <K> the type of keys that can be mapped
+     */
+    public interface KeyMapping<K> {
+        /**
+         * Maps a key to a {@code long} value.
+         * @param key the key
+         * @return the value representing the key
+         */
+        public long toLong(K key);
+    }
+}
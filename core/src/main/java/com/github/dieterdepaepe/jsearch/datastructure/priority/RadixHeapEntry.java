@@ -0,0 +1,76 @@
+package com.github.dieterdepaepe.jsearch.datastructure.priority;
+
+/**
+ * A data container used by a {@link RadixHeap} to store data owned by that heap. Each entry can
+ * be owned by at most a single {@code RadixHeap}, this owning heap should be used to perform any actions involving
+ * this entry.
+ *
+ * @author Dieter De Paepe
+ */
+public class RadixHeapEntry<K, V> implements PriorityQueueEntry<K, V> {
+    /** Bucket index used to indicate the entry is no longer part of a heap. */
+    static final int REMOVED = -1;
+
+    V value;
+    K key;
+    /** The unsigned value used by the heap to order this entry. */
+    long rank;
+    /** The index of the bucket containing this entry. */
+    int bucket;
+    /** The index of this entry within its bucket. */
+    int position;
+
+    /**
+     * Creates a new entry that is not yet stored in any bucket.
+     * @param key the priority key
+     * @param value the value to store in this entry
+     */
+    RadixHeapEntry(K key, V value) {
+        this.value = value;
+        this.key = key;
+    }
+
+    /**
+     * Returns whether this entry has been removed from its heap.
+     * @return true if the entry has been removed from its heap
+     */
+    boolean hasBeenRemoved() {
+        return bucket == REMOVED;
+    }
+
+    /**
+     * Returns the value stored in this entry.
+     * @return the stored value
+     */
+    @Override
+    public V getValue() {
+        return value;
+    }
+
+    /**
+     * Replaces the value stored in this entry.
+     * @param value the new value
+     */
+    @Override
+    public void setValue(V value) {
+        this.value = value;
+    }
+
+    /**
+     * Gets the key stored in this entry.
+     * @return the key value
+     * @see RadixHeap#decreaseKey(RadixHeapEntry, Object)
+     */
+    @Override
+    public K getKey() {
+        return key;
+    }
+
+    @Override
+    public String toString() {
+        return "RadixHeapEntry{" +
+                key + ", " +
+                value +
+                '}';
+    }
+}
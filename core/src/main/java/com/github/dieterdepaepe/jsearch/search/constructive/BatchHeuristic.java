@@ -0,0 +1,34 @@
+package com.github.dieterdepaepe.jsearch.search.constructive;
+
+import com.github.dieterdepaepe.jsearch.search.constructive.cost.PrimitiveCost;
+
+import java.util.List;
+
+/**
+ * A {@link Heuristic} that can estimate the remaining cost of multiple search nodes in a single call. A
+ * {@link SearchNodeGenerator} can check whether its heuristic implements this interface, and if so, evaluate all
+ * successors of an expanded node at once. This allows expensive heuristics to perform their setup only once per
+ * expansion, and to group their memory accesses (such as lookups in a pattern database).
+ *
+ * <p>The estimates are written to a {@code long} array, to avoid creating a {@link Cost} object for each estimate.
+ * Each estimate is the {@link PrimitiveCost#longValue()} of the cost that
+ * {@link #estimateRemainingCost(SearchNode, Object)} would return for the same node, so the caller is responsible for
+ * converting the estimates to the cost type used by its search nodes.</p>
+ *
+ * @param <T> the type of search states usable by this heuristic
+ * @param <U> the type of the environment accompanied by the search state
+ * @author Dieter De Paepe
+ */
+public interface BatchHeuristic<T extends SearchNode, U> extends Heuristic<T, U> {
+    @Override
+    public PrimitiveCost estimateRemainingCost(T node, U environment);
+
+    /**
+     * Estimates the remaining cost for each of the given search nodes. The estimate for {@code nodes.get(i)} is
+     * written to {@code estimates[i]}, other elements of the array are left untouched.
+     * @param nodes the search nodes
+     * @param environment the environment
+     * @param estimates the array in which to store the estimates, its length should be {@code >= nodes.size()}
+     */
+    public void estimateRemainingCosts(List<? extends T> nodes, U environment, long[] estimates);
+}
@@ -0,0 +1,22 @@
+package com.github.dieterdepaepe.jsearch.search.constructive;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A {@link StateSearchNode} whose search space state can be written as a fixed number of bytes.
+ *
+ * <p>The encoding allows solvers to store search space states in compact, binary form, for example outside
+ * of the Java heap. The encoding should be consistent with the search space state: 2 nodes produce the same bytes
+ * if and only if their search space states are {@code equal}. All nodes of a single problem should produce
+ * encodings of the same length.</p>
+ *
+ * @author Dieter De Paepe
+ */
+public interface EncodableStateSearchNode extends StateSearchNode {
+    /**
+     * Writes the encoded search space state of this node to the buffer, starting at its current position.
+     * The position of the buffer is advanced by the number of written bytes.
+     * @param buffer the buffer to write to
+     */
+    public void encodeSearchSpaceState(ByteBuffer buffer);
+}
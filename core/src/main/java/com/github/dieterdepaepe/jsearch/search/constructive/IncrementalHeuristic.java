@@ -0,0 +1,47 @@
+package com.github.dieterdepaepe.jsearch.search.constructive;
+
+import com.github.dieterdepaepe.jsearch.search.constructive.cost.PrimitiveCost;
+
+/**
+ * A {@link Heuristic} that can derive the estimate of a search node from the estimate of its parent. Many heuristics
+ * only change by a small amount for each transition (such as the Manhattan distance when a single field moves), so
+ * updating the parent estimate is much cheaper than a full evaluation. A {@link SearchNodeGenerator} can check whether
+ * its heuristic implements this interface, and if so, pass the transition it applied to create each successor.
+ *
+ * <p>As with {@link BatchHeuristic}, estimates are exchanged as the {@link PrimitiveCost#longValue()} of the cost
+ * that {@link #estimateRemainingCost(SearchNode, Object)} would return, so the caller is responsible for converting
+ * them to the cost type used by its search nodes. An incremental estimate should always equal the estimate of a
+ * full evaluation of the same node.</p>
+ *
+ * <p>A caller that stores estimates in its search nodes, to use them as parent estimate later on, can store the
+ * {@link #getEstimateTag(Object) estimate tag} alongside each estimate. A stored estimate may only be used as parent
+ * estimate if its tag equals the current tag of the heuristic for the environment.</p>
+ *
+ * @param <T> the type of search states usable by this heuristic
+ * @param <U> the type of the environment accompanied by the search state
+ * @param <V> the type describing the transition from a parent node to a successor node
+ * @author Dieter De Paepe
+ */
+public interface IncrementalHeuristic<T extends SearchNode, U, V> extends Heuristic<T, U> {
+    @Override
+    public PrimitiveCost estimateRemainingCost(T node, U environment);
+
+    /**
+     * Estimates the remaining cost for a successor node, based on the estimate of its parent.
+     * @param parent the parent node
+     * @param parentEstimate the estimate for the parent node, as returned by this heuristic
+     * @param transition the transition that turns the parent into the successor
+     * @param successor the successor node
+     * @param environment the environment
+     * @return the estimate for the successor node
+     */
+    public long estimateRemainingCost(T parent, long parentEstimate, V transition, T successor, U environment);
+
+    /**
+     * Gets a tag identifying the estimates of this heuristic for an environment. Two calls only return the same tag if
+     * the estimates made in between are interchangeable, and different heuristics never return the same tag.
+     * @param environment the environment
+     * @return the tag, which is never 0
+     */
+    public int getEstimateTag(U environment);
+}
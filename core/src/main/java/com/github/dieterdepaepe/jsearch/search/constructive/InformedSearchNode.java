@@ -1,15 +1,31 @@
 package com.github.dieterdepaepe.jsearch.search.constructive;
 
+import com.github.dieterdepaepe.jsearch.search.constructive.cost.Costs;
+import com.github.dieterdepaepe.jsearch.search.constructive.cost.PrimitiveCost;
+import com.google.common.math.LongMath;
+
+import static com.google.common.base.Preconditions.checkState;
+
 /**
  * A container that contains a {@link SearchNode} and an estimate about the remaining cost before that node can
  * reach a solution.
  *
+ * <p>Solvers typically need the estimated total cost of a node several times (for ordering, bound checks, ...).
+ * It is therefor calculated only once, on first use. For nodes whose costs are {@link PrimitiveCost}s, solvers can
+ * avoid creating the sum altogether by using {@link #getEstimatedTotalCostValue()} and the
+ * {@code compareEstimatedTotalCostTo} methods, which work with the primitive values. The cost of the node and its
+ * estimated remaining cost are assumed to be of the same type.</p>
+ *
+ * <p>Subclasses can postpone estimating the remaining cost until it is first needed, by passing no estimate to
+ * {@link #InformedSearchNode(SearchNode, Cost, Cost)} and overriding {@link #evaluateRemainingCost()}.</p>
+ *
  * @param <T> the type of the {@code SearchNode} contained in this class
  * @author Dieter De Paepe
  */
 public class InformedSearchNode<T extends SearchNode> implements Comparable<InformedSearchNode<T>> {
     private final T searchNode;
-    private final Cost estimatedRemainingCost;
+    private Cost estimatedRemainingCost;
+    private Cost estimatedTotalCost;
 
     /**
      * Creates a new instance.
@@ -21,20 +37,123 @@ public class InformedSearchNode<T extends SearchNode> implements Comparable<Info
         this.estimatedRemainingCost = estimatedRemainingCost;
     }
 
+    /**
+     * Creates a new instance with a lower bound for its total estimated cost. If no estimate of the remaining cost is
+     * given, it is obtained from {@link #evaluateRemainingCost()} when first needed, and the total estimated cost is
+     * the lower bound until then. Once the remaining cost is known, the total estimated cost is the maximum of the
+     * lower bound and the cost of the node plus its estimated remaining cost (a technique known as <i>pathmax</i>).
+     * @param searchNode a node
+     * @param estimatedRemainingCost an estimate of the remaining cost before the node can reach a solution, or null
+     * @param lowerBound a lower bound for the cost of any solution reached through the node
+     */
+    protected InformedSearchNode(T searchNode, Cost estimatedRemainingCost, Cost lowerBound) {
+        this.searchNode = searchNode;
+        this.estimatedTotalCost = lowerBound;
+        if (estimatedRemainingCost != null)
+            setEstimatedRemainingCost(estimatedRemainingCost);
+    }
+
     public T getSearchNode() {
         return searchNode;
     }
 
+    /**
+     * Gets the estimated remaining cost of the node. If no estimate is known yet, it is obtained from
+     * {@link #evaluateRemainingCost()}.
+     * @return the estimated remaining cost, or null if no estimate is known
+     */
     public Cost getEstimatedRemainingCost() {
-        return estimatedRemainingCost;
+        Cost result = estimatedRemainingCost;
+        if (result == null) {
+            result = evaluateRemainingCost();
+            if (result != null)
+                setEstimatedRemainingCost(result);
+        }
+        return result;
+    }
+
+    /**
+     * Returns whether the estimated remaining cost of the node is known, without evaluating it.
+     * @return true if the remaining cost has been estimated
+     */
+    protected final boolean isRemainingCostEstimated() {
+        return estimatedRemainingCost != null;
+    }
+
+    /**
+     * Estimates the remaining cost of the node. This is called by {@link #getEstimatedRemainingCost()} while no
+     * estimate is known. The default implementation returns null, meaning no estimate is available.
+     * @return the estimated remaining cost, or null
+     */
+    protected Cost evaluateRemainingCost() {
+        return null;
+    }
+
+    private void setEstimatedRemainingCost(Cost remainingCost) {
+        Cost lowerBound = estimatedTotalCost;
+        if (lowerBound != null)
+            estimatedTotalCost = Costs.max(lowerBound, searchNode.getCost().add(remainingCost));
+        estimatedRemainingCost = remainingCost;
     }
 
     public Cost getEstimatedTotalCost() {
-        return getSearchNode().getCost().add(getEstimatedRemainingCost());
+        // Costs are immutable, so a race between threads can at most cause a duplicate calculation.
+        Cost result = estimatedTotalCost;
+        if (result == null) {
+            Cost remainingCost = getEstimatedRemainingCost();
+            checkState(remainingCost != null, "No estimate of the remaining cost is known for %s.", searchNode);
+            result = getSearchNode().getCost().add(remainingCost);
+            estimatedTotalCost = result;
+        }
+        return result;
+    }
+
+    /**
+     * Gets the value of the total estimated cost of a node whose costs are {@link PrimitiveCost}s. Unlike
+     * {@link #getEstimatedTotalCost()}, this does not create a {@code Cost} object for the sum.
+     * @return the value of the total estimated cost
+     * @throws java.lang.ClassCastException if the costs of this node are not primitive costs
+     */
+    public long getEstimatedTotalCostValue() {
+        Cost result = estimatedTotalCost;
+        if (result != null)
+            return ((PrimitiveCost) result).longValue();
+
+        Cost remainingCost = getEstimatedRemainingCost();
+        checkState(remainingCost != null, "No estimate of the remaining cost is known for %s.", searchNode);
+        return LongMath.checkedAdd(((PrimitiveCost) searchNode.getCost()).longValue(), ((PrimitiveCost) remainingCost).longValue());
+    }
+
+    /**
+     * Compares the total estimated cost of this node with a cost, such as a cost bound.
+     * @param cost the cost to compare with
+     * @return a negative value, zero or a positive value if the total estimated cost of this node is less than,
+     * equal to or greater than {@code cost}
+     */
+    public int compareEstimatedTotalCostTo(Cost cost) {
+        if (cost instanceof PrimitiveCost && hasPrimitiveCosts())
+            return Long.compare(getEstimatedTotalCostValue(), ((PrimitiveCost) cost).longValue());
+        return getEstimatedTotalCost().compareTo(cost);
+    }
+
+    /**
+     * Compares the total estimated cost of this node with that of another node.
+     * @param other the node to compare with
+     * @return a negative value, zero or a positive value if the total estimated cost of this node is less than,
+     * equal to or greater than that of {@code other}
+     */
+    public int compareEstimatedTotalCostTo(InformedSearchNode<?> other) {
+        if (hasPrimitiveCosts() && other.hasPrimitiveCosts())
+            return Long.compare(getEstimatedTotalCostValue(), other.getEstimatedTotalCostValue());
+        return getEstimatedTotalCost().compareTo(other.getEstimatedTotalCost());
+    }
+
+    private boolean hasPrimitiveCosts() {
+        return searchNode.getCost() instanceof PrimitiveCost;
     }
 
     @Override
     public int compareTo(InformedSearchNode<T> o) {
-        return getEstimatedTotalCost().compareTo(o.getEstimatedTotalCost());
+        return compareEstimatedTotalCostTo(o);
     }
 }
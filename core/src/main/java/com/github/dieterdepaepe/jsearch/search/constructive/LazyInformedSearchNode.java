@@ -0,0 +1,69 @@
+package com.github.dieterdepaepe.jsearch.search.constructive;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * An {@link InformedSearchNode} whose remaining cost is only estimated when it is first needed. Until then, its total
+ * estimated cost is a lower bound passed at construction, typically the total estimated cost of the parent node.
+ *
+ * <p>Since every path through this node passes through its parent, the total estimated cost of the parent is a valid
+ * lower bound for the cost of any solution reached through this node. After evaluation, the total estimated cost is
+ * the maximum of this lower bound and the cost of the node plus its estimated remaining cost (a technique known as
+ * <i>pathmax</i>). As a result, the total estimated cost of this node can only rise by evaluating it, so a solver
+ * should not evaluate a node that is stored in an ordered data structure. Requesting the estimated remaining cost
+ * evaluates the node, see {@link InformedSearchNode#getEstimatedRemainingCost()}.</p>
+ *
+ * @param <T> the type of the {@code SearchNode} contained in this class
+ * @param <U> the type of the environment used by the heuristic
+ * @author Dieter De Paepe
+ */
+public class LazyInformedSearchNode<T extends SearchNode, U> extends InformedSearchNode<T> {
+    private Heuristic<? super T, ? super U> heuristic;
+    private U environment;
+
+    /**
+     * Creates a new, unevaluated instance.
+     * @param searchNode a node
+     * @param lowerBound a lower bound for the cost of any solution reached through the node
+     * @param heuristic the heuristic used to estimate the remaining cost of the node
+     * @param environment the environment of the node
+     */
+    public LazyInformedSearchNode(T searchNode, Cost lowerBound, Heuristic<? super T, ? super U> heuristic, U environment) {
+        super(searchNode, null, checkNotNull(lowerBound));
+        this.heuristic = checkNotNull(heuristic);
+        this.environment = environment;
+    }
+
+    /**
+     * Returns whether the remaining cost of the node has been estimated.
+     * @return true if the heuristic has been evaluated
+     */
+    public boolean isEvaluated() {
+        return isRemainingCostEstimated();
+    }
+
+    /**
+     * Estimates the remaining cost of the node, if that has not been done before.
+     */
+    public void evaluate() {
+        getEstimatedRemainingCost();
+    }
+
+    @Override
+    protected Cost evaluateRemainingCost() {
+        Cost result = heuristic.estimateRemainingCost(getSearchNode(), environment);
+        // The heuristic and environment are no longer needed, they should not be kept alive by this node.
+        heuristic = null;
+        environment = null;
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "LazyInformedSearchNode{" +
+                getSearchNode() +
+                ", evaluated=" + isEvaluated() +
+                ", estimatedTotalCost=" + getEstimatedTotalCost() +
+                '}';
+    }
+}
@@ -0,0 +1,15 @@
+package com.github.dieterdepaepe.jsearch.search.constructive;
+
+/**
+ * A {@link Manager} that wishes to be informed about the progress of the {@link Solver} using it.
+ *
+ * @param <T> the type of search states to be used for this manager
+ * @author Dieter De Paepe
+ */
+public interface MonitoredManager<T extends SearchNode> extends Manager<T> {
+    /**
+     * Gets the listener to be informed by the solver. The returned value should not change during a search.
+     * @return the listener
+     */
+    public SearchListener getSearchListener();
+}
@@ -0,0 +1,58 @@
+package com.github.dieterdepaepe.jsearch.search.constructive;
+
+/**
+ * A {@link SearchNodeGenerator} that can also traverse the search space in reverse, starting from the goal state.
+ * This allows bidirectional search, where a forward search from the start node and a backward search from the goal
+ * state meet in the middle.
+ *
+ * <p>The backward search is performed in a separate <i>backward environment</i>, in which the start node of the
+ * original problem is the goal. A node of the backward search represents a path from that node's search space state
+ * to the goal state of the original problem, its cost is the cost of that path. The {@link Heuristic} used for the
+ * forward search is reused for the backward search by passing it the backward environment, so it should estimate
+ * the cost of reaching the start node in that environment.</p>
+ *
+ * <p>The original problem is assumed to have a single goal state. Nodes of both searches are matched using their
+ * {@link StateSearchNode#getSearchSpaceState() searchSpaceState}.</p>
+ *
+ * @param <T> the type of the search nodes used
+ * @param <U> the type of the environment
+ * @author Dieter De Paepe
+ */
+public interface ReversibleSearchNodeGenerator<T extends StateSearchNode, U> extends SearchNodeGenerator<T, U> {
+    /**
+     * Creates the environment for the backward search, in which the given start node is the goal.
+     * @param startNode the start node of the forward search
+     * @param environment the problem environment
+     * @return the environment for the backward search
+     */
+    public U createBackwardEnvironment(T startNode, U environment);
+
+    /**
+     * Creates the start node of the backward search: a node at the goal state of the original problem, with a zero
+     * cost.
+     * @param environment the problem environment
+     * @param backwardEnvironment the environment of the backward search
+     * @return the start node of the backward search
+     */
+    public T createBackwardStartNode(U environment, U backwardEnvironment);
+
+    /**
+     * Generate a new node for each valid transition leading to the provided state. The cost of each generated node is
+     * the cost of the node plus the cost of the transition.
+     * @param node the node of the backward search for which to find the predecessor states
+     * @param backwardEnvironment the environment of the backward search
+     * @param heuristic the heuristic to use
+     * @return the new states, enriched with an estimate of the heuristic, in no particular order
+     */
+    public Iterable<InformedSearchNode<T>> generatePredecessorNodes(T node, U backwardEnvironment, Heuristic<? super T, ? super U> heuristic);
+
+    /**
+     * Combines a node of the forward search and a node of the backward search with the same search space state into
+     * a goal node of the original problem. The cost of the result should be the sum of the costs of both nodes.
+     * @param forwardNode a node of the forward search
+     * @param backwardNode a node of the backward search
+     * @param environment the problem environment
+     * @return a goal node, representing the path of the forward node followed by the path of the backward node
+     */
+    public T join(T forwardNode, T backwardNode, U environment);
+}
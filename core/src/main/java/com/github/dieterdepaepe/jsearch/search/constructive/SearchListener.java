@@ -0,0 +1,72 @@
+package com.github.dieterdepaepe.jsearch.search.constructive;
+
+/**
+ * A listener that is informed by a {@link Solver} about the progress of a search. A solver retrieves the listener
+ * from its {@link Manager} when that manager is a {@link MonitoredManager}, see {@link SearchListeners#of(Manager)}.
+ *
+ * <p>Callbacks are made from within the inner loop of the solver, so implementations should be fast. Solvers that
+ * delegate to another solver (such as IDA* or iterative deepening) pass the same manager to the delegate, so
+ * {@link #searchStarted()} and {@link #searchFinished()} may be nested. Parallel solvers will call the listener from
+ * multiple threads at the same time.</p>
+ *
+ * @author Dieter De Paepe
+ */
+public interface SearchListener {
+    /**
+     * Called when a solver starts a search.
+     */
+    public void searchStarted();
+
+    /**
+     * Called when a solver finishes a search, whether or not a solution was found.
+     */
+    public void searchFinished();
+
+    /**
+     * Called when an iterative solver starts a new iteration over the search space.
+     */
+    public void iterationStarted();
+
+    /**
+     * Called when an iterative solver has finished an iteration.
+     */
+    public void iterationFinished();
+
+    /**
+     * Called when the successors of a node are requested from the {@link SearchNodeGenerator}.
+     * @param node the expanded node
+     */
+    public void nodeExpanded(SearchNode node);
+
+    /**
+     * Called when successor nodes are received from the {@link SearchNodeGenerator}.
+     * @param count the number of received nodes
+     */
+    public void nodesGenerated(int count);
+
+    /**
+     * Called when a node is discarded because its total estimated cost exceeds the cost bound of the search or the
+     * current iteration.
+     * @param node the discarded node
+     */
+    public void nodePruned(SearchNode node);
+
+    /**
+     * Called when a node is discarded because a node for the same search space state with a lower or equal cost
+     * was encountered before.
+     * @param node the discarded node
+     */
+    public void duplicateDropped(SearchNode node);
+
+    /**
+     * Called when the number of nodes awaiting expansion has changed.
+     * @param size the number of nodes awaiting expansion
+     */
+    public void openListSizeChanged(long size);
+
+    /**
+     * Called when a memory bounded solver removes nodes from memory that may have to be regenerated later.
+     * @param count the number of removed nodes
+     */
+    public void nodesPurged(int count);
+}
@@ -0,0 +1,70 @@
+package com.github.dieterdepaepe.jsearch.search.constructive;
+
+/**
+ * Static utility methods pertaining to {@link SearchListener}s.
+ *
+ * @author Dieter De Paepe
+ */
+public class SearchListeners {
+    /*
+     * Private constructor, do not allow instances of this class.
+     */
+    private SearchListeners() {}
+
+    /**
+     * Gets the listener which should be informed about a search using the specified manager.
+     *
+     * <p>Solvers should retrieve the listener once at the start of a search. If the manager is not a
+     * {@link MonitoredManager}, a listener is returned which ignores all calls. Because of this, a search without
+     * listener only pays for a few empty (and easily inlined) method calls.</p>
+     * @param manager the manager of the search
+     * @return the listener of the manager, or a listener that does nothing
+     */
+    public static SearchListener of(Manager<?> manager) {
+        if (manager instanceof MonitoredManager)
+            return ((MonitoredManager<?>) manager).getSearchListener();
+        return noOp();
+    }
+
+    /**
+     * Gets a listener which ignores all calls.
+     * @return a stateless listener
+     */
+    public static SearchListener noOp() {
+        return NoOpSearchListener.INSTANCE;
+    }
+
+    private enum NoOpSearchListener implements SearchListener {
+        INSTANCE;
+
+        @Override
+        public void searchStarted() {}
+
+        @Override
+        public void searchFinished() {}
+
+        @Override
+        public void iterationStarted() {}
+
+        @Override
+        public void iterationFinished() {}
+
+        @Override
+        public void nodeExpanded(SearchNode node) {}
+
+        @Override
+        public void nodesGenerated(int count) {}
+
+        @Override
+        public void nodePruned(SearchNode node) {}
+
+        @Override
+        public void duplicateDropped(SearchNode node) {}
+
+        @Override
+        public void openListSizeChanged(long size) {}
+
+        @Override
+        public void nodesPurged(int count) {}
+    }
+}
@@ -0,0 +1,40 @@
+package com.github.dieterdepaepe.jsearch.search.constructive;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A class capable of converting search nodes to and from bytes. This allows solvers to store search nodes outside of
+ * the Java heap, for example in files.
+ *
+ * <p>Unlike {@link EncodableStateSearchNode#encodeSearchSpaceState(ByteBuffer)}, which only encodes the search space
+ * state, a serializer stores all information of the node: deserializing the bytes of a node should result in a node
+ * that is equivalent for the {@link SearchNodeGenerator}, including its cost and the information needed to report a
+ * solution. Serialized nodes may differ in length.</p>
+ *
+ * @param <T> the type of search nodes
+ * @author Dieter De Paepe
+ */
+public interface SearchNodeSerializer<T extends SearchNode> {
+    /**
+     * Gets the number of bytes written by {@link #serialize(SearchNode, ByteBuffer)} for the given node.
+     * @param node a search node
+     * @return the size of the serialized node, in bytes
+     */
+    public int getSerializedSize(T node);
+
+    /**
+     * Writes the node to the buffer, starting at its current position. The position of the buffer is advanced by the
+     * number of written bytes.
+     * @param node the node to serialize
+     * @param buffer the buffer to write to
+     */
+    public void serialize(T node, ByteBuffer buffer);
+
+    /**
+     * Reads a node from the buffer, starting at its current position. The position of the buffer is advanced by the
+     * number of read bytes.
+     * @param buffer a buffer containing bytes written by {@link #serialize(SearchNode, ByteBuffer)}
+     * @return the deserialized node
+     */
+    public T deserialize(ByteBuffer buffer);
+}
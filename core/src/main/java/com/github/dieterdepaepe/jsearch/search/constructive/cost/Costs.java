@@ -0,0 +1,51 @@
+package com.github.dieterdepaepe.jsearch.search.constructive.cost;
+
+import com.github.dieterdepaepe.jsearch.search.constructive.Cost;
+
+/**
+ * Static utility methods pertaining to {@link Cost}s. If both costs are {@link PrimitiveCost}s, these methods work
+ * with their {@link PrimitiveCost#longValue()}, avoiding the virtual {@code compareTo} call and its type cast.
+ *
+ * @author Dieter De Paepe
+ */
+public final class Costs {
+    /*
+     * Private constructor, do not allow instances of this class.
+     */
+    private Costs() {}
+
+    /**
+     * Compares 2 costs.
+     * @param cost1 the first cost
+     * @param cost2 the second cost
+     * @return a negative value, zero or a positive value if {@code cost1} is less than, equal to or greater than
+     * {@code cost2}
+     */
+    public static int compare(Cost cost1, Cost cost2) {
+        if (cost1 instanceof PrimitiveCost && cost2 instanceof PrimitiveCost)
+            return Long.compare(((PrimitiveCost) cost1).longValue(), ((PrimitiveCost) cost2).longValue());
+        return cost1.compareTo(cost2);
+    }
+
+    /**
+     * Returns the lesser of 2 costs. If they are equal, the first is returned.
+     * @param cost1 the first cost
+     * @param cost2 the second cost
+     * @param <C> the type of the costs
+     * @return the lesser cost
+     */
+    public static <C extends Cost> C min(C cost1, C cost2) {
+        return compare(cost1, cost2) <= 0 ? cost1 : cost2;
+    }
+
+    /**
+     * Returns the greater of 2 costs. If they are equal, the first is returned.
+     * @param cost1 the first cost
+     * @param cost2 the second cost
+     * @param <C> the type of the costs
+     * @return the greater cost
+     */
+    public static <C extends Cost> C max(C cost1, C cost2) {
+        return compare(cost1, cost2) >= 0 ? cost1 : cost2;
+    }
+}
@@ -5,12 +5,25 @@ import com.google.common.math.IntMath;
 
 /**
  * A cost consisting of a single integer value.
+ *
+ * <p>Instances for small non-negative values are cached, so that the sum of 2 small costs does not require any
+ * object creation.</p>
  * @author Dieter De Paepe
  */
-public class IntegerCost implements Cost {
+public class IntegerCost implements PrimitiveCost {
+    private static final int CACHE_SIZE = 1024;
+    private static final IntegerCost[] CACHE = new IntegerCost[CACHE_SIZE];
+
+    static {
+        for (int i = 0; i < CACHE_SIZE; i++)
+            CACHE[i] = new IntegerCost(i);
+    }
+
     private final int value;
 
     public static IntegerCost valueOf(int value) {
+        if (value >= 0 && value < CACHE_SIZE)
+            return CACHE[value];
         return new IntegerCost(value);
     }
 
@@ -21,13 +34,18 @@ public class IntegerCost implements Cost {
     @Override
     public IntegerCost add(Cost cost) {
         IntegerCost other = (IntegerCost) cost;
-        return new IntegerCost(IntMath.checkedAdd(this.value, other.value));
+        return valueOf(IntMath.checkedAdd(this.value, other.value));
     }
 
     public int getValue() {
         return value;
     }
 
+    @Override
+    public long longValue() {
+        return value;
+    }
+
     @Override
     public int compareTo(Cost o) {
         IntegerCost other = (IntegerCost) o;
@@ -0,0 +1,76 @@
+package com.github.dieterdepaepe.jsearch.search.constructive.cost;
+
+import com.github.dieterdepaepe.jsearch.search.constructive.Cost;
+import com.google.common.math.LongMath;
+
+/**
+ * A cost consisting of a single long value.
+ *
+ * <p>Instances for small non-negative values are cached, so that the sum of 2 small costs does not require any
+ * object creation.</p>
+ * @author Dieter De Paepe
+ */
+public class LongCost implements PrimitiveCost {
+    private static final int CACHE_SIZE = 1024;
+    private static final LongCost[] CACHE = new LongCost[CACHE_SIZE];
+
+    static {
+        for (int i = 0; i < CACHE_SIZE; i++)
+            CACHE[i] = new LongCost(i);
+    }
+
+    private final long value;
+
+    public static LongCost valueOf(long value) {
+        if (value >= 0 && value < CACHE_SIZE)
+            return CACHE[(int) value];
+        return new LongCost(value);
+    }
+
+    protected LongCost(long value) {
+        this.value = value;
+    }
+
+    @Override
+    public LongCost add(Cost cost) {
+        LongCost other = (LongCost) cost;
+        return valueOf(LongMath.checkedAdd(this.value, other.value));
+    }
+
+    public long getValue() {
+        return value;
+    }
+
+    @Override
+    public long longValue() {
+        return value;
+    }
+
+    @Override
+    public int compareTo(Cost o) {
+        LongCost other = (LongCost) o;
+        return Long.compare(value, other.value);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        LongCost that = (LongCost) o;
+
+        if (value != that.value) return false;
+
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        return (int) (value ^ (value >>> 32));
+    }
+
+    @Override
+    public String toString() {
+        return "LongCost: " + value;
+    }
+}
@@ -0,0 +1,17 @@
+package com.github.dieterdepaepe.jsearch.search.constructive.cost;
+
+import com.github.dieterdepaepe.jsearch.search.constructive.Cost;
+
+/**
+ * A {@link Cost} backed by a single integral value. The order and sum of such costs correspond to those of their
+ * {@link #longValue()}, which allows solvers and data structures to work with the primitive value rather than
+ * creating intermediate {@code Cost} objects.
+ * @author Dieter De Paepe
+ */
+public interface PrimitiveCost extends Cost {
+    /**
+     * Returns the value of this cost.
+     * @return the value
+     */
+    public long longValue();
+}
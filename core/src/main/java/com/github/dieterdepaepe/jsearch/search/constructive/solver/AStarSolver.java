@@ -1,8 +1,11 @@
 package com.github.dieterdepaepe.jsearch.search.constructive.solver;
 
-import com.github.dieterdepaepe.jsearch.datastructure.priority.FibonacciHeap;
+import com.github.dieterdepaepe.jsearch.datastructure.priority.PriorityQueue;
+import com.github.dieterdepaepe.jsearch.datastructure.priority.PriorityQueueFactory;
 import com.github.dieterdepaepe.jsearch.search.constructive.*;
 import com.github.dieterdepaepe.jsearch.search.constructive.util.BasicSolution;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.Iterables;
 
 /**
  * An <a href="http://en.wikipedia.org/wiki/A*">A*</a> implementation of a {@link Solver}. This solver will expand all
@@ -19,12 +22,82 @@ import com.github.dieterdepaepe.jsearch.search.constructive.util.BasicSolution;
  * the search and decrease memory usage by decreasing the number of visited nodes. Note however that the found
  * solution will still indicate optimality, since the solver assumes an admissible heuristic.</p>
  *
+ * <p>The nodes awaiting expansion are stored in a {@link PriorityQueue} created by the {@link PriorityQueueFactory}
+ * passed at construction. If no factory is specified, nodes using a
+ * {@link com.github.dieterdepaepe.jsearch.search.constructive.cost.PrimitiveCost} are kept in a
+ * {@link com.github.dieterdepaepe.jsearch.datastructure.priority.RadixHeap}, otherwise a
+ * {@link com.github.dieterdepaepe.jsearch.datastructure.priority.FibonacciHeap} is used. Nodes with an equal total
+ * estimated cost are ordered according to a {@link TieBreaker}.</p>
+ *
+ * <p>By default, the heuristic is evaluated for every generated node. For expensive heuristics,
+ * {@link HeuristicEvaluation#LAZY lazy evaluation} postpones this until a node is about to be expanded, so nodes that
+ * are never expanded are never evaluated.</p>
+ *
  * <p>This implementation is stateless and therefor thread-safe.</p>
  *
  * @see com.github.dieterdepaepe.jsearch.search.constructive.solver.AStarStateSolver
  * @author Dieter De Paepe
  */
 public class AStarSolver implements Solver<SearchNode, Object> {
+    private PriorityQueueFactory queueFactory;
+    private TieBreaker tieBreaker;
+    private HeuristicEvaluation heuristicEvaluation;
+
+    /**
+     * Creates a new solver which selects the type of priority queue based on the type of cost of the search nodes,
+     * and does not break ties between nodes.
+     */
+    public AStarSolver() {
+        this(null, TieBreaker.ARBITRARY);
+    }
+
+    /**
+     * Creates a new solver which uses priority queues created by the specified factory, and does not break ties
+     * between nodes.
+     * @param queueFactory the factory for the priority queue of nodes awaiting expansion
+     */
+    public AStarSolver(PriorityQueueFactory queueFactory) {
+        this(Preconditions.checkNotNull(queueFactory), TieBreaker.ARBITRARY);
+    }
+
+    /**
+     * Creates a new solver which selects the type of priority queue based on the type of cost of the search nodes,
+     * and uses the specified policy to order nodes with an equal total estimated cost.
+     * @param tieBreaker the tie-breaking policy
+     */
+    public AStarSolver(TieBreaker tieBreaker) {
+        this(null, tieBreaker);
+    }
+
+    /**
+     * Creates a new solver which uses priority queues created by the specified factory and uses the specified
+     * policy to order nodes with an equal total estimated cost.
+     * @param queueFactory the factory for the priority queue of nodes awaiting expansion, or null to select the
+     *                     type of priority queue based on the type of cost of the search nodes
+     * @param tieBreaker the tie-breaking policy
+     */
+    public AStarSolver(PriorityQueueFactory queueFactory, TieBreaker tieBreaker) {
+        this(queueFactory, tieBreaker, HeuristicEvaluation.EAGER);
+    }
+
+    /**
+     * Creates a new solver which uses priority queues created by the specified factory, uses the specified
+     * policy to order nodes with an equal total estimated cost and evaluates the heuristic at the specified moment.
+     * @param queueFactory the factory for the priority queue of nodes awaiting expansion, or null to select the
+     *                     type of priority queue based on the type of cost of the search nodes
+     * @param tieBreaker the tie-breaking policy
+     * @param heuristicEvaluation the moment at which the heuristic is evaluated for generated nodes
+     * @throws java.lang.IllegalArgumentException if lazy evaluation is combined with
+     *                                            {@link TieBreaker#LOWEST_HEURISTIC_FIRST}
+     */
+    public AStarSolver(PriorityQueueFactory queueFactory, TieBreaker tieBreaker, HeuristicEvaluation heuristicEvaluation) {
+        Preconditions.checkArgument(heuristicEvaluation != HeuristicEvaluation.LAZY || tieBreaker != TieBreaker.LOWEST_HEURISTIC_FIRST,
+                "Lazy heuristic evaluation can not be combined with tie-breaker %s", tieBreaker);
+
+        this.queueFactory = queueFactory;
+        this.tieBreaker = Preconditions.checkNotNull(tieBreaker);
+        this.heuristicEvaluation = Preconditions.checkNotNull(heuristicEvaluation);
+    }
 
     @Override
     public <S extends SearchNode, E> void solve(Iterable<InformedSearchNode<S>> startNodes,
@@ -32,32 +105,81 @@ public class AStarSolver implements Solver<SearchNode, Object> {
                                                 Heuristic<? super S, ? super E> heuristic,
                                                 SearchNodeGenerator<S, E> searchNodeGenerator,
                                                 Manager<? super S> manager) {
-        FibonacciHeap<Cost, InformedSearchNode<S>> heap = FibonacciHeap.create();
+        SearchListener listener = SearchListeners.of(manager);
+        listener.searchStarted();
+        try {
+            search(startNodes, environment, heuristic, searchNodeGenerator, manager, listener);
+        } finally {
+            listener.searchFinished();
+        }
+    }
+
+    private <S extends SearchNode, E> void search(Iterable<InformedSearchNode<S>> startNodes,
+                                                  E environment,
+                                                  Heuristic<? super S, ? super E> heuristic,
+                                                  SearchNodeGenerator<S, E> searchNodeGenerator,
+                                                  Manager<? super S> manager,
+                                                  SearchListener listener) {
+        InformedSearchNode<S> firstStartNode = Iterables.getFirst(startNodes, null);
+        if (firstStartNode == null)
+            return;
+
+        PriorityQueue<InformedSearchNode<S>, InformedSearchNode<S>> openList = OpenLists.create(queueFactory, tieBreaker, firstStartNode);
         Cost costBound = manager.getCostBound();
 
-        for (InformedSearchNode<S> startNode : startNodes)
-            if (startNode.getEstimatedTotalCost().compareTo(costBound) <= 0)
-                heap.insert(startNode.getEstimatedTotalCost(), startNode);
+        for (InformedSearchNode<S> startNode : startNodes) {
+            if (startNode.compareEstimatedTotalCostTo(costBound) <= 0)
+                openList.insert(startNode, startNode);
+            else
+                listener.nodePruned(startNode.getSearchNode());
+        }
+        listener.openListSizeChanged(openList.size());
 
-        while (!heap.isEmpty() && manager.continueSearch()) {
-            InformedSearchNode<S> informedNodeToExpand = heap.deleteMinimum().getValue();
+        while (!openList.isEmpty() && manager.continueSearch()) {
+            InformedSearchNode<S> informedNodeToExpand = openList.deleteMinimum().getValue();
             costBound = manager.getCostBound();
 
             // The cost bound might have been lowered since this state was added to the queue, we need to check it again.
-            if (informedNodeToExpand.getEstimatedTotalCost().compareTo(costBound) > 0)
+            if (informedNodeToExpand.compareEstimatedTotalCostTo(costBound) > 0)
                 return;
 
+            // A lazily evaluated node may turn out to be more expensive than assumed, it then awaits expansion again.
+            if (heuristicEvaluation.evaluate(informedNodeToExpand)) {
+                if (informedNodeToExpand.compareEstimatedTotalCostTo(costBound) <= 0)
+                    openList.insert(informedNodeToExpand, informedNodeToExpand);
+                else
+                    listener.nodePruned(informedNodeToExpand.getSearchNode());
+                continue;
+            }
+
             S nodeToExpand = informedNodeToExpand.getSearchNode();
             if (nodeToExpand.isGoal()) {
                 manager.registerSolution(new BasicSolution<>(nodeToExpand, true));
             }
 
-            for (InformedSearchNode<S> successor : searchNodeGenerator.generateSuccessorNodes(nodeToExpand, environment, heuristic)) {
-                Cost estimatedTotalCost = successor.getEstimatedTotalCost();
+            listener.nodeExpanded(nodeToExpand);
+            int generatedNodes = 0;
+            Heuristic<? super S, ? super E> generatorHeuristic = heuristicEvaluation.getGeneratorHeuristic(heuristic, informedNodeToExpand);
+            for (InformedSearchNode<S> generatedNode : searchNodeGenerator.generateSuccessorNodes(nodeToExpand, environment, generatorHeuristic)) {
+                generatedNodes++;
+                InformedSearchNode<S> successor = heuristicEvaluation.inform(generatedNode, informedNodeToExpand, heuristic, environment);
                 // Since A* can be very memory expensive, we do a premature purging of search nodes.
-                if (estimatedTotalCost.compareTo(costBound) <= 0)
-                    heap.insert(estimatedTotalCost, successor);
+                if (successor.compareEstimatedTotalCostTo(costBound) <= 0)
+                    openList.insert(successor, successor);
+                else
+                    listener.nodePruned(successor.getSearchNode());
             }
+            listener.nodesGenerated(generatedNodes);
+            listener.openListSizeChanged(openList.size());
         }
     }
+
+    @Override
+    public String toString() {
+        return "AStarSolver{" +
+                "queueFactory=" + queueFactory +
+                ", tieBreaker=" + tieBreaker +
+                ", heuristicEvaluation=" + heuristicEvaluation +
+                '}';
+    }
 }
@@ -1,8 +1,13 @@
 package com.github.dieterdepaepe.jsearch.search.constructive.solver;
 
-import com.github.dieterdepaepe.jsearch.datastructure.priority.FibonacciHeap;
+import com.github.dieterdepaepe.jsearch.datastructure.priority.PriorityQueue;
+import com.github.dieterdepaepe.jsearch.datastructure.priority.PriorityQueueEntry;
+import com.github.dieterdepaepe.jsearch.datastructure.priority.PriorityQueueFactory;
 import com.github.dieterdepaepe.jsearch.search.constructive.*;
+import com.github.dieterdepaepe.jsearch.search.constructive.cost.Costs;
 import com.github.dieterdepaepe.jsearch.search.constructive.util.BasicSolution;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.Iterables;
 import com.google.common.collect.Maps;
 
 import java.util.Map;
@@ -14,9 +19,11 @@ import java.util.Map;
  *
  * <p>During search, nodes are expanded on a best-first basis: each time, the node with the lowest total estimated cost
  * will be expanded. The {@link com.github.dieterdepaepe.jsearch.search.constructive.StateSearchNode#getSearchSpaceState()
- * searchSpaceState} of each node is tracked and used as an additional pruning criteria. The speed and memory
- * requirements of this solver are greatly depended on the accuracy of the used {@link Heuristic} and the amount of
- * unique search space states.</p>
+ * searchSpaceState} of each node is tracked and used as an additional pruning criteria. When a cheaper node is found
+ * for a state that is still awaiting expansion, the key of its queue entry is decreased, so the queue holds at most
+ * one entry per state. Expanded states are stored in a {@link ClosedList}, which can be kept outside of the Java heap
+ * by using an {@link OffHeapClosedList}. The speed and memory requirements of this solver are greatly depended on
+ * the accuracy of the used {@link Heuristic} and the amount of unique search space states.</p>
  *
  * <p>This solver assumes an admissible {@code Heuristic}. Should this assumption be violated, and the heuristic
  * overestimates the remaining cost by a factor of {@code e (> 0)}, the found solution is still guaranteed to be at most
@@ -24,65 +31,232 @@ import java.util.Map;
  * the search and decrease memory usage by decreasing the number of visited nodes. Note however that the found
  * solution will still indicate optimality, since the solver assumes an admissible heuristic.</p>
  *
+ * <p>The nodes awaiting expansion are stored in a {@link PriorityQueue} created by the {@link PriorityQueueFactory}
+ * passed at construction. If no factory is specified, nodes using a
+ * {@link com.github.dieterdepaepe.jsearch.search.constructive.cost.PrimitiveCost} are kept in a
+ * {@link com.github.dieterdepaepe.jsearch.datastructure.priority.RadixHeap}, otherwise a
+ * {@link com.github.dieterdepaepe.jsearch.datastructure.priority.FibonacciHeap} is used. Nodes with an equal total
+ * estimated cost are ordered according to a {@link TieBreaker}.</p>
+ *
+ * <p>By default, the heuristic is evaluated for every generated node. For expensive heuristics,
+ * {@link HeuristicEvaluation#LAZY lazy evaluation} postpones this until a node is about to be expanded, so nodes that
+ * are never expanded are never evaluated.</p>
+ *
  * <p>This implementation is stateless and therefor thread-safe.</p>
  *
  * @see com.github.dieterdepaepe.jsearch.search.constructive.solver.AStarSolver
  * @author Dieter De Paepe
  */
 public class AStarStateSolver implements Solver<StateSearchNode, Object> {
+    private PriorityQueueFactory queueFactory;
+    private TieBreaker tieBreaker;
+    private ClosedListFactory closedListFactory;
+    private HeuristicEvaluation heuristicEvaluation;
+
+    /**
+     * Creates a new solver which selects the type of priority queue based on the type of cost of the search nodes,
+     * and does not break ties between nodes.
+     */
+    public AStarStateSolver() {
+        this(null, TieBreaker.ARBITRARY);
+    }
+
+    /**
+     * Creates a new solver which uses priority queues created by the specified factory, and does not break ties
+     * between nodes.
+     * @param queueFactory the factory for the priority queue of nodes awaiting expansion
+     */
+    public AStarStateSolver(PriorityQueueFactory queueFactory) {
+        this(Preconditions.checkNotNull(queueFactory), TieBreaker.ARBITRARY);
+    }
+
+    /**
+     * Creates a new solver which selects the type of priority queue based on the type of cost of the search nodes,
+     * and uses the specified policy to order nodes with an equal total estimated cost.
+     * @param tieBreaker the tie-breaking policy
+     */
+    public AStarStateSolver(TieBreaker tieBreaker) {
+        this(null, tieBreaker);
+    }
+
+    /**
+     * Creates a new solver which uses priority queues created by the specified factory and uses the specified
+     * policy to order nodes with an equal total estimated cost.
+     * @param queueFactory the factory for the priority queue of nodes awaiting expansion, or null to select the
+     *                     type of priority queue based on the type of cost of the search nodes
+     * @param tieBreaker the tie-breaking policy
+     */
+    public AStarStateSolver(PriorityQueueFactory queueFactory, TieBreaker tieBreaker) {
+        this(queueFactory, tieBreaker, HashClosedList.factory());
+    }
+
+    /**
+     * Creates a new solver which uses priority queues created by the specified factory, uses the specified
+     * policy to order nodes with an equal total estimated cost and stores the expanded states in closed lists
+     * created by the specified factory.
+     * @param queueFactory the factory for the priority queue of nodes awaiting expansion, or null to select the
+     *                     type of priority queue based on the type of cost of the search nodes
+     * @param tieBreaker the tie-breaking policy
+     * @param closedListFactory the factory for the closed list of expanded states
+     */
+    public AStarStateSolver(PriorityQueueFactory queueFactory, TieBreaker tieBreaker, ClosedListFactory closedListFactory) {
+        this(queueFactory, tieBreaker, closedListFactory, HeuristicEvaluation.EAGER);
+    }
+
+    /**
+     * Creates a new solver which uses priority queues created by the specified factory, uses the specified
+     * policy to order nodes with an equal total estimated cost, stores the expanded states in closed lists
+     * created by the specified factory and evaluates the heuristic at the specified moment.
+     * @param queueFactory the factory for the priority queue of nodes awaiting expansion, or null to select the
+     *                     type of priority queue based on the type of cost of the search nodes
+     * @param tieBreaker the tie-breaking policy
+     * @param closedListFactory the factory for the closed list of expanded states
+     * @param heuristicEvaluation the moment at which the heuristic is evaluated for generated nodes
+     * @throws java.lang.IllegalArgumentException if lazy evaluation is combined with
+     *                                            {@link TieBreaker#LOWEST_HEURISTIC_FIRST}
+     */
+    public AStarStateSolver(PriorityQueueFactory queueFactory,
+                            TieBreaker tieBreaker,
+                            ClosedListFactory closedListFactory,
+                            HeuristicEvaluation heuristicEvaluation) {
+        Preconditions.checkArgument(heuristicEvaluation != HeuristicEvaluation.LAZY || tieBreaker != TieBreaker.LOWEST_HEURISTIC_FIRST,
+                "Lazy heuristic evaluation can not be combined with tie-breaker %s", tieBreaker);
+
+        this.queueFactory = queueFactory;
+        this.tieBreaker = Preconditions.checkNotNull(tieBreaker);
+        this.closedListFactory = Preconditions.checkNotNull(closedListFactory);
+        this.heuristicEvaluation = Preconditions.checkNotNull(heuristicEvaluation);
+    }
+
     @Override
     public <S extends StateSearchNode, E> void solve(Iterable<InformedSearchNode<S>> startNodes,
                                                      E environment,
                                                      Heuristic<? super S, ? super E> heuristic,
                                                      SearchNodeGenerator<S, E> searchNodeGenerator,
                                                      Manager<? super S> manager) {
-        FibonacciHeap<Cost, InformedSearchNode<S>> heap = FibonacciHeap.create();
-        Map<Object, Cost> bestEncounteredCostPerState = Maps.newHashMap();
+        SearchListener listener = SearchListeners.of(manager);
+        listener.searchStarted();
+        try {
+            search(startNodes, environment, heuristic, searchNodeGenerator, manager, listener);
+        } finally {
+            listener.searchFinished();
+        }
+    }
+
+    private <S extends StateSearchNode, E> void search(Iterable<InformedSearchNode<S>> startNodes,
+                                                       E environment,
+                                                       Heuristic<? super S, ? super E> heuristic,
+                                                       SearchNodeGenerator<S, E> searchNodeGenerator,
+                                                       Manager<? super S> manager,
+                                                       SearchListener listener) {
+        InformedSearchNode<S> firstStartNode = Iterables.getFirst(startNodes, null);
+        if (firstStartNode == null)
+            return;
+
+        PriorityQueue<InformedSearchNode<S>, InformedSearchNode<S>> openList = OpenLists.create(queueFactory, tieBreaker, firstStartNode);
+        Map<Object, PriorityQueueEntry<InformedSearchNode<S>, InformedSearchNode<S>>> openStates = Maps.newHashMap();
+        ClosedList<S> closedList = closedListFactory.create();
         Cost costBound = manager.getCostBound();
 
         for (InformedSearchNode<S> startNode : startNodes) {
-            if (startNode.getEstimatedTotalCost().compareTo(costBound) > 0)
-                continue;
-            Object searchSpaceState = startNode.getSearchNode().getSearchSpaceState();
-            Cost stateCost = startNode.getSearchNode().getCost();
-            Cost equalStateCost = bestEncounteredCostPerState.get(searchSpaceState);
-            if (equalStateCost == null || stateCost.compareTo(equalStateCost) < 0) {
-                heap.insert(startNode.getEstimatedTotalCost(), startNode);
-                bestEncounteredCostPerState.put(searchSpaceState, stateCost);
-            }
+            if (startNode.compareEstimatedTotalCostTo(costBound) <= 0)
+                addToOpenList(startNode, openList, openStates, closedList, listener);
+            else
+                listener.nodePruned(startNode.getSearchNode());
         }
+        listener.openListSizeChanged(openList.size());
 
-        while (!heap.isEmpty() && manager.continueSearch()) {
-            InformedSearchNode<S> informedNodeToExpand = heap.deleteMinimum().getValue();
+        while (!openList.isEmpty() && manager.continueSearch()) {
+            InformedSearchNode<S> informedNodeToExpand = openList.deleteMinimum().getValue();
             costBound = manager.getCostBound();
 
             // The cost bound might have been lowered since this state was added to the queue, we need to check it again.
-            if (informedNodeToExpand.getEstimatedTotalCost().compareTo(costBound) > 0)
+            if (informedNodeToExpand.compareEstimatedTotalCostTo(costBound) > 0)
                 return;
 
             S nodeToExpand = informedNodeToExpand.getSearchNode();
-
             Object searchSpaceState = nodeToExpand.getSearchSpaceState();
-            if (bestEncounteredCostPerState.get(searchSpaceState).compareTo(nodeToExpand.getCost()) < 0)
+            openStates.remove(searchSpaceState);
+
+            // A lazily evaluated node may turn out to be more expensive than assumed, it then awaits expansion again.
+            if (heuristicEvaluation.evaluate(informedNodeToExpand)) {
+                if (informedNodeToExpand.compareEstimatedTotalCostTo(costBound) <= 0)
+                    openStates.put(searchSpaceState, openList.insert(informedNodeToExpand, informedNodeToExpand));
+                else
+                    listener.nodePruned(nodeToExpand);
                 continue;
+            }
+
+            closedList.add(nodeToExpand);
 
             if (nodeToExpand.isGoal()) {
                 manager.registerSolution(new BasicSolution<>(nodeToExpand, true));
             }
 
-            for (InformedSearchNode<S> successor : searchNodeGenerator.generateSuccessorNodes(nodeToExpand, environment, heuristic)) {
-                Cost estimatedTotalCost = successor.getEstimatedTotalCost();
+            listener.nodeExpanded(nodeToExpand);
+            int generatedNodes = 0;
+            Heuristic<? super S, ? super E> generatorHeuristic = heuristicEvaluation.getGeneratorHeuristic(heuristic, informedNodeToExpand);
+            for (InformedSearchNode<S> generatedNode : searchNodeGenerator.generateSuccessorNodes(nodeToExpand, environment, generatorHeuristic)) {
+                generatedNodes++;
+                InformedSearchNode<S> successor = heuristicEvaluation.inform(generatedNode, informedNodeToExpand, heuristic, environment);
                 // Since A* can be very memory expensive, we do a premature purging of search nodes.
-                if (estimatedTotalCost.compareTo(costBound) > 0)
-                    continue;
-                Object successorSearchSpaceState = successor.getSearchNode().getSearchSpaceState();
-                Cost stateCost = successor.getSearchNode().getCost();
-                Cost equalStateCost = bestEncounteredCostPerState.get(successorSearchSpaceState);
-                if (equalStateCost == null || stateCost.compareTo(equalStateCost) < 0) {
-                    heap.insert(estimatedTotalCost, successor);
-                    bestEncounteredCostPerState.put(successorSearchSpaceState, stateCost);
-                }
+                if (successor.compareEstimatedTotalCostTo(costBound) <= 0)
+                    addToOpenList(successor, openList, openStates, closedList, listener);
+                else
+                    listener.nodePruned(successor.getSearchNode());
+            }
+            listener.nodesGenerated(generatedNodes);
+            listener.openListSizeChanged(openList.size());
+        }
+    }
+
+    /**
+     * Adds a node to the open list, unless a node for the same search space state with a lower or equal cost
+     * has been encountered before. If a more expensive node for the same state is still waiting in the open list, it
+     * is replaced by the new node, so the open list contains at most one entry per search space state.
+     */
+    private <S extends StateSearchNode> void addToOpenList(InformedSearchNode<S> node,
+                                                          PriorityQueue<InformedSearchNode<S>, InformedSearchNode<S>> openList,
+                                                          Map<Object, PriorityQueueEntry<InformedSearchNode<S>, InformedSearchNode<S>>> openStates,
+                                                          ClosedList<S> closedList,
+                                                          SearchListener listener) {
+        Object searchSpaceState = node.getSearchNode().getSearchSpaceState();
+        Cost stateCost = node.getSearchNode().getCost();
+
+        PriorityQueueEntry<InformedSearchNode<S>, InformedSearchNode<S>> openEntry = openStates.get(searchSpaceState);
+        if (openEntry != null) {
+            if (Costs.compare(stateCost, openEntry.getValue().getSearchNode().getCost()) >= 0) {
+                listener.duplicateDropped(node.getSearchNode());
+                return;
             }
+
+            if (tieBreaker.getNodeComparator().compare(node, openEntry.getKey()) < 0) {
+                openList.decreaseKey(openEntry, node);
+                openEntry.setValue(node);
+            } else {
+                // A node dependent heuristic may cause a cheaper node to have a higher estimated total cost.
+                openList.delete(openEntry);
+                openStates.put(searchSpaceState, openList.insert(node, node));
+            }
+            return;
+        }
+
+        // An expanded state can only be reached cheaper if the heuristic is inconsistent, the state is then reopened.
+        if (closedList.isDominated(node.getSearchNode())) {
+            listener.duplicateDropped(node.getSearchNode());
+            return;
         }
+
+        openStates.put(searchSpaceState, openList.insert(node, node));
+    }
+
+    @Override
+    public String toString() {
+        return "AStarStateSolver{" +
+                "queueFactory=" + queueFactory +
+                ", tieBreaker=" + tieBreaker +
+                ", closedListFactory=" + closedListFactory +
+                ", heuristicEvaluation=" + heuristicEvaluation +
+                '}';
     }
 }
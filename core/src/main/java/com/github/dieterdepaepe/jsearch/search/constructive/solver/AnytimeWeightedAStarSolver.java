@@ -0,0 +1,250 @@
+package com.github.dieterdepaepe.jsearch.search.constructive.solver;
+
+import com.github.dieterdepaepe.jsearch.datastructure.priority.FibonacciHeap;
+import com.github.dieterdepaepe.jsearch.datastructure.priority.PriorityQueue;
+import com.github.dieterdepaepe.jsearch.datastructure.priority.PriorityQueueEntry;
+import com.github.dieterdepaepe.jsearch.datastructure.priority.PriorityQueueFactory;
+import com.github.dieterdepaepe.jsearch.search.constructive.*;
+import com.github.dieterdepaepe.jsearch.search.constructive.cost.DoubleCost;
+import com.github.dieterdepaepe.jsearch.search.constructive.cost.PrimitiveCost;
+import com.github.dieterdepaepe.jsearch.search.constructive.util.BasicSolution;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Ordering;
+
+import java.util.Map;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * An anytime variant of <a href="http://en.wikipedia.org/wiki/A*">A*</a>, known as <i>anytime weighted A*</i>
+ * (AWA*). This solver quickly finds a first (possibly suboptimal) {@link Solution} and keeps improving it until the
+ * optimal solution is found, presuming that a solution is reachable.
+ *
+ * <p>Nodes are expanded in order of their weighted total estimated cost {@code g + w * h}, with {@code w >= 1}. The
+ * larger the weight, the more greedily the solver moves towards a goal. Each time a goal node is found that is
+ * cheaper than all previously found goals, it is registered as a non-optimal solution with the {@link Manager}. The
+ * search then continues, pruning all nodes whose (unweighted) total estimated cost is not lower than the cost of
+ * the best solution. As soon as none of the nodes awaiting expansion can lead to a cheaper solution, the best
+ * solution is registered a second time, now marked as optimal. A weight of {@code 1} results in normal A*.</p>
+ *
+ * <p>Like {@link AStarStateSolver}, the {@link StateSearchNode#getSearchSpaceState() searchSpaceState} of each node
+ * is used to detect duplicate nodes. Since nodes are not expanded in order of their total estimated cost, a state may
+ * be reached by a cheaper path after it has been expanded, in which case it is expanded again.</p>
+ *
+ * <p>The weighted costs are calculated as {@code double} values, so this solver only supports search nodes using
+ * a {@link PrimitiveCost} or a {@link DoubleCost}. This solver assumes an admissible {@code Heuristic}, the
+ * optimality of the final solution is only guaranteed if this assumption holds.</p>
+ *
+ * <p>This implementation is stateless and therefor thread-safe.</p>
+ *
+ * @see com.github.dieterdepaepe.jsearch.search.constructive.solver.AStarStateSolver
+ * @author Dieter De Paepe
+ */
+public class AnytimeWeightedAStarSolver implements Solver<StateSearchNode, Object> {
+    private double weight;
+    private PriorityQueueFactory queueFactory;
+
+    /**
+     * Creates a new solver using the specified heuristic weight.
+     * @param weight the factor by which the estimated remaining cost of a node is multiplied, should be {@code >= 1}
+     * @throws java.lang.IllegalArgumentException if {@code weight < 1}
+     */
+    public AnytimeWeightedAStarSolver(double weight) {
+        this(weight, FibonacciHeap.factory());
+    }
+
+    /**
+     * Creates a new solver using the specified heuristic weight and priority queues created by the specified factory.
+     * @param weight the factor by which the estimated remaining cost of a node is multiplied, should be {@code >= 1}
+     * @param queueFactory the factory for the priority queues of nodes awaiting expansion
+     * @throws java.lang.IllegalArgumentException if {@code weight < 1}
+     */
+    public AnytimeWeightedAStarSolver(double weight, PriorityQueueFactory queueFactory) {
+        checkArgument(weight >= 1, "Weight should be >= 1, but was %s", weight);
+
+        this.weight = weight;
+        this.queueFactory = checkNotNull(queueFactory);
+    }
+
+    @Override
+    public <S extends StateSearchNode, E> void solve(Iterable<InformedSearchNode<S>> startNodes,
+                                                     E environment,
+                                                     Heuristic<? super S, ? super E> heuristic,
+                                                     SearchNodeGenerator<S, E> searchNodeGenerator,
+                                                     Manager<? super S> manager) {
+        SearchListener listener = SearchListeners.of(manager);
+        listener.searchStarted();
+        try {
+            search(startNodes, environment, heuristic, searchNodeGenerator, manager, listener);
+        } finally {
+            listener.searchFinished();
+        }
+    }
+
+    private <S extends StateSearchNode, E> void search(Iterable<InformedSearchNode<S>> startNodes,
+                                                       E environment,
+                                                       Heuristic<? super S, ? super E> heuristic,
+                                                       SearchNodeGenerator<S, E> searchNodeGenerator,
+                                                       Manager<? super S> manager,
+                                                       SearchListener listener) {
+        OpenList<S> openList = new OpenList<>(queueFactory);
+        Map<Object, Cost> bestCostPerState = Maps.newHashMap();
+        S incumbent = null;
+
+        for (InformedSearchNode<S> startNode : startNodes)
+            addToOpenList(startNode, openList, bestCostPerState, manager.getCostBound(), null, listener);
+        listener.openListSizeChanged(openList.size());
+
+        while (!openList.isEmpty() && manager.continueSearch()) {
+            // No node awaiting expansion can lead to a solution cheaper than the incumbent: it is optimal.
+            if (incumbent != null && !isCheaperThan(openList.getMinimumEstimatedTotalCost(), incumbent))
+                break;
+
+            InformedSearchNode<S> informedNodeToExpand = openList.deleteMinimum();
+            S nodeToExpand = informedNodeToExpand.getSearchNode();
+
+            // The bounds might have been lowered since this node was added to the open list, we need to check them again.
+            Cost costBound = manager.getCostBound();
+            if (informedNodeToExpand.getEstimatedTotalCost().compareTo(costBound) > 0
+                    || !isCheaperThan(informedNodeToExpand.getEstimatedTotalCost(), incumbent)) {
+                listener.nodePruned(nodeToExpand);
+                continue;
+            }
+
+            if (nodeToExpand.isGoal()) {
+                incumbent = nodeToExpand;
+                manager.registerSolution(new BasicSolution<>(nodeToExpand, false));
+                // The successors of a goal node can not be cheaper than the goal itself.
+                continue;
+            }
+
+            listener.nodeExpanded(nodeToExpand);
+            int generatedNodes = 0;
+            for (InformedSearchNode<S> successor : searchNodeGenerator.generateSuccessorNodes(nodeToExpand, environment, heuristic)) {
+                generatedNodes++;
+                addToOpenList(successor, openList, bestCostPerState, costBound, incumbent, listener);
+            }
+            listener.nodesGenerated(generatedNodes);
+            listener.openListSizeChanged(openList.size());
+        }
+
+        if (incumbent != null && (openList.isEmpty() || !isCheaperThan(openList.getMinimumEstimatedTotalCost(), incumbent)))
+            manager.registerSolution(new BasicSolution<>(incumbent, true));
+    }
+
+    /**
+     * Adds a node to the open list, unless it can not lead to a solution within the bounds or a node for the same
+     * search space state with a lower or equal cost has been encountered before. If a more expensive node for the
+     * same state is still waiting in the open list, it is replaced by the new node.
+     */
+    private <S extends StateSearchNode> void addToOpenList(InformedSearchNode<S> node,
+                                                          OpenList<S> openList,
+                                                          Map<Object, Cost> bestCostPerState,
+                                                          Cost costBound,
+                                                          S incumbent,
+                                                          SearchListener listener) {
+        // Since A* can be very memory expensive, we do a premature purging of search nodes.
+        if (node.getEstimatedTotalCost().compareTo(costBound) > 0 || !isCheaperThan(node.getEstimatedTotalCost(), incumbent)) {
+            listener.nodePruned(node.getSearchNode());
+            return;
+        }
+
+        Object searchSpaceState = node.getSearchNode().getSearchSpaceState();
+        Cost stateCost = node.getSearchNode().getCost();
+        Cost bestCost = bestCostPerState.get(searchSpaceState);
+        if (bestCost != null && stateCost.compareTo(bestCost) >= 0) {
+            listener.duplicateDropped(node.getSearchNode());
+            return;
+        }
+
+        bestCostPerState.put(searchSpaceState, stateCost);
+        openList.insert(node, weightedTotalCost(node));
+    }
+
+    /**
+     * Checks whether a node with the given total estimated cost could lead to a solution cheaper than the incumbent.
+     */
+    private static boolean isCheaperThan(Cost estimatedTotalCost, StateSearchNode incumbent) {
+        return incumbent == null || estimatedTotalCost.compareTo(incumbent.getCost()) < 0;
+    }
+
+    private double weightedTotalCost(InformedSearchNode<?> node) {
+        return toDouble(node.getSearchNode().getCost()) + weight * toDouble(node.getEstimatedRemainingCost());
+    }
+
+    private static double toDouble(Cost cost) {
+        if (cost instanceof PrimitiveCost)
+            return ((PrimitiveCost) cost).longValue();
+        if (cost instanceof DoubleCost)
+            return ((DoubleCost) cost).getValue();
+        throw new IllegalArgumentException("Unsupported cost type: " + cost.getClass().getName());
+    }
+
+    @Override
+    public String toString() {
+        return "AnytimeWeightedAStarSolver{" +
+                "weight=" + weight +
+                ", queueFactory=" + queueFactory +
+                '}';
+    }
+
+    /**
+     * The nodes awaiting expansion, ordered by their weighted total estimated cost. The nodes are also ordered by
+     * their total estimated cost, to detect when the incumbent solution is optimal. At most one node per search space
+     * state is kept.
+     * @param <S> the type of the search nodes
+     */
+    private static class OpenList<S extends StateSearchNode> {
+        private final PriorityQueue<Double, InformedSearchNode<S>> weightedQueue;
+        private final PriorityQueue<Cost, InformedSearchNode<S>> unweightedQueue;
+        private final Map<Object, Entries<S>> entriesPerState = Maps.newHashMap();
+
+        private OpenList(PriorityQueueFactory queueFactory) {
+            this.weightedQueue = queueFactory.create(Ordering.<Double>natural());
+            this.unweightedQueue = queueFactory.create(Ordering.<Cost>natural());
+        }
+
+        private void insert(InformedSearchNode<S> node, double weightedTotalCost) {
+            Object searchSpaceState = node.getSearchNode().getSearchSpaceState();
+            Entries<S> replacedEntries = entriesPerState.get(searchSpaceState);
+            if (replacedEntries != null) {
+                weightedQueue.delete(replacedEntries.weightedEntry);
+                unweightedQueue.delete(replacedEntries.unweightedEntry);
+            }
+            entriesPerState.put(searchSpaceState, new Entries<>(
+                    weightedQueue.insert(weightedTotalCost, node),
+                    unweightedQueue.insert(node.getEstimatedTotalCost(), node)));
+        }
+
+        private InformedSearchNode<S> deleteMinimum() {
+            InformedSearchNode<S> node = weightedQueue.deleteMinimum().getValue();
+            Entries<S> entries = entriesPerState.remove(node.getSearchNode().getSearchSpaceState());
+            unweightedQueue.delete(entries.unweightedEntry);
+            return node;
+        }
+
+        private Cost getMinimumEstimatedTotalCost() {
+            return unweightedQueue.findMinimum().getKey();
+        }
+
+        private boolean isEmpty() {
+            return weightedQueue.isEmpty();
+        }
+
+        private int size() {
+            return weightedQueue.size();
+        }
+    }
+
+    private static class Entries<S extends StateSearchNode> {
+        private final PriorityQueueEntry<Double, InformedSearchNode<S>> weightedEntry;
+        private final PriorityQueueEntry<Cost, InformedSearchNode<S>> unweightedEntry;
+
+        private Entries(PriorityQueueEntry<Double, InformedSearchNode<S>> weightedEntry,
+                        PriorityQueueEntry<Cost, InformedSearchNode<S>> unweightedEntry) {
+            this.weightedEntry = weightedEntry;
+            this.unweightedEntry = unweightedEntry;
+        }
+    }
+}
@@ -0,0 +1,391 @@
+package com.github.dieterdepaepe.jsearch.search.constructive.solver;
+
+import com.github.dieterdepaepe.jsearch.datastructure.priority.PriorityQueue;
+import com.github.dieterdepaepe.jsearch.datastructure.priority.PriorityQueueEntry;
+import com.github.dieterdepaepe.jsearch.search.constructive.*;
+import com.github.dieterdepaepe.jsearch.search.constructive.cost.Costs;
+import com.github.dieterdepaepe.jsearch.search.constructive.cost.PrimitiveCost;
+import com.github.dieterdepaepe.jsearch.search.constructive.util.BasicSolution;
+import com.google.common.collect.Maps;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * An <a href="http://en.wikipedia.org/wiki/A*">A*</a> implementation of a {@link Solver} that records its progress in a
+ * journal file, so an interrupted search can be resumed rather than restarted. This solver is guaranteed to find the
+ * optimal {@link Solution}, presuming that a solution is reachable.
+ *
+ * <p>The search itself behaves like an {@link AStarStateSolver}. Additionally, each node added to the open list is
+ * appended to the journal, as is the encoded search space state of each expanded node. Every {@code checkpointInterval}
+ * expansions, and when the search ends, a checkpoint holding the current cost bound is appended. The journal is written
+ * by a background thread, so the search does not wait for the file system. Since the journal only grows, writing a
+ * checkpoint costs no more than writing the records since the previous checkpoint.</p>
+ *
+ * <p>Because the journal holds every node ever added to the open list, it is compacted at a checkpoint once it
+ * exceeds {@code compactionThreshold} bytes and has doubled in size since the previous compaction. Compacting writes
+ * the expanded nodes and the open list to a new file, which then atomically replaces the journal. The total
+ * compaction work is therefor proportional to the size of the written records.</p>
+ *
+ * <p>If the journal file is not empty when a search starts, the start nodes are ignored and the search is resumed
+ * instead: the journal is replayed up to its last checkpoint to rebuild the open and closed lists, the solutions found
+ * before are registered again with the {@link Manager} and the journaled cost bound is applied. Each record carries a
+ * checksum, the journal ends at the first record that is incomplete or damaged. Records after the last valid
+ * checkpoint are discarded. Resuming a finished search registers its solutions and ends. The journal is never deleted
+ * by this solver.</p>
+ *
+ * <p>This solver requires all search nodes to be {@link EncodableStateSearchNode}s with encoded states of a fixed
+ * size, using a {@link PrimitiveCost}. A {@link SearchNodeSerializer} is used to store the nodes in the journal. The
+ * {@link Heuristic} is evaluated again for the nodes restored from the journal. If a file operation fails, the search
+ * ends with an {@code IllegalStateException}. To be able to compact the journal, the expanded nodes are kept in
+ * memory rather than only their states and costs.</p>
+ *
+ * <p>This class is immutable, but concurrent searches of the same solver share its journal file and will corrupt it.</p>
+ *
+ * @param <T> the type of search nodes supported by the serializer
+ * @see AStarStateSolver
+ * @author Dieter De Paepe
+ */
+public class CheckpointingAStarSolver<T extends EncodableStateSearchNode> implements Solver<T, Object> {
+    private static final int DEFAULT_CHECKPOINT_INTERVAL = 100000;
+    private static final long DEFAULT_COMPACTION_THRESHOLD = 1 << 26;
+
+    private SearchNodeSerializer<T> serializer;
+    private int encodedStateSize;
+    private File journalFile;
+    private int checkpointInterval;
+    private long compactionThreshold;
+
+    /**
+     * Creates a new solver which writes a checkpoint every 100000 expansions and compacts journals of 64 MiB or more.
+     * @param serializer the serializer for the search nodes
+     * @param encodedStateSize the size of an encoded search space state, in bytes
+     * @param journalFile the journal file, which is resumed from if it is not empty
+     */
+    public CheckpointingAStarSolver(SearchNodeSerializer<T> serializer, int encodedStateSize, File journalFile) {
+        this(serializer, encodedStateSize, journalFile, DEFAULT_CHECKPOINT_INTERVAL);
+    }
+
+    /**
+     * Creates a new solver which compacts journals of 64 MiB or more.
+     * @param serializer the serializer for the search nodes
+     * @param encodedStateSize the size of an encoded search space state, in bytes
+     * @param journalFile the journal file, which is resumed from if it is not empty
+     * @param checkpointInterval the number of expansions between checkpoints
+     */
+    public CheckpointingAStarSolver(SearchNodeSerializer<T> serializer, int encodedStateSize, File journalFile, int checkpointInterval) {
+        this(serializer, encodedStateSize, journalFile, checkpointInterval, DEFAULT_COMPACTION_THRESHOLD);
+    }
+
+    /**
+     * Creates a new solver.
+     * @param serializer the serializer for the search nodes
+     * @param encodedStateSize the size of an encoded search space state, in bytes
+     * @param journalFile the journal file, which is resumed from if it is not empty
+     * @param checkpointInterval the number of expansions between checkpoints
+     * @param compactionThreshold the minimum size of the journal before it is compacted, in bytes
+     */
+    public CheckpointingAStarSolver(SearchNodeSerializer<T> serializer, int encodedStateSize, File journalFile,
+                                    int checkpointInterval, long compactionThreshold) {
+        checkArgument(encodedStateSize > 0, "encodedStateSize should be > 0");
+        checkArgument(checkpointInterval > 0, "checkpointInterval should be > 0");
+        checkArgument(compactionThreshold >= 0, "compactionThreshold should be >= 0");
+        this.serializer = checkNotNull(serializer);
+        this.encodedStateSize = encodedStateSize;
+        this.journalFile = checkNotNull(journalFile);
+        this.checkpointInterval = checkpointInterval;
+        this.compactionThreshold = compactionThreshold;
+    }
+
+    @Override
+    public <S extends T, E> void solve(Iterable<InformedSearchNode<S>> startNodes,
+                                       E environment,
+                                       Heuristic<? super S, ? super E> heuristic,
+                                       SearchNodeGenerator<S, E> searchNodeGenerator,
+                                       Manager<? super S> manager) {
+        SearchListener listener = SearchListeners.of(manager);
+        listener.searchStarted();
+        try {
+            new CheckpointedSearch<>(environment, heuristic, searchNodeGenerator, manager, listener).run(startNodes);
+        } catch (IOException e) {
+            throw new IllegalStateException("Checkpointed search failed.", e);
+        } finally {
+            listener.searchFinished();
+        }
+    }
+
+    private static long getCostValue(Cost cost) {
+        checkArgument(cost instanceof PrimitiveCost, "Search nodes should use a PrimitiveCost.");
+        return ((PrimitiveCost) cost).longValue();
+    }
+
+    @Override
+    public String toString() {
+        return "CheckpointingAStarSolver{" +
+                "serializer=" + serializer +
+                ", encodedStateSize=" + encodedStateSize +
+                ", journalFile=" + journalFile +
+                ", checkpointInterval=" + checkpointInterval +
+                ", compactionThreshold=" + compactionThreshold +
+                '}';
+    }
+
+    /**
+     * The state of a single search.
+     */
+    private class CheckpointedSearch<S extends T, E> {
+        private final E environment;
+        private final Heuristic<? super S, ? super E> heuristic;
+        private final SearchNodeGenerator<S, E> searchNodeGenerator;
+        private final Manager<? super S> manager;
+        private final SearchListener listener;
+
+        private final Map<Object, PriorityQueueEntry<InformedSearchNode<S>, InformedSearchNode<S>>> openStates = Maps.newHashMap();
+        /** The expanded nodes, by search space state. */
+        private final Map<Object, S> closedNodes = Maps.newHashMap();
+        private PriorityQueue<InformedSearchNode<S>, InformedSearchNode<S>> openList;
+        private JournalWriter journal;
+        /** The cost bound of the last checkpoint, which may be lower than the bound of the manager after resuming. */
+        private long journaledCostBound = Long.MAX_VALUE;
+        /** The size of the journal after the last compaction. */
+        private long compactedSize;
+
+        private CheckpointedSearch(E environment,
+                                   Heuristic<? super S, ? super E> heuristic,
+                                   SearchNodeGenerator<S, E> searchNodeGenerator,
+                                   Manager<? super S> manager,
+                                   SearchListener listener) {
+            this.environment = environment;
+            this.heuristic = heuristic;
+            this.searchNodeGenerator = searchNodeGenerator;
+            this.manager = manager;
+            this.listener = listener;
+        }
+
+        private void run(Iterable<InformedSearchNode<S>> startNodes) throws IOException {
+            boolean isResumed = journalFile.length() > 0;
+            long journalEnd = 0;
+            Iterable<InformedSearchNode<S>> initialNodes = startNodes;
+            if (isResumed) {
+                List<InformedSearchNode<S>> restoredNodes = new ArrayList<>();
+                journalEnd = replay(restoredNodes);
+                initialNodes = restoredNodes;
+            }
+
+            journal = new JournalWriter(journalFile, journalEnd, encodedStateSize);
+            try {
+                Cost costBound = manager.getCostBound();
+                for (InformedSearchNode<S> node : initialNodes) {
+                    if (openList == null)
+                        openList = OpenLists.create(null, TieBreaker.ARBITRARY, node);
+                    if (!isWithinBound(node, costBound))
+                        listener.nodePruned(node.getSearchNode());
+                    else if (isResumed)
+                        openStates.put(node.getSearchNode().getSearchSpaceState(), openList.insert(node, node));
+                    else
+                        addToOpenList(node);
+                }
+                if (openList != null) {
+                    listener.openListSizeChanged(openList.size());
+                    search();
+                }
+                journal.writeCheckpoint(getJournaledCostBound());
+            } finally {
+                journal.close();
+            }
+        }
+
+        private void search() throws IOException {
+            long expansions = 0;
+            while (!openList.isEmpty() && manager.continueSearch()) {
+                InformedSearchNode<S> informedNodeToExpand = openList.deleteMinimum().getValue();
+                Cost costBound = manager.getCostBound();
+
+                // The cost bound might have been lowered since this state was added to the queue, we need to check it again.
+                if (!isWithinBound(informedNodeToExpand, costBound))
+                    return;
+
+                S nodeToExpand = informedNodeToExpand.getSearchNode();
+                openStates.remove(nodeToExpand.getSearchSpaceState());
+                journal.writeClosed(nodeToExpand);
+                closedNodes.put(nodeToExpand.getSearchSpaceState(), nodeToExpand);
+
+                if (nodeToExpand.isGoal())
+                    manager.registerSolution(new BasicSolution<>(nodeToExpand, true));
+
+                listener.nodeExpanded(nodeToExpand);
+                int generatedNodes = 0;
+                for (InformedSearchNode<S> successor : searchNodeGenerator.generateSuccessorNodes(nodeToExpand, environment, heuristic)) {
+                    generatedNodes++;
+                    if (isWithinBound(successor, costBound))
+                        addToOpenList(successor);
+                    else
+                        listener.nodePruned(successor.getSearchNode());
+                }
+                listener.nodesGenerated(generatedNodes);
+                listener.openListSizeChanged(openList.size());
+
+                if (++expansions % checkpointInterval == 0)
+                    writeCheckpoint();
+            }
+        }
+
+        /**
+         * Adds a node to the open list and the journal, unless a node for the same search space state with a lower or
+         * equal cost has been encountered before.
+         */
+        private void addToOpenList(InformedSearchNode<S> node) {
+            Object searchSpaceState = node.getSearchNode().getSearchSpaceState();
+            PriorityQueueEntry<InformedSearchNode<S>, InformedSearchNode<S>> openEntry = openStates.get(searchSpaceState);
+            if (openEntry != null) {
+                if (Costs.compare(node.getSearchNode().getCost(), openEntry.getValue().getSearchNode().getCost()) >= 0) {
+                    listener.duplicateDropped(node.getSearchNode());
+                    return;
+                }
+                openList.delete(openEntry);
+            } else {
+                S expandedNode = closedNodes.get(searchSpaceState);
+                if (expandedNode != null && Costs.compare(node.getSearchNode().getCost(), expandedNode.getCost()) >= 0) {
+                    listener.duplicateDropped(node.getSearchNode());
+                    return;
+                }
+            }
+
+            journal.writeOpen(node.getSearchNode(), serializer);
+            openStates.put(searchSpaceState, openList.insert(node, node));
+        }
+
+        /**
+         * Writes a checkpoint, and compacts the journal if it has grown enough since the previous compaction.
+         */
+        private void writeCheckpoint() throws IOException {
+            journal.writeCheckpoint(getJournaledCostBound());
+            long journalSize = journal.getPosition();
+            if (journalSize >= compactionThreshold && journalSize >= 2 * compactedSize)
+                compact();
+        }
+
+        /**
+         * Replaces the journal by one holding only the expanded nodes and the open list, followed by a checkpoint.
+         */
+        private void compact() throws IOException {
+            File compactedFile = File.createTempFile(journalFile.getName(), ".tmp", journalFile.getAbsoluteFile().getParentFile());
+            try {
+                try (JournalWriter compactedJournal = new JournalWriter(compactedFile, 0, encodedStateSize)) {
+                    for (S node : closedNodes.values())
+                        compactedJournal.writeExpanded(node, serializer);
+                    for (PriorityQueueEntry<InformedSearchNode<S>, InformedSearchNode<S>> entry : openStates.values())
+                        compactedJournal.writeOpen(entry.getValue().getSearchNode(), serializer);
+                    compactedJournal.writeCheckpoint(getJournaledCostBound());
+                    compactedSize = compactedJournal.getPosition();
+                }
+
+                // The compacted journal is only used once it is complete, a crash before this point keeps the old one
+                journal.close();
+                Files.move(compactedFile.toPath(), journalFile.toPath(), StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                if (compactedFile.exists() && !compactedFile.delete())
+                    compactedFile.deleteOnExit();
+            }
+            journal = new JournalWriter(journalFile, compactedSize, encodedStateSize);
+        }
+
+        /**
+         * Rebuilds the closed list and the open nodes from the journal, up to its last valid checkpoint. The records
+         * are read once, and the records following a checkpoint are only applied when the next checkpoint is reached.
+         * @param restoredNodes the list to which the open nodes are added
+         * @return the position directly after the last checkpoint
+         */
+        private long replay(List<InformedSearchNode<S>> restoredNodes) throws IOException {
+            long checkpointEnd = 0;
+            // Since each closed record refers to a node that was awaiting expansion, the nodes are tracked by encoded state
+            Map<ByteBuffer, S> openNodes = Maps.newLinkedHashMap();
+            List<JournalRecord<S>> pendingRecords = new ArrayList<>();
+            try (JournalReader reader = new JournalReader(journalFile, encodedStateSize)) {
+                while (reader.next()) {
+                    switch (reader.getType()) {
+                        case JournalWriter.OPEN_RECORD:
+                        case JournalWriter.EXPANDED_RECORD:
+                            pendingRecords.add(new JournalRecord<>(reader.getType(), deserialize(reader.getNode()), null));
+                            break;
+                        case JournalWriter.CLOSED_RECORD:
+                            pendingRecords.add(new JournalRecord<S>(reader.getType(), null, ByteBuffer.wrap(reader.getState().clone())));
+                            break;
+                        case JournalWriter.CHECKPOINT_RECORD:
+                            for (JournalRecord<S> record : pendingRecords)
+                                apply(record, openNodes);
+                            pendingRecords.clear();
+                            checkpointEnd = reader.getPosition();
+                            journaledCostBound = reader.getCostBound();
+                            break;
+                    }
+                }
+            }
+
+            for (S node : openNodes.values())
+                restoredNodes.add(new InformedSearchNode<>(node, heuristic.estimateRemainingCost(node, environment)));
+            return checkpointEnd;
+        }
+
+        private void apply(JournalRecord<S> record, Map<ByteBuffer, S> openNodes) throws IOException {
+            S node = record.node;
+            if (record.type == JournalWriter.OPEN_RECORD) {
+                ByteBuffer state = ByteBuffer.allocate(encodedStateSize);
+                node.encodeSearchSpaceState(state);
+                state.flip();
+                openNodes.put(state, node);
+                return;
+            }
+
+            if (record.type == JournalWriter.CLOSED_RECORD) {
+                node = openNodes.remove(record.state);
+                if (node == null)
+                    throw new IOException("Journal contains an expansion of a state that was not awaiting expansion.");
+            }
+            closedNodes.put(node.getSearchSpaceState(), node);
+            if (node.isGoal())
+                manager.registerSolution(new BasicSolution<>(node, true));
+        }
+
+        private boolean isWithinBound(InformedSearchNode<S> node, Cost costBound) {
+            Cost totalCost = node.getEstimatedTotalCost();
+            return totalCost.compareTo(costBound) <= 0 && getCostValue(totalCost) <= journaledCostBound;
+        }
+
+        private long getJournaledCostBound() {
+            return Math.min(getCostValue(manager.getCostBound()), journaledCostBound);
+        }
+
+        @SuppressWarnings("unchecked")
+        private S deserialize(ByteBuffer buffer) {
+            // The serializer created the nodes of the search that was journaled, which are of type S
+            return (S) serializer.deserialize(buffer);
+        }
+    }
+
+    /**
+     * A journal record that was read, but not yet applied because no later checkpoint was read yet.
+     */
+    private static class JournalRecord<S> {
+        private final byte type;
+        /** The node of an open or expanded record. */
+        private final S node;
+        /** The encoded search space state of a closed record. */
+        private final ByteBuffer state;
+
+        private JournalRecord(byte type, S node, ByteBuffer state) {
+            this.type = type;
+            this.node = node;
+            this.state = state;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.github.dieterdepaepe.jsearch.search.constructive.solver;
+
+import com.github.dieterdepaepe.jsearch.search.constructive.StateSearchNode;
+
+/**
+ * The set of expanded search space states, along with the cost at which they were expanded, as used by
+ * {@link AStarStateSolver}.
+ *
+ * @param <S> the type of search nodes
+ * @author Dieter De Paepe
+ * @see ClosedListFactory
+ */
+public interface ClosedList<S extends StateSearchNode> {
+    /**
+     * Records the search space state of the node as expanded at the cost of the node. Any previously recorded cost
+     * for that state is replaced.
+     * @param node an expanded node
+     */
+    public void add(S node);
+
+    /**
+     * Returns whether a node with the same search space state as the specified node has been expanded at a cost
+     * lower than or equal to the cost of the specified node.
+     * @param node a node
+     * @return true if the node does not need to be expanded
+     */
+    public boolean isDominated(S node);
+}
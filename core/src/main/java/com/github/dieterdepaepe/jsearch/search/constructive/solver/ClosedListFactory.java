@@ -0,0 +1,20 @@
+package com.github.dieterdepaepe.jsearch.search.constructive.solver;
+
+import com.github.dieterdepaepe.jsearch.search.constructive.StateSearchNode;
+
+/**
+ * A factory for {@link ClosedList} instances. Solvers create a new closed list for each search, which allows a
+ * single solver to choose the closed list implementation best suited for a problem, while remaining stateless.
+ *
+ * @author Dieter De Paepe
+ * @see HashClosedList#factory()
+ * @see OffHeapClosedList#factory(int, long)
+ */
+public interface ClosedListFactory {
+    /**
+     * Creates a new, empty closed list.
+     * @param <S> the type of search nodes
+     * @return an empty closed list
+     */
+    public <S extends StateSearchNode> ClosedList<S> create();
+}
@@ -28,6 +28,21 @@ public class DepthFirstSolver implements Solver<SearchNode, Object> {
                                                 Heuristic<? super S, ? super E> heuristic,
                                                 SearchNodeGenerator<S, E> searchNodeGenerator,
                                                 Manager<? super S> manager) {
+        SearchListener listener = SearchListeners.of(manager);
+        listener.searchStarted();
+        try {
+            search(startNodes, environment, heuristic, searchNodeGenerator, manager, listener);
+        } finally {
+            listener.searchFinished();
+        }
+    }
+
+    private <S extends SearchNode, E> void search(Iterable<InformedSearchNode<S>> startNodes,
+                                                  E environment,
+                                                  Heuristic<? super S, ? super E> heuristic,
+                                                  SearchNodeGenerator<S, E> searchNodeGenerator,
+                                                  Manager<? super S> manager,
+                                                  SearchListener listener) {
         Deque<Iterator<InformedSearchNode<S>>> nodesStack = new ArrayDeque<>();
 
         S bestGoalNode = null;
@@ -45,10 +60,15 @@ public class DepthFirstSolver implements Solver<SearchNode, Object> {
                 continue;
             }
             InformedSearchNode<S> informedNodeToExpand = activeIterator.next();
+            // The bottom of the stack holds the start nodes, all other nodes are generated.
+            if (nodesStack.size() > 1)
+                listener.nodesGenerated(1);
 
             // Don't expand node if it surpasses the cost boundary
-            if (informedNodeToExpand.getEstimatedTotalCost().compareTo(manager.getCostBound()) > 0)
+            if (informedNodeToExpand.getEstimatedTotalCost().compareTo(manager.getCostBound()) > 0) {
+                listener.nodePruned(informedNodeToExpand.getSearchNode());
                 continue;
+            }
 
             S searchNode = informedNodeToExpand.getSearchNode();
             if (searchNode.isGoal()) {
@@ -60,6 +80,7 @@ public class DepthFirstSolver implements Solver<SearchNode, Object> {
             }
 
             // We examine the children even if searchNode was a solution, since it could be we are looking for multiple solutions.
+            listener.nodeExpanded(searchNode);
             nodesStack.addFirst(searchNodeGenerator.generateSuccessorNodes(searchNode, environment, heuristic).iterator());
         }
 
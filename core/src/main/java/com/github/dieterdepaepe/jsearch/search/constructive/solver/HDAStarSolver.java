@@ -0,0 +1,357 @@
+package com.github.dieterdepaepe.jsearch.search.constructive.solver;
+
+import com.github.dieterdepaepe.jsearch.datastructure.priority.FibonacciHeap;
+import com.github.dieterdepaepe.jsearch.search.constructive.*;
+import com.github.dieterdepaepe.jsearch.search.constructive.util.BasicSolution;
+import com.google.common.base.Throwables;
+import com.google.common.collect.Maps;
+import com.google.common.util.concurrent.Uninterruptibles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * A parallel <a href="http://en.wikipedia.org/wiki/A*">A*</a> implementation of a {@link Solver}, known as
+ * <i>hash distributed A*</i> (HDA*). Like {@link AStarStateSolver}, this solver is guaranteed to find the optimal
+ * {@link Solution}, presuming that a solution is reachable.
+ *
+ * <p>The search space is partitioned over a number of worker threads by hashing the
+ * {@link StateSearchNode#getSearchSpaceState() searchSpaceState} of each node. Each worker owns the open list and
+ * the best encountered cost for all states assigned to it, so duplicate detection requires no locking. Generated
+ * nodes are passed to their owning worker through a lock-free mailbox.</p>
+ *
+ * <p>Since workers expand nodes independently, the first goal node that is expanded is not necessarily optimal.
+ * The cheapest goal node found so far is shared between all workers and acts as an additional cost bound. The search
+ * ends when no worker holds a node that could lead to a cheaper solution, at which point the cheapest goal node is
+ * registered as an optimal solution.</p>
+ *
+ * <p>Only the thread calling {@code solve} interacts with the {@link Manager}. It periodically checks whether the
+ * search should continue, shares any lowered cost bound with the workers and reports improved (non-optimal)
+ * solutions. The {@link SearchNodeGenerator} and {@link Heuristic} are called concurrently by the worker threads,
+ * and should therefor be thread-safe.</p>
+ *
+ * <p>This solver assumes an admissible {@code Heuristic}, see {@link AStarStateSolver} for the effects of using a
+ * non-admissible heuristic.</p>
+ *
+ * <p>This implementation is stateless and therefor thread-safe.</p>
+ *
+ * @see com.github.dieterdepaepe.jsearch.search.constructive.solver.AStarStateSolver
+ * @author Dieter De Paepe
+ */
+public class HDAStarSolver implements Solver<StateSearchNode, Object> {
+    /** The time between 2 consecutive checks of the {@code Manager}. */
+    private static final long MANAGER_POLL_INTERVAL_MILLIS = 10;
+    /** The time an idle worker waits before checking its mailbox again. */
+    private static final long IDLE_WORKER_WAIT_NANOS = 20000;
+
+    private int numberOfThreads;
+
+    /**
+     * Creates a new solver that will distribute the search over the specified number of worker threads.
+     * @param numberOfThreads the number of worker threads
+     * @throws java.lang.IllegalArgumentException if {@code numberOfThreads <= 0}
+     */
+    public HDAStarSolver(int numberOfThreads) {
+        checkArgument(numberOfThreads > 0, "Number of threads should be > 0, but was %s", numberOfThreads);
+
+        this.numberOfThreads = numberOfThreads;
+    }
+
+    /**
+     * Creates a new solver that uses a worker thread for each available processor.
+     */
+    public HDAStarSolver() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    @Override
+    public <S extends StateSearchNode, E> void solve(Iterable<InformedSearchNode<S>> startNodes,
+                                                     E environment,
+                                                     Heuristic<? super S, ? super E> heuristic,
+                                                     SearchNodeGenerator<S, E> searchNodeGenerator,
+                                                     Manager<? super S> manager) {
+        SearchListener listener = SearchListeners.of(manager);
+        listener.searchStarted();
+        try {
+            search(startNodes, environment, heuristic, searchNodeGenerator, manager, listener);
+        } finally {
+            listener.searchFinished();
+        }
+    }
+
+    private <S extends StateSearchNode, E> void search(Iterable<InformedSearchNode<S>> startNodes,
+                                                       E environment,
+                                                       Heuristic<? super S, ? super E> heuristic,
+                                                       SearchNodeGenerator<S, E> searchNodeGenerator,
+                                                       Manager<? super S> manager,
+                                                       SearchListener listener) {
+        SharedSearchState<S> sharedState = new SharedSearchState<>(numberOfThreads, manager.getCostBound());
+        List<Worker<S, E>> workers = new ArrayList<>(numberOfThreads);
+        for (int i = 0; i < numberOfThreads; i++)
+            workers.add(new Worker<>(i, sharedState, environment, heuristic, searchNodeGenerator, listener));
+
+        for (InformedSearchNode<S> startNode : startNodes) {
+            if (!sharedState.isPruned(startNode.getEstimatedTotalCost()))
+                sharedState.send(startNode);
+            else
+                listener.nodePruned(startNode.getSearchNode());
+        }
+
+        if (!sharedState.hasPendingNodes())
+            return;
+
+        List<Thread> threads = new ArrayList<>(numberOfThreads);
+        for (Worker<S, E> worker : workers) {
+            Thread thread = new Thread(worker, "HDAStarSolver-worker-" + worker.index);
+            thread.setDaemon(true);
+            threads.add(thread);
+            thread.start();
+        }
+
+        S reportedSolution = null;
+        try {
+            while (!sharedState.finished.await(MANAGER_POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS)) {
+                if (!manager.continueSearch())
+                    break;
+
+                S incumbent = sharedState.incumbent.get();
+                if (incumbent != null && incumbent != reportedSolution) {
+                    manager.registerSolution(new BasicSolution<>(incumbent, false));
+                    reportedSolution = incumbent;
+                }
+                sharedState.lowerCostBound(manager.getCostBound());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            sharedState.stop();
+            for (Thread thread : threads)
+                Uninterruptibles.joinUninterruptibly(thread);
+        }
+
+        Throwable failure = sharedState.failure.get();
+        if (failure != null) {
+            Throwables.throwIfUnchecked(failure);
+            throw new RuntimeException(failure);
+        }
+
+        // If no nodes are left, all nodes that could lead to a cheaper solution have been examined.
+        S incumbent = sharedState.incumbent.get();
+        if (incumbent != null)
+            manager.registerSolution(new BasicSolution<>(incumbent, !sharedState.hasPendingNodes()));
+    }
+
+    @Override
+    public String toString() {
+        return "HDAStarSolver{" +
+                "numberOfThreads=" + numberOfThreads +
+                '}';
+    }
+
+    /**
+     * Container for all data shared between the workers of a single search.
+     * @param <S> the type of the search nodes
+     */
+    private static class SharedSearchState<S extends StateSearchNode> {
+        private final List<Queue<InformedSearchNode<S>>> mailboxes;
+        /**
+         * The number of nodes that have been sent to a worker, but have not yet been fully processed. A node is only
+         * marked as processed after all of its successors have been sent, so this value only becomes zero once the
+         * search space has been exhausted.
+         */
+        private final AtomicLong pendingNodes = new AtomicLong();
+        /** The total number of nodes in the heaps of all workers, which is the size reported to the listener. */
+        private final AtomicLong openNodes = new AtomicLong();
+        private final AtomicReference<Cost> costBound;
+        private final AtomicReference<S> incumbent = new AtomicReference<>();
+        private final AtomicReference<Throwable> failure = new AtomicReference<>();
+        private final CountDownLatch finished = new CountDownLatch(1);
+        private volatile boolean stopped = false;
+
+        private SharedSearchState(int numberOfWorkers, Cost costBound) {
+            this.costBound = new AtomicReference<>(costBound);
+            this.mailboxes = new ArrayList<>(numberOfWorkers);
+            for (int i = 0; i < numberOfWorkers; i++)
+                mailboxes.add(new ConcurrentLinkedQueue<InformedSearchNode<S>>());
+        }
+
+        /**
+         * Determines the worker responsible for the given search space state.
+         */
+        private int getOwner(Object searchSpaceState) {
+            // Spread the hash bits, since many hash codes only vary in their lower bits.
+            int hash = searchSpaceState.hashCode();
+            hash ^= hash >>> 16;
+            hash *= 0x85ebca6b;
+            hash ^= hash >>> 13;
+            return (hash & Integer.MAX_VALUE) % mailboxes.size();
+        }
+
+        private void send(InformedSearchNode<S> node) {
+            pendingNodes.incrementAndGet();
+            mailboxes.get(getOwner(node.getSearchNode().getSearchSpaceState())).offer(node);
+        }
+
+        private void markProcessed(long numberOfNodes) {
+            if (pendingNodes.addAndGet(-numberOfNodes) == 0) {
+                stopped = true;
+                finished.countDown();
+            }
+        }
+
+        private boolean hasPendingNodes() {
+            return pendingNodes.get() > 0;
+        }
+
+        /**
+         * Checks whether a node with the given estimated total cost can be dropped from the search.
+         */
+        private boolean isPruned(Cost estimatedTotalCost) {
+            if (estimatedTotalCost.compareTo(costBound.get()) > 0)
+                return true;
+            S currentSolution = incumbent.get();
+            return currentSolution != null && estimatedTotalCost.compareTo(currentSolution.getCost()) >= 0;
+        }
+
+        private void lowerCostBound(Cost newBound) {
+            Cost currentBound = costBound.get();
+            while (newBound.compareTo(currentBound) < 0 && !costBound.compareAndSet(currentBound, newBound))
+                currentBound = costBound.get();
+        }
+
+        private void offerSolution(S goalNode) {
+            S currentSolution = incumbent.get();
+            while ((currentSolution == null || goalNode.getCost().compareTo(currentSolution.getCost()) < 0)
+                    && !incumbent.compareAndSet(currentSolution, goalNode))
+                currentSolution = incumbent.get();
+        }
+
+        private void fail(Throwable throwable) {
+            failure.compareAndSet(null, throwable);
+            stop();
+        }
+
+        private void stop() {
+            stopped = true;
+            finished.countDown();
+        }
+    }
+
+    /**
+     * A worker performing A* on the part of the search space assigned to it.
+     * @param <S> the type of the search nodes
+     * @param <E> the type of the problem environment
+     */
+    private static class Worker<S extends StateSearchNode, E> implements Runnable {
+        private final int index;
+        private final SharedSearchState<S> sharedState;
+        private final Queue<InformedSearchNode<S>> mailbox;
+        private final E environment;
+        private final Heuristic<? super S, ? super E> heuristic;
+        private final SearchNodeGenerator<S, E> searchNodeGenerator;
+        private final SearchListener listener;
+        private final FibonacciHeap<Cost, InformedSearchNode<S>> heap = FibonacciHeap.create();
+        private final Map<Object, Cost> bestEncounteredCostPerState = Maps.newHashMap();
+
+        private Worker(int index, SharedSearchState<S> sharedState, E environment,
+                       Heuristic<? super S, ? super E> heuristic, SearchNodeGenerator<S, E> searchNodeGenerator,
+                       SearchListener listener) {
+            this.index = index;
+            this.sharedState = sharedState;
+            this.mailbox = sharedState.mailboxes.get(index);
+            this.environment = environment;
+            this.heuristic = heuristic;
+            this.searchNodeGenerator = searchNodeGenerator;
+            this.listener = listener;
+        }
+
+        @Override
+        public void run() {
+            try {
+                search();
+            } catch (Throwable t) {
+                sharedState.fail(t);
+            }
+        }
+
+        private void search() {
+            while (!sharedState.stopped) {
+                InformedSearchNode<S> receivedNode;
+                while ((receivedNode = mailbox.poll()) != null)
+                    receive(receivedNode);
+
+                if (heap.isEmpty()) {
+                    LockSupport.parkNanos(IDLE_WORKER_WAIT_NANOS);
+                    continue;
+                }
+
+                InformedSearchNode<S> informedNodeToExpand = heap.deleteMinimum().getValue();
+                sharedState.openNodes.decrementAndGet();
+                S nodeToExpand = informedNodeToExpand.getSearchNode();
+
+                // The bound might have been lowered since this node was added to the heap. Since the heap is ordered,
+                // all remaining nodes can be dropped as well.
+                if (sharedState.isPruned(informedNodeToExpand.getEstimatedTotalCost())) {
+                    long droppedNodes = heap.size() + 1;
+                    sharedState.openNodes.addAndGet(-heap.size());
+                    heap.clear();
+                    sharedState.markProcessed(droppedNodes);
+                    continue;
+                }
+
+                // A cheaper path to the same state was found after this node was added to the heap.
+                if (bestEncounteredCostPerState.get(nodeToExpand.getSearchSpaceState()).compareTo(nodeToExpand.getCost()) < 0) {
+                    listener.duplicateDropped(nodeToExpand);
+                    sharedState.markProcessed(1);
+                    continue;
+                }
+
+                if (nodeToExpand.isGoal())
+                    sharedState.offerSolution(nodeToExpand);
+
+                listener.nodeExpanded(nodeToExpand);
+                int generatedNodes = 0;
+                for (InformedSearchNode<S> successor : searchNodeGenerator.generateSuccessorNodes(nodeToExpand, environment, heuristic)) {
+                    generatedNodes++;
+                    if (!sharedState.isPruned(successor.getEstimatedTotalCost()))
+                        sharedState.send(successor);
+                    else
+                        listener.nodePruned(successor.getSearchNode());
+                }
+                listener.nodesGenerated(generatedNodes);
+                listener.openListSizeChanged(sharedState.openNodes.get());
+                sharedState.markProcessed(1);
+            }
+        }
+
+        /**
+         * Adds a node sent to this worker to the heap, unless it can be dropped.
+         */
+        private void receive(InformedSearchNode<S> node) {
+            Object searchSpaceState = node.getSearchNode().getSearchSpaceState();
+            Cost stateCost = node.getSearchNode().getCost();
+            Cost equalStateCost = bestEncounteredCostPerState.get(searchSpaceState);
+            if (equalStateCost != null && stateCost.compareTo(equalStateCost) >= 0) {
+                listener.duplicateDropped(node.getSearchNode());
+                sharedState.markProcessed(1);
+            } else if (sharedState.isPruned(node.getEstimatedTotalCost())) {
+                listener.nodePruned(node.getSearchNode());
+                sharedState.markProcessed(1);
+            } else {
+                heap.insert(node.getEstimatedTotalCost(), node);
+                sharedState.openNodes.incrementAndGet();
+                bestEncounteredCostPerState.put(searchSpaceState, stateCost);
+            }
+        }
+    }
+}
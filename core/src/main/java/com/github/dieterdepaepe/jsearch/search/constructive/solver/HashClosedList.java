@@ -0,0 +1,50 @@
+package com.github.dieterdepaepe.jsearch.search.constructive.solver;
+
+import com.github.dieterdepaepe.jsearch.search.constructive.Cost;
+import com.github.dieterdepaepe.jsearch.search.constructive.StateSearchNode;
+import com.google.common.collect.Maps;
+
+import java.util.Map;
+
+/**
+ * A {@link ClosedList} that stores the search space states and costs in a {@link java.util.HashMap}. This closed
+ * list places no restrictions on the search nodes, but requires a {@code HashMap} entry and the boxed state and cost
+ * objects per expanded state.
+ *
+ * @param <S> the type of search nodes
+ * @author Dieter De Paepe
+ */
+public class HashClosedList<S extends StateSearchNode> implements ClosedList<S> {
+    private static final ClosedListFactory FACTORY = new ClosedListFactory() {
+        @Override
+        public <S extends StateSearchNode> ClosedList<S> create() {
+            return new HashClosedList<>();
+        }
+
+        @Override
+        public String toString() {
+            return "HashClosedList.factory()";
+        }
+    };
+
+    private Map<Object, Cost> expandedStates = Maps.newHashMap();
+
+    /**
+     * Returns a factory that creates hash based closed lists.
+     * @return a stateless factory
+     */
+    public static ClosedListFactory factory() {
+        return FACTORY;
+    }
+
+    @Override
+    public void add(S node) {
+        expandedStates.put(node.getSearchSpaceState(), node.getCost());
+    }
+
+    @Override
+    public boolean isDominated(S node) {
+        Cost expandedCost = expandedStates.get(node.getSearchSpaceState());
+        return expandedCost != null && node.getCost().compareTo(expandedCost) >= 0;
+    }
+}
@@ -0,0 +1,124 @@
+package com.github.dieterdepaepe.jsearch.search.constructive.solver;
+
+import com.github.dieterdepaepe.jsearch.search.constructive.*;
+
+/**
+ * The moment at which the best-first solvers evaluate the {@link Heuristic} for generated nodes.
+ *
+ * <p>Most generated nodes are never expanded, since their total estimated cost exceeds the cost of the solution.
+ * For expensive heuristics, {@link #LAZY} evaluation avoids estimating the remaining cost of such nodes.</p>
+ *
+ * @author Dieter De Paepe
+ * @see AStarSolver
+ * @see AStarStateSolver
+ */
+public enum HeuristicEvaluation {
+    /**
+     * The heuristic is evaluated by the {@link SearchNodeGenerator} for each generated node.
+     */
+    EAGER {
+        @Override
+        <S extends SearchNode, E> Heuristic<? super S, ? super E> getGeneratorHeuristic(Heuristic<? super S, ? super E> heuristic,
+                                                                                      InformedSearchNode<S> parent) {
+            return heuristic;
+        }
+
+        @Override
+        <S extends SearchNode, E> InformedSearchNode<S> inform(InformedSearchNode<S> generatedNode,
+                                                               InformedSearchNode<S> parent,
+                                                               Heuristic<? super S, ? super E> heuristic,
+                                                               E environment) {
+            return generatedNode;
+        }
+
+        @Override
+        boolean evaluate(InformedSearchNode<?> node) {
+            return false;
+        }
+    },
+    /**
+     * The heuristic is only evaluated for a node when it is about to be expanded. Until then, the node is ordered
+     * by the total estimated cost of its parent, see {@link LazyInformedSearchNode}. If evaluating the heuristic
+     * raises the total estimated cost of the node, it is put back to await expansion.
+     *
+     * <p>Since the remaining cost of a node is not known while it awaits expansion, this mode can not be combined with
+     * {@link TieBreaker#LOWEST_HEURISTIC_FIRST}. The {@link SearchNodeGenerator} receives a heuristic that returns the
+     * estimated remaining cost of the expanded node for every successor. This placeholder is a valid cost, so
+     * generators that use the estimates keep working, but the solver discards it.</p>
+     */
+    LAZY {
+        @Override
+        <S extends SearchNode, E> Heuristic<? super S, ? super E> getGeneratorHeuristic(Heuristic<? super S, ? super E> heuristic,
+                                                                                      InformedSearchNode<S> parent) {
+            return new PlaceholderHeuristic(parent.getEstimatedRemainingCost());
+        }
+
+        @Override
+        <S extends SearchNode, E> InformedSearchNode<S> inform(InformedSearchNode<S> generatedNode,
+                                                               InformedSearchNode<S> parent,
+                                                               Heuristic<? super S, ? super E> heuristic,
+                                                               E environment) {
+            return new LazyInformedSearchNode<>(generatedNode.getSearchNode(), parent.getEstimatedTotalCost(), heuristic, environment);
+        }
+
+        @Override
+        boolean evaluate(InformedSearchNode<?> node) {
+            if (!(node instanceof LazyInformedSearchNode))
+                return false;
+
+            LazyInformedSearchNode<?, ?> lazyNode = (LazyInformedSearchNode<?, ?>) node;
+            if (lazyNode.isEvaluated())
+                return false;
+
+            Cost lowerBound = lazyNode.getEstimatedTotalCost();
+            lazyNode.evaluate();
+            return lazyNode.getEstimatedTotalCost().compareTo(lowerBound) > 0;
+        }
+    };
+
+    /**
+     * Gets the heuristic that should be passed to the {@link SearchNodeGenerator} when expanding a node.
+     * @param heuristic the heuristic used by the solver
+     * @param parent the node being expanded, its heuristic should already be evaluated
+     * @return a heuristic
+     */
+    abstract <S extends SearchNode, E> Heuristic<? super S, ? super E> getGeneratorHeuristic(Heuristic<? super S, ? super E> heuristic,
+                                                                                           InformedSearchNode<S> parent);
+
+    /**
+     * Converts a node created by the {@link SearchNodeGenerator} into the node that should await expansion.
+     * @param generatedNode the node created by the generator
+     * @param parent the expanded node
+     * @param heuristic the heuristic used by the solver
+     * @param environment the environment
+     * @return the node that should await expansion
+     */
+    abstract <S extends SearchNode, E> InformedSearchNode<S> inform(InformedSearchNode<S> generatedNode,
+                                                                    InformedSearchNode<S> parent,
+                                                                    Heuristic<? super S, ? super E> heuristic,
+                                                                    E environment);
+
+    /**
+     * Evaluates the heuristic of a node that is about to be expanded, if this had not been done before.
+     * @param node a node that has been removed from the nodes awaiting expansion
+     * @return true if the total estimated cost of the node has risen, so it should await expansion again
+     */
+    abstract boolean evaluate(InformedSearchNode<?> node);
+
+    /**
+     * A heuristic that returns a fixed cost for every node. It should only be passed to generators, the solver
+     * replaces its estimates by {@link LazyInformedSearchNode}s.
+     */
+    private static class PlaceholderHeuristic implements Heuristic<SearchNode, Object> {
+        private final Cost estimate;
+
+        private PlaceholderHeuristic(Cost estimate) {
+            this.estimate = estimate;
+        }
+
+        @Override
+        public Cost estimateRemainingCost(SearchNode node, Object environment) {
+            return estimate;
+        }
+    }
+}
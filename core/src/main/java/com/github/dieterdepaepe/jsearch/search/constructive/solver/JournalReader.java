@@ -0,0 +1,138 @@
+package com.github.dieterdepaepe.jsearch.search.constructive.solver;
+
+import com.github.dieterdepaepe.jsearch.datastructure.offheap.BufferedFileReader;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.zip.CRC32;
+
+/**
+ * Reads the records of a journal written by a {@link JournalWriter}, one record at a time. A record that is incomplete
+ * or whose checksum does not match, such as a record that was partially written when the search was interrupted, is
+ * treated as the end of the journal.
+ * @author Dieter De Paepe
+ */
+class JournalReader implements Closeable {
+    private final BufferedFileReader reader;
+    private final CRC32 checksum = new CRC32();
+    private final byte[] state;
+    private byte type;
+    private ByteBuffer node;
+    private long costBound;
+
+    /**
+     * Creates a reader for the given file. The first record is available after calling {@link #next()}.
+     * @param file the journal file
+     * @param stateSize the size of an encoded search space state
+     * @throws IOException if the file could not be opened
+     */
+    JournalReader(File file, int stateSize) throws IOException {
+        this.reader = new BufferedFileReader(file, 1 << 16);
+        this.state = new byte[stateSize];
+    }
+
+    /**
+     * Moves to the next record.
+     * @return false if there are no more valid records
+     * @throws IOException if the file could not be read
+     */
+    boolean next() throws IOException {
+        if (!reader.fill(1))
+            return false;
+        ByteBuffer buffer = reader.getBuffer();
+        byte recordType = buffer.get(buffer.position());
+        int length;
+        switch (recordType) {
+            case JournalWriter.OPEN_RECORD:
+            case JournalWriter.EXPANDED_RECORD:
+                if (!reader.fill(5))
+                    return false;
+                buffer = reader.getBuffer();
+                int nodeLength = buffer.getInt(buffer.position() + 1);
+                // The writer never writes records larger than its buffer
+                if (nodeLength < 0 || nodeLength > JournalWriter.BUFFER_SIZE)
+                    return false;
+                length = 5 + nodeLength;
+                break;
+            case JournalWriter.CLOSED_RECORD:
+                length = 1 + state.length;
+                break;
+            case JournalWriter.CHECKPOINT_RECORD:
+                length = 9;
+                break;
+            default:
+                return false;
+        }
+
+        if (!reader.fill(length + JournalWriter.CHECKSUM_SIZE))
+            return false;
+        buffer = reader.getBuffer();
+        int recordStart = buffer.position();
+        if (JournalWriter.getChecksum(checksum, buffer, recordStart, length) != buffer.getInt(recordStart + length))
+            return false;
+
+        switch (recordType) {
+            case JournalWriter.OPEN_RECORD:
+            case JournalWriter.EXPANDED_RECORD:
+                buffer.position(recordStart + 5);
+                node = buffer.slice();
+                node.limit(length - 5);
+                break;
+            case JournalWriter.CLOSED_RECORD:
+                buffer.position(recordStart + 1);
+                buffer.get(state);
+                break;
+            case JournalWriter.CHECKPOINT_RECORD:
+                costBound = buffer.getLong(recordStart + 1);
+                break;
+        }
+        buffer.position(recordStart + length + JournalWriter.CHECKSUM_SIZE);
+        type = recordType;
+        return true;
+    }
+
+    /**
+     * Gets the type of the current record, one of the record types of {@link JournalWriter}.
+     */
+    byte getType() {
+        return type;
+    }
+
+    /**
+     * Gets the serialized node of the current open or expanded record, which remains valid until the next call to
+     * {@link #next()}.
+     * @return a buffer positioned at the start of the node
+     */
+    ByteBuffer getNode() {
+        return node;
+    }
+
+    /**
+     * Gets the encoded search space state of the current closed record. The array is reused for the next record.
+     * @return the state
+     */
+    byte[] getState() {
+        return state;
+    }
+
+    /**
+     * Gets the cost bound of the current checkpoint record.
+     */
+    long getCostBound() {
+        return costBound;
+    }
+
+    /**
+     * Gets the position in the file directly after the current record.
+     */
+    long getPosition() {
+        return reader.getPosition();
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,211 @@
+package com.github.dieterdepaepe.jsearch.search.constructive.solver;
+
+import com.github.dieterdepaepe.jsearch.search.constructive.EncodableStateSearchNode;
+import com.github.dieterdepaepe.jsearch.search.constructive.SearchNode;
+import com.github.dieterdepaepe.jsearch.search.constructive.SearchNodeSerializer;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.concurrent.*;
+import java.util.zip.CRC32;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Appends records to the journal of a {@link CheckpointingAStarSolver}. Records are collected in a buffer, which is
+ * written to the file by a background thread while the search continues filling a second buffer. The search only
+ * waits for the background thread if it fills its buffer before the previous buffer is written.
+ *
+ * <p>The journal consists of the following records, each starting with a record type byte and ending with the CRC-32
+ * checksum of the preceding bytes of the record:</p>
+ * <ul>
+ *     <li>{@link #OPEN_RECORD}: a node was added to the open list, followed by the size of the serialized node
+ *     and the serialized node</li>
+ *     <li>{@link #CLOSED_RECORD}: a node awaiting expansion was expanded, followed by its encoded search space
+ *     state</li>
+ *     <li>{@link #EXPANDED_RECORD}: a node was expanded, followed by the size of the serialized node and the
+ *     serialized node, used when compacting a journal</li>
+ *     <li>{@link #CHECKPOINT_RECORD}: all preceding records form a consistent search state, followed by the cost
+ *     bound at that moment</li>
+ * </ul>
+ * @author Dieter De Paepe
+ */
+class JournalWriter implements Closeable {
+    static final byte OPEN_RECORD = 1;
+    static final byte CLOSED_RECORD = 2;
+    static final byte CHECKPOINT_RECORD = 3;
+    static final byte EXPANDED_RECORD = 4;
+    static final int BUFFER_SIZE = 1 << 20;
+    /** The size of the checksum at the end of each record. */
+    static final int CHECKSUM_SIZE = 4;
+
+    private final FileChannel channel;
+    private final int stateSize;
+    private final ExecutorService executor;
+    private final CRC32 checksum = new CRC32();
+    private ByteBuffer buffer;
+    private ByteBuffer spareBuffer;
+    private Future<?> pendingWrite;
+    private long position;
+
+    /**
+     * Opens a journal for writing. Any content after the given position is discarded.
+     * @param file the journal file
+     * @param position the position after which records are appended
+     * @param stateSize the size of an encoded search space state
+     * @throws IOException if the file could not be opened
+     */
+    JournalWriter(File file, long position, int stateSize) throws IOException {
+        this.channel = new RandomAccessFile(file, "rw").getChannel();
+        this.channel.truncate(position);
+        this.channel.position(position);
+        this.position = position;
+        this.stateSize = stateSize;
+        this.executor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "CheckpointingAStarSolver-journal");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        // Heap buffers, so the checksums can be calculated on their arrays
+        this.buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        this.spareBuffer = ByteBuffer.allocate(BUFFER_SIZE);
+    }
+
+    <T extends SearchNode> void writeOpen(T node, SearchNodeSerializer<? super T> serializer) {
+        writeNode(OPEN_RECORD, node, serializer);
+    }
+
+    <T extends SearchNode> void writeExpanded(T node, SearchNodeSerializer<? super T> serializer) {
+        writeNode(EXPANDED_RECORD, node, serializer);
+    }
+
+    private <T extends SearchNode> void writeNode(byte type, T node, SearchNodeSerializer<? super T> serializer) {
+        int length = serializer.getSerializedSize(node);
+        ensureRemaining(5 + length);
+        int recordStart = buffer.position();
+        buffer.put(type);
+        buffer.putInt(length);
+        int start = buffer.position();
+        serializer.serialize(node, buffer);
+        checkArgument(buffer.position() - start == length,
+                "Serializer wrote %s bytes, but announced %s bytes.", buffer.position() - start, length);
+        endRecord(recordStart);
+    }
+
+    void writeClosed(EncodableStateSearchNode node) {
+        ensureRemaining(1 + stateSize);
+        int recordStart = buffer.position();
+        buffer.put(CLOSED_RECORD);
+        int start = buffer.position();
+        node.encodeSearchSpaceState(buffer);
+        checkArgument(buffer.position() - start == stateSize,
+                "Encoded state has %s bytes, but expected %s bytes.", buffer.position() - start, stateSize);
+        endRecord(recordStart);
+    }
+
+    /**
+     * Marks the end of a consistent search state and starts writing all buffered records to the file. The
+     * background thread forces the records to the storage device before writing any later records.
+     * @param costBound the cost bound of the search
+     */
+    void writeCheckpoint(long costBound) {
+        ensureRemaining(9);
+        int recordStart = buffer.position();
+        buffer.put(CHECKPOINT_RECORD);
+        buffer.putLong(costBound);
+        endRecord(recordStart);
+        writeBuffer(true);
+    }
+
+    /**
+     * Gets the position in the file directly after the last written record, including the records that are not yet
+     * written to the file.
+     */
+    long getPosition() {
+        return position;
+    }
+
+    /**
+     * Calculates the CRC-32 checksum of a record in a heap buffer.
+     * @param checksum the checksum instance to use
+     * @param buffer the buffer
+     * @param recordStart the position of the record in the buffer
+     * @param length the length of the record, excluding its checksum
+     * @return the checksum
+     */
+    static int getChecksum(CRC32 checksum, ByteBuffer buffer, int recordStart, int length) {
+        checksum.reset();
+        checksum.update(buffer.array(), buffer.arrayOffset() + recordStart, length);
+        return (int) checksum.getValue();
+    }
+
+    private void endRecord(int recordStart) {
+        buffer.putInt(getChecksum(checksum, buffer, recordStart, buffer.position() - recordStart));
+        position += buffer.position() - recordStart;
+    }
+
+    /**
+     * Makes sure the buffer can hold a record of the given length, excluding its checksum.
+     */
+    private void ensureRemaining(int length) {
+        int recordLength = length + CHECKSUM_SIZE;
+        checkArgument(recordLength <= BUFFER_SIZE, "A journal record of %s bytes exceeds the buffer of %s bytes.", recordLength, BUFFER_SIZE);
+        if (buffer.remaining() < recordLength)
+            writeBuffer(false);
+    }
+
+    private void writeBuffer(final boolean force) {
+        waitForPendingWrite();
+        final ByteBuffer data = buffer;
+        data.flip();
+        buffer = spareBuffer;
+        buffer.clear();
+        spareBuffer = data;
+        pendingWrite = executor.submit(new Callable<Void>() {
+            @Override
+            public Void call() throws IOException {
+                while (data.hasRemaining())
+                    channel.write(data);
+                if (force)
+                    channel.force(false);
+                return null;
+            }
+        });
+    }
+
+    private void waitForPendingWrite() {
+        if (pendingWrite == null)
+            return;
+        try {
+            pendingWrite.get();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Writing the search journal failed.", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while writing the search journal.", e);
+        } finally {
+            pendingWrite = null;
+        }
+    }
+
+    /**
+     * Waits until all checkpoints are written and closes the journal. Records after the last checkpoint are discarded.
+     * @throws IOException if the file could not be closed
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            waitForPendingWrite();
+        } finally {
+            executor.shutdown();
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,285 @@
+package com.github.dieterdepaepe.jsearch.search.constructive.solver;
+
+import com.github.dieterdepaepe.jsearch.datastructure.priority.FibonacciHeap;
+import com.github.dieterdepaepe.jsearch.datastructure.priority.PriorityQueue;
+import com.github.dieterdepaepe.jsearch.datastructure.priority.PriorityQueueEntry;
+import com.github.dieterdepaepe.jsearch.datastructure.priority.PriorityQueueFactory;
+import com.github.dieterdepaepe.jsearch.search.constructive.*;
+import com.github.dieterdepaepe.jsearch.search.constructive.util.BasicSolution;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Ordering;
+
+import java.util.Iterator;
+import java.util.Map;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * A bidirectional heuristic search {@link Solver}, known as <i>MM</i> ("meet in the middle"). A forward search from
+ * the start node and a backward search from the goal state are performed simultaneously, until their frontiers
+ * meet. This solver is guaranteed to find the optimal {@link Solution}, presuming that a solution is reachable.
+ *
+ * <p>This solver requires a {@link ReversibleSearchNodeGenerator} and a single start node. The problem should have a
+ * single goal state. Nodes of both searches are matched on their
+ * {@link StateSearchNode#getSearchSpaceState() searchSpaceState}. Each time a search reaches a state already reached
+ * by the other search, the combined path is registered as a (non-optimal) solution if it is cheaper than the best
+ * one found so far.</p>
+ *
+ * <p>In each direction, nodes are expanded in order of their priority {@code max(f, 2g)}, which guarantees that the
+ * searches meet in the middle: neither search expands a node that is further than half the optimal solution cost
+ * from its start. The direction with the lowest priority node is expanded next. The lowest priority of both
+ * directions is a lower bound on the cost of any solution that has not been found yet, so the search ends when this
+ * bound reaches the cost of the best solution. That solution is then registered as optimal.</p>
+ *
+ * <p>This solver assumes an admissible {@code Heuristic} in both directions, see {@link AStarStateSolver} for the
+ * effects of using a non-admissible heuristic.</p>
+ *
+ * <p>This implementation is stateless and therefor thread-safe.</p>
+ *
+ * @see com.github.dieterdepaepe.jsearch.search.constructive.solver.AStarStateSolver
+ * @author Dieter De Paepe
+ */
+public class MMSolver implements Solver<StateSearchNode, Object> {
+    private PriorityQueueFactory queueFactory;
+
+    /**
+     * Creates a new solver.
+     */
+    public MMSolver() {
+        this(FibonacciHeap.factory());
+    }
+
+    /**
+     * Creates a new solver which uses priority queues created by the specified factory.
+     * @param queueFactory the factory for the priority queues of nodes awaiting expansion
+     */
+    public MMSolver(PriorityQueueFactory queueFactory) {
+        this.queueFactory = checkNotNull(queueFactory);
+    }
+
+    /**
+     * {@inheritDoc}
+     * @throws java.lang.IllegalArgumentException if the generator is not a {@link ReversibleSearchNodeGenerator} or
+     *                                            if more than one start node is specified
+     */
+    @Override
+    public <S extends StateSearchNode, E> void solve(Iterable<InformedSearchNode<S>> startNodes,
+                                                     E environment,
+                                                     Heuristic<? super S, ? super E> heuristic,
+                                                     SearchNodeGenerator<S, E> searchNodeGenerator,
+                                                     Manager<? super S> manager) {
+        checkArgument(searchNodeGenerator instanceof ReversibleSearchNodeGenerator,
+                "MMSolver requires a ReversibleSearchNodeGenerator, but got %s", searchNodeGenerator);
+        @SuppressWarnings("unchecked")
+        ReversibleSearchNodeGenerator<S, E> reversibleGenerator = (ReversibleSearchNodeGenerator<S, E>) searchNodeGenerator;
+
+        Iterator<InformedSearchNode<S>> startNodeIterator = startNodes.iterator();
+        if (!startNodeIterator.hasNext())
+            return;
+        InformedSearchNode<S> startNode = startNodeIterator.next();
+        checkArgument(!startNodeIterator.hasNext(), "MMSolver supports only a single start node.");
+
+        SearchListener listener = SearchListeners.of(manager);
+        listener.searchStarted();
+        try {
+            new BidirectionalSearch<>(queueFactory, reversibleGenerator, heuristic, environment, manager, listener).run(startNode);
+        } finally {
+            listener.searchFinished();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "MMSolver{" +
+                "queueFactory=" + queueFactory +
+                '}';
+    }
+
+    /**
+     * The state of a single search.
+     * @param <S> the type of the search nodes
+     * @param <E> the type of the problem environment
+     */
+    private static class BidirectionalSearch<S extends StateSearchNode, E> {
+        private final ReversibleSearchNodeGenerator<S, E> generator;
+        private final Heuristic<? super S, ? super E> heuristic;
+        private final E environment;
+        private final Manager<? super S> manager;
+        private final SearchListener listener;
+        private final Frontier<S> forward;
+        private final Frontier<S> backward;
+
+        private S bestSolution;
+
+        private BidirectionalSearch(PriorityQueueFactory queueFactory,
+                                    ReversibleSearchNodeGenerator<S, E> generator,
+                                    Heuristic<? super S, ? super E> heuristic,
+                                    E environment,
+                                    Manager<? super S> manager,
+                                    SearchListener listener) {
+            this.generator = generator;
+            this.heuristic = heuristic;
+            this.environment = environment;
+            this.manager = manager;
+            this.listener = listener;
+            this.forward = new Frontier<>(queueFactory);
+            this.backward = new Frontier<>(queueFactory);
+        }
+
+        private void run(InformedSearchNode<S> startNode) {
+            E backwardEnvironment = generator.createBackwardEnvironment(startNode.getSearchNode(), environment);
+            S backwardStartNode = generator.createBackwardStartNode(environment, backwardEnvironment);
+
+            Cost costBound = manager.getCostBound();
+            add(startNode, forward, backward, costBound);
+            add(new InformedSearchNode<>(backwardStartNode, heuristic.estimateRemainingCost(backwardStartNode, backwardEnvironment)),
+                    backward, forward, costBound);
+            listener.openListSizeChanged(forward.size() + backward.size());
+
+            while (!forward.isEmpty() && !backward.isEmpty() && manager.continueSearch()) {
+                if (isProvenOptimal())
+                    break;
+
+                Cost forwardPriority = forward.getMinimumPriority();
+                Cost backwardPriority = backward.getMinimumPriority();
+                costBound = manager.getCostBound();
+                if (Ordering.natural().min(forwardPriority, backwardPriority).compareTo(costBound) > 0)
+                    return;
+
+                int priorityComparison = forwardPriority.compareTo(backwardPriority);
+                if (priorityComparison < 0 || (priorityComparison == 0 && forward.size() <= backward.size())) {
+                    InformedSearchNode<S> node = forward.deleteMinimum();
+                    if (canLeadToSolution(node, costBound)) {
+                        listener.nodeExpanded(node.getSearchNode());
+                        expand(generator.generateSuccessorNodes(node.getSearchNode(), environment, heuristic), forward, backward, costBound);
+                    } else {
+                        listener.nodePruned(node.getSearchNode());
+                    }
+                } else {
+                    InformedSearchNode<S> node = backward.deleteMinimum();
+                    if (canLeadToSolution(node, costBound)) {
+                        listener.nodeExpanded(node.getSearchNode());
+                        expand(generator.generatePredecessorNodes(node.getSearchNode(), backwardEnvironment, heuristic), backward, forward, costBound);
+                    } else {
+                        listener.nodePruned(node.getSearchNode());
+                    }
+                }
+                listener.openListSizeChanged(forward.size() + backward.size());
+            }
+
+            // If either search has run out of nodes, all paths that could improve the best solution have been examined.
+            if (bestSolution != null && (forward.isEmpty() || backward.isEmpty() || isProvenOptimal()))
+                manager.registerSolution(new BasicSolution<>(bestSolution, true));
+        }
+
+        private void expand(Iterable<InformedSearchNode<S>> nodes, Frontier<S> frontier, Frontier<S> otherFrontier, Cost costBound) {
+            int generatedNodes = 0;
+            for (InformedSearchNode<S> node : nodes) {
+                generatedNodes++;
+                add(node, frontier, otherFrontier, costBound);
+            }
+            listener.nodesGenerated(generatedNodes);
+        }
+
+        /**
+         * Adds a node to a frontier, unless it can not lead to a solution within the bounds or a node for the same
+         * search space state with a lower or equal cost was already added. If the other frontier contains a node for
+         * the same state, the paths of both nodes are joined into a solution.
+         */
+        private void add(InformedSearchNode<S> informedNode, Frontier<S> frontier, Frontier<S> otherFrontier, Cost costBound) {
+            S node = informedNode.getSearchNode();
+            if (!canLeadToSolution(informedNode, costBound)) {
+                listener.nodePruned(node);
+                return;
+            }
+
+            Object searchSpaceState = node.getSearchSpaceState();
+            S bestNode = frontier.bestNodePerState.get(searchSpaceState);
+            if (bestNode != null && node.getCost().compareTo(bestNode.getCost()) >= 0) {
+                listener.duplicateDropped(node);
+                return;
+            }
+            frontier.insert(informedNode);
+
+            S otherNode = otherFrontier.bestNodePerState.get(searchSpaceState);
+            if (otherNode == null)
+                return;
+
+            Cost pathCost = node.getCost().add(otherNode.getCost());
+            if (bestSolution == null || pathCost.compareTo(bestSolution.getCost()) < 0) {
+                bestSolution = frontier == forward
+                        ? generator.join(node, otherNode, environment)
+                        : generator.join(otherNode, node, environment);
+                manager.registerSolution(new BasicSolution<>(bestSolution, false));
+            }
+        }
+
+        /**
+         * Checks whether a node could lead to a solution that is within the cost bound and cheaper than the best
+         * solution found so far.
+         */
+        private boolean canLeadToSolution(InformedSearchNode<S> node, Cost costBound) {
+            Cost estimatedTotalCost = node.getEstimatedTotalCost();
+            return estimatedTotalCost.compareTo(costBound) <= 0
+                    && (bestSolution == null || estimatedTotalCost.compareTo(bestSolution.getCost()) < 0);
+        }
+
+        /**
+         * Checks whether no unexamined path can be cheaper than the best solution found so far.
+         */
+        private boolean isProvenOptimal() {
+            if (bestSolution == null)
+                return false;
+            Cost lowerBound = Ordering.natural().min(forward.getMinimumPriority(), backward.getMinimumPriority());
+            return lowerBound.compareTo(bestSolution.getCost()) >= 0;
+        }
+    }
+
+    /**
+     * The nodes of one search direction. Nodes awaiting expansion are ordered by their priority {@code max(f, 2g)},
+     * with at most one node per search space state.
+     * @param <S> the type of the search nodes
+     */
+    private static class Frontier<S extends StateSearchNode> {
+        private final PriorityQueue<Cost, InformedSearchNode<S>> openList;
+        private final Map<Object, PriorityQueueEntry<Cost, InformedSearchNode<S>>> openStates = Maps.newHashMap();
+        /** The cheapest node encountered for each search space state, whether or not it has been expanded. */
+        private final Map<Object, S> bestNodePerState = Maps.newHashMap();
+
+        private Frontier(PriorityQueueFactory queueFactory) {
+            this.openList = queueFactory.create(Ordering.<Cost>natural());
+        }
+
+        private void insert(InformedSearchNode<S> node) {
+            Object searchSpaceState = node.getSearchNode().getSearchSpaceState();
+            bestNodePerState.put(searchSpaceState, node.getSearchNode());
+
+            PriorityQueueEntry<Cost, InformedSearchNode<S>> replacedEntry = openStates.get(searchSpaceState);
+            if (replacedEntry != null)
+                openList.delete(replacedEntry);
+
+            Cost cost = node.getSearchNode().getCost();
+            Cost priority = Ordering.natural().max(node.getEstimatedTotalCost(), cost.add(cost));
+            openStates.put(searchSpaceState, openList.insert(priority, node));
+        }
+
+        private InformedSearchNode<S> deleteMinimum() {
+            InformedSearchNode<S> node = openList.deleteMinimum().getValue();
+            openStates.remove(node.getSearchNode().getSearchSpaceState());
+            return node;
+        }
+
+        private Cost getMinimumPriority() {
+            return openList.findMinimum().getKey();
+        }
+
+        private boolean isEmpty() {
+            return openList.isEmpty();
+        }
+
+        private int size() {
+            return openList.size();
+        }
+    }
+}
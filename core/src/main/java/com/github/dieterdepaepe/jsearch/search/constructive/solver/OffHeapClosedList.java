@@ -0,0 +1,122 @@
+package com.github.dieterdepaepe.jsearch.search.constructive.solver;
+
+import com.github.dieterdepaepe.jsearch.datastructure.offheap.OffHeapHashTable;
+import com.github.dieterdepaepe.jsearch.search.constructive.Cost;
+import com.github.dieterdepaepe.jsearch.search.constructive.EncodableStateSearchNode;
+import com.github.dieterdepaepe.jsearch.search.constructive.StateSearchNode;
+import com.github.dieterdepaepe.jsearch.search.constructive.cost.PrimitiveCost;
+import com.google.common.base.Preconditions;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * A {@link ClosedList} that stores the encoded search space states and costs in an {@link OffHeapHashTable}.
+ * Compared to {@link HashClosedList}, no objects are retained per expanded state, which allows far larger searches
+ * within the same heap size.
+ *
+ * <p>This closed list requires all search nodes to be {@link EncodableStateSearchNode}s using a
+ * {@link PrimitiveCost}. The table has a fixed capacity: the search fails with an {@code IllegalStateException} when
+ * more states are expanded.</p>
+ *
+ * @param <S> the type of search nodes
+ * @author Dieter De Paepe
+ */
+public class OffHeapClosedList<S extends StateSearchNode> implements ClosedList<S> {
+    private OffHeapHashTable table;
+    private ByteBuffer encodedState;
+
+    /**
+     * Creates a new closed list.
+     * @param table the empty table to store the expanded states in
+     */
+    public OffHeapClosedList(OffHeapHashTable table) {
+        this.table = Preconditions.checkNotNull(table);
+        this.encodedState = ByteBuffer.allocate(table.getKeySize());
+    }
+
+    /**
+     * Returns a factory that creates closed lists stored in direct memory.
+     * @param encodedStateSize the size of an encoded search space state, in bytes
+     * @param capacity the maximum number of states that can be expanded in a single search
+     * @return a stateless factory
+     */
+    public static ClosedListFactory factory(final int encodedStateSize, final long capacity) {
+        checkArgument(encodedStateSize > 0, "encodedStateSize should be > 0");
+        checkArgument(capacity > 0, "capacity should be > 0");
+        return new ClosedListFactory() {
+            @Override
+            public <S extends StateSearchNode> ClosedList<S> create() {
+                return new OffHeapClosedList<>(OffHeapHashTable.allocateDirect(encodedStateSize, capacity));
+            }
+
+            @Override
+            public String toString() {
+                return "OffHeapClosedList.factory(" + encodedStateSize + ", " + capacity + ")";
+            }
+        };
+    }
+
+    /**
+     * Returns a factory that creates closed lists stored in memory mapped files. Each closed list uses a new
+     * temporary file in the specified directory, which is deleted as soon as possible.
+     * @param directory the directory in which to create the files
+     * @param encodedStateSize the size of an encoded search space state, in bytes
+     * @param capacity the maximum number of states that can be expanded in a single search
+     * @return a stateless factory, which throws an {@code IllegalStateException} if a file cannot be created
+     */
+    public static ClosedListFactory mappedFactory(final File directory, final int encodedStateSize, final long capacity) {
+        Preconditions.checkNotNull(directory);
+        checkArgument(encodedStateSize > 0, "encodedStateSize should be > 0");
+        checkArgument(capacity > 0, "capacity should be > 0");
+        return new ClosedListFactory() {
+            @Override
+            public <S extends StateSearchNode> ClosedList<S> create() {
+                try {
+                    File file = File.createTempFile("closed-list", ".bin", directory);
+                    OffHeapHashTable table = OffHeapHashTable.mapFile(file, encodedStateSize, capacity);
+                    // The mapping outlives the file on most platforms, otherwise we clean up when the JVM exits.
+                    if (!file.delete())
+                        file.deleteOnExit();
+                    return new OffHeapClosedList<>(table);
+                } catch (IOException e) {
+                    throw new IllegalStateException("Could not create the closed list file.", e);
+                }
+            }
+
+            @Override
+            public String toString() {
+                return "OffHeapClosedList.mappedFactory(" + directory + ", " + encodedStateSize + ", " + capacity + ")";
+            }
+        };
+    }
+
+    @Override
+    public void add(S node) {
+        table.put(encode(node), getCostValue(node));
+    }
+
+    @Override
+    public boolean isDominated(S node) {
+        long expandedCost = table.get(encode(node), Long.MAX_VALUE);
+        return expandedCost != Long.MAX_VALUE && getCostValue(node) >= expandedCost;
+    }
+
+    private ByteBuffer encode(S node) {
+        checkArgument(node instanceof EncodableStateSearchNode, "Search nodes should implement EncodableStateSearchNode.");
+        encodedState.clear();
+        ((EncodableStateSearchNode) node).encodeSearchSpaceState(encodedState);
+        checkArgument(!encodedState.hasRemaining(), "Encoded state is smaller than the expected size.");
+        encodedState.flip();
+        return encodedState;
+    }
+
+    private long getCostValue(S node) {
+        Cost cost = node.getCost();
+        checkArgument(cost instanceof PrimitiveCost, "Search nodes should use a PrimitiveCost.");
+        return ((PrimitiveCost) cost).longValue();
+    }
+}
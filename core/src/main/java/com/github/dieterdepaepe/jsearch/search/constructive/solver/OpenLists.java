@@ -0,0 +1,77 @@
+package com.github.dieterdepaepe.jsearch.search.constructive.solver;
+
+import com.github.dieterdepaepe.jsearch.datastructure.priority.*;
+import com.github.dieterdepaepe.jsearch.search.constructive.Cost;
+import com.github.dieterdepaepe.jsearch.search.constructive.InformedSearchNode;
+import com.github.dieterdepaepe.jsearch.search.constructive.SearchNode;
+import com.github.dieterdepaepe.jsearch.search.constructive.cost.IntegerCost;
+import com.github.dieterdepaepe.jsearch.search.constructive.cost.PrimitiveCost;
+
+/**
+ * Utility class to create the priority queue of nodes awaiting expansion used by the best-first solvers. Nodes are
+ * used as their own key, ordered by their total estimated cost and a {@link TieBreaker}.
+ *
+ * <p>When no {@link PriorityQueueFactory} is specified, a {@link RadixHeap} is used if the ordering of the nodes
+ * can be expressed as a single {@code long}: for any {@link PrimitiveCost} without tie-breaking, or for an
+ * {@link IntegerCost} where the total estimated cost and the tie-breaking cost are packed together. All other nodes
+ * are stored in a {@link FibonacciHeap}. Because a radix heap is monotone, a node whose key is lower than that of the
+ * last removed node will be treated as having a key equal to it. For an admissible heuristic, this does not affect
+ * the optimality of A*.</p>
+ *
+ * @author Dieter De Paepe
+ */
+final class OpenLists {
+    private static final long LOWER_32_BITS = 0xFFFFFFFFL;
+
+    private static final RadixHeap.KeyMapping<InformedSearchNode<?>> TOTAL_COST_MAPPING = new RadixHeap.KeyMapping<InformedSearchNode<?>>() {
+        @Override
+        public long toLong(InformedSearchNode<?> key) {
+            return key.getEstimatedTotalCostValue();
+        }
+    };
+
+    private static final RadixHeap.KeyMapping<InformedSearchNode<?>> LOWEST_HEURISTIC_MAPPING = new RadixHeap.KeyMapping<InformedSearchNode<?>>() {
+        @Override
+        public long toLong(InformedSearchNode<?> key) {
+            return (key.getEstimatedTotalCostValue() << 32) | (longValue(key.getEstimatedRemainingCost()) & LOWER_32_BITS);
+        }
+    };
+
+    private static final RadixHeap.KeyMapping<InformedSearchNode<?>> HIGHEST_COST_MAPPING = new RadixHeap.KeyMapping<InformedSearchNode<?>>() {
+        @Override
+        public long toLong(InformedSearchNode<?> key) {
+            return (key.getEstimatedTotalCostValue() << 32) | (~longValue(key.getSearchNode().getCost()) & LOWER_32_BITS);
+        }
+    };
+
+    private OpenLists() {
+    }
+
+    /**
+     * Creates a new, empty open list suited for storing nodes of the same type of cost as the specified node.
+     * @param queueFactory the factory to create the queue, or null to select a queue based on the cost type
+     * @param tieBreaker the policy to order nodes with an equal total estimated cost
+     * @param sampleNode a node of the type that will be stored
+     * @param <S> the type of search nodes stored in the queue
+     * @return an empty open list
+     */
+    static <S extends SearchNode> PriorityQueue<InformedSearchNode<S>, InformedSearchNode<S>> create(PriorityQueueFactory queueFactory,
+                                                                                                    TieBreaker tieBreaker,
+                                                                                                    InformedSearchNode<S> sampleNode) {
+        if (queueFactory != null)
+            return queueFactory.create(tieBreaker.getNodeComparator());
+
+        Cost sampleCost = sampleNode.getEstimatedTotalCost();
+        if (tieBreaker == TieBreaker.ARBITRARY && sampleCost instanceof PrimitiveCost)
+            return RadixHeap.create(TOTAL_COST_MAPPING);
+        if (tieBreaker == TieBreaker.LOWEST_HEURISTIC_FIRST && sampleCost instanceof IntegerCost)
+            return RadixHeap.create(LOWEST_HEURISTIC_MAPPING);
+        if (tieBreaker == TieBreaker.HIGHEST_COST_FIRST && sampleCost instanceof IntegerCost)
+            return RadixHeap.create(HIGHEST_COST_MAPPING);
+        return FibonacciHeap.create(tieBreaker.getNodeComparator());
+    }
+
+    private static long longValue(Cost cost) {
+        return ((PrimitiveCost) cost).longValue();
+    }
+}
@@ -0,0 +1,184 @@
+package com.github.dieterdepaepe.jsearch.search.constructive.solver;
+
+import com.github.dieterdepaepe.jsearch.search.constructive.*;
+import com.github.dieterdepaepe.jsearch.search.constructive.util.ConcurrentManager;
+import com.google.common.base.Throwables;
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.Uninterruptibles;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * A {@link Solver} that runs several solvers concurrently on the same problem, each in its own thread. Since the best
+ * performing solver often depends on the problem instance, a portfolio performs close to the best of its members
+ * without knowing beforehand which member that will be.
+ *
+ * <p>All members share a single {@link ConcurrentManager}, so a solution found by one member immediately bounds the
+ * search of all other members. As soon as a member registers an optimal solution, the shared manager instructs all
+ * members to stop through {@link Manager#continueSearch()}. The search ends when all members have stopped, which
+ * requires all members to check {@code continueSearch} regularly.</p>
+ *
+ * <p>Only the thread calling {@code solve} interacts with the {@code Manager} passed to this solver. It periodically
+ * checks whether the search should continue, shares any lowered cost bound with the members and reports improved
+ * solutions. The {@link SearchNodeGenerator} and {@link Heuristic} are called concurrently by the members, and should
+ * therefor be thread-safe. The {@link SearchListener} of the manager is shared by all members.</p>
+ *
+ * <p>This implementation is stateless and therefor thread-safe, if its members are.</p>
+ *
+ * @param <U> the type {@code SearchNode}s required by this solver
+ * @param <V> the type of the problem environment required by this solver
+ * @author Dieter De Paepe
+ */
+public class PortfolioSolver<U extends SearchNode, V> implements Solver<U, V> {
+    /** The time between 2 consecutive checks of the {@code Manager}. */
+    private static final long MANAGER_POLL_INTERVAL_MILLIS = 10;
+
+    private List<Solver<? super U, ? super V>> solvers;
+
+    /**
+     * Creates a new solver.
+     * @param solvers the solvers to run concurrently
+     * @throws java.lang.IllegalArgumentException if no solvers are specified
+     */
+    @SafeVarargs
+    public PortfolioSolver(Solver<? super U, ? super V>... solvers) {
+        this(Arrays.asList(solvers));
+    }
+
+    /**
+     * Creates a new solver.
+     * @param solvers the solvers to run concurrently
+     * @throws java.lang.IllegalArgumentException if no solvers are specified
+     */
+    public PortfolioSolver(List<? extends Solver<? super U, ? super V>> solvers) {
+        checkArgument(!solvers.isEmpty(), "At least 1 solver should be specified.");
+        this.solvers = ImmutableList.copyOf(solvers);
+    }
+
+    @Override
+    public <S extends U, E extends V> void solve(Iterable<InformedSearchNode<S>> startNodes,
+                                                 E environment,
+                                                 Heuristic<? super S, ? super E> heuristic,
+                                                 SearchNodeGenerator<S, E> searchNodeGenerator,
+                                                 Manager<? super S> manager) {
+        SearchListener listener = SearchListeners.of(manager);
+        listener.searchStarted();
+        try {
+            search(ImmutableList.copyOf(startNodes), environment, heuristic, searchNodeGenerator, manager, listener);
+        } finally {
+            listener.searchFinished();
+        }
+    }
+
+    private <S extends U, E extends V> void search(final List<InformedSearchNode<S>> startNodes,
+                                                   final E environment,
+                                                   final Heuristic<? super S, ? super E> heuristic,
+                                                   final SearchNodeGenerator<S, E> searchNodeGenerator,
+                                                   Manager<? super S> manager,
+                                                   SearchListener listener) {
+        final SharedManager<S> sharedManager = new SharedManager<>(manager.getCostBound(), listener);
+        final CountDownLatch finished = new CountDownLatch(solvers.size());
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        List<Thread> threads = new ArrayList<>(solvers.size());
+        for (int i = 0; i < solvers.size(); i++) {
+            final Solver<? super U, ? super V> solver = solvers.get(i);
+            Thread thread = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        solver.solve(startNodes, environment, heuristic, searchNodeGenerator, sharedManager);
+                    } catch (Throwable t) {
+                        failure.compareAndSet(null, t);
+                        sharedManager.stopped = true;
+                    } finally {
+                        finished.countDown();
+                    }
+                }
+            }, "PortfolioSolver-member-" + i);
+            thread.setDaemon(true);
+            threads.add(thread);
+        }
+        for (Thread thread : threads)
+            thread.start();
+
+        Solution<? extends S> reportedSolution = null;
+        try {
+            while (!finished.await(MANAGER_POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS)) {
+                if (!manager.continueSearch())
+                    break;
+
+                Solution<? extends S> solution = sharedManager.getSolution();
+                if (solution != null && solution != reportedSolution) {
+                    manager.registerSolution(solution);
+                    reportedSolution = solution;
+                }
+                sharedManager.externalCostBound = manager.getCostBound();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            sharedManager.stopped = true;
+            for (Thread thread : threads)
+                Uninterruptibles.joinUninterruptibly(thread);
+        }
+
+        Throwable throwable = failure.get();
+        if (throwable != null) {
+            Throwables.throwIfUnchecked(throwable);
+            throw new RuntimeException(throwable);
+        }
+
+        Solution<? extends S> solution = sharedManager.getSolution();
+        if (solution != null && solution != reportedSolution)
+            manager.registerSolution(solution);
+    }
+
+    @Override
+    public String toString() {
+        return "PortfolioSolver{" +
+                "solvers=" + solvers +
+                '}';
+    }
+
+    /**
+     * The manager shared by all members of the portfolio.
+     * @param <S> the type of the search nodes
+     */
+    private static class SharedManager<S extends SearchNode> extends ConcurrentManager<S> implements MonitoredManager<S> {
+        private final SearchListener listener;
+        /** The cost bound of the manager of the portfolio, which may be lowered during the search. */
+        private volatile Cost externalCostBound;
+        private volatile boolean stopped = false;
+
+        private SharedManager(Cost costBound, SearchListener listener) {
+            super(costBound);
+            this.externalCostBound = costBound;
+            this.listener = listener;
+        }
+
+        @Override
+        public SearchListener getSearchListener() {
+            return listener;
+        }
+
+        @Override
+        public boolean continueSearch() {
+            return !stopped && super.continueSearch();
+        }
+
+        @Override
+        public Cost getCostBound() {
+            Cost costBound = super.getCostBound();
+            Cost currentExternalBound = externalCostBound;
+            return currentExternalBound.compareTo(costBound) < 0 ? currentExternalBound : costBound;
+        }
+    }
+}
@@ -1,10 +1,9 @@
 package com.github.dieterdepaepe.jsearch.search.constructive.solver;
 
 import com.github.dieterdepaepe.jsearch.search.constructive.*;
+import com.github.dieterdepaepe.jsearch.search.constructive.cost.Costs;
 import com.github.dieterdepaepe.jsearch.search.constructive.util.BasicSolution;
-import com.google.common.collect.ComparisonChain;
 import com.google.common.collect.Iterables;
-import com.google.common.collect.Ordering;
 
 import java.util.*;
 
@@ -44,13 +43,30 @@ public class RBFSSolver implements Solver<SearchNode, Object> {
                                                 Heuristic<? super S, ? super E> heuristic,
                                                 SearchNodeGenerator<S, E> searchNodeGenerator,
                                                 Manager<? super S> manager) {
+        SearchListener listener = SearchListeners.of(manager);
+        listener.searchStarted();
+        try {
+            search(startNodes, environment, heuristic, searchNodeGenerator, manager, listener);
+        } finally {
+            listener.searchFinished();
+        }
+    }
+
+    private <S extends SearchNode, E> void search(Iterable<InformedSearchNode<S>> startNodes,
+                                                  E environment,
+                                                  Heuristic<? super S, ? super E> heuristic,
+                                                  SearchNodeGenerator<S, E> searchNodeGenerator,
+                                                  Manager<? super S> manager,
+                                                  SearchListener listener) {
         Deque<SearchTreeLevel<S>> levelStack = new ArrayDeque<>();
 
         List<RBFSSearchNode<S>> startingSearchNodes = new ArrayList<>();
         Cost costBound = manager.getCostBound();
         for (InformedSearchNode<S> startNode : startNodes) {
-            if (startNode.getEstimatedTotalCost().compareTo(costBound) <= 0)
+            if (startNode.compareEstimatedTotalCostTo(costBound) <= 0)
                 startingSearchNodes.add(new RBFSSearchNode<>(startNode.getSearchNode(), startNode.getEstimatedTotalCost()));
+            else
+                listener.nodePruned(startNode.getSearchNode());
         }
         if (startingSearchNodes.isEmpty())
             return;
@@ -63,8 +79,8 @@ public class RBFSSolver implements Solver<SearchNode, Object> {
             Collections.sort(searchNodes);
             RBFSSearchNode<S> bestCostNode = searchNodes.get(0);
 
-            currentLevel.cutoffCost = Ordering.natural().min(currentLevel.cutoffCost, manager.getCostBound());
-            if (bestCostNode.minimumSolutionCost.compareTo(currentLevel.cutoffCost) > 0 || !bestCostNode.mayLeadToSolution) {
+            currentLevel.cutoffCost = Costs.min(currentLevel.cutoffCost, manager.getCostBound());
+            if (Costs.compare(bestCostNode.minimumSolutionCost, currentLevel.cutoffCost) > 0 || !bestCostNode.mayLeadToSolution) {
                 if (levelStack.size() > 1) {
                     // Move up the search tree to look somewhere else, updating the minimum cost of the parent node
                     levelStack.removeFirst();
@@ -83,6 +99,7 @@ public class RBFSSolver implements Solver<SearchNode, Object> {
                 return;
             }
 
+            listener.nodeExpanded(bestCostNode.searchNode);
             Iterable<InformedSearchNode<S>> successors = searchNodeGenerator.generateSuccessorNodes(bestCostNode.searchNode, environment, heuristic);
             if (Iterables.isEmpty(successors)) {
                 bestCostNode.mayLeadToSolution = false;
@@ -93,12 +110,15 @@ public class RBFSSolver implements Solver<SearchNode, Object> {
             for (InformedSearchNode<S> successor : successors) {
                 // By taking the minimum solution cost of the parent node into account, we can prevent unneeded backtracking
                 // caused by using the minimum solution cost as the cutoff cost for a next iteration.
-                rbfsSuccessors.add(new RBFSSearchNode<>(successor.getSearchNode(), Ordering.natural().max(successor.getEstimatedTotalCost(), bestCostNode.minimumSolutionCost)));
+                Cost minimumSolutionCost = successor.compareEstimatedTotalCostTo(bestCostNode.minimumSolutionCost) > 0 ?
+                        successor.getEstimatedTotalCost() : bestCostNode.minimumSolutionCost;
+                rbfsSuccessors.add(new RBFSSearchNode<>(successor.getSearchNode(), minimumSolutionCost));
             }
+            listener.nodesGenerated(rbfsSuccessors.size());
 
             Cost newCutoffCost = currentLevel.cutoffCost;
             if (currentLevel.nodes.size() >= 2 && currentLevel.nodes.get(1).mayLeadToSolution)
-                newCutoffCost = Ordering.natural().min(newCutoffCost, currentLevel.nodes.get(1).minimumSolutionCost);
+                newCutoffCost = Costs.min(newCutoffCost, currentLevel.nodes.get(1).minimumSolutionCost);
 
             levelStack.addFirst(new SearchTreeLevel<>(newCutoffCost, rbfsSuccessors));
         }
@@ -136,10 +156,9 @@ public class RBFSSolver implements Solver<SearchNode, Object> {
 
         @Override
         public int compareTo(RBFSSearchNode<T> o) {
-            return ComparisonChain.start().
-                    compareTrueFirst(mayLeadToSolution, o.mayLeadToSolution).
-                    compare(minimumSolutionCost, o.minimumSolutionCost).
-                    result();
+            if (mayLeadToSolution != o.mayLeadToSolution)
+                return mayLeadToSolution ? -1 : 1;
+            return Costs.compare(minimumSolutionCost, o.minimumSolutionCost);
         }
     }
 }
@@ -0,0 +1,72 @@
+package com.github.dieterdepaepe.jsearch.search.constructive.solver;
+
+import com.github.dieterdepaepe.jsearch.search.constructive.InformedSearchNode;
+import com.github.dieterdepaepe.jsearch.search.constructive.cost.Costs;
+
+import java.util.Comparator;
+
+/**
+ * The policy used by the best-first solvers to order nodes with an equal total estimated cost.
+ *
+ * <p>Many problems contain large plateaus of nodes with the same total estimated cost. Without a tie-breaking policy,
+ * these nodes are expanded in an arbitrary order, often causing the complete final plateau to be expanded before
+ * the goal is found. Preferring nodes that are deeper in the search, such as done by {@link #LOWEST_HEURISTIC_FIRST},
+ * can drastically reduce the number of expansions in the final plateau.</p>
+ *
+ * @author Dieter De Paepe
+ * @see AStarSolver
+ * @see AStarStateSolver
+ */
+public enum TieBreaker {
+    /**
+     * Nodes with equal total estimated cost are expanded in no particular order.
+     */
+    ARBITRARY {
+        @Override
+        int compareTies(InformedSearchNode<?> node1, InformedSearchNode<?> node2) {
+            return 0;
+        }
+    },
+    /**
+     * Nodes with equal total estimated cost are expanded in order of increasing estimated remaining cost.
+     */
+    LOWEST_HEURISTIC_FIRST {
+        @Override
+        int compareTies(InformedSearchNode<?> node1, InformedSearchNode<?> node2) {
+            return Costs.compare(node1.getEstimatedRemainingCost(), node2.getEstimatedRemainingCost());
+        }
+    },
+    /**
+     * Nodes with equal total estimated cost are expanded in order of decreasing cost. For additive costs,
+     * this is equivalent to {@link #LOWEST_HEURISTIC_FIRST}.
+     */
+    HIGHEST_COST_FIRST {
+        @Override
+        int compareTies(InformedSearchNode<?> node1, InformedSearchNode<?> node2) {
+            return Costs.compare(node2.getSearchNode().getCost(), node1.getSearchNode().getCost());
+        }
+    };
+
+    private final Comparator<InformedSearchNode<?>> comparator = new Comparator<InformedSearchNode<?>>() {
+        @Override
+        public int compare(InformedSearchNode<?> node1, InformedSearchNode<?> node2) {
+            int result = node1.compareEstimatedTotalCostTo(node2);
+            return result != 0 ? result : compareTies(node1, node2);
+        }
+    };
+
+    /**
+     * Compares 2 nodes with an equal total estimated cost.
+     * @return a negative value if {@code node1} should be expanded first, a positive value if {@code node2} should be
+     * expanded first, or zero if the order is irrelevant
+     */
+    abstract int compareTies(InformedSearchNode<?> node1, InformedSearchNode<?> node2);
+
+    /**
+     * Gets a comparator which orders nodes by their total estimated cost, using this policy to break ties.
+     * @return a comparator
+     */
+    Comparator<InformedSearchNode<?>> getNodeComparator() {
+        return comparator;
+    }
+}
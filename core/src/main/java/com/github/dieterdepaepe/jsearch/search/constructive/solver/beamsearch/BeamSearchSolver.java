@@ -1,11 +1,11 @@
 package com.github.dieterdepaepe.jsearch.search.constructive.solver.beamsearch;
 
 import com.github.dieterdepaepe.jsearch.search.constructive.*;
+import com.github.dieterdepaepe.jsearch.search.constructive.cost.Costs;
 import com.github.dieterdepaepe.jsearch.search.constructive.util.BasicSolution;
 import com.google.common.base.Predicate;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Lists;
-import com.google.common.collect.Ordering;
 
 import java.util.List;
 
@@ -35,6 +35,21 @@ public class BeamSearchSolver<U extends SearchNode, V> implements Solver<U, V> {
                                                  Heuristic<? super S, ? super E> heuristic,
                                                  SearchNodeGenerator<S, E> searchNodeGenerator,
                                                  Manager<? super S> manager) {
+        SearchListener listener = SearchListeners.of(manager);
+        listener.searchStarted();
+        try {
+            search(startNodes, environment, heuristic, searchNodeGenerator, manager, listener);
+        } finally {
+            listener.searchFinished();
+        }
+    }
+
+    private <S extends U, E extends V> void search(Iterable<InformedSearchNode<S>> startNodes,
+                                                   E environment,
+                                                   Heuristic<? super S, ? super E> heuristic,
+                                                   SearchNodeGenerator<S, E> searchNodeGenerator,
+                                                   Manager<? super S> manager,
+                                                   SearchListener listener) {
         // Contains the cheapest estimated solution cost of a search node that was discarded by the parentSelector
         Cost bestDiscardedNodeCost = null;
 
@@ -42,20 +57,30 @@ public class BeamSearchSolver<U extends SearchNode, V> implements Solver<U, V> {
         S bestSolution = null;
 
         Iterable<InformedSearchNode<S>> children = startNodes;
+        boolean isFirstGeneration = true;
 
         while (!Iterables.isEmpty(children)) {
             Cost costBound = manager.getCostBound();
 
+            int generationSize = 0;
             for (InformedSearchNode<S> child : children) {
-                if (child.getEstimatedTotalCost().compareTo(costBound) > 0)
+                generationSize++;
+                if (child.compareEstimatedTotalCostTo(costBound) > 0) {
+                    listener.nodePruned(child.getSearchNode());
                     continue;
+                }
                 if (child.getSearchNode().isGoal()) {
                     manager.registerSolution(new BasicSolution<>(child.getSearchNode(), false));
-                    if (bestSolution == null || bestSolution.getCost().compareTo(child.getSearchNode().getCost()) > 0)
+                    if (bestSolution == null || Costs.compare(bestSolution.getCost(), child.getSearchNode().getCost()) > 0)
                         bestSolution = child.getSearchNode();
                 }
             }
 
+            if (!isFirstGeneration)
+                listener.nodesGenerated(generationSize);
+            listener.openListSizeChanged(generationSize);
+            isFirstGeneration = false;
+
             if (!manager.continueSearch())
                 return;
 
@@ -65,19 +90,21 @@ public class BeamSearchSolver<U extends SearchNode, V> implements Solver<U, V> {
                 if (bestDiscardedNodeCost == null)
                     bestDiscardedNodeCost = selection.getBestPrunedNode().getEstimatedRemainingCost();
                 else
-                    bestDiscardedNodeCost = Ordering.natural().min(bestDiscardedNodeCost, selection.getBestPrunedNode().getEstimatedTotalCost());
+                    bestDiscardedNodeCost = Costs.min(bestDiscardedNodeCost, selection.getBestPrunedNode().getEstimatedTotalCost());
             }
 
             List<Iterable<InformedSearchNode<S>>> childIterables = Lists.newArrayList();
-            for (InformedSearchNode<S> parent : selection.getSelectedNodes())
+            for (InformedSearchNode<S> parent : selection.getSelectedNodes()) {
+                listener.nodeExpanded(parent.getSearchNode());
                 childIterables.add(searchNodeGenerator.generateSuccessorNodes(parent.getSearchNode(), environment, heuristic));
+            }
             children = Iterables.concat(childIterables);
 
         }
 
         // The search space has been exhausted. We can compare the best solution encountered against the best estimate
         // of a purged search node to decide whether or not we know for sure to have an optimal solution.
-        if (bestSolution != null && (bestDiscardedNodeCost == null || bestSolution.getCost().compareTo(bestDiscardedNodeCost) <= 0))
+        if (bestSolution != null && (bestDiscardedNodeCost == null || Costs.compare(bestSolution.getCost(), bestDiscardedNodeCost) <= 0))
             manager.registerSolution(new BasicSolution<>(bestSolution, true));
     }
 
@@ -110,7 +137,7 @@ public class BeamSearchSolver<U extends SearchNode, V> implements Solver<U, V> {
 
         @Override
         public boolean apply(InformedSearchNode<?> input) {
-            return input.getEstimatedTotalCost().compareTo(maxAllowedCost) < 0;
+            return input.compareEstimatedTotalCostTo(maxAllowedCost) < 0;
         }
     }
 }
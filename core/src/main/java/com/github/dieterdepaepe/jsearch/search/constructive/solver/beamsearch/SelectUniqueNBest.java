@@ -1,12 +1,14 @@
 package com.github.dieterdepaepe.jsearch.search.constructive.solver.beamsearch;
 
 import com.github.dieterdepaepe.jsearch.datastructure.priority.FibonacciHeap;
-import com.github.dieterdepaepe.jsearch.datastructure.priority.FibonacciHeapEntry;
-import com.github.dieterdepaepe.jsearch.search.constructive.Cost;
+import com.github.dieterdepaepe.jsearch.datastructure.priority.PriorityQueue;
+import com.github.dieterdepaepe.jsearch.datastructure.priority.PriorityQueueEntry;
+import com.github.dieterdepaepe.jsearch.datastructure.priority.PriorityQueueFactory;
 import com.github.dieterdepaepe.jsearch.search.constructive.InformedSearchNode;
 import com.github.dieterdepaepe.jsearch.search.constructive.StateSearchNode;
-import com.google.common.collect.Ordering;
+import com.google.common.base.Preconditions;
 
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -28,7 +30,16 @@ import static com.google.common.base.Preconditions.checkArgument;
  * @see com.github.dieterdepaepe.jsearch.search.constructive.solver.beamsearch.SelectNBest
  */
 public class SelectUniqueNBest implements BeamSearchSolver.ParentSelector<StateSearchNode, Object> {
+    /** Orders nodes so the highest total estimated cost has the highest priority. */
+    private static final Comparator<InformedSearchNode<?>> HIGHEST_COST_FIRST = new Comparator<InformedSearchNode<?>>() {
+        @Override
+        public int compare(InformedSearchNode<?> node1, InformedSearchNode<?> node2) {
+            return node2.compareEstimatedTotalCostTo(node1);
+        }
+    };
+
     private int n;
+    private PriorityQueueFactory queueFactory;
 
     /**
      * Creates a new instance that will select the {@code n} best nodes of each generation as parents for the next
@@ -37,49 +48,59 @@ public class SelectUniqueNBest implements BeamSearchSolver.ParentSelector<StateS
      * @throws java.lang.IllegalArgumentException if {@code n <= 0}
      */
     public SelectUniqueNBest(int n) {
+        this(n, FibonacciHeap.factory());
+    }
+
+    /**
+     * Creates a new instance that will select the {@code n} best nodes of each generation as parents for the next
+     * generation, where each node has a unique state space.
+     * @param n the number of nodes to select
+     * @param queueFactory the factory for the priority queue used to track the selected nodes
+     * @throws java.lang.IllegalArgumentException if {@code n <= 0}
+     */
+    public SelectUniqueNBest(int n, PriorityQueueFactory queueFactory) {
         checkArgument(n >= 1, "n should be >= 1");
 
         this.n = n;
+        this.queueFactory = Preconditions.checkNotNull(queueFactory);
     }
 
     @Override
     public <S extends StateSearchNode> GenerationSelection<S> selectNodesToExpand(Iterable<InformedSearchNode<S>> nodesToChooseFrom, Object environment) {
         // We reverse the order, so the highest costs have the highest priority in the heap.
-        FibonacciHeap<Cost, InformedSearchNode<S>> heap = FibonacciHeap.create(Ordering.<Cost>natural().reverse());
-        Map<Object, FibonacciHeapEntry<Cost, InformedSearchNode<S>>> uniqueStates = new HashMap<>();
+        PriorityQueue<InformedSearchNode<S>, InformedSearchNode<S>> heap = queueFactory.create(HIGHEST_COST_FIRST);
+        Map<Object, PriorityQueueEntry<InformedSearchNode<S>, InformedSearchNode<S>>> uniqueStates = new HashMap<>();
         InformedSearchNode<S> bestPrunedNode = null;
 
         for (InformedSearchNode<S> searchNode : nodesToChooseFrom) {
-            Cost heapKeyValue = searchNode.getEstimatedTotalCost();
-
             Object searchSpaceState = searchNode.getSearchNode().getSearchSpaceState();
-            FibonacciHeapEntry<Cost, InformedSearchNode<S>> sameStateEntry = uniqueStates.get(searchSpaceState);
+            PriorityQueueEntry<InformedSearchNode<S>, InformedSearchNode<S>> sameStateEntry = uniqueStates.get(searchSpaceState);
             if (sameStateEntry != null) {
-                if (sameStateEntry.getValue().getEstimatedTotalCost().compareTo(searchNode.getEstimatedTotalCost()) > 0) {
+                if (sameStateEntry.getValue().compareEstimatedTotalCostTo(searchNode) > 0) {
                     heap.delete(sameStateEntry);
-                    FibonacciHeapEntry<Cost, InformedSearchNode<S>> newEntry = heap.insert(heapKeyValue, searchNode);
+                    PriorityQueueEntry<InformedSearchNode<S>, InformedSearchNode<S>> newEntry = heap.insert(searchNode, searchNode);
                     uniqueStates.put(searchSpaceState, newEntry);
                 }
                 continue;
             }
 
             if (heap.size() < n) {
-                FibonacciHeapEntry<Cost, InformedSearchNode<S>> newEntry = heap.insert(heapKeyValue, searchNode);
+                PriorityQueueEntry<InformedSearchNode<S>, InformedSearchNode<S>> newEntry = heap.insert(searchNode, searchNode);
                 uniqueStates.put(searchSpaceState, newEntry);
             } else {
-                FibonacciHeapEntry<Cost, InformedSearchNode<S>> mostExpensiveEntryInHeap = heap.findMinimum();
+                PriorityQueueEntry<InformedSearchNode<S>, InformedSearchNode<S>> mostExpensiveEntryInHeap = heap.findMinimum();
                 InformedSearchNode<S> prunedNode;
 
-                if (searchNode.getEstimatedTotalCost().compareTo(mostExpensiveEntryInHeap.getValue().getEstimatedTotalCost()) >= 0) {
+                if (searchNode.compareEstimatedTotalCostTo(mostExpensiveEntryInHeap.getValue()) >= 0) {
                     prunedNode = searchNode;
                 } else {
                     prunedNode = heap.deleteMinimum().getValue();
                     uniqueStates.remove(prunedNode.getSearchNode().getSearchSpaceState());
-                    FibonacciHeapEntry<Cost, InformedSearchNode<S>> newEntry = heap.insert(heapKeyValue, searchNode);
+                    PriorityQueueEntry<InformedSearchNode<S>, InformedSearchNode<S>> newEntry = heap.insert(searchNode, searchNode);
                     uniqueStates.put(searchSpaceState, newEntry);
                 }
 
-                if (bestPrunedNode == null || bestPrunedNode.getEstimatedTotalCost().compareTo(prunedNode.getEstimatedTotalCost()) >= 0)
+                if (bestPrunedNode == null || bestPrunedNode.compareEstimatedTotalCostTo(prunedNode) >= 0)
                     bestPrunedNode = prunedNode;
             }
         }
@@ -91,6 +112,7 @@ public class SelectUniqueNBest implements BeamSearchSolver.ParentSelector<StateS
     public String toString() {
         return "SelectUniqueNBest{" +
                 "n=" + n +
+                ", queueFactory=" + queueFactory +
                 '}';
     }
 }
@@ -0,0 +1,429 @@
+package com.github.dieterdepaepe.jsearch.search.constructive.solver.external;
+
+import com.github.dieterdepaepe.jsearch.search.constructive.*;
+import com.github.dieterdepaepe.jsearch.search.constructive.cost.PrimitiveCost;
+import com.github.dieterdepaepe.jsearch.search.constructive.solver.AStarStateSolver;
+import com.github.dieterdepaepe.jsearch.search.constructive.util.BasicSolution;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.*;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * An external memory <a href="http://en.wikipedia.org/wiki/A*">A*</a> implementation of a {@link Solver}, which keeps
+ * the nodes awaiting expansion and the expanded states in files rather than in memory. This allows searches that visit
+ * far more states than fit in memory. This solver is guaranteed to find the optimal {@link Solution}, presuming that a
+ * solution is reachable.
+ *
+ * <p>Generated nodes are grouped in layers of equal total estimated cost. Each layer collects its nodes in an in-memory
+ * buffer, which is sorted on the encoded search space state and written to a run file whenever it is full. Layers are
+ * expanded in order of increasing cost. To expand a layer, all of its run files are merged, together with a sorted
+ * file of all expanded states. Duplicate nodes are detected during this merge, since all nodes for the same state are
+ * adjacent: only the cheapest node of each state is expanded, and only if the state has not been expanded at a lower
+ * or equal cost. Successors with the same total estimated cost as the layer are expanded in a next pass over the same
+ * layer. No hash table of states is kept in memory.</p>
+ *
+ * <p>The memory use is bounded by a budget for the buffers of all layers. When a layer needs a buffer and the budget
+ * is used up, the layer whose buffer holds the most bytes writes it to a run and hands it over. A layer can therefor
+ * consist of many runs. To bound the number of files that are open at once, runs are merged in several passes if
+ * needed: each pass merges a limited number of runs into a single run, until the remaining runs can be merged with the
+ * file of expanded states at once.</p>
+ *
+ * <p>This solver requires all search nodes to be {@link EncodableStateSearchNode}s with encoded states of a fixed
+ * size, using a {@link PrimitiveCost}. A {@link SearchNodeSerializer} is used to store the nodes in the files. Files
+ * are created in the directory passed at construction and deleted when the search ends. If a file operation fails, the
+ * search ends with an {@code IllegalStateException}.</p>
+ *
+ * <p>This solver assumes an admissible {@code Heuristic}, see {@link AStarStateSolver} for the effects of using a
+ * non-admissible heuristic. With an inconsistent heuristic, expanded states may be reached at a lower cost, in which
+ * case they are expanded again.</p>
+ *
+ * <p>This implementation is stateless and therefor thread-safe.</p>
+ *
+ * @param <T> the type of search nodes supported by the serializer
+ * @see com.github.dieterdepaepe.jsearch.search.constructive.solver.AStarStateSolver
+ * @author Dieter De Paepe
+ */
+public class ExternalAStarSolver<T extends EncodableStateSearchNode> implements Solver<T, Object> {
+    private static final int DEFAULT_BUFFER_SIZE = 1 << 22;
+    private static final int DEFAULT_BUFFER_COUNT = 16;
+    private static final int DEFAULT_MERGE_FAN_IN = 64;
+
+    private SearchNodeSerializer<T> serializer;
+    private int encodedStateSize;
+    private File directory;
+    private int bufferSize;
+    private long maxBufferedBytes;
+    private int maxMergeFanIn;
+
+    /**
+     * Creates a new solver which uses buffers of 4 MiB, with at most 16 buffers at a time.
+     * @param serializer the serializer for the search nodes
+     * @param encodedStateSize the size of an encoded search space state, in bytes
+     * @param directory the directory in which to create the files
+     */
+    public ExternalAStarSolver(SearchNodeSerializer<T> serializer, int encodedStateSize, File directory) {
+        this(serializer, encodedStateSize, directory, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Creates a new solver which uses at most 16 buffers at a time.
+     * @param serializer the serializer for the search nodes
+     * @param encodedStateSize the size of an encoded search space state, in bytes
+     * @param directory the directory in which to create the files
+     * @param bufferSize the size of the in-memory buffer of each layer, in bytes, it should be large enough to hold
+     *                   any single node
+     */
+    public ExternalAStarSolver(SearchNodeSerializer<T> serializer, int encodedStateSize, File directory, int bufferSize) {
+        this(serializer, encodedStateSize, directory, bufferSize, (long) DEFAULT_BUFFER_COUNT * bufferSize, DEFAULT_MERGE_FAN_IN);
+    }
+
+    /**
+     * Creates a new solver.
+     * @param serializer the serializer for the search nodes
+     * @param encodedStateSize the size of an encoded search space state, in bytes
+     * @param directory the directory in which to create the files
+     * @param bufferSize the size of the in-memory buffer of each layer, in bytes, it should be large enough to hold
+     *                   any single node
+     * @param maxBufferedBytes the maximum size of all buffers together, in bytes, at least {@code bufferSize}
+     * @param maxMergeFanIn the maximum number of files merged at once, at least 2
+     */
+    public ExternalAStarSolver(SearchNodeSerializer<T> serializer, int encodedStateSize, File directory, int bufferSize,
+                               long maxBufferedBytes, int maxMergeFanIn) {
+        checkArgument(encodedStateSize > 0, "encodedStateSize should be > 0");
+        checkArgument(bufferSize > 0, "bufferSize should be > 0");
+        checkArgument(maxBufferedBytes >= bufferSize, "maxBufferedBytes should be >= bufferSize");
+        checkArgument(maxMergeFanIn >= 2, "maxMergeFanIn should be >= 2");
+        this.serializer = checkNotNull(serializer);
+        this.encodedStateSize = encodedStateSize;
+        this.directory = checkNotNull(directory);
+        this.bufferSize = bufferSize;
+        this.maxBufferedBytes = maxBufferedBytes;
+        this.maxMergeFanIn = maxMergeFanIn;
+    }
+
+    @Override
+    public <S extends T, E> void solve(Iterable<InformedSearchNode<S>> startNodes,
+                                       E environment,
+                                       Heuristic<? super S, ? super E> heuristic,
+                                       SearchNodeGenerator<S, E> searchNodeGenerator,
+                                       Manager<? super S> manager) {
+        SearchListener listener = SearchListeners.of(manager);
+        listener.searchStarted();
+        ExternalSearch<S, E> search = new ExternalSearch<>(environment, heuristic, searchNodeGenerator, manager, listener);
+        try {
+            search.run(startNodes);
+        } catch (IOException e) {
+            throw new IllegalStateException("External search failed.", e);
+        } finally {
+            search.deleteFiles();
+            listener.searchFinished();
+        }
+    }
+
+    private static long getCostValue(Cost cost) {
+        checkArgument(cost instanceof PrimitiveCost, "Search nodes should use a PrimitiveCost.");
+        return ((PrimitiveCost) cost).longValue();
+    }
+
+    @Override
+    public String toString() {
+        return "ExternalAStarSolver{" +
+                "serializer=" + serializer +
+                ", encodedStateSize=" + encodedStateSize +
+                ", directory=" + directory +
+                ", bufferSize=" + bufferSize +
+                ", maxBufferedBytes=" + maxBufferedBytes +
+                ", maxMergeFanIn=" + maxMergeFanIn +
+                '}';
+    }
+
+    /**
+     * The nodes of a layer that await expansion.
+     */
+    private static class Layer {
+        private RecordBuffer buffer;
+        private List<File> runs = new ArrayList<>();
+    }
+
+    /**
+     * The state of a single search.
+     */
+    private class ExternalSearch<S extends T, E> {
+        private final E environment;
+        private final Heuristic<? super S, ? super E> heuristic;
+        private final SearchNodeGenerator<S, E> searchNodeGenerator;
+        private final Manager<? super S> manager;
+        private final SearchListener listener;
+
+        private final TreeMap<Long, Layer> layers = new TreeMap<>();
+        private final Deque<RecordBuffer> freeBuffers = new ArrayDeque<>();
+        private final long maxBuffers = maxBufferedBytes / bufferSize;
+        private long allocatedBuffers;
+        private final Set<File> files = new HashSet<>();
+        /** The sorted file of all expanded states and their cost, or null if no state was expanded yet. */
+        private File closedFile;
+        private long currentLayer = Long.MIN_VALUE;
+        private long openListSize;
+
+        private ExternalSearch(E environment,
+                               Heuristic<? super S, ? super E> heuristic,
+                               SearchNodeGenerator<S, E> searchNodeGenerator,
+                               Manager<? super S> manager,
+                               SearchListener listener) {
+            this.environment = environment;
+            this.heuristic = heuristic;
+            this.searchNodeGenerator = searchNodeGenerator;
+            this.manager = manager;
+            this.listener = listener;
+        }
+
+        private void run(Iterable<InformedSearchNode<S>> startNodes) throws IOException {
+            Cost costBound = manager.getCostBound();
+            for (InformedSearchNode<S> startNode : startNodes) {
+                if (startNode.getEstimatedTotalCost().compareTo(costBound) <= 0)
+                    addToOpenList(startNode);
+                else
+                    listener.nodePruned(startNode.getSearchNode());
+            }
+            listener.openListSizeChanged(openListSize);
+
+            while (!layers.isEmpty() && manager.continueSearch()) {
+                Map.Entry<Long, Layer> layer = layers.pollFirstEntry();
+                listener.iterationStarted();
+                try {
+                    if (!expandLayer(layer.getKey(), layer.getValue()))
+                        return;
+                } finally {
+                    listener.iterationFinished();
+                }
+                listener.openListSizeChanged(openListSize);
+            }
+        }
+
+        /**
+         * Merges the runs of a layer with the expanded states, and expands the cheapest node of each state that was
+         * not expanded before at a lower or equal cost.
+         * @return false if the search should end
+         */
+        private boolean expandLayer(long totalCost, Layer layer) throws IOException {
+            currentLayer = totalCost;
+            if (layer.buffer != null) {
+                if (!layer.buffer.isEmpty())
+                    writeRun(layer);
+                freeBuffers.push(layer.buffer);
+                layer.buffer = null;
+            }
+            reduceRuns(layer.runs);
+
+            File newClosedFile = createFile("closed");
+            List<RunReader> readers = new ArrayList<>();
+            try (RunWriter closedWriter = new RunWriter(newClosedFile)) {
+                PriorityQueue<RunReader> queue = new PriorityQueue<>(Math.max(1, layer.runs.size()), RunReader.ORDER);
+                for (File run : layer.runs) {
+                    RunReader reader = new RunReader(run, encodedStateSize);
+                    readers.add(reader);
+                    if (reader.next())
+                        queue.add(reader);
+                }
+                RunReader closedReader = null;
+                if (closedFile != null) {
+                    closedReader = new RunReader(closedFile, encodedStateSize);
+                    readers.add(closedReader);
+                }
+                boolean closedAvailable = closedReader != null && closedReader.next();
+
+                byte[] previousState = new byte[encodedStateSize];
+                boolean isFirst = true;
+                boolean isDominated = false;
+                while (!queue.isEmpty()) {
+                    // The cost bound might have been lowered by a solution, in which case the remaining nodes are useless.
+                    if (!manager.continueSearch() || totalCost > getCostValue(manager.getCostBound()))
+                        return false;
+
+                    RunReader reader = queue.poll();
+                    openListSize--;
+                    byte[] state = reader.getState();
+                    boolean isNewState = isFirst || RunReader.compareStates(state, previousState) != 0;
+                    if (isNewState) {
+                        isFirst = false;
+                        System.arraycopy(state, 0, previousState, 0, encodedStateSize);
+
+                        // Copy the expanded states that precede this state
+                        while (closedAvailable && RunReader.compareStates(closedReader.getState(), state) < 0) {
+                            closedWriter.write(closedReader.getState(), closedReader.getCost());
+                            closedAvailable = closedReader.next();
+                        }
+
+                        isDominated = false;
+                        if (closedAvailable && RunReader.compareStates(closedReader.getState(), state) == 0) {
+                            if (closedReader.getCost() <= reader.getCost())
+                                isDominated = true;
+                            else
+                                closedAvailable = closedReader.next(); // Reopened at a lower cost, the record is replaced
+                        }
+                    }
+
+                    if (!isNewState || isDominated) {
+                        // Only deserialize the node if someone is interested
+                        if (listener != SearchListeners.noOp())
+                            listener.duplicateDropped(deserialize(reader));
+                    } else {
+                        closedWriter.write(state, reader.getCost());
+                        expand(deserialize(reader));
+                    }
+
+                    if (reader.next())
+                        queue.add(reader);
+                }
+
+                while (closedAvailable) {
+                    closedWriter.write(closedReader.getState(), closedReader.getCost());
+                    closedAvailable = closedReader.next();
+                }
+            } finally {
+                for (RunReader reader : readers)
+                    reader.close();
+            }
+
+            for (File run : layer.runs)
+                deleteFile(run);
+            if (closedFile != null)
+                deleteFile(closedFile);
+            closedFile = newClosedFile;
+            return true;
+        }
+
+        /**
+         * Merges the oldest runs of a layer until they can be merged with the expanded states without exceeding the
+         * maximum fan-in.
+         */
+        private void reduceRuns(List<File> runs) throws IOException {
+            while (runs.size() >= maxMergeFanIn) {
+                List<File> mergedRuns = runs.subList(0, maxMergeFanIn);
+                File run = createFile("run");
+                mergeRuns(mergedRuns, run);
+                for (File mergedRun : mergedRuns)
+                    deleteFile(mergedRun);
+                mergedRuns.clear();
+                runs.add(run);
+            }
+        }
+
+        private void mergeRuns(List<File> runs, File target) throws IOException {
+            List<RunReader> readers = new ArrayList<>();
+            try (RunWriter writer = new RunWriter(target)) {
+                PriorityQueue<RunReader> queue = new PriorityQueue<>(runs.size(), RunReader.ORDER);
+                for (File run : runs) {
+                    RunReader reader = new RunReader(run, encodedStateSize);
+                    readers.add(reader);
+                    if (reader.next())
+                        queue.add(reader);
+                }
+
+                while (!queue.isEmpty()) {
+                    RunReader reader = queue.poll();
+                    writer.write(reader.getState(), reader.getCost(), reader.getNode());
+                    if (reader.next())
+                        queue.add(reader);
+                }
+            } finally {
+                for (RunReader reader : readers)
+                    reader.close();
+            }
+        }
+
+        private void expand(S node) throws IOException {
+            if (node.isGoal())
+                manager.registerSolution(new BasicSolution<>(node, true));
+
+            Cost costBound = manager.getCostBound();
+            listener.nodeExpanded(node);
+            int generatedNodes = 0;
+            for (InformedSearchNode<S> successor : searchNodeGenerator.generateSuccessorNodes(node, environment, heuristic)) {
+                generatedNodes++;
+                if (successor.getEstimatedTotalCost().compareTo(costBound) <= 0)
+                    addToOpenList(successor);
+                else
+                    listener.nodePruned(successor.getSearchNode());
+            }
+            listener.nodesGenerated(generatedNodes);
+        }
+
+        private void addToOpenList(InformedSearchNode<S> informedNode) throws IOException {
+            // A successor can not be expanded before the current layer, which only happens for inconsistent heuristics
+            long totalCost = Math.max(getCostValue(informedNode.getEstimatedTotalCost()), currentLayer);
+            Layer layer = layers.get(totalCost);
+            if (layer == null) {
+                layer = new Layer();
+                layers.put(totalCost, layer);
+            }
+            if (layer.buffer == null)
+                layer.buffer = acquireBuffer();
+
+            S node = informedNode.getSearchNode();
+            long cost = getCostValue(node.getCost());
+            if (!layer.buffer.add(node, cost, serializer)) {
+                writeRun(layer);
+                layer.buffer.add(node, cost, serializer);
+            }
+            openListSize++;
+        }
+
+        /**
+         * Gets an empty buffer. If the budget does not allow another buffer, the layer whose buffer holds the most
+         * bytes is written to a run, and its buffer is taken.
+         */
+        private RecordBuffer acquireBuffer() throws IOException {
+            if (!freeBuffers.isEmpty())
+                return freeBuffers.pop();
+            if (allocatedBuffers < maxBuffers) {
+                allocatedBuffers++;
+                return new RecordBuffer(encodedStateSize, bufferSize);
+            }
+
+            // All buffers are in use by the pending layers
+            Layer largestLayer = null;
+            for (Layer layer : layers.values())
+                if (layer.buffer != null && (largestLayer == null || layer.buffer.getUsedBytes() > largestLayer.buffer.getUsedBytes()))
+                    largestLayer = layer;
+            if (!largestLayer.buffer.isEmpty())
+                writeRun(largestLayer);
+            RecordBuffer buffer = largestLayer.buffer;
+            largestLayer.buffer = null;
+            return buffer;
+        }
+
+        private void writeRun(Layer layer) throws IOException {
+            File run = createFile("run");
+            layer.buffer.writeSortedRun(run);
+            layer.runs.add(run);
+        }
+
+        @SuppressWarnings("unchecked")
+        private S deserialize(RunReader reader) {
+            // The serializer creates the nodes of the search, which are of type S
+            return (S) serializer.deserialize(reader.getNode());
+        }
+
+        private File createFile(String prefix) throws IOException {
+            File file = File.createTempFile(prefix, ".bin", directory);
+            files.add(file);
+            return file;
+        }
+
+        private void deleteFile(File file) {
+            files.remove(file);
+            if (!file.delete())
+                file.deleteOnExit();
+        }
+
+        private void deleteFiles() {
+            for (File file : new ArrayList<>(files))
+                deleteFile(file);
+        }
+    }
+}
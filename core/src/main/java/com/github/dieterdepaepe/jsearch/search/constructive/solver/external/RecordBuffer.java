@@ -0,0 +1,127 @@
+package com.github.dieterdepaepe.jsearch.search.constructive.solver.external;
+
+import com.github.dieterdepaepe.jsearch.search.constructive.EncodableStateSearchNode;
+import com.github.dieterdepaepe.jsearch.search.constructive.SearchNodeSerializer;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * A fixed size in-memory buffer of records, which is written to a run file in sorted order once it is full. Records
+ * are sorted on their encoded search space state and then on their cost, so the cheapest record of each state comes
+ * first. Only the offsets of the records are sorted, the records themselves are not moved.
+ * @author Dieter De Paepe
+ */
+class RecordBuffer {
+    private final int stateSize;
+    private final ByteBuffer data;
+    private int[] offsets;
+    private int size;
+
+    /**
+     * Creates a new, empty buffer.
+     * @param stateSize the size of an encoded search space state
+     * @param capacity the size of the buffer in bytes
+     */
+    RecordBuffer(int stateSize, int capacity) {
+        this.stateSize = stateSize;
+        this.data = ByteBuffer.allocate(capacity);
+        this.offsets = new int[1024];
+    }
+
+    /**
+     * Adds a record for the given node, if there is enough space left.
+     * @param node the node
+     * @param cost the cost of the node
+     * @param serializer the serializer for the node
+     * @param <T> the type of the node
+     * @return false if the buffer is too full to contain the record
+     * @throws IllegalArgumentException if the record would not even fit in an empty buffer, or if the encoded state
+     *                                  or serialized node do not have the expected size
+     */
+    <T extends EncodableStateSearchNode> boolean add(T node, long cost, SearchNodeSerializer<? super T> serializer) {
+        int nodeSize = serializer.getSerializedSize(node);
+        int recordSize = stateSize + 12 + nodeSize;
+        checkArgument(recordSize <= data.capacity(), "Record of %s bytes does not fit in the buffer.", recordSize);
+        if (data.remaining() < recordSize)
+            return false;
+
+        int offset = data.position();
+        node.encodeSearchSpaceState(data);
+        checkArgument(data.position() - offset == stateSize, "Encoded state does not have the expected size.");
+        data.putLong(cost).putInt(nodeSize);
+        int nodeOffset = data.position();
+        serializer.serialize(node, data);
+        checkArgument(data.position() - nodeOffset == nodeSize, "Serialized node does not have the expected size.");
+
+        if (size == offsets.length)
+            offsets = Arrays.copyOf(offsets, size * 2);
+        offsets[size++] = offset;
+        return true;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Gets the number of bytes taken by the records in this buffer.
+     * @return the number of bytes
+     */
+    int getUsedBytes() {
+        return data.position();
+    }
+
+    /**
+     * Writes all records to a file in sorted order, and empties this buffer.
+     * @param file the file to write
+     * @throws IOException if writing failed
+     */
+    void writeSortedRun(File file) throws IOException {
+        sort(offsets, new int[size], 0, size);
+        try (RunWriter writer = new RunWriter(file)) {
+            for (int i = 0; i < size; i++) {
+                int offset = offsets[i];
+                writer.write(data, offset, stateSize + 12 + data.getInt(offset + stateSize + 8));
+            }
+        }
+        data.clear();
+        size = 0;
+    }
+
+    /**
+     * Merge sort of the record offsets in {@code [from, to[}.
+     */
+    private void sort(int[] values, int[] temp, int from, int to) {
+        if (to - from < 2)
+            return;
+        int middle = (from + to) >>> 1;
+        sort(values, temp, from, middle);
+        sort(values, temp, middle, to);
+        if (compare(values[middle - 1], values[middle]) <= 0)
+            return;
+
+        System.arraycopy(values, from, temp, from, to - from);
+        int left = from;
+        int right = middle;
+        for (int i = from; i < to; i++) {
+            if (right >= to || (left < middle && compare(temp[left], temp[right]) <= 0))
+                values[i] = temp[left++];
+            else
+                values[i] = temp[right++];
+        }
+    }
+
+    private int compare(int offset1, int offset2) {
+        for (int i = 0; i < stateSize; i++) {
+            int comparison = (data.get(offset1 + i) & 0xFF) - (data.get(offset2 + i) & 0xFF);
+            if (comparison != 0)
+                return comparison;
+        }
+        return Long.compare(data.getLong(offset1 + stateSize), data.getLong(offset2 + stateSize));
+    }
+}
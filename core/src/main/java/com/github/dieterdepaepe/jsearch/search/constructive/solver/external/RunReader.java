@@ -0,0 +1,110 @@
+package com.github.dieterdepaepe.jsearch.search.constructive.solver.external;
+
+import com.github.dieterdepaepe.jsearch.datastructure.offheap.BufferedFileReader;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Comparator;
+
+/**
+ * Reads the records of a run file written by a {@link RunWriter}, one record at a time.
+ * @author Dieter De Paepe
+ */
+class RunReader implements Closeable {
+    /** Orders readers by the state and cost of their current record. */
+    static final Comparator<RunReader> ORDER = new Comparator<RunReader>() {
+        @Override
+        public int compare(RunReader reader1, RunReader reader2) {
+            int comparison = compareStates(reader1.state, reader2.state);
+            return comparison != 0 ? comparison : Long.compare(reader1.cost, reader2.cost);
+        }
+    };
+
+    private final BufferedFileReader reader;
+    private final byte[] state;
+    private long cost;
+    private ByteBuffer node;
+
+    /**
+     * Creates a reader for the given file. The first record is available after calling {@link #next()}.
+     * @param file the file to read
+     * @param stateSize the size of an encoded search space state
+     * @throws IOException if the file could not be opened
+     */
+    RunReader(File file, int stateSize) throws IOException {
+        this.reader = new BufferedFileReader(file, RunWriter.IO_BUFFER_SIZE);
+        this.state = new byte[stateSize];
+    }
+
+    /**
+     * Compares 2 encoded search space states as unsigned bytes.
+     */
+    static int compareStates(byte[] state1, byte[] state2) {
+        for (int i = 0; i < state1.length; i++) {
+            int comparison = (state1[i] & 0xFF) - (state2[i] & 0xFF);
+            if (comparison != 0)
+                return comparison;
+        }
+        return 0;
+    }
+
+    /**
+     * Moves to the next record.
+     * @return false if there are no more records
+     * @throws IOException if the file could not be read or is truncated
+     */
+    boolean next() throws IOException {
+        if (!fill(state.length + 12))
+            return false;
+        ByteBuffer buffer = reader.getBuffer();
+        buffer.get(state);
+        cost = buffer.getLong();
+        int length = buffer.getInt();
+        if (!fill(length))
+            throw new IOException("Run file is truncated.");
+        buffer = reader.getBuffer();
+        node = buffer.slice();
+        node.limit(length);
+        buffer.position(buffer.position() + length);
+        return true;
+    }
+
+    /**
+     * Makes sure the buffer contains at least the given number of bytes.
+     * @return false if the end of the file was reached before any byte was read
+     */
+    private boolean fill(int length) throws IOException {
+        if (reader.fill(length))
+            return true;
+        if (reader.getBuffer().hasRemaining())
+            throw new IOException("Run file is truncated.");
+        return false;
+    }
+
+    /**
+     * Gets the encoded search space state of the current record. The array is reused for the next record.
+     * @return the state
+     */
+    byte[] getState() {
+        return state;
+    }
+
+    long getCost() {
+        return cost;
+    }
+
+    /**
+     * Gets the serialized node of the current record, which remains valid until the next call to {@link #next()}.
+     * @return a buffer positioned at the start of the node
+     */
+    ByteBuffer getNode() {
+        return node;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
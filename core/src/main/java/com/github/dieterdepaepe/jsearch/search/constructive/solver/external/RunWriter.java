@@ -0,0 +1,101 @@
+package com.github.dieterdepaepe.jsearch.search.constructive.solver.external;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Writes records to a run file. Each record consists of an encoded search space state, a cost and a serialized
+ * search node, preceded by its length: {@code [state][cost: long][length: int][node]}.
+ * @author Dieter De Paepe
+ * @see RunReader
+ */
+class RunWriter implements Closeable {
+    static final int IO_BUFFER_SIZE = 1 << 16;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+
+    /**
+     * Creates a writer that overwrites the given file.
+     * @param file the file to write to
+     * @throws IOException if the file could not be opened
+     */
+    RunWriter(File file) throws IOException {
+        this.channel = new FileOutputStream(file).getChannel();
+        this.buffer = ByteBuffer.allocateDirect(IO_BUFFER_SIZE);
+    }
+
+    /**
+     * Writes a record that is already encoded.
+     * @param source the buffer containing the record
+     * @param offset the offset of the record in the buffer
+     * @param length the length of the record
+     * @throws IOException if writing failed
+     */
+    void write(ByteBuffer source, int offset, int length) throws IOException {
+        ByteBuffer record = source.duplicate();
+        record.limit(offset + length).position(offset);
+        if (buffer.remaining() < length)
+            flush();
+        if (buffer.remaining() < length) {
+            while (record.hasRemaining())
+                channel.write(record);
+        } else {
+            buffer.put(record);
+        }
+    }
+
+    /**
+     * Writes a record without a serialized node.
+     * @param state the encoded search space state
+     * @param cost the cost
+     * @throws IOException if writing failed
+     */
+    void write(byte[] state, long cost) throws IOException {
+        if (buffer.remaining() < state.length + 12)
+            flush();
+        buffer.put(state).putLong(cost).putInt(0);
+    }
+
+    /**
+     * Writes a record read from another run.
+     * @param state the encoded search space state
+     * @param cost the cost
+     * @param node the serialized node, from its position up to its limit
+     * @throws IOException if writing failed
+     */
+    void write(byte[] state, long cost, ByteBuffer node) throws IOException {
+        ByteBuffer record = node.duplicate();
+        int length = record.remaining();
+        if (buffer.remaining() < state.length + 12 + length)
+            flush();
+        buffer.put(state).putLong(cost).putInt(length);
+        if (buffer.remaining() < length) {
+            flush();
+            while (record.hasRemaining())
+                channel.write(record);
+        } else {
+            buffer.put(record);
+        }
+    }
+
+    private void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining())
+            channel.write(buffer);
+        buffer.clear();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+}
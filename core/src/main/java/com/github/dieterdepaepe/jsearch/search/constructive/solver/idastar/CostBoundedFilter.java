@@ -7,12 +7,14 @@ import com.google.common.base.Predicate;
 /**
 * A {@code Predicate} which returns a {@code true} value for {@code InformedSearchNode}s whose total estimated value
  * is not greater than a specified bound. It keeps track of the lowest cost which failed this test.
+ *
+ * <p>The node with the lowest exceeding cost is tracked rather than its cost, so that no cost objects need to be
+ * created for nodes with {@link com.github.dieterdepaepe.jsearch.search.constructive.cost.PrimitiveCost}s.</p>
 * @author Dieter De Paepe
 */
 class CostBoundedFilter implements Predicate<InformedSearchNode<?>> {
     private Cost maxAllowedCost;
-    private Cost minExceedingCost;
-    private boolean filteredAnItem;
+    private InformedSearchNode<?> minExceedingNode;
 
     /**
      * Creates a new predicate which checks whether or not the cost of tested nodes is below the given bound.
@@ -20,20 +22,16 @@ class CostBoundedFilter implements Predicate<InformedSearchNode<?>> {
      */
     CostBoundedFilter(Cost maxAllowedCost) {
         this.maxAllowedCost = maxAllowedCost;
-        this.minExceedingCost = null;
-        this.filteredAnItem = false;
+        this.minExceedingNode = null;
     }
 
     @Override
     public boolean apply(InformedSearchNode<?> input) {
-        Cost estimatedTotalCost = input.getEstimatedTotalCost();
-        if (maxAllowedCost != null && estimatedTotalCost.compareTo(maxAllowedCost) <= 0)
+        if (maxAllowedCost != null && input.compareEstimatedTotalCostTo(maxAllowedCost) <= 0)
             return true;
 
-        if (!filteredAnItem || minExceedingCost.compareTo(estimatedTotalCost) > 0) {
-            filteredAnItem = true;
-            minExceedingCost = estimatedTotalCost;
-        }
+        if (minExceedingNode == null || minExceedingNode.compareEstimatedTotalCostTo(input) > 0)
+            minExceedingNode = input;
         return false;
     }
 
@@ -43,7 +41,7 @@ class CostBoundedFilter implements Predicate<InformedSearchNode<?>> {
      * @return the lowest encountered cost which exceeded the allowed bound
      */
     public Cost getMinExceedingCost() {
-        return minExceedingCost;
+        return minExceedingNode.getEstimatedTotalCost();
     }
 
     /**
@@ -51,15 +49,14 @@ class CostBoundedFilter implements Predicate<InformedSearchNode<?>> {
      * @return false if all tested items had a cost lower or equal to the allowed bound
      */
     public boolean hasFilteredAnItem() {
-        return filteredAnItem;
+        return minExceedingNode != null;
     }
 
     @Override
     public String toString() {
         return "CostBoundedFilter{" +
                 "maxAllowedCost=" + maxAllowedCost +
-                ", minExceedingCost=" + minExceedingCost +
-                ", filteredAnItem=" + filteredAnItem +
+                ", minExceedingNode=" + minExceedingNode +
                 '}';
     }
 }
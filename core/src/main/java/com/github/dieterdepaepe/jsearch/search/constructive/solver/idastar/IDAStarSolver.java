@@ -1,6 +1,7 @@
 package com.github.dieterdepaepe.jsearch.search.constructive.solver.idastar;
 
 import com.github.dieterdepaepe.jsearch.search.constructive.*;
+import com.github.dieterdepaepe.jsearch.search.constructive.cost.Costs;
 import com.github.dieterdepaepe.jsearch.search.constructive.solver.DepthFirstSolver;
 import com.google.common.base.Predicate;
 import com.google.common.collect.Iterables;
@@ -30,6 +31,21 @@ public class IDAStarSolver implements Solver<SearchNode, Object> {
                                                 Heuristic<? super S, ? super E> heuristic,
                                                 SearchNodeGenerator<S, E> searchNodeGenerator,
                                                 Manager<? super S> manager) {
+        SearchListener listener = SearchListeners.of(manager);
+        listener.searchStarted();
+        try {
+            search(startNodes, environment, heuristic, searchNodeGenerator, manager, listener);
+        } finally {
+            listener.searchFinished();
+        }
+    }
+
+    private <S extends SearchNode, E> void search(Iterable<InformedSearchNode<S>> startNodes,
+                                                  E environment,
+                                                  Heuristic<? super S, ? super E> heuristic,
+                                                  SearchNodeGenerator<S, E> searchNodeGenerator,
+                                                  Manager<? super S> manager,
+                                                  SearchListener listener) {
         boolean searchSpaceExhausted = false;
         Cost costBound = null;
 
@@ -37,16 +53,21 @@ public class IDAStarSolver implements Solver<SearchNode, Object> {
 
         while (!searchSpaceExhausted && manager.continueSearch()) {
             CostBoundedFilter filter = new CostBoundedFilter(costBound);
-            depthFirstSolver.solve(
-                    Iterables.filter(startNodes, filter),
-                    environment,
-                    heuristic,
-                    new FilteringSearchNodeGenerator<>(searchNodeGenerator, filter),
-                    manager
-            );
+            listener.iterationStarted();
+            try {
+                depthFirstSolver.solve(
+                        Iterables.filter(startNodes, filter),
+                        environment,
+                        heuristic,
+                        new FilteringSearchNodeGenerator<>(searchNodeGenerator, filter, listener),
+                        manager
+                );
+            } finally {
+                listener.iterationFinished();
+            }
             if (filter.hasFilteredAnItem()) {
                 costBound = filter.getMinExceedingCost();
-                if (costBound.compareTo(manager.getCostBound()) > 0)
+                if (Costs.compare(costBound, manager.getCostBound()) > 0)
                     searchSpaceExhausted = true;
             } else {
                 searchSpaceExhausted = true;
@@ -59,9 +80,21 @@ public class IDAStarSolver implements Solver<SearchNode, Object> {
         private SearchNodeGenerator<S, E> innerGenerator;
         private Predicate<InformedSearchNode<?>> filter;
 
-        private FilteringSearchNodeGenerator(SearchNodeGenerator<S, E> innerGenerator, Predicate<InformedSearchNode<?>> filter) {
+        private FilteringSearchNodeGenerator(SearchNodeGenerator<S, E> innerGenerator,
+                                             final Predicate<InformedSearchNode<?>> filter,
+                                             final SearchListener listener) {
             this.innerGenerator = innerGenerator;
-            this.filter = filter;
+            // Nodes passing the filter are reported as generated by the depth first solver.
+            this.filter = new Predicate<InformedSearchNode<?>>() {
+                @Override
+                public boolean apply(InformedSearchNode<?> input) {
+                    if (filter.apply(input))
+                        return true;
+                    listener.nodesGenerated(1);
+                    listener.nodePruned(input.getSearchNode());
+                    return false;
+                }
+            };
         }
 
         @Override
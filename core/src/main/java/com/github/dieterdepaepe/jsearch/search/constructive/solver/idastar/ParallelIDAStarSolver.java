@@ -0,0 +1,329 @@
+package com.github.dieterdepaepe.jsearch.search.constructive.solver.idastar;
+
+import com.github.dieterdepaepe.jsearch.search.constructive.*;
+import com.github.dieterdepaepe.jsearch.search.constructive.util.BasicSolution;
+import com.google.common.base.Throwables;
+import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.Uninterruptibles;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * A parallel implementation of <a href="http://en.wikipedia.org/wiki/IDA*">Iterative Deepening A* (IDA*)</a>. Like
+ * {@link IDAStarSolver}, it is guaranteed to find an optimal solution (if one exists).
+ *
+ * <p>Each cost bounded iteration is executed by a {@link ForkJoinPool}. Up to a frontier depth, each expanded node
+ * forks a task for its successors. Below the frontier depth, each task searches its subtree depth first. Idle worker
+ * threads steal the tasks of busy workers, which balances subtrees of different sizes. Each task tracks the cheapest
+ * node exceeding the bound of the iteration, and these costs are combined as tasks complete to determine the bound of
+ * the next iteration.</p>
+ *
+ * <p>Since subtrees are searched concurrently, the first goal node that is found is not necessarily the cheapest one
+ * of its iteration. The cheapest goal node found so far is shared between all workers through an atomic reference
+ * and immediately acts as an additional cost bound for all workers. The search ends after the iteration in which a
+ * goal node is found, at which point the cheapest goal node is registered as an optimal solution.</p>
+ *
+ * <p>Only the thread calling {@code solve} interacts with the {@link Manager}. It periodically checks whether the
+ * search should continue, shares any lowered cost bound with the workers and reports improved (non-optimal)
+ * solutions. The {@link SearchNodeGenerator} and {@link Heuristic} are called concurrently by the worker threads,
+ * and should therefor be thread-safe.</p>
+ *
+ * <p>This implementation is stateless and therefor thread-safe.</p>
+ *
+ * @see IDAStarSolver
+ * @author Dieter De Paepe
+ */
+public class ParallelIDAStarSolver implements Solver<SearchNode, Object> {
+    /** The time between 2 consecutive checks of the {@code Manager}. */
+    private static final long MANAGER_POLL_INTERVAL_MILLIS = 10;
+    private static final int DEFAULT_FRONTIER_DEPTH = 6;
+
+    private int parallelism;
+    private int frontierDepth;
+
+    /**
+     * Creates a new solver that uses a worker thread for each available processor.
+     */
+    public ParallelIDAStarSolver() {
+        this(Runtime.getRuntime().availableProcessors(), DEFAULT_FRONTIER_DEPTH);
+    }
+
+    /**
+     * Creates a new solver.
+     * @param parallelism the number of worker threads
+     * @param frontierDepth the depth, relative to the start nodes, up to which the successors of each expanded node are
+     *                      searched in a separate task
+     * @throws java.lang.IllegalArgumentException if {@code parallelism <= 0} or {@code frontierDepth < 0}
+     */
+    public ParallelIDAStarSolver(int parallelism, int frontierDepth) {
+        checkArgument(parallelism > 0, "Parallelism should be > 0, but was %s", parallelism);
+        checkArgument(frontierDepth >= 0, "Frontier depth should be >= 0, but was %s", frontierDepth);
+
+        this.parallelism = parallelism;
+        this.frontierDepth = frontierDepth;
+    }
+
+    @Override
+    public <S extends SearchNode, E> void solve(Iterable<InformedSearchNode<S>> startNodes,
+                                                E environment,
+                                                Heuristic<? super S, ? super E> heuristic,
+                                                SearchNodeGenerator<S, E> searchNodeGenerator,
+                                                Manager<? super S> manager) {
+        SearchListener listener = SearchListeners.of(manager);
+        listener.searchStarted();
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            search(Lists.newArrayList(startNodes), environment, heuristic, searchNodeGenerator, manager, listener, pool);
+        } finally {
+            pool.shutdownNow();
+            listener.searchFinished();
+        }
+    }
+
+    private <S extends SearchNode, E> void search(List<InformedSearchNode<S>> startNodes,
+                                                  E environment,
+                                                  Heuristic<? super S, ? super E> heuristic,
+                                                  SearchNodeGenerator<S, E> searchNodeGenerator,
+                                                  Manager<? super S> manager,
+                                                  SearchListener listener,
+                                                  ForkJoinPool pool) {
+        SharedSearchState<S, E> sharedState = new SharedSearchState<>(environment, heuristic, searchNodeGenerator,
+                listener, manager.getCostBound(), frontierDepth);
+        Cost iterationBound = null;
+
+        while (manager.continueSearch()) {
+            Cost minExceedingCost;
+            listener.iterationStarted();
+            try {
+                minExceedingCost = runIteration(new SearchTask<>(sharedState, startNodes, iterationBound, 0), sharedState, manager, pool);
+            } finally {
+                listener.iterationFinished();
+            }
+
+            S incumbent = sharedState.incumbent.get();
+            if (sharedState.stopped) {
+                if (incumbent != null && incumbent != sharedState.reportedSolution)
+                    manager.registerSolution(new BasicSolution<>(incumbent, false));
+                return;
+            }
+
+            // All nodes that could lead to a cheaper solution have been examined.
+            if (incumbent != null) {
+                manager.registerSolution(new BasicSolution<>(incumbent, true));
+                return;
+            }
+
+            if (minExceedingCost == null || minExceedingCost.compareTo(manager.getCostBound()) > 0)
+                return;
+            iterationBound = minExceedingCost;
+        }
+    }
+
+    /**
+     * Executes a single iteration in the pool, while checking the manager.
+     * @return the lowest cost exceeding the bound of the iteration, or null if no node exceeded it
+     */
+    private <S extends SearchNode> Cost runIteration(SearchTask<S, ?> task,
+                                                     SharedSearchState<S, ?> sharedState,
+                                                     Manager<? super S> manager,
+                                                     ForkJoinPool pool) {
+        ForkJoinTask<Cost> iteration = pool.submit(task);
+        try {
+            while (true) {
+                try {
+                    return iteration.get(MANAGER_POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+                } catch (TimeoutException e) {
+                    if (!manager.continueSearch()) {
+                        sharedState.stopped = true;
+                        return Uninterruptibles.getUninterruptibly(iteration);
+                    }
+
+                    S incumbent = sharedState.incumbent.get();
+                    if (incumbent != null && incumbent != sharedState.reportedSolution) {
+                        manager.registerSolution(new BasicSolution<>(incumbent, false));
+                        sharedState.reportedSolution = incumbent;
+                    }
+                    sharedState.lowerCostBound(manager.getCostBound());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            sharedState.stopped = true;
+            return null;
+        } catch (ExecutionException e) {
+            Throwables.throwIfUnchecked(e.getCause());
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "ParallelIDAStarSolver{" +
+                "parallelism=" + parallelism +
+                ", frontierDepth=" + frontierDepth +
+                '}';
+    }
+
+    private static Cost min(Cost cost1, Cost cost2) {
+        if (cost1 == null)
+            return cost2;
+        if (cost2 == null)
+            return cost1;
+        return cost1.compareTo(cost2) <= 0 ? cost1 : cost2;
+    }
+
+    /**
+     * Container for all data shared between the tasks of a single search.
+     * @param <S> the type of the search nodes
+     * @param <E> the type of the problem environment
+     */
+    private static class SharedSearchState<S extends SearchNode, E> {
+        private final E environment;
+        private final Heuristic<? super S, ? super E> heuristic;
+        private final SearchNodeGenerator<S, E> searchNodeGenerator;
+        private final SearchListener listener;
+        /** The depth up to which the successors of each expanded node are searched in a separate task. */
+        private final int frontierDepth;
+        private final AtomicReference<Cost> costBound;
+        private final AtomicReference<S> incumbent = new AtomicReference<>();
+        /** The last solution registered with the manager, only accessed by the thread calling {@code solve}. */
+        private S reportedSolution;
+        private volatile boolean stopped = false;
+
+        private SharedSearchState(E environment, Heuristic<? super S, ? super E> heuristic,
+                                  SearchNodeGenerator<S, E> searchNodeGenerator, SearchListener listener,
+                                  Cost costBound, int frontierDepth) {
+            this.environment = environment;
+            this.heuristic = heuristic;
+            this.searchNodeGenerator = searchNodeGenerator;
+            this.listener = listener;
+            this.frontierDepth = frontierDepth;
+            this.costBound = new AtomicReference<>(costBound);
+        }
+
+        /**
+         * Checks whether a node with the given estimated total cost can be dropped from the search.
+         */
+        private boolean isPruned(Cost estimatedTotalCost) {
+            if (estimatedTotalCost.compareTo(costBound.get()) > 0)
+                return true;
+            S currentSolution = incumbent.get();
+            return currentSolution != null && estimatedTotalCost.compareTo(currentSolution.getCost()) >= 0;
+        }
+
+        private void lowerCostBound(Cost newBound) {
+            Cost currentBound = costBound.get();
+            while (newBound.compareTo(currentBound) < 0 && !costBound.compareAndSet(currentBound, newBound))
+                currentBound = costBound.get();
+        }
+
+        private void offerSolution(S goalNode) {
+            S currentSolution = incumbent.get();
+            while ((currentSolution == null || goalNode.getCost().compareTo(currentSolution.getCost()) < 0)
+                    && !incumbent.compareAndSet(currentSolution, goalNode))
+                currentSolution = incumbent.get();
+        }
+    }
+
+    /**
+     * A task searching the subtrees of a number of sibling nodes within the bound of an iteration. Tasks are never
+     * serialized, but {@code ForkJoinTask} is {@code Serializable}.
+     * @param <S> the type of the search nodes
+     * @param <E> the type of the problem environment
+     */
+    private static final class SearchTask<S extends SearchNode, E> extends RecursiveTask<Cost> {
+        private static final long serialVersionUID = 1L;
+
+        private final transient SharedSearchState<S, E> sharedState;
+        private final transient List<InformedSearchNode<S>> nodes;
+        private final transient Cost iterationBound;
+        /** The depth of the nodes, start nodes have depth 0. */
+        private final int depth;
+        private final transient CostBoundedFilter filter;
+
+        private SearchTask(SharedSearchState<S, E> sharedState, List<InformedSearchNode<S>> nodes, Cost iterationBound, int depth) {
+            this.sharedState = sharedState;
+            this.nodes = nodes;
+            this.iterationBound = iterationBound;
+            this.depth = depth;
+            this.filter = new CostBoundedFilter(iterationBound);
+        }
+
+        @Override
+        protected Cost compute() {
+            if (depth > 0)
+                sharedState.listener.nodesGenerated(nodes.size());
+
+            Cost minExceedingCost;
+            if (depth < sharedState.frontierDepth) {
+                List<SearchTask<S, E>> subtasks = new ArrayList<>(nodes.size());
+                for (InformedSearchNode<S> node : nodes) {
+                    if (sharedState.stopped)
+                        break;
+                    if (accept(node))
+                        subtasks.add(new SearchTask<>(sharedState, Lists.newArrayList(expand(node)), iterationBound, depth + 1));
+                }
+                invokeAll(subtasks);
+
+                minExceedingCost = null;
+                for (SearchTask<S, E> subtask : subtasks)
+                    minExceedingCost = min(minExceedingCost, subtask.getRawResult());
+            } else {
+                searchDepthFirst();
+                minExceedingCost = null;
+            }
+
+            if (filter.hasFilteredAnItem())
+                minExceedingCost = min(minExceedingCost, filter.getMinExceedingCost());
+            return minExceedingCost;
+        }
+
+        private void searchDepthFirst() {
+            Deque<Iterator<InformedSearchNode<S>>> nodesStack = new ArrayDeque<>();
+            nodesStack.addFirst(nodes.iterator());
+
+            while (!nodesStack.isEmpty() && !sharedState.stopped) {
+                Iterator<InformedSearchNode<S>> activeIterator = nodesStack.peekFirst();
+                if (!activeIterator.hasNext()) {
+                    nodesStack.removeFirst();
+                    continue;
+                }
+                InformedSearchNode<S> node = activeIterator.next();
+                // The bottom of the stack holds the nodes of this task, which are already reported as generated.
+                if (nodesStack.size() > 1)
+                    sharedState.listener.nodesGenerated(1);
+
+                if (accept(node))
+                    nodesStack.addFirst(expand(node).iterator());
+            }
+        }
+
+        /**
+         * Checks whether a node lies within the bound of the iteration and can still lead to a cheaper solution.
+         */
+        private boolean accept(InformedSearchNode<S> node) {
+            if (!filter.apply(node) || sharedState.isPruned(node.getEstimatedTotalCost())) {
+                sharedState.listener.nodePruned(node.getSearchNode());
+                return false;
+            }
+            return true;
+        }
+
+        private Iterable<InformedSearchNode<S>> expand(InformedSearchNode<S> informedNode) {
+            S node = informedNode.getSearchNode();
+            if (node.isGoal())
+                sharedState.offerSolution(node);
+
+            sharedState.listener.nodeExpanded(node);
+            return sharedState.searchNodeGenerator.generateSuccessorNodes(node, sharedState.environment, sharedState.heuristic);
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.github.dieterdepaepe.jsearch.search.constructive.solver.iterativedee
 
 import com.github.dieterdepaepe.jsearch.search.constructive.Heuristic;
 import com.github.dieterdepaepe.jsearch.search.constructive.InformedSearchNode;
+import com.github.dieterdepaepe.jsearch.search.constructive.SearchListener;
 import com.github.dieterdepaepe.jsearch.search.constructive.SearchNodeGenerator;
 import com.google.common.base.Predicate;
 import com.google.common.collect.Iterables;
@@ -17,7 +18,7 @@ class DepthLimitedGenerator<S extends DepthSearchNode, E> implements SearchNodeG
     private Predicate<InformedSearchNode<S>> depthPredicate;
     private boolean filteredAnyResult;
 
-    DepthLimitedGenerator(SearchNodeGenerator<S, E> innerGenerator, final int maxDepth) {
+    DepthLimitedGenerator(SearchNodeGenerator<S, E> innerGenerator, final int maxDepth, final SearchListener listener) {
         this.innerGenerator = innerGenerator;
         this.depthPredicate = new Predicate<InformedSearchNode<S>>() {
             @Override
@@ -25,6 +26,9 @@ class DepthLimitedGenerator<S extends DepthSearchNode, E> implements SearchNodeG
                 if (input.getSearchNode().getDepth() <= maxDepth) {
                     return true;
                 } else {
+                    // Nodes passing the filter are reported as generated by the wrapped solver.
+                    listener.nodesGenerated(1);
+                    listener.nodePruned(input.getSearchNode());
                     filteredAnyResult = true;
                     return false;
                 }
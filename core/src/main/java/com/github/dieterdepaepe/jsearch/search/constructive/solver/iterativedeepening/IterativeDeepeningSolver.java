@@ -60,14 +60,25 @@ public class IterativeDeepeningSolver<U extends DepthSearchNode, V> implements S
                                                  Heuristic<? super S, ? super E> heuristic,
                                                  SearchNodeGenerator<S, E> searchNodeGenerator,
                                                  Manager<? super S> manager) {
-        int depthLimit = startDepth;
-        boolean searchSpaceFullyExamined = false;
+        SearchListener listener = SearchListeners.of(manager);
+        listener.searchStarted();
+        try {
+            int depthLimit = startDepth;
+            boolean searchSpaceFullyExamined = false;
 
-        while (manager.continueSearch() && !searchSpaceFullyExamined) {
-            DepthLimitedGenerator<S, E> limitedGenerator = new DepthLimitedGenerator<>(searchNodeGenerator, depthLimit);
-            solver.solve(startNodes, environment, heuristic, limitedGenerator, manager);
-            searchSpaceFullyExamined = !limitedGenerator.filteredAnyResult();
-            depthLimit += depthDelta;
+            while (manager.continueSearch() && !searchSpaceFullyExamined) {
+                DepthLimitedGenerator<S, E> limitedGenerator = new DepthLimitedGenerator<>(searchNodeGenerator, depthLimit, listener);
+                listener.iterationStarted();
+                try {
+                    solver.solve(startNodes, environment, heuristic, limitedGenerator, manager);
+                } finally {
+                    listener.iterationFinished();
+                }
+                searchSpaceFullyExamined = !limitedGenerator.filteredAnyResult();
+                depthLimit += depthDelta;
+            }
+        } finally {
+            listener.searchFinished();
         }
     }
 
@@ -0,0 +1,352 @@
+package com.github.dieterdepaepe.jsearch.search.constructive.solver.smastar;
+
+import com.github.dieterdepaepe.jsearch.search.constructive.*;
+import com.github.dieterdepaepe.jsearch.search.constructive.cost.PrimitiveCost;
+import com.github.dieterdepaepe.jsearch.search.constructive.util.BasicSolution;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.zip.CRC32;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * A {@link SMAStarSolver} that regularly saves the progress of its search to a snapshot file, so an interrupted search
+ * can be resumed rather than restarted.
+ *
+ * <p>Every {@code checkpointInterval} expansions, and when the search ends, the solver writes a snapshot holding the
+ * current cost bound and the nodes of the search tree from which the unexplored part of the search space is
+ * reachable: the nodes in memory whose children are not all in memory, and the unexpanded leaves. The search only
+ * collects these nodes. They are serialized and written by a background thread while the search continues, and the
+ * search only waits for the background thread if the previous snapshot is still being written. Each snapshot is
+ * written to a new file, which then atomically replaces the previous snapshot, so a crash leaves the previous snapshot
+ * intact. A checksum guards against snapshots damaged otherwise.</p>
+ *
+ * <p>If the snapshot file is not empty when a search starts, the start nodes are ignored and the search is resumed
+ * from the nodes of the snapshot instead, as if those were the start nodes. Costs derived from nodes that are no
+ * longer in memory are not saved, so a resumed search may expand some nodes again. Resuming a search that found a
+ * solution registers that solution and ends. The cost bound of the {@link Manager} is saved if it is a
+ * {@link PrimitiveCost}, and a resumed search applies the saved bound in addition to the bound of its manager. The
+ * snapshot is never deleted by this solver.</p>
+ *
+ * <p>The nodes are stored using a {@link SearchNodeSerializer}, which should preserve their cost and the information
+ * needed to report a solution. If the snapshot can not be read or written, the search ends with an
+ * {@code IllegalStateException}.</p>
+ *
+ * <p>This class is immutable, but concurrent searches of the same solver share its snapshot file and will corrupt it.</p>
+ *
+ * @param <T> the type of {@code SearchNode}s
+ * @author Dieter De Paepe
+ */
+public class CheckpointingSMAStarSolver<T extends SearchNode> implements Solver<T, Object> {
+    private static final int DEFAULT_CHECKPOINT_INTERVAL = 100000;
+    private static final byte SEARCHING = 0;
+    private static final byte SOLVED = 1;
+    private static final int HEADER_SIZE = 2 + 8 + 4;
+    private static final int CHECKSUM_SIZE = 4;
+
+    private SMAStarSolver solver;
+    private int maxNodes;
+    private SearchNodeSerializer<T> serializer;
+    private File snapshotFile;
+    private int checkpointInterval;
+
+    /**
+     * Creates a new solver which writes a snapshot every 100000 expansions.
+     * @param maxNodes the maximum number of nodes in memory
+     * @param serializer the serializer for the search nodes
+     * @param snapshotFile the snapshot file, which is resumed from if it is not empty
+     */
+    public CheckpointingSMAStarSolver(int maxNodes, SearchNodeSerializer<T> serializer, File snapshotFile) {
+        this(maxNodes, serializer, snapshotFile, DEFAULT_CHECKPOINT_INTERVAL);
+    }
+
+    /**
+     * Creates a new solver.
+     * @param maxNodes the maximum number of nodes in memory
+     * @param serializer the serializer for the search nodes
+     * @param snapshotFile the snapshot file, which is resumed from if it is not empty
+     * @param checkpointInterval the number of expansions between snapshots
+     * @throws java.lang.IllegalArgumentException if {@code maxNodes <= 0} or {@code checkpointInterval <= 0}
+     */
+    public CheckpointingSMAStarSolver(int maxNodes, SearchNodeSerializer<T> serializer, File snapshotFile, int checkpointInterval) {
+        checkArgument(checkpointInterval > 0, "checkpointInterval should be > 0");
+        this.solver = new SMAStarSolver(maxNodes);
+        this.maxNodes = maxNodes;
+        this.serializer = checkNotNull(serializer);
+        this.snapshotFile = checkNotNull(snapshotFile);
+        this.checkpointInterval = checkpointInterval;
+    }
+
+    @Override
+    public <S extends T, E> void solve(Iterable<InformedSearchNode<S>> startNodes,
+                                       E environment,
+                                       Heuristic<? super S, ? super E> heuristic,
+                                       SearchNodeGenerator<S, E> searchNodeGenerator,
+                                       Manager<? super S> manager) {
+        SearchListener listener = SearchListeners.of(manager);
+        listener.searchStarted();
+        try {
+            Iterable<InformedSearchNode<S>> initialNodes = startNodes;
+            long savedCostBound = Long.MAX_VALUE;
+            if (snapshotFile.length() > 0) {
+                Snapshot<S> snapshot = readSnapshot();
+                if (snapshot.solution != null) {
+                    manager.registerSolution(new BasicSolution<>(snapshot.solution, snapshot.isOptimal));
+                    return;
+                }
+                List<InformedSearchNode<S>> restoredNodes = new ArrayList<>();
+                for (S node : snapshot.nodes)
+                    restoredNodes.add(new InformedSearchNode<>(node, heuristic.estimateRemainingCost(node, environment)));
+                initialNodes = restoredNodes;
+                savedCostBound = snapshot.costBound;
+            }
+
+            try (SnapshotWriter<S> writer = new SnapshotWriter<>(initialNodes, manager, savedCostBound)) {
+                solver.search(initialNodes, environment, heuristic, searchNodeGenerator, manager, listener, writer);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Checkpointed search failed.", e);
+        } finally {
+            listener.searchFinished();
+        }
+    }
+
+    private <S extends T> Snapshot<S> readSnapshot() throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(snapshotFile.toPath()));
+        int length = buffer.limit() - CHECKSUM_SIZE;
+        if (length < HEADER_SIZE || getChecksum(buffer.array(), length) != buffer.getInt(length))
+            throw new IOException("Snapshot " + snapshotFile + " is damaged.");
+        buffer.limit(length);
+
+        byte status = buffer.get();
+        boolean isOptimal = buffer.get() != 0;
+        long costBound = buffer.getLong();
+        int nodeCount = buffer.getInt();
+        List<S> nodes = new ArrayList<>(nodeCount);
+        for (int i = 0; i < nodeCount; i++) {
+            int nodeLength = buffer.getInt();
+            ByteBuffer node = buffer.slice();
+            node.limit(nodeLength);
+            nodes.add(this.<S>deserialize(node));
+            buffer.position(buffer.position() + nodeLength);
+        }
+
+        Snapshot<S> snapshot = new Snapshot<>();
+        snapshot.costBound = costBound;
+        if (status == SOLVED) {
+            snapshot.solution = nodes.get(0);
+            snapshot.isOptimal = isOptimal;
+        } else {
+            snapshot.nodes = nodes;
+        }
+        return snapshot;
+    }
+
+    /**
+     * Replaces the snapshot file by a new snapshot.
+     * @param status {@link #SEARCHING} or {@link #SOLVED}
+     * @param isOptimal whether the solution is optimal
+     * @param costBound the value of the cost bound, or {@code Long.MAX_VALUE} if there is none
+     * @param nodes the nodes to resume from, or the solution
+     */
+    private void writeSnapshot(byte status, boolean isOptimal, long costBound, List<? extends T> nodes) throws IOException {
+        int length = HEADER_SIZE;
+        for (T node : nodes)
+            length += 4 + serializer.getSerializedSize(node);
+        ByteBuffer buffer = ByteBuffer.allocate(length + CHECKSUM_SIZE);
+        buffer.put(status);
+        buffer.put((byte) (isOptimal ? 1 : 0));
+        buffer.putLong(costBound);
+        buffer.putInt(nodes.size());
+        for (T node : nodes) {
+            buffer.putInt(serializer.getSerializedSize(node));
+            serializer.serialize(node, buffer);
+        }
+        buffer.putInt(getChecksum(buffer.array(), length));
+        buffer.flip();
+
+        File newSnapshotFile = File.createTempFile(snapshotFile.getName(), ".tmp", snapshotFile.getAbsoluteFile().getParentFile());
+        try {
+            try (FileChannel channel = new FileOutputStream(newSnapshotFile).getChannel()) {
+                while (buffer.hasRemaining())
+                    channel.write(buffer);
+                channel.force(true);
+            }
+            Files.move(newSnapshotFile.toPath(), snapshotFile.toPath(), StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            if (newSnapshotFile.exists() && !newSnapshotFile.delete())
+                newSnapshotFile.deleteOnExit();
+        }
+    }
+
+    private static int getChecksum(byte[] bytes, int length) {
+        CRC32 checksum = new CRC32();
+        checksum.update(bytes, 0, length);
+        return (int) checksum.getValue();
+    }
+
+    @SuppressWarnings("unchecked")
+    private <S extends T> S deserialize(ByteBuffer buffer) {
+        // The serializer created the nodes of the search that was saved, which are of type S
+        return (S) serializer.deserialize(buffer);
+    }
+
+    @Override
+    public String toString() {
+        return "CheckpointingSMAStarSolver{" +
+                "maxNodes=" + maxNodes +
+                ", serializer=" + serializer +
+                ", snapshotFile=" + snapshotFile +
+                ", checkpointInterval=" + checkpointInterval +
+                '}';
+    }
+
+    /**
+     * The content of a snapshot: either the nodes to resume from and the cost bound, or a solution.
+     */
+    private static class Snapshot<S> {
+        private List<S> nodes;
+        private long costBound;
+        private S solution;
+        private boolean isOptimal;
+    }
+
+    /**
+     * Writes a snapshot every {@code checkpointInterval} expansions and when the search ends. The nodes of a snapshot
+     * are collected by the search thread, after which a background thread writes the snapshot. At most one snapshot
+     * is being written at any time. Closing the writer waits until the last snapshot is written.
+     */
+    private class SnapshotWriter<S extends T> implements SMAStarCheckpointer<S>, Closeable {
+        private final Iterable<InformedSearchNode<S>> startNodes;
+        private final Manager<?> manager;
+        /** The value of the cost bound restored from a snapshot, or {@code Long.MAX_VALUE}. */
+        private final long savedCostBound;
+        private final ExecutorService executor;
+        private Future<?> pendingWrite;
+        private long expansions;
+
+        private SnapshotWriter(Iterable<InformedSearchNode<S>> startNodes, Manager<?> manager, long savedCostBound) {
+            this.startNodes = startNodes;
+            this.manager = manager;
+            this.savedCostBound = savedCostBound;
+            this.executor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+                @Override
+                public Thread newThread(Runnable runnable) {
+                    Thread thread = new Thread(runnable, "CheckpointingSMAStarSolver-snapshot");
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+        }
+
+        @Override
+        public void nodeExpanded(SMASearchNode<S> root) {
+            if (++expansions % checkpointInterval == 0)
+                write(SEARCHING, false, getUnexploredNodes(root));
+        }
+
+        @Override
+        public void searchEnded(SMASearchNode<S> root, S solution, boolean isOptimal) {
+            if (solution != null)
+                write(SOLVED, isOptimal, Collections.singletonList(solution));
+            else
+                write(SEARCHING, false, getUnexploredNodes(root));
+            waitForPendingWrite();
+        }
+
+        @Override
+        public boolean isWithinBound(Cost estimatedTotalCost) {
+            return !(estimatedTotalCost instanceof PrimitiveCost) || ((PrimitiveCost) estimatedTotalCost).longValue() <= savedCostBound;
+        }
+
+        /**
+         * Gets the value of the cost bound to save: the lowest of the bound of the manager and the restored bound.
+         */
+        private long getCostBound() {
+            Cost managerBound = manager.getCostBound();
+            long managerBoundValue = managerBound instanceof PrimitiveCost ? ((PrimitiveCost) managerBound).longValue() : Long.MAX_VALUE;
+            return Math.min(managerBoundValue, savedCostBound);
+        }
+
+        private void write(final byte status, final boolean isOptimal, final List<S> nodes) {
+            final long costBound = getCostBound();
+            waitForPendingWrite();
+            pendingWrite = executor.submit(new Callable<Void>() {
+                @Override
+                public Void call() throws IOException {
+                    writeSnapshot(status, isOptimal, costBound, nodes);
+                    return null;
+                }
+            });
+        }
+
+        private void waitForPendingWrite() {
+            if (pendingWrite == null)
+                return;
+            try {
+                pendingWrite.get();
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Snapshot could not be written.", e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while writing a snapshot.", e);
+            } finally {
+                pendingWrite = null;
+            }
+        }
+
+        /**
+         * Waits until the last snapshot is written and stops the background thread.
+         */
+        @Override
+        public void close() {
+            try {
+                waitForPendingWrite();
+            } finally {
+                executor.shutdown();
+            }
+        }
+
+        /**
+         * Gets the topmost nodes of the search tree from which all unexplored parts of the search space can be
+         * reached. A node whose children are all in memory is represented by its children instead.
+         */
+        private List<S> getUnexploredNodes(SMASearchNode<S> root) {
+            List<S> result = new ArrayList<>();
+            Deque<SMASearchNode<S>> stack = new ArrayDeque<>();
+            stack.push(root);
+            while (!stack.isEmpty()) {
+                SMASearchNode<S> node = stack.pop();
+                if (!node.hasInitialisedChildren()) {
+                    result.add(node.getSearchNode());
+                } else if (node.shouldBeOnFrontier()) {
+                    // The children that are not in memory will be generated again from the node
+                    if (node == root) {
+                        for (InformedSearchNode<S> startNode : startNodes)
+                            result.add(startNode.getSearchNode());
+                    } else {
+                        result.add(node.getSearchNode());
+                    }
+                } else {
+                    for (SMASearchNode<S> child : node.getChildrenInMemory())
+                        stack.push(child);
+                }
+            }
+            return result;
+        }
+    }
+}
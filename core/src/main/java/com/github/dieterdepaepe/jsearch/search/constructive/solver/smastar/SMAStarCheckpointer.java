@@ -0,0 +1,34 @@
+package com.github.dieterdepaepe.jsearch.search.constructive.solver.smastar;
+
+import com.github.dieterdepaepe.jsearch.search.constructive.Cost;
+import com.github.dieterdepaepe.jsearch.search.constructive.SearchNode;
+
+/**
+ * Receives the progress of a search by the {@link SMAStarSolver}, so the search can be saved. The methods receiving
+ * the search tree are called when it is in a consistent state. A checkpointer can also restore the cost bound of a
+ * saved search, which applies in addition to the bound of the manager.
+ * @param <T> the type of {@code SearchNode}s being searched
+ * @author Dieter De Paepe
+ */
+interface SMAStarCheckpointer<T extends SearchNode> {
+    /**
+     * Called after a node was expanded.
+     * @param root the root of the search tree, whose children are the start nodes
+     */
+    public void nodeExpanded(SMASearchNode<T> root);
+
+    /**
+     * Called when the search ends, before a found solution is registered with the manager.
+     * @param root the root of the search tree, whose children are the start nodes
+     * @param solution the found solution, or null if the search ended without one
+     * @param isOptimal whether the found solution is optimal
+     */
+    public void searchEnded(SMASearchNode<T> root, T solution, boolean isOptimal);
+
+    /**
+     * Checks whether a node lies within the cost bound restored by this checkpointer.
+     * @param estimatedTotalCost the estimated total cost of the node
+     * @return false if the node exceeds the restored cost bound
+     */
+    public boolean isWithinBound(Cost estimatedTotalCost);
+}
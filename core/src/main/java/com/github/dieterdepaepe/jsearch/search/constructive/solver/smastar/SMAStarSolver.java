@@ -48,13 +48,36 @@ public class SMAStarSolver implements Solver<SearchNode, Object> {
                                                 Heuristic<? super S, ? super E> heuristic,
                                                 SearchNodeGenerator<S, E> searchNodeGenerator,
                                                 Manager<? super S> manager) {
+        SearchListener listener = SearchListeners.of(manager);
+        listener.searchStarted();
+        try {
+            search(startNodes, environment, heuristic, searchNodeGenerator, manager, listener, null);
+        } finally {
+            listener.searchFinished();
+        }
+    }
+
+    /**
+     * Performs the search.
+     * @param checkpointer the checkpointer to inform of the progress of the search, may be null
+     */
+    <S extends SearchNode, E> void search(Iterable<InformedSearchNode<S>> startNodes,
+                                          E environment,
+                                          Heuristic<? super S, ? super E> heuristic,
+                                          SearchNodeGenerator<S, E> searchNodeGenerator,
+                                          Manager<? super S> manager,
+                                          SearchListener listener,
+                                          SMAStarCheckpointer<S> checkpointer) {
         SMAStarFrontier<S> frontier = new SMAStarFrontier<>();
         BoundaryNodeCostTracker boundaryNodeCostTracker = new BoundaryNodeCostTracker();
 
         SMASearchNode<S> smaRootNode = new SMASearchNode<>(null, null, 0, CostUtil.MIN_COST);
         smaRootNode.initialiseChildren(startNodes);
-        if (!smaRootNode.getCurrentChildIterator().hasNext())
+        if (!smaRootNode.getCurrentChildIterator().hasNext()) {
+            if (checkpointer != null)
+                checkpointer.searchEnded(smaRootNode, null, false);
             return;
+        }
         frontier.addNode(smaRootNode);
 
         // The total number of SMASearchNodes containing a search node in memory:
@@ -66,32 +89,42 @@ public class SMAStarSolver implements Solver<SearchNode, Object> {
             SMASearchNode<S> cheapestNode = frontier.getDeepestLeastCostNode();
 
             if (CostUtil.COST_COMPARATOR.compare(cheapestNode.getTotalEstimatedCost(), manager.getCostBound()) > 0)
-                return;
+                break;
+
+            if (checkpointer != null && !checkpointer.isWithinBound(cheapestNode.getTotalEstimatedCost()))
+                break;
 
             if (cheapestNode.getTotalEstimatedCost() == CostUtil.MAX_COST)
-                return;
+                break;
 
             if (cheapestNode.getSearchNode() != null && cheapestNode.getSearchNode().isGoal()) {
                 boolean isOptimal = CostUtil.COST_COMPARATOR.compare(cheapestNode.getTotalEstimatedCost(), boundaryNodeCostTracker.getMinimumBoundaryCost()) <= 0;
+                if (checkpointer != null)
+                    checkpointer.searchEnded(smaRootNode, cheapestNode.getSearchNode(), isOptimal);
                 manager.registerSolution(new BasicSolution<>(cheapestNode.getSearchNode(), isOptimal));
                 return;
             }
 
             boolean hasChildren = true;
+            boolean isExpanded = false;
             if (!cheapestNode.hasInitialisedChildren()) {
+                isExpanded = true;
+                listener.nodeExpanded(cheapestNode.getSearchNode());
                 cheapestNode.initialiseChildren(searchNodeGenerator.generateSuccessorNodes(cheapestNode.getSearchNode(), environment, heuristic));
                 hasChildren = cheapestNode.getCurrentChildIterator().hasNext();
             }
 
             if (hasChildren) {
-                SMASearchNode<S> newChild = generateChild(cheapestNode, frontier, boundaryNodeCostTracker);
+                SMASearchNode<S> newChild = generateChild(cheapestNode, frontier, boundaryNodeCostTracker, listener);
                 if (!cheapestNode.shouldBeOnFrontier())
                     frontier.removeNode(cheapestNode);
                 if (newChild != null) {
                     if (nodesInMemory >= maxSearchNodesUsed) {
                         purgeWorstNode(frontier);
+                        listener.nodesPurged(1);
                     } else {
                         nodesInMemory++;
+                        listener.openListSizeChanged(nodesInMemory);
                     }
                     frontier.addNode(newChild);
                 }
@@ -100,7 +133,13 @@ public class SMAStarSolver implements Solver<SearchNode, Object> {
                 cheapestNode.setTotalEstimatedCost(CostUtil.MAX_COST);
                 frontier.addNode(cheapestNode);
             }
+
+            if (isExpanded && checkpointer != null)
+                checkpointer.nodeExpanded(smaRootNode);
         }
+
+        if (checkpointer != null)
+            checkpointer.searchEnded(smaRootNode, null, false);
     }
 
     /**
@@ -128,14 +167,16 @@ public class SMAStarSolver implements Solver<SearchNode, Object> {
      * @param node the node for which to generate a child
      * @param frontier the frontier, used for updating any costs - the child node will not be added to the frontier
      * @param boundaryNodeCostTracker the tracker to update if the child is at the maximum allowed depth
+     * @param listener the listener to inform of each (re)generated child
      * @return the newly generated child node or null if all children are already present in the parent
      */
-    private <T extends SearchNode> SMASearchNode<T> generateChild(SMASearchNode<T> node, SMAStarFrontier<T> frontier, BoundaryNodeCostTracker boundaryNodeCostTracker) {
+    private <T extends SearchNode> SMASearchNode<T> generateChild(SMASearchNode<T> node, SMAStarFrontier<T> frontier, BoundaryNodeCostTracker boundaryNodeCostTracker, SearchListener listener) {
         Iterator<InformedSearchNode<T>> childIterator = node.getCurrentChildIterator();
 
         SMASearchNode<T> result = null;
         while (childIterator.hasNext() && result == null) {
             InformedSearchNode<T> nextChild = childIterator.next();
+            listener.nodesGenerated(1);
             SMASearchNode<T> tempSearchNode = makeSMASearchNode(nextChild, node, boundaryNodeCostTracker);
             if (!node.getChildrenInMemory().contains(tempSearchNode)) {
                 result = tempSearchNode;
@@ -153,7 +194,7 @@ public class SMAStarSolver implements Solver<SearchNode, Object> {
             return null; //No new child available
         else {
             node.resetChildIterator();
-            return generateChild(node, frontier, boundaryNodeCostTracker);
+            return generateChild(node, frontier, boundaryNodeCostTracker, listener);
         }
     }
 
@@ -0,0 +1,131 @@
+package com.github.dieterdepaepe.jsearch.search.constructive.util;
+
+import com.github.dieterdepaepe.jsearch.search.constructive.Cost;
+import com.github.dieterdepaepe.jsearch.search.constructive.Heuristic;
+import com.github.dieterdepaepe.jsearch.search.constructive.StateSearchNode;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * A {@link Heuristic} decorator that remembers the estimates of another heuristic, keyed on the
+ * {@link StateSearchNode#getSearchSpaceState() searchSpaceState} of the nodes. This is useful for expensive
+ * heuristics combined with solvers that regenerate the same states many times, such as the iterative deepening
+ * solvers or SMA*.
+ *
+ * <p>The number of remembered estimates is bounded, the least recently used estimates are evicted first. The cache is
+ * split into a number of independently locked segments, so threads using the same instance rarely block each other.
+ * Since estimates are only keyed on the state, an instance should only be used with a single environment, and the
+ * estimate of the decorated heuristic should not depend on anything but the state of a node.</p>
+ *
+ * <p>This class is thread-safe, presuming the decorated heuristic is thread-safe.</p>
+ * @param <T> the type of search states usable by this heuristic
+ * @param <U> the type of the environment accompanied by the search state
+ * @author Dieter De Paepe
+ */
+public class CachingHeuristic<T extends StateSearchNode, U> implements Heuristic<T, U> {
+    private final Heuristic<? super T, ? super U> heuristic;
+    private final Cache<Object, Cost> cache;
+
+    /**
+     * Creates a new instance, whose cache is split in a number of segments suited for a few concurrent threads.
+     * @param heuristic the heuristic whose estimates should be cached
+     * @param maximumSize the maximum number of cached estimates
+     * @throws java.lang.IllegalArgumentException if {@code maximumSize < 0}
+     */
+    public CachingHeuristic(Heuristic<? super T, ? super U> heuristic, long maximumSize) {
+        this(heuristic, maximumSize, 4);
+    }
+
+    /**
+     * Creates a new instance.
+     * @param heuristic the heuristic whose estimates should be cached
+     * @param maximumSize the maximum number of cached estimates
+     * @param concurrencyLevel the estimated number of threads that will use this instance concurrently, used to
+     *                         determine the number of segments of the cache
+     * @throws java.lang.IllegalArgumentException if {@code maximumSize < 0} or {@code concurrencyLevel <= 0}
+     */
+    public CachingHeuristic(Heuristic<? super T, ? super U> heuristic, long maximumSize, int concurrencyLevel) {
+        checkArgument(maximumSize >= 0, "Maximum size should be >= 0, but was %s", maximumSize);
+        checkArgument(concurrencyLevel > 0, "Concurrency level should be > 0, but was %s", concurrencyLevel);
+
+        this.heuristic = checkNotNull(heuristic);
+        this.cache = CacheBuilder.newBuilder()
+                .maximumSize(maximumSize)
+                .concurrencyLevel(concurrencyLevel)
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public Cost estimateRemainingCost(T node, U environment) {
+        Object searchSpaceState = node.getSearchSpaceState();
+        Cost estimate = cache.getIfPresent(searchSpaceState);
+        if (estimate == null) {
+            // Concurrent misses for the same state may both evaluate the heuristic, which is harmless.
+            estimate = heuristic.estimateRemainingCost(node, environment);
+            cache.put(searchSpaceState, estimate);
+        }
+        return estimate;
+    }
+
+    /**
+     * Gets the number of estimates that were found in the cache.
+     * @return the number of cache hits
+     */
+    public long getHitCount() {
+        return cache.stats().hitCount();
+    }
+
+    /**
+     * Gets the number of estimates that had to be calculated by the decorated heuristic.
+     * @return the number of cache misses
+     */
+    public long getMissCount() {
+        return cache.stats().missCount();
+    }
+
+    /**
+     * Gets the fraction of estimates that were found in the cache.
+     * @return the hit rate, or {@code 1} if no estimates have been requested
+     */
+    public double getHitRate() {
+        return cache.stats().hitRate();
+    }
+
+    /**
+     * Gets the number of estimates that were removed from the cache to make room for new estimates.
+     * @return the number of evictions
+     */
+    public long getEvictionCount() {
+        return cache.stats().evictionCount();
+    }
+
+    /**
+     * Gets the approximate number of estimates currently in the cache.
+     * @return the number of cached estimates
+     */
+    public long getSize() {
+        return cache.size();
+    }
+
+    /**
+     * Removes all cached estimates. The statistics are not reset.
+     */
+    public void clear() {
+        cache.invalidateAll();
+    }
+
+    @Override
+    public String toString() {
+        CacheStats stats = cache.stats();
+        return "CachingHeuristic{" +
+                "heuristic=" + heuristic +
+                ", size=" + cache.size() +
+                ", hitRate=" + stats.hitRate() +
+                '}';
+    }
+}
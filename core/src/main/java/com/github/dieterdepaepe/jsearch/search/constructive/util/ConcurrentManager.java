@@ -0,0 +1,98 @@
+package com.github.dieterdepaepe.jsearch.search.constructive.util;
+
+import com.github.dieterdepaepe.jsearch.search.constructive.Cost;
+import com.github.dieterdepaepe.jsearch.search.constructive.Manager;
+import com.github.dieterdepaepe.jsearch.search.constructive.SearchNode;
+import com.github.dieterdepaepe.jsearch.search.constructive.Solution;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Implementation of {@code Manager} that can be shared by multiple solvers or solver threads. It behaves like a
+ * {@link BasicManager}: it will instruct to continue searching until an optimal solution is found, and any
+ * intermediate solution found is passed as a cost bound to the solvers.
+ *
+ * <p>The best solution and the cost bound are kept together in an immutable snapshot, which is replaced using
+ * compare-and-set when a better solution is registered. Reading the cost bound or checking whether the search should
+ * continue never blocks and never retries, so both can be called in the inner loop of a solver.</p>
+ *
+ * <p>This implementation is thread-safe.</p>
+ * @author Dieter De Paepe
+ */
+public class ConcurrentManager<T extends SearchNode> implements Manager<T> {
+    private final AtomicReference<Snapshot<T>> snapshot;
+
+    /**
+     * Creates a new manager.
+     * @param costBound the initial cost bound
+     */
+    public ConcurrentManager(Cost costBound) {
+        this.snapshot = new AtomicReference<>(new Snapshot<T>(null, checkNotNull(costBound)));
+    }
+
+    /**
+     * Gets the best solution registered so far.
+     * @return the best solution, or null if no solution within the cost bound has been registered
+     */
+    public Solution<? extends T> getSolution() {
+        return snapshot.get().solution;
+    }
+
+    @Override
+    public boolean continueSearch() {
+        Solution<? extends T> solution = snapshot.get().solution;
+        return solution == null || !solution.isOptimal();
+    }
+
+    @Override
+    public void registerSolution(Solution<? extends T> solution) {
+        Cost solutionCost = solution.getNode().getCost();
+        Snapshot<T> newSnapshot = new Snapshot<T>(solution, solutionCost);
+        while (true) {
+            Snapshot<T> currentSnapshot = snapshot.get();
+            if (!isImprovement(solution, solutionCost, currentSnapshot))
+                return;
+            if (snapshot.compareAndSet(currentSnapshot, newSnapshot))
+                return;
+        }
+    }
+
+    private boolean isImprovement(Solution<? extends T> solution, Cost solutionCost, Snapshot<T> currentSnapshot) {
+        int comparison = solutionCost.compareTo(currentSnapshot.costBound);
+        if (comparison > 0)
+            return false;
+
+        return comparison < 0
+                || currentSnapshot.solution == null
+                || (solution.isOptimal() && !currentSnapshot.solution.isOptimal());
+    }
+
+    @Override
+    public Cost getCostBound() {
+        return snapshot.get().costBound;
+    }
+
+    @Override
+    public String toString() {
+        Snapshot<T> currentSnapshot = snapshot.get();
+        return "ConcurrentManager{" +
+                "solution=" + currentSnapshot.solution +
+                ", costBound=" + currentSnapshot.costBound +
+                '}';
+    }
+
+    /**
+     * The best solution and the cost bound at a single moment.
+     */
+    private static class Snapshot<T extends SearchNode> {
+        private final Solution<? extends T> solution;
+        private final Cost costBound;
+
+        private Snapshot(Solution<? extends T> solution, Cost costBound) {
+            this.solution = solution;
+            this.costBound = costBound;
+        }
+    }
+}
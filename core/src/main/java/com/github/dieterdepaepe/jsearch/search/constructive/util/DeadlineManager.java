@@ -0,0 +1,237 @@
+package com.github.dieterdepaepe.jsearch.search.constructive.util;
+
+import com.github.dieterdepaepe.jsearch.search.constructive.*;
+import com.google.common.base.Ticker;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * A {@link MonitoredManager} that delegates to another {@code Manager}, but stops the search once a time, node or
+ * memory budget is exhausted. Solutions are registered with the wrapped manager, so the best solution found before
+ * the budget ran out can be retrieved from there:
+ * <pre>{@code
+ * BasicManager<MyNode> manager = new BasicManager<>(costBound);
+ * Solvers.solve(solver, new DeadlineManager<>(manager, 5, TimeUnit.SECONDS), generator, heuristic, environment, startNode);
+ * Solution<? extends MyNode> solution = manager.getSolution();
+ * }</pre>
+ *
+ * <p>Solvers call {@link #continueSearch()} for every expanded node, which is too often to read the clock each time.
+ * Instead, the clock is only read every so many calls. This interval adapts to the observed call rate, so that the
+ * clock is read about once per millisecond regardless of the cost of an expansion. The memory budget is checked
+ * at the same moments, and compares it with the heap memory in use (including garbage that has not been collected
+ * yet). The node budget counts the nodes expanded by the solver, as reported to the {@link SearchListener}, and is
+ * checked on every call. If the wrapped manager is a {@code MonitoredManager}, its listener is informed as well.</p>
+ *
+ * <p>The time budget starts when the first search using this manager starts, so a manager can be created ahead of
+ * time. Once a budget is exhausted, the manager will not allow any further searching.</p>
+ *
+ * <p>This implementation is thread-safe if the wrapped manager is. When used by multiple threads, the interval
+ * between clock readings becomes less regular.</p>
+ * @author Dieter De Paepe
+ */
+public class DeadlineManager<T extends SearchNode> implements MonitoredManager<T> {
+    /** A value indicating a budget is not limited. */
+    public static final long UNLIMITED = Long.MAX_VALUE;
+
+    /** The desired time between 2 consecutive budget checks. */
+    private static final long CHECK_PERIOD_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    /** The maximum number of {@code continueSearch} calls between 2 consecutive budget checks. */
+    private static final int MAX_CHECK_INTERVAL = 1 << 16;
+
+    private final Manager<T> manager;
+    private final Ticker ticker;
+    private final long timeLimitNanos;
+    private final long maxExpandedNodes;
+    private final long maxUsedMemoryBytes;
+    /** Written once, before {@code started} is set. */
+    private long startNanos;
+    private volatile boolean started = false;
+    private final SearchListener searchListener;
+    private final AtomicLong nodesExpanded = new AtomicLong();
+    private volatile boolean budgetExhausted = false;
+
+    // Bookkeeping of the adaptive check interval. Races between threads only affect the timing of the checks.
+    private int checkInterval = 1;
+    private int callsUntilCheck = 1;
+    private long lastCheckNanos;
+
+    /**
+     * Creates a new manager with only a time budget.
+     * @param manager the manager to delegate to
+     * @param timeLimit the maximum duration of the search
+     * @param unit the time unit of {@code timeLimit}
+     */
+    public DeadlineManager(Manager<T> manager, long timeLimit, TimeUnit unit) {
+        this(manager, unit.toNanos(timeLimit), UNLIMITED, UNLIMITED, Ticker.systemTicker());
+    }
+
+    /**
+     * Creates a new manager.
+     * @param manager the manager to delegate to
+     * @param timeLimitNanos the maximum duration of the search in nanoseconds, or {@link #UNLIMITED}
+     * @param maxExpandedNodes the maximum number of nodes the solver may expand, or {@link #UNLIMITED}
+     * @param maxUsedMemoryBytes the maximum amount of used heap memory, or {@link #UNLIMITED}
+     * @param ticker the time source
+     * @throws java.lang.IllegalArgumentException if any budget is negative
+     */
+    public DeadlineManager(Manager<T> manager, long timeLimitNanos, long maxExpandedNodes, long maxUsedMemoryBytes, Ticker ticker) {
+        checkArgument(timeLimitNanos >= 0, "The time limit should not be negative.");
+        checkArgument(maxExpandedNodes >= 0, "The node budget should not be negative.");
+        checkArgument(maxUsedMemoryBytes >= 0, "The memory budget should not be negative.");
+        this.manager = checkNotNull(manager);
+        this.ticker = checkNotNull(ticker);
+        this.timeLimitNanos = timeLimitNanos;
+        this.maxExpandedNodes = maxExpandedNodes;
+        this.maxUsedMemoryBytes = maxUsedMemoryBytes;
+        this.searchListener = new CountingListener(SearchListeners.of(manager));
+    }
+
+    /**
+     * Checks whether one of the budgets was exhausted. Once this returns {@code true}, it will remain so.
+     * @return true if a budget was found to be exhausted
+     */
+    public boolean isBudgetExhausted() {
+        return budgetExhausted;
+    }
+
+    @Override
+    public SearchListener getSearchListener() {
+        return searchListener;
+    }
+
+    @Override
+    public boolean continueSearch() {
+        if (budgetExhausted)
+            return false;
+        if (nodesExpanded.get() >= maxExpandedNodes || (--callsUntilCheck <= 0 && checkBudgets())) {
+            budgetExhausted = true;
+            return false;
+        }
+        return manager.continueSearch();
+    }
+
+    /**
+     * Checks the time and memory budgets, and adjusts the number of calls until the next check.
+     * @return true if a budget was exhausted
+     */
+    private boolean checkBudgets() {
+        long now = ticker.read();
+        long sinceLastCheck = now - lastCheckNanos;
+        lastCheckNanos = now;
+
+        if (sinceLastCheck < CHECK_PERIOD_NANOS / 2)
+            checkInterval = Math.min(checkInterval * 2, MAX_CHECK_INTERVAL);
+        else if (sinceLastCheck > CHECK_PERIOD_NANOS * 2)
+            checkInterval = Math.max(checkInterval / 2, 1);
+        callsUntilCheck = checkInterval;
+
+        if (started && now - startNanos >= timeLimitNanos)
+            return true;
+
+        if (maxUsedMemoryBytes != UNLIMITED) {
+            Runtime runtime = Runtime.getRuntime();
+            if (runtime.totalMemory() - runtime.freeMemory() > maxUsedMemoryBytes)
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Starts the time budget, if not yet started.
+     */
+    private synchronized void startClock() {
+        if (started)
+            return;
+        startNanos = ticker.read();
+        lastCheckNanos = startNanos;
+        started = true;
+    }
+
+    @Override
+    public void registerSolution(Solution<? extends T> solution) {
+        manager.registerSolution(solution);
+    }
+
+    @Override
+    public Cost getCostBound() {
+        return manager.getCostBound();
+    }
+
+    @Override
+    public String toString() {
+        return "DeadlineManager{" +
+                "manager=" + manager +
+                ", timeLimitNanos=" + timeLimitNanos +
+                ", maxExpandedNodes=" + maxExpandedNodes +
+                ", maxUsedMemoryBytes=" + maxUsedMemoryBytes +
+                ", budgetExhausted=" + budgetExhausted +
+                '}';
+    }
+
+    /**
+     * A listener that starts the time budget, counts the expanded nodes and forwards all calls to the listener of the wrapped manager.
+     */
+    private class CountingListener implements SearchListener {
+        private final SearchListener delegate;
+
+        private CountingListener(SearchListener delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void searchStarted() {
+            startClock();
+            delegate.searchStarted();
+        }
+
+        @Override
+        public void searchFinished() {
+            delegate.searchFinished();
+        }
+
+        @Override
+        public void iterationStarted() {
+            delegate.iterationStarted();
+        }
+
+        @Override
+        public void iterationFinished() {
+            delegate.iterationFinished();
+        }
+
+        @Override
+        public void nodeExpanded(SearchNode node) {
+            nodesExpanded.incrementAndGet();
+            delegate.nodeExpanded(node);
+        }
+
+        @Override
+        public void nodesGenerated(int count) {
+            delegate.nodesGenerated(count);
+        }
+
+        @Override
+        public void nodePruned(SearchNode node) {
+            delegate.nodePruned(node);
+        }
+
+        @Override
+        public void duplicateDropped(SearchNode node) {
+            delegate.duplicateDropped(node);
+        }
+
+        @Override
+        public void openListSizeChanged(long size) {
+            delegate.openListSizeChanged(size);
+        }
+
+        @Override
+        public void nodesPurged(int count) {
+            delegate.nodesPurged(count);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.github.dieterdepaepe.jsearch.search.constructive.util;
+
+import com.github.dieterdepaepe.jsearch.search.constructive.*;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * A {@link MonitoredManager} that delegates all calls to another {@code Manager}, and provides a
+ * {@link SearchListener} to the solver. This can be used to collect {@link SearchStatistics} for any manager:
+ * <pre>{@code
+ * SearchStatistics statistics = new SearchStatistics();
+ * Solvers.solve(solver, new MonitoringManager<>(manager, statistics), generator, heuristic, environment, startNode);
+ * }</pre>
+ *
+ * <p>This implementation is thread-safe if the wrapped manager is.</p>
+ * @author Dieter De Paepe
+ */
+public class MonitoringManager<T extends SearchNode> implements MonitoredManager<T> {
+    private final Manager<T> manager;
+    private final SearchListener searchListener;
+
+    /**
+     * Creates a new manager.
+     * @param manager the manager to delegate to
+     * @param searchListener the listener to be informed by the solver
+     */
+    public MonitoringManager(Manager<T> manager, SearchListener searchListener) {
+        this.manager = checkNotNull(manager);
+        this.searchListener = checkNotNull(searchListener);
+    }
+
+    @Override
+    public SearchListener getSearchListener() {
+        return searchListener;
+    }
+
+    @Override
+    public boolean continueSearch() {
+        return manager.continueSearch();
+    }
+
+    @Override
+    public void registerSolution(Solution<? extends T> solution) {
+        manager.registerSolution(solution);
+    }
+
+    @Override
+    public Cost getCostBound() {
+        return manager.getCostBound();
+    }
+
+    @Override
+    public String toString() {
+        return "MonitoringManager{" +
+                "manager=" + manager +
+                ", searchListener=" + searchListener +
+                '}';
+    }
+}
@@ -0,0 +1,311 @@
+package com.github.dieterdepaepe.jsearch.search.constructive.util;
+
+import com.github.dieterdepaepe.jsearch.search.constructive.*;
+import com.google.common.base.Ticker;
+import com.google.common.collect.ImmutableList;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * A {@link SearchListener} that collects the statistics of one or more searches. Counts are accumulated over all
+ * searches until {@link #reset()} is called.
+ *
+ * <p>The search time is measured from the outermost {@link #searchStarted()} to its matching
+ * {@link #searchFinished()}, so searches delegated by one solver to another are not counted twice. Iterations
+ * are timed individually, nested iterations (such as IDA* used inside iterative deepening) are recorded in the
+ * order in which they finish. Iterations are matched per thread, so solvers iterating concurrently (such as the
+ * members of a portfolio) are timed correctly.</p>
+ *
+ * <p>The time spent in the {@link SearchNodeGenerator} and {@link Heuristic} can be measured by wrapping them with
+ * {@link #timeGenerator(SearchNodeGenerator)} and {@link #timeHeuristic(Heuristic)}. Since this reads the clock
+ * around every call, it is only done for wrapped instances:
+ * <pre>{@code
+ * Solvers.solve(solver, new MonitoringManager<>(manager, statistics), statistics.timeGenerator(generator),
+ *         statistics.timeHeuristic(heuristic), environment, startNode);
+ * }</pre>
+ *
+ * <p>This implementation is thread-safe.</p>
+ * @author Dieter De Paepe
+ */
+public class SearchStatistics implements SearchListener {
+    private final Ticker ticker;
+
+    private final AtomicLong nodesGenerated = new AtomicLong();
+    private final AtomicLong nodesExpanded = new AtomicLong();
+    private final AtomicLong nodesPruned = new AtomicLong();
+    private final AtomicLong duplicatesDropped = new AtomicLong();
+    private final AtomicLong nodesPurged = new AtomicLong();
+    private final AtomicLong peakOpenListSize = new AtomicLong();
+    private final AtomicLong generationNanos = new AtomicLong();
+    private final AtomicLong heuristicNanos = new AtomicLong();
+
+    // The fields below are guarded by this
+    private int searchDepth;
+    private long searchStartNanos;
+    private long searchNanos;
+    private final Map<Thread, Deque<Long>> iterationStartNanos = new HashMap<>();
+    private final List<Long> iterationNanos = new ArrayList<>();
+
+    /**
+     * Creates a new instance which measures time using {@link System#nanoTime()}.
+     */
+    public SearchStatistics() {
+        this(Ticker.systemTicker());
+    }
+
+    /**
+     * Creates a new instance which measures time using the given ticker.
+     * @param ticker the time source
+     */
+    public SearchStatistics(Ticker ticker) {
+        this.ticker = checkNotNull(ticker);
+    }
+
+    @Override
+    public synchronized void searchStarted() {
+        if (searchDepth++ == 0)
+            searchStartNanos = ticker.read();
+    }
+
+    @Override
+    public synchronized void searchFinished() {
+        if (--searchDepth == 0)
+            searchNanos += ticker.read() - searchStartNanos;
+    }
+
+    @Override
+    public synchronized void iterationStarted() {
+        Thread thread = Thread.currentThread();
+        Deque<Long> startNanos = iterationStartNanos.get(thread);
+        if (startNanos == null) {
+            startNanos = new ArrayDeque<>();
+            iterationStartNanos.put(thread, startNanos);
+        }
+        startNanos.addFirst(ticker.read());
+    }
+
+    @Override
+    public synchronized void iterationFinished() {
+        Thread thread = Thread.currentThread();
+        Deque<Long> startNanos = iterationStartNanos.get(thread);
+        iterationNanos.add(ticker.read() - startNanos.removeFirst());
+        if (startNanos.isEmpty())
+            iterationStartNanos.remove(thread);
+    }
+
+    @Override
+    public void nodeExpanded(SearchNode node) {
+        nodesExpanded.incrementAndGet();
+    }
+
+    @Override
+    public void nodesGenerated(int count) {
+        nodesGenerated.addAndGet(count);
+    }
+
+    @Override
+    public void nodePruned(SearchNode node) {
+        nodesPruned.incrementAndGet();
+    }
+
+    @Override
+    public void duplicateDropped(SearchNode node) {
+        duplicatesDropped.incrementAndGet();
+    }
+
+    @Override
+    public void openListSizeChanged(long size) {
+        long peak = peakOpenListSize.get();
+        while (size > peak && !peakOpenListSize.compareAndSet(peak, size))
+            peak = peakOpenListSize.get();
+    }
+
+    @Override
+    public void nodesPurged(int count) {
+        nodesPurged.addAndGet(count);
+    }
+
+    /**
+     * Gets the number of nodes received from the {@code SearchNodeGenerator}.
+     * @return the number of generated nodes
+     */
+    public long getNodesGenerated() {
+        return nodesGenerated.get();
+    }
+
+    /**
+     * Gets the number of nodes for which successors were generated.
+     * @return the number of expanded nodes
+     */
+    public long getNodesExpanded() {
+        return nodesExpanded.get();
+    }
+
+    /**
+     * Gets the number of nodes that were discarded because they exceeded a cost bound.
+     * @return the number of pruned nodes
+     */
+    public long getNodesPruned() {
+        return nodesPruned.get();
+    }
+
+    /**
+     * Gets the number of nodes that were discarded because their search space state was already reached as cheap.
+     * @return the number of dropped duplicate nodes
+     */
+    public long getDuplicatesDropped() {
+        return duplicatesDropped.get();
+    }
+
+    /**
+     * Gets the number of nodes that were removed from memory by a memory bounded solver.
+     * @return the number of purged nodes
+     */
+    public long getNodesPurged() {
+        return nodesPurged.get();
+    }
+
+    /**
+     * Gets the largest reported number of nodes awaiting expansion. For parallel solvers, this is the largest
+     * size reported by a single thread.
+     * @return the peak size of the open list
+     */
+    public long getPeakOpenListSize() {
+        return peakOpenListSize.get();
+    }
+
+    /**
+     * Gets the number of finished iterations.
+     * @return the number of iterations
+     */
+    public synchronized int getIterations() {
+        return iterationNanos.size();
+    }
+
+    /**
+     * Gets the duration of each finished iteration, in the order they finished.
+     * @param unit the time unit of the returned values
+     * @return an immutable list of durations
+     */
+    public synchronized List<Long> getIterationTimes(TimeUnit unit) {
+        ImmutableList.Builder<Long> result = ImmutableList.builder();
+        for (long nanos : iterationNanos)
+            result.add(unit.convert(nanos, TimeUnit.NANOSECONDS));
+        return result.build();
+    }
+
+    /**
+     * Gets the total duration of all finished searches.
+     * @param unit the time unit of the returned value
+     * @return the search time
+     */
+    public synchronized long getSearchTime(TimeUnit unit) {
+        return unit.convert(searchNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Gets the time spent generating successor nodes by generators wrapped with
+     * {@link #timeGenerator(SearchNodeGenerator)}. This includes the time spent in the heuristic by the generator.
+     * For parallel solvers, this is the sum over all threads.
+     * @param unit the time unit of the returned value
+     * @return the generation time
+     */
+    public long getGenerationTime(TimeUnit unit) {
+        return unit.convert(generationNanos.get(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Gets the time spent estimating remaining costs by heuristics wrapped with {@link #timeHeuristic(Heuristic)}.
+     * For parallel solvers, this is the sum over all threads.
+     * @param unit the time unit of the returned value
+     * @return the heuristic time
+     */
+    public long getHeuristicTime(TimeUnit unit) {
+        return unit.convert(heuristicNanos.get(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Wraps a generator, so the time spent generating successors is added to these statistics. For generators that
+     * return a lazy {@code Iterable}, only the time until it is returned is measured.
+     * @param generator the generator to measure
+     * @return a generator delegating to {@code generator}
+     */
+    public <T extends SearchNode, U> SearchNodeGenerator<T, U> timeGenerator(final SearchNodeGenerator<T, U> generator) {
+        checkNotNull(generator);
+        return new SearchNodeGenerator<T, U>() {
+            @Override
+            public Iterable<InformedSearchNode<T>> generateSuccessorNodes(T node, U environment, Heuristic<? super T, ? super U> heuristic) {
+                long start = ticker.read();
+                try {
+                    return generator.generateSuccessorNodes(node, environment, heuristic);
+                } finally {
+                    generationNanos.addAndGet(ticker.read() - start);
+                }
+            }
+        };
+    }
+
+    /**
+     * Wraps a heuristic, so the time spent estimating remaining costs is added to these statistics. The returned
+     * heuristic is not an {@link IncrementalHeuristic}, so generators will always use full estimates.
+     * @param heuristic the heuristic to measure
+     * @return a heuristic delegating to {@code heuristic}
+     */
+    public <T extends SearchNode, U> Heuristic<T, U> timeHeuristic(final Heuristic<T, U> heuristic) {
+        checkNotNull(heuristic);
+        return new Heuristic<T, U>() {
+            @Override
+            public Cost estimateRemainingCost(T node, U environment) {
+                long start = ticker.read();
+                try {
+                    return heuristic.estimateRemainingCost(node, environment);
+                } finally {
+                    heuristicNanos.addAndGet(ticker.read() - start);
+                }
+            }
+        };
+    }
+
+    /**
+     * Clears all collected statistics. Should not be called during a search.
+     */
+    public synchronized void reset() {
+        nodesGenerated.set(0);
+        nodesExpanded.set(0);
+        nodesPruned.set(0);
+        duplicatesDropped.set(0);
+        nodesPurged.set(0);
+        peakOpenListSize.set(0);
+        generationNanos.set(0);
+        heuristicNanos.set(0);
+        searchDepth = 0;
+        searchNanos = 0;
+        iterationStartNanos.clear();
+        iterationNanos.clear();
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "SearchStatistics{" +
+                "nodesGenerated=" + nodesGenerated +
+                ", nodesExpanded=" + nodesExpanded +
+                ", nodesPruned=" + nodesPruned +
+                ", duplicatesDropped=" + duplicatesDropped +
+                ", nodesPurged=" + nodesPurged +
+                ", peakOpenListSize=" + peakOpenListSize +
+                ", iterations=" + iterationNanos.size() +
+                ", searchTimeMillis=" + TimeUnit.NANOSECONDS.toMillis(searchNanos) +
+                ", generationTimeMillis=" + TimeUnit.NANOSECONDS.toMillis(generationNanos.get()) +
+                ", heuristicTimeMillis=" + TimeUnit.NANOSECONDS.toMillis(heuristicNanos.get()) +
+                '}';
+    }
+}
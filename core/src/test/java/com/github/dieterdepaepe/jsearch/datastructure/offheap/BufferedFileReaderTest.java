@@ -0,0 +1,53 @@
+package com.github.dieterdepaepe.jsearch.datastructure.offheap;
+
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Test class for {@link BufferedFileReader}.
+ * @author Dieter De Paepe
+ */
+public class BufferedFileReaderTest {
+    @Test
+    public void testReadsRecordsLargerThanBuffer() throws IOException {
+        byte[] content = new byte[100];
+        for (int i = 0; i < content.length; i++)
+            content[i] = (byte) i;
+        File file = File.createTempFile("reader", ".bin");
+        try {
+            Files.write(file.toPath(), content);
+            try (BufferedFileReader reader = new BufferedFileReader(file, 8)) {
+                assertTrue(reader.fill(3));
+                assertEquals(reader.getBuffer().get(), 0);
+                assertEquals(reader.getPosition(), 1);
+
+                // Larger than the initial buffer
+                assertTrue(reader.fill(20));
+                ByteBuffer buffer = reader.getBuffer();
+                for (int i = 1; i <= 20; i++)
+                    assertEquals(buffer.get(), i);
+                assertEquals(reader.getPosition(), 21);
+
+                assertTrue(reader.fill(79));
+                reader.getBuffer().position(reader.getBuffer().position() + 78);
+                assertEquals(reader.getPosition(), 99);
+
+                assertFalse(reader.fill(2));
+                assertEquals(reader.getBuffer().remaining(), 1);
+                assertEquals(reader.getBuffer().get(), 99);
+                assertFalse(reader.fill(1));
+                assertEquals(reader.getPosition(), 100);
+            }
+        } finally {
+            file.delete();
+        }
+    }
+}
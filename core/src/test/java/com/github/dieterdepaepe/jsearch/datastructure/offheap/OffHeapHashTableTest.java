@@ -0,0 +1,86 @@
+package com.github.dieterdepaepe.jsearch.datastructure.offheap;
+
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.testng.Assert.assertEquals;
+
+/**
+ * Test class for {@link OffHeapHashTable}.
+ * @author Dieter De Paepe
+ */
+public class OffHeapHashTableTest {
+    @Test
+    public void testBasicUse() {
+        OffHeapHashTable table = OffHeapHashTable.allocateDirect(3, 10);
+        ByteBuffer key = ByteBuffer.wrap(new byte[]{1, 2, 3});
+
+        assertEquals(table.size(), 0);
+        assertEquals(table.get(key, -1), -1);
+
+        table.put(key, 42);
+        assertEquals(table.size(), 1);
+        assertEquals(table.get(key, -1), 42);
+        assertEquals(table.get(ByteBuffer.wrap(new byte[]{1, 2, 4}), -1), -1);
+
+        table.put(key, 7);
+        assertEquals(table.size(), 1);
+        assertEquals(table.get(key, -1), 7);
+        assertEquals(key.position(), 0);
+    }
+
+    @Test
+    public void testKeyAtBufferPosition() {
+        OffHeapHashTable table = OffHeapHashTable.allocateDirect(2, 10);
+        ByteBuffer buffer = ByteBuffer.wrap(new byte[]{9, 9, 5, 6});
+        buffer.position(2);
+        table.put(buffer, 1);
+
+        assertEquals(table.get(ByteBuffer.wrap(new byte[]{5, 6}), -1), 1);
+        assertEquals(table.get(ByteBuffer.wrap(new byte[]{9, 9}), -1), -1);
+    }
+
+    @Test
+    public void testMatchesHashMap() {
+        checkMatchesHashMap(OffHeapHashTable.allocateDirect(12, 20000));
+    }
+
+    @Test
+    public void testMatchesHashMapWhenMapped() throws IOException {
+        File file = File.createTempFile("offheap", ".bin");
+        try {
+            checkMatchesHashMap(OffHeapHashTable.mapFile(file, 12, 20000));
+        } finally {
+            file.delete();
+        }
+    }
+
+    @Test(expectedExceptions = IllegalStateException.class)
+    public void testFullTable() {
+        OffHeapHashTable table = OffHeapHashTable.allocateDirect(4, 3);
+        for (int i = 0; i < 4; i++)
+            table.put(ByteBuffer.allocate(4).putInt(0, i), i);
+    }
+
+    private void checkMatchesHashMap(OffHeapHashTable table) {
+        Random random = new Random(0);
+        Map<ByteBuffer, Long> expected = new HashMap<>();
+        for (int i = 0; i < 20000; i++) {
+            ByteBuffer key = ByteBuffer.allocate(12).putInt(random.nextInt(100)).putLong(random.nextInt(1000));
+            key.flip();
+            long value = random.nextLong();
+            table.put(key, value);
+            expected.put(key, value);
+        }
+
+        assertEquals(table.size(), expected.size());
+        for (Map.Entry<ByteBuffer, Long> entry : expected.entrySet())
+            assertEquals(table.get(entry.getKey(), 0), (long) entry.getValue());
+    }
+}
@@ -0,0 +1,164 @@
+package com.github.dieterdepaepe.jsearch.datastructure.priority;
+
+import com.google.common.collect.Iterators;
+import com.google.common.collect.Ordering;
+import com.google.common.collect.Sets;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.testng.Assert.*;
+
+/**
+ * Test class for DaryHeap.
+ * @author Dieter De Paepe
+ */
+public class DaryHeapTest {
+    private Random random;
+
+    @BeforeMethod
+    public void setupTest() {
+        random = new Random(0);
+    }
+
+    @DataProvider(name = "arities")
+    public Object[][] arities() {
+        return new Object[][]{{2}, {3}, {4}, {8}};
+    }
+
+    @Test
+    public void testBasicUse() {
+        DaryHeap<Integer, Object> heap = DaryHeap.create();
+        assertTrue(heap.isEmpty());
+        assertEquals(heap.size(), 0);
+
+        DaryHeapEntry<Integer, Object> firstEntry = heap.insert(1, null);
+        assertEquals(heap.size(), 1);
+        assertEquals(heap.findMinimum(), firstEntry);
+
+        DaryHeapEntry<Integer, Object> secondEntry = heap.insert(2, null);
+        assertEquals(heap.findMinimum(), firstEntry);
+
+        DaryHeapEntry<Integer, Object> thirdEntry = heap.insert(0, null);
+        assertEquals(heap.findMinimum(), thirdEntry);
+        assertEquals(heap.size(), 3);
+
+        assertEquals(heap.deleteMinimum(), thirdEntry);
+        assertEquals(heap.findMinimum(), firstEntry);
+
+        heap.decreaseKey(secondEntry, 0);
+        assertEquals(heap.findMinimum(), secondEntry);
+
+        heap.delete(firstEntry);
+        assertEquals(heap.size(), 1);
+        assertEquals(heap.findMinimum(), secondEntry);
+
+        assertEquals(heap.deleteMinimum(), secondEntry);
+        assertTrue(heap.isEmpty());
+        assertEquals(heap.findMinimum(), null);
+        assertEquals(heap.deleteMinimum(), null);
+    }
+
+    @Test(dataProvider = "arities")
+    public void testPriorityOrderWithDuplicates(int arity) {
+        DaryHeap<Integer, Object> heap = DaryHeap.create(arity, Ordering.natural());
+        List<Integer> values = new ArrayList<>();
+        for (int i = 0; i < 50000; i++)
+            values.add(random.nextInt(10000));
+
+        for (Integer value : values)
+            heap.insert(value, value);
+
+        Collections.sort(values);
+        for (Integer value : values) {
+            assertEquals(heap.findMinimum().getKey(), value, "Heap returned incorrect element");
+            assertEquals(heap.deleteMinimum().getValue(), value, "Heap returned incorrect element");
+        }
+        assertTrue(heap.isEmpty());
+    }
+
+    @Test(dataProvider = "arities")
+    public void testDecreaseKeyAndDelete(int arity) {
+        DaryHeap<Integer, Object> heap = DaryHeap.create(arity, Ordering.natural());
+        int numberOfValues = 10000;
+        List<DaryHeapEntry<Integer, Object>> entries = new ArrayList<>();
+        for (int i = 0; i < numberOfValues; i++)
+            entries.add(heap.insert(i, null));
+
+        List<Integer> expectedKeys = new ArrayList<>();
+        for (int i = 0; i < numberOfValues; i++) {
+            DaryHeapEntry<Integer, Object> entry = entries.get(i);
+            switch (random.nextInt(3)) {
+                case 0:
+                    heap.delete(entry);
+                    break;
+                case 1:
+                    heap.decreaseKey(entry, entry.getKey() - random.nextInt(numberOfValues));
+                    expectedKeys.add(entry.getKey());
+                    break;
+                default:
+                    // Increasing a key has no effect
+                    heap.decreaseKey(entry, entry.getKey() + 1);
+                    expectedKeys.add(entry.getKey());
+            }
+        }
+
+        assertEquals(heap.size(), expectedKeys.size());
+        Collections.sort(expectedKeys);
+        for (Integer expectedKey : expectedKeys)
+            assertEquals(heap.deleteMinimum().getKey(), expectedKey);
+        assertTrue(heap.isEmpty());
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testDecreaseKeyOnRemovedEntry() {
+        DaryHeap<Integer, Object> heap = DaryHeap.create();
+        DaryHeapEntry<Integer, Object> entry = heap.insert(0, new Object());
+        heap.deleteMinimum();
+        heap.decreaseKey(entry, -1);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testDeleteOnAlreadyRemovedElement() {
+        DaryHeap<Integer, Object> heap = DaryHeap.create();
+        DaryHeapEntry<Integer, Object> entry = heap.insert(0, new Object());
+        heap.deleteMinimum();
+        heap.delete(entry);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testInvalidArity() {
+        DaryHeap.factory(1);
+    }
+
+    @Test
+    public void testFactory() {
+        PriorityQueue<Integer, String> queue = DaryHeap.factory(3).create(Ordering.<Integer>natural().reverse());
+        queue.insert(1, "a");
+        PriorityQueueEntry<Integer, String> entry = queue.insert(2, "b");
+        assertEquals(queue.findMinimum(), entry);
+    }
+
+    @Test
+    public void testIteratorAndAsCollection() {
+        DaryHeap<Integer, Object> heap = DaryHeap.create();
+        assertEquals(Iterators.size(heap.iterator()), 0);
+        assertTrue(heap.asCollection().isEmpty());
+
+        DaryHeapEntry<Integer, Object> entry1 = heap.insert(3, "Hello");
+        heap.insert(1, "World");
+        DaryHeapEntry<Integer, Object> entry3 = heap.insert(5, "how");
+
+        assertEquals(heap.asCollection().size(), 3);
+        assertEquals(Sets.newHashSet(heap.asCollection()), Sets.newHashSet("Hello", "World", "how"));
+
+        heap.deleteMinimum();
+        assertEquals(Sets.newHashSet(heap.iterator()), Sets.<DaryHeapEntry>newHashSet(entry1, entry3));
+        assertEquals(Sets.newHashSet(heap.asCollection()), Sets.newHashSet("Hello", "how"));
+    }
+}
@@ -0,0 +1,218 @@
+package com.github.dieterdepaepe.jsearch.datastructure.priority;
+
+import com.google.common.collect.Sets;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.testng.Assert.*;
+
+/**
+ * Test class for RadixHeap.
+ * @author Dieter De Paepe
+ */
+public class RadixHeapTest {
+    private Random random;
+    private RadixHeap<Long, Object> heap;
+
+    @BeforeMethod
+    public void setupTest() {
+        heap = RadixHeap.create();
+        random = new Random(0);
+    }
+
+    @Test
+    public void testBasicUse() {
+        assertTrue(heap.isEmpty());
+        assertEquals(heap.size(), 0);
+
+        RadixHeapEntry<Long, Object> firstEntry = heap.insert(1L, null);
+        assertEquals(heap.size(), 1);
+        assertEquals(heap.findMinimum(), firstEntry);
+
+        RadixHeapEntry<Long, Object> secondEntry = heap.insert(2L, null);
+        assertEquals(heap.findMinimum(), firstEntry);
+
+        RadixHeapEntry<Long, Object> thirdEntry = heap.insert(0L, null);
+        assertEquals(heap.findMinimum(), thirdEntry);
+        assertEquals(heap.size(), 3);
+
+        assertEquals(heap.deleteMinimum(), thirdEntry);
+        assertEquals(heap.size(), 2);
+        assertEquals(heap.findMinimum(), firstEntry);
+
+        heap.decreaseKey(secondEntry, 1L);
+        assertEquals(secondEntry.getKey(), Long.valueOf(1));
+
+        heap.delete(firstEntry);
+        assertEquals(heap.size(), 1);
+        assertEquals(heap.findMinimum(), secondEntry);
+
+        assertEquals(heap.deleteMinimum(), secondEntry);
+        assertTrue(heap.isEmpty());
+        assertEquals(heap.findMinimum(), null);
+        assertEquals(heap.deleteMinimum(), null);
+    }
+
+    @Test
+    public void testPriorityOrderWithDuplicates() {
+        List<Long> values = new ArrayList<>();
+        for (int i = 0; i < 100000; i++)
+            values.add((long) random.nextInt(50000));
+        values.add(Long.MIN_VALUE);
+        values.add(Long.MAX_VALUE);
+        values.add(-1L);
+
+        for (Long value : values)
+            heap.insert(value, value);
+
+        Collections.sort(values);
+        for (Long value : values) {
+            assertEquals(heap.findMinimum().getKey(), value, "Heap returned incorrect element");
+            assertEquals(heap.deleteMinimum().getValue(), value, "Heap returned incorrect element");
+        }
+
+        assertTrue(heap.isEmpty());
+    }
+
+    @Test
+    public void testMonotoneInsertion() {
+        // Simulates a best-first search: new keys are never lower than the last removed key.
+        List<Long> removedKeys = new ArrayList<>();
+        heap.insert(0L, null);
+        while (removedKeys.size() < 50000) {
+            long key = heap.deleteMinimum().getKey();
+            removedKeys.add(key);
+            for (int i = 0; i < 2; i++)
+                heap.insert(key + random.nextInt(10), null);
+        }
+
+        List<Long> sortedKeys = new ArrayList<>(removedKeys);
+        Collections.sort(sortedKeys);
+        assertEquals(removedKeys, sortedKeys);
+    }
+
+    @Test
+    public void testDecreaseKey() {
+        int numberOfValues = 10000;
+        @SuppressWarnings("unchecked")
+        RadixHeapEntry<Long, Object>[] entries = new RadixHeapEntry[numberOfValues];
+        List<Long> keys = new ArrayList<>();
+        for (int i = 0; i < numberOfValues; i++) {
+            entries[i] = heap.insert((long) i, i);
+            keys.add((long) i);
+        }
+
+        for (int i = 0; i < 999; i++)
+            assertEquals(heap.deleteMinimum().getValue(), i);
+
+        for (int i = 0; i < 100; i++) {
+            int entryToDecrease = 1005 + 50 * i;
+            long newKey = entryToDecrease - random.nextInt(entryToDecrease - 999);
+            heap.decreaseKey(entries[entryToDecrease], newKey);
+            keys.set(entryToDecrease, newKey);
+        }
+
+        // Increasing a key has no effect
+        heap.decreaseKey(entries[999], 5000L);
+        assertEquals(entries[999].getKey(), Long.valueOf(999));
+
+        keys = new ArrayList<>(keys.subList(999, keys.size()));
+        Collections.sort(keys);
+        for (Long expectedKey : keys)
+            assertEquals(heap.deleteMinimum().getKey(), expectedKey);
+
+        assertTrue(heap.isEmpty());
+    }
+
+    @Test
+    public void testKeyBelowLowerBound() {
+        heap.insert(10L, "a");
+        heap.insert(20L, "b");
+        assertEquals(heap.deleteMinimum().getValue(), "a");
+
+        RadixHeapEntry<Long, Object> entry = heap.insert(5L, "c");
+        assertEquals(entry.getKey(), Long.valueOf(5));
+        assertEquals(heap.deleteMinimum(), entry);
+        assertEquals(heap.deleteMinimum().getValue(), "b");
+    }
+
+    @Test
+    public void testDecreaseKeyWithinSameRank() {
+        heap.insert(10L, "a");
+        heap.insert(20L, "b");
+        assertEquals(heap.deleteMinimum().getValue(), "a");
+
+        // Both keys are below the lower bound, so the entry is treated as having key 10 in either case
+        RadixHeapEntry<Long, Object> entry = heap.insert(5L, "c");
+        heap.decreaseKey(entry, 3L);
+        assertEquals(entry.getKey(), Long.valueOf(3));
+
+        // Increasing a key has no effect
+        heap.decreaseKey(entry, 8L);
+        assertEquals(entry.getKey(), Long.valueOf(3));
+
+        assertEquals(heap.deleteMinimum(), entry);
+        assertEquals(heap.deleteMinimum().getValue(), "b");
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testDecreaseKeyOnRemovedEntry() {
+        RadixHeapEntry<Long, Object> entry = heap.insert(0L, new Object());
+        heap.deleteMinimum();
+        heap.decreaseKey(entry, -1L);
+    }
+
+    @Test
+    public void testDelete() {
+        List<RadixHeapEntry<Long, Object>> entries = new ArrayList<>();
+        for (long i = 0; i < 100; i++)
+            entries.add(heap.insert(i, i));
+
+        heap.delete(entries.get(0));
+        assertEquals(heap.findMinimum(), entries.get(1));
+        heap.deleteMinimum();
+        heap.delete(heap.findMinimum());
+        assertEquals(heap.size(), 97);
+
+        for (int i = 50; i < 60; i++)
+            heap.delete(entries.get(i));
+
+        for (int i = 3; i < 100; i++) {
+            if (i == 50)
+                i = 60;
+            assertEquals(heap.deleteMinimum(), entries.get(i));
+        }
+        assertTrue(heap.isEmpty());
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testDeleteOnAlreadyRemovedElement() {
+        RadixHeapEntry<Long, Object> entry = heap.insert(0L, new Object());
+        heap.deleteMinimum();
+        heap.delete(entry);
+    }
+
+    @Test
+    public void testAsCollection() {
+        assertTrue(heap.asCollection().isEmpty());
+
+        heap.insert(3L, "Hello");
+        heap.insert(1L, "World");
+        heap.insert(500L, "how");
+        heap.insert(4L, "are");
+        heap.insert(2L, "you");
+
+        assertEquals(heap.asCollection().size(), 5);
+        assertEquals(Sets.newHashSet(heap.asCollection()), Sets.newHashSet("Hello", "World", "how", "are", "you"));
+
+        heap.deleteMinimum();
+
+        assertEquals(heap.asCollection().size(), 4);
+        assertEquals(Sets.newHashSet(heap.asCollection()), Sets.newHashSet("Hello", "how", "are", "you"));
+    }
+}
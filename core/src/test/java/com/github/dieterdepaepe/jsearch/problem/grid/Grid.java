@@ -0,0 +1,92 @@
+package com.github.dieterdepaepe.jsearch.problem.grid;
+
+import java.util.Random;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Problem environment for a path finding problem on a rectangular grid. Moving into a cell has a cost specific to
+ * that cell. This class is aimed at testing and experimentation.
+ * @author Dieter De Paepe
+ */
+public class Grid {
+    private int[][] cellCosts;
+    private int goalX;
+    private int goalY;
+    private int minimumCellCost;
+
+    /**
+     * Creates a new grid.
+     * @param cellCosts the cost of moving into each cell, indexed as {@code cellCosts[x][y]}, all costs should be {@code > 0}
+     * @param goalX the column of the goal cell
+     * @param goalY the row of the goal cell
+     */
+    public Grid(int[][] cellCosts, int goalX, int goalY) {
+        this.cellCosts = cellCosts;
+        this.goalX = goalX;
+        this.goalY = goalY;
+
+        minimumCellCost = Integer.MAX_VALUE;
+        for (int[] column : cellCosts)
+            for (int cost : column) {
+                checkArgument(cost > 0, "Cell costs should be > 0");
+                minimumCellCost = Math.min(minimumCellCost, cost);
+            }
+    }
+
+    /**
+     * Creates a grid with random cell costs in the range {@code [1 .. maxCellCost]}, with the goal in the bottom right
+     * corner.
+     * @param width the number of columns
+     * @param height the number of rows
+     * @param maxCellCost the maximum cost of a single cell
+     * @param seed the seed for the random generator
+     * @return a new grid
+     */
+    public static Grid random(int width, int height, int maxCellCost, long seed) {
+        Random random = new Random(seed);
+        int[][] cellCosts = new int[width][height];
+        for (int x = 0; x < width; x++)
+            for (int y = 0; y < height; y++)
+                cellCosts[x][y] = 1 + random.nextInt(maxCellCost);
+        return new Grid(cellCosts, width - 1, height - 1);
+    }
+
+    /**
+     * Creates a grid with the same cell costs as this grid, but with a different goal cell.
+     * @param goalX the column of the goal cell
+     * @param goalY the row of the goal cell
+     * @return a new grid
+     */
+    public Grid withGoal(int goalX, int goalY) {
+        return new Grid(cellCosts, goalX, goalY);
+    }
+
+    public int getWidth() {
+        return cellCosts.length;
+    }
+
+    public int getHeight() {
+        return cellCosts[0].length;
+    }
+
+    public int getCellCost(int x, int y) {
+        return cellCosts[x][y];
+    }
+
+    public int getGoalX() {
+        return goalX;
+    }
+
+    public int getGoalY() {
+        return goalY;
+    }
+
+    public int getMinimumCellCost() {
+        return minimumCellCost;
+    }
+
+    public boolean isInside(int x, int y) {
+        return x >= 0 && y >= 0 && x < getWidth() && y < getHeight();
+    }
+}
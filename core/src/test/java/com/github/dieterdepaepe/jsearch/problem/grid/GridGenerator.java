@@ -0,0 +1,75 @@
+package com.github.dieterdepaepe.jsearch.problem.grid;
+
+import com.github.dieterdepaepe.jsearch.search.constructive.Heuristic;
+import com.github.dieterdepaepe.jsearch.search.constructive.InformedSearchNode;
+import com.github.dieterdepaepe.jsearch.search.constructive.ReversibleSearchNodeGenerator;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Generator for the {@link Grid} path finding problem, which allows moving to each of the 4 neighbouring cells.
+ * Moves can be reversed, the cost of moving back from a cell is the cost of that cell. This class is aimed at testing
+ * and experimentation.
+ * @author Dieter De Paepe
+ */
+public class GridGenerator implements ReversibleSearchNodeGenerator<GridSearchNode, Grid> {
+    private static final int[] DELTA_X = {1, -1, 0, 0};
+    private static final int[] DELTA_Y = {0, 0, 1, -1};
+
+    @Override
+    public List<InformedSearchNode<GridSearchNode>> generateSuccessorNodes(GridSearchNode node, Grid environment, Heuristic<? super GridSearchNode, ? super Grid> heuristic) {
+        List<InformedSearchNode<GridSearchNode>> result = new ArrayList<>(4);
+        for (int i = 0; i < DELTA_X.length; i++) {
+            int x = node.getX() + DELTA_X[i];
+            int y = node.getY() + DELTA_Y[i];
+            if (!environment.isInside(x, y))
+                continue;
+
+            GridSearchNode successor = new GridSearchNode(x, y,
+                    node.getCost().getValue() + environment.getCellCost(x, y),
+                    x == environment.getGoalX() && y == environment.getGoalY());
+            result.add(new InformedSearchNode<>(successor, heuristic.estimateRemainingCost(successor, environment)));
+        }
+        return result;
+    }
+
+    @Override
+    public Grid createBackwardEnvironment(GridSearchNode startNode, Grid environment) {
+        return environment.withGoal(startNode.getX(), startNode.getY());
+    }
+
+    @Override
+    public GridSearchNode createBackwardStartNode(Grid environment, Grid backwardEnvironment) {
+        return createStartState(environment.getGoalX(), environment.getGoalY(), backwardEnvironment);
+    }
+
+    @Override
+    public List<InformedSearchNode<GridSearchNode>> generatePredecessorNodes(GridSearchNode node, Grid backwardEnvironment, Heuristic<? super GridSearchNode, ? super Grid> heuristic) {
+        // Moving from a neighbour into the cell of the node costs the cell cost of that node
+        int moveCost = backwardEnvironment.getCellCost(node.getX(), node.getY());
+        List<InformedSearchNode<GridSearchNode>> result = new ArrayList<>(4);
+        for (int i = 0; i < DELTA_X.length; i++) {
+            int x = node.getX() + DELTA_X[i];
+            int y = node.getY() + DELTA_Y[i];
+            if (!backwardEnvironment.isInside(x, y))
+                continue;
+
+            GridSearchNode predecessor = new GridSearchNode(x, y,
+                    node.getCost().getValue() + moveCost,
+                    x == backwardEnvironment.getGoalX() && y == backwardEnvironment.getGoalY());
+            result.add(new InformedSearchNode<>(predecessor, heuristic.estimateRemainingCost(predecessor, backwardEnvironment)));
+        }
+        return result;
+    }
+
+    @Override
+    public GridSearchNode join(GridSearchNode forwardNode, GridSearchNode backwardNode, Grid environment) {
+        return new GridSearchNode(environment.getGoalX(), environment.getGoalY(),
+                forwardNode.getCost().getValue() + backwardNode.getCost().getValue(), true);
+    }
+
+    public GridSearchNode createStartState(int x, int y, Grid environment) {
+        return new GridSearchNode(x, y, 0, x == environment.getGoalX() && y == environment.getGoalY());
+    }
+}
@@ -0,0 +1,17 @@
+package com.github.dieterdepaepe.jsearch.problem.grid;
+
+import com.github.dieterdepaepe.jsearch.search.constructive.Heuristic;
+import com.github.dieterdepaepe.jsearch.search.constructive.cost.IntegerCost;
+
+/**
+ * Consistent heuristic for the {@link Grid} path finding problem: the Manhattan distance to the goal, multiplied by
+ * the cheapest cell cost.
+ * @author Dieter De Paepe
+ */
+public class GridHeuristic implements Heuristic<GridSearchNode, Grid> {
+    @Override
+    public IntegerCost estimateRemainingCost(GridSearchNode node, Grid environment) {
+        int distance = Math.abs(environment.getGoalX() - node.getX()) + Math.abs(environment.getGoalY() - node.getY());
+        return IntegerCost.valueOf(distance * environment.getMinimumCellCost());
+    }
+}
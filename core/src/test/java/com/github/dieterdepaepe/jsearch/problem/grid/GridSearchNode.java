@@ -0,0 +1,65 @@
+package com.github.dieterdepaepe.jsearch.problem.grid;
+
+import com.github.dieterdepaepe.jsearch.search.constructive.EncodableStateSearchNode;
+import com.github.dieterdepaepe.jsearch.search.constructive.cost.IntegerCost;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Implementation of a {@code SearchNode} representing a path to a cell of a {@link Grid}.
+ * @author Dieter De Paepe
+ */
+public class GridSearchNode implements EncodableStateSearchNode {
+    /** The size of an encoded search space state, in bytes. */
+    public static final int ENCODED_STATE_SIZE = 8;
+
+    private int x;
+    private int y;
+    private IntegerCost cost;
+    private boolean isGoal;
+
+    public GridSearchNode(int x, int y, int cost, boolean isGoal) {
+        this.x = x;
+        this.y = y;
+        this.cost = IntegerCost.valueOf(cost);
+        this.isGoal = isGoal;
+    }
+
+    public int getX() {
+        return x;
+    }
+
+    public int getY() {
+        return y;
+    }
+
+    @Override
+    public boolean isGoal() {
+        return isGoal;
+    }
+
+    @Override
+    public IntegerCost getCost() {
+        return cost;
+    }
+
+    @Override
+    public Object getSearchSpaceState() {
+        return (((long) x) << 32) | y;
+    }
+
+    @Override
+    public void encodeSearchSpaceState(ByteBuffer buffer) {
+        buffer.putInt(x);
+        buffer.putInt(y);
+    }
+
+    @Override
+    public String toString() {
+        return "GridSearchNode{" +
+                "x=" + x +
+                ", y=" + y +
+                ", cost=" + cost +
+                '}';
+    }
+}
@@ -0,0 +1,29 @@
+package com.github.dieterdepaepe.jsearch.problem.grid;
+
+import com.github.dieterdepaepe.jsearch.search.constructive.SearchNodeSerializer;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Implementation of {@code SearchNodeSerializer} for {@link GridSearchNode}s.
+ * @author Dieter De Paepe
+ */
+public class GridSearchNodeSerializer implements SearchNodeSerializer<GridSearchNode> {
+    @Override
+    public int getSerializedSize(GridSearchNode node) {
+        return 13;
+    }
+
+    @Override
+    public void serialize(GridSearchNode node, ByteBuffer buffer) {
+        buffer.putInt(node.getX());
+        buffer.putInt(node.getY());
+        buffer.putInt(node.getCost().getValue());
+        buffer.put((byte) (node.isGoal() ? 1 : 0));
+    }
+
+    @Override
+    public GridSearchNode deserialize(ByteBuffer buffer) {
+        return new GridSearchNode(buffer.getInt(), buffer.getInt(), buffer.getInt(), buffer.get() != 0);
+    }
+}
@@ -0,0 +1,59 @@
+package com.github.dieterdepaepe.jsearch.search.constructive;
+
+import com.github.dieterdepaepe.jsearch.problem.grid.GridSearchNode;
+import com.github.dieterdepaepe.jsearch.search.constructive.cost.IntegerCost;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.*;
+
+/**
+ * Test class for {@link LazyInformedSearchNode}.
+ * @author Dieter De Paepe
+ */
+public class LazyInformedSearchNodeTest {
+    @Test
+    public void testLowerBoundUntilEvaluated() {
+        CountingHeuristic heuristic = new CountingHeuristic(IntegerCost.valueOf(10));
+        LazyInformedSearchNode<GridSearchNode, Object> node = new LazyInformedSearchNode<>(new GridSearchNode(0, 0, 5, false), IntegerCost.valueOf(7), heuristic, null);
+
+        assertFalse(node.isEvaluated());
+        assertEquals(node.getEstimatedTotalCost(), IntegerCost.valueOf(7));
+        assertEquals(node.getEstimatedTotalCostValue(), 7);
+        assertEquals(node.compareEstimatedTotalCostTo(IntegerCost.valueOf(7)), 0);
+        assertEquals(heuristic.calls, 0);
+
+        assertEquals(node.getEstimatedRemainingCost(), IntegerCost.valueOf(10));
+        assertTrue(node.isEvaluated());
+        assertEquals(node.getEstimatedTotalCost(), IntegerCost.valueOf(15));
+        assertEquals(node.getEstimatedTotalCostValue(), 15);
+
+        node.evaluate();
+        assertEquals(heuristic.calls, 1);
+    }
+
+    @Test
+    public void testEvaluationKeepsLowerBound() {
+        CountingHeuristic heuristic = new CountingHeuristic(IntegerCost.valueOf(1));
+        LazyInformedSearchNode<GridSearchNode, Object> node = new LazyInformedSearchNode<>(new GridSearchNode(0, 0, 5, false), IntegerCost.valueOf(9), heuristic, null);
+
+        node.evaluate();
+        assertEquals(node.getEstimatedRemainingCost(), IntegerCost.valueOf(1));
+        assertEquals(node.getEstimatedTotalCost(), IntegerCost.valueOf(9));
+        assertEquals(node.getEstimatedTotalCostValue(), 9);
+    }
+
+    private static class CountingHeuristic implements Heuristic<GridSearchNode, Object> {
+        private final Cost estimate;
+        private int calls;
+
+        private CountingHeuristic(Cost estimate) {
+            this.estimate = estimate;
+        }
+
+        @Override
+        public Cost estimateRemainingCost(GridSearchNode node, Object environment) {
+            calls++;
+            return estimate;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.github.dieterdepaepe.jsearch.search.constructive.cost;
+
+import com.github.dieterdepaepe.jsearch.problem.dummy.DummySearchNode;
+import com.github.dieterdepaepe.jsearch.search.constructive.InformedSearchNode;
+import com.github.dieterdepaepe.jsearch.search.constructive.SearchNode;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.*;
+
+/**
+ * Test class for {@link com.github.dieterdepaepe.jsearch.search.constructive.cost.Costs} and the primitive cost
+ * methods of {@link InformedSearchNode}.
+ * @author Dieter De Paepe
+ */
+public class CostsTest {
+    @Test
+    public void testCompare() {
+        assertTrue(Costs.compare(IntegerCost.valueOf(3), IntegerCost.valueOf(5000)) < 0);
+        assertTrue(Costs.compare(LongCost.valueOf(Long.MAX_VALUE), LongCost.valueOf(-1)) > 0);
+        assertEquals(Costs.compare(LongCost.valueOf(5000), LongCost.valueOf(5000)), 0);
+        assertTrue(Costs.compare(DoubleCost.valueOf(1.5), DoubleCost.valueOf(2.5)) < 0);
+    }
+
+    @Test
+    public void testMinMax() {
+        IntegerCost low = IntegerCost.valueOf(2000);
+        IntegerCost equalLow = IntegerCost.valueOf(2000);
+        IntegerCost high = IntegerCost.valueOf(3000);
+
+        assertSame(Costs.min(low, high), low);
+        assertSame(Costs.min(high, low), low);
+        assertSame(Costs.max(low, high), high);
+        assertSame(Costs.min(low, equalLow), low);
+        assertSame(Costs.max(equalLow, low), equalLow);
+        assertEquals(Costs.max(DoubleCost.valueOf(1), DoubleCost.valueOf(2)), DoubleCost.valueOf(2));
+    }
+
+    @Test
+    public void testPrimitiveEstimatedTotalCost() {
+        InformedSearchNode<PrimitiveNode> node1 = new InformedSearchNode<>(new PrimitiveNode(3000), IntegerCost.valueOf(2000));
+        InformedSearchNode<PrimitiveNode> node2 = new InformedSearchNode<>(new PrimitiveNode(1000), IntegerCost.valueOf(4001));
+
+        assertEquals(node1.getEstimatedTotalCostValue(), 5000);
+        assertEquals(node1.compareEstimatedTotalCostTo(IntegerCost.valueOf(5000)), 0);
+        assertTrue(node1.compareEstimatedTotalCostTo(IntegerCost.valueOf(4999)) > 0);
+        assertTrue(node1.compareEstimatedTotalCostTo(node2) < 0);
+        assertTrue(node2.compareTo(node1) > 0);
+        assertEquals(node2.getEstimatedTotalCost(), IntegerCost.valueOf(5001));
+        assertEquals(node2.getEstimatedTotalCostValue(), 5001);
+    }
+
+    @Test
+    public void testNonPrimitiveEstimatedTotalCost() {
+        InformedSearchNode<DummySearchNode> node1 = new InformedSearchNode<>(new DummySearchNode("a", 1.5, 0, false), DoubleCost.valueOf(2));
+        InformedSearchNode<DummySearchNode> node2 = new InformedSearchNode<>(new DummySearchNode("b", 1, 0, false), DoubleCost.valueOf(3));
+
+        assertEquals(node1.compareEstimatedTotalCostTo(DoubleCost.valueOf(3.5)), 0);
+        assertTrue(node1.compareEstimatedTotalCostTo(node2) < 0);
+    }
+
+    private static class PrimitiveNode implements SearchNode {
+        private final IntegerCost cost;
+
+        private PrimitiveNode(int cost) {
+            this.cost = IntegerCost.valueOf(cost);
+        }
+
+        @Override
+        public boolean isGoal() {
+            return false;
+        }
+
+        @Override
+        public IntegerCost getCost() {
+            return cost;
+        }
+    }
+}
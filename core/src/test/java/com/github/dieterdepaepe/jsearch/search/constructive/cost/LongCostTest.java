@@ -0,0 +1,37 @@
+package com.github.dieterdepaepe.jsearch.search.constructive.cost;
+
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.*;
+
+/**
+ * Test class for {@link com.github.dieterdepaepe.jsearch.search.constructive.cost.LongCost}.
+ * @author Dieter De Paepe
+ */
+public class LongCostTest {
+    @Test
+    public void testAdd() {
+        assertEquals(LongCost.valueOf(3).add(LongCost.valueOf(4)), LongCost.valueOf(7));
+        assertEquals(LongCost.valueOf(-5).add(LongCost.valueOf(3000)), LongCost.valueOf(2995));
+        assertEquals(LongCost.valueOf(Long.MAX_VALUE - 1).add(LongCost.valueOf(1)).longValue(), Long.MAX_VALUE);
+    }
+
+    @Test(expectedExceptions = ArithmeticException.class)
+    public void testAddOverflow() {
+        LongCost.valueOf(Long.MAX_VALUE).add(LongCost.valueOf(1));
+    }
+
+    @Test
+    public void testSmallValuesAreShared() {
+        assertSame(LongCost.valueOf(10).add(LongCost.valueOf(20)), LongCost.valueOf(30));
+        assertSame(IntegerCost.valueOf(10).add(IntegerCost.valueOf(20)), IntegerCost.valueOf(30));
+        assertEquals(LongCost.valueOf(1L << 40), LongCost.valueOf(1L << 40));
+    }
+
+    @Test
+    public void testCompareTo() {
+        assertTrue(LongCost.valueOf(-1).compareTo(LongCost.valueOf(1)) < 0);
+        assertTrue(LongCost.valueOf(Long.MAX_VALUE).compareTo(LongCost.valueOf(Long.MIN_VALUE)) > 0);
+        assertEquals(LongCost.valueOf(5000).compareTo(LongCost.valueOf(5000)), 0);
+    }
+}
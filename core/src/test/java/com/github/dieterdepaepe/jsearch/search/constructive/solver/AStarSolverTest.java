@@ -1,5 +1,6 @@
 package com.github.dieterdepaepe.jsearch.search.constructive.solver;
 
+import com.github.dieterdepaepe.jsearch.datastructure.priority.DaryHeap;
 import com.github.dieterdepaepe.jsearch.problem.dummy.DummyGenerator;
 import com.github.dieterdepaepe.jsearch.problem.dummy.DummyHeuristic;
 import com.github.dieterdepaepe.jsearch.problem.dummy.DummySearchNode;
@@ -25,6 +26,26 @@ public class AStarSolverTest extends BasicSolverTest {
 
     @Test
     public void testNodeExpansionOrder() {
+        checkNodeExpansionOrder(new AStarSolver());
+    }
+
+    @Test
+    public void testNodeExpansionOrderWithDaryHeap() {
+        checkNodeExpansionOrder(new AStarSolver(DaryHeap.factory(2)));
+    }
+
+    @Test
+    public void testNodeExpansionOrderWithLazyHeuristicEvaluation() {
+        checkNodeExpansionOrder(new AStarSolver(null, TieBreaker.ARBITRARY, HeuristicEvaluation.LAZY));
+        checkNodeExpansionOrder(new AStarSolver(DaryHeap.factory(2), TieBreaker.HIGHEST_COST_FIRST, HeuristicEvaluation.LAZY));
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testLazyHeuristicEvaluationRequiresKnownTieBreaker() {
+        new AStarSolver(null, TieBreaker.LOWEST_HEURISTIC_FIRST, HeuristicEvaluation.LAZY);
+    }
+
+    private void checkNodeExpansionOrder(AStarSolver solver) {
         // Search space for this test, nodes are ordered from cheap to expensive, goals nodes are written in capitals.
         //  ----a----
         //  |   |   b
@@ -59,7 +80,6 @@ public class AStarSolverTest extends BasicSolverTest {
         LoggingGenerator<DummySearchNode, Object> generator = new LoggingGenerator<>(new DummyGenerator<>(successors));
         DummyHeuristic heuristic = new DummyHeuristic();
         BasicManager<DummySearchNode> manager = new BasicManager<>(DoubleCost.valueOf(Double.MAX_VALUE));
-        AStarSolver solver = new AStarSolver();
 
         Solvers.solve(solver, manager, generator, heuristic, null, a);
 
@@ -1,19 +1,37 @@
 package com.github.dieterdepaepe.jsearch.search.constructive.solver;
 
+import com.github.dieterdepaepe.jsearch.datastructure.priority.DaryHeap;
+import com.github.dieterdepaepe.jsearch.datastructure.priority.FibonacciHeap;
+import com.github.dieterdepaepe.jsearch.datastructure.priority.PriorityQueue;
+import com.github.dieterdepaepe.jsearch.datastructure.priority.PriorityQueueFactory;
 import com.github.dieterdepaepe.jsearch.problem.dummy.DummyGenerator;
 import com.github.dieterdepaepe.jsearch.problem.dummy.DummyHeuristic;
 import com.github.dieterdepaepe.jsearch.problem.dummy.DummySearchNode;
+import com.github.dieterdepaepe.jsearch.problem.grid.Grid;
+import com.github.dieterdepaepe.jsearch.problem.grid.GridGenerator;
+import com.github.dieterdepaepe.jsearch.problem.grid.GridHeuristic;
+import com.github.dieterdepaepe.jsearch.problem.grid.GridSearchNode;
+import com.github.dieterdepaepe.jsearch.search.constructive.Heuristic;
+import com.github.dieterdepaepe.jsearch.search.constructive.InformedSearchNode;
 import com.github.dieterdepaepe.jsearch.search.constructive.Solver;
 import com.github.dieterdepaepe.jsearch.search.constructive.Solvers;
 import com.github.dieterdepaepe.jsearch.search.constructive.StateSearchNode;
 import com.github.dieterdepaepe.jsearch.search.constructive.cost.DoubleCost;
+import com.github.dieterdepaepe.jsearch.search.constructive.cost.IntegerCost;
 import com.github.dieterdepaepe.jsearch.search.constructive.dev.LoggingGenerator;
 import com.github.dieterdepaepe.jsearch.search.constructive.util.BasicManager;
 import com.google.common.collect.ArrayListMultimap;
 import com.google.common.collect.ListMultimap;
+import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
 
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertTrue;
@@ -80,8 +98,178 @@ public class AStarStateSolverTest extends BasicSolverTest {
         assertTrue(manager.getSolution().isOptimal());
     }
 
+    @Test
+    public void testCheaperNodeReplacesQueuedNode() {
+        // a has 2 successors: x1 (cost 5) and y (cost 1). y leads to x2 (cost 3), which shares its state with x1.
+        DummySearchNode a = new DummySearchNode("a", 0, 0, false, "a");
+        DummySearchNode x1 = new DummySearchNode("x1", 5, 0, true, "x");
+        DummySearchNode y = new DummySearchNode("y", 1, 0, false, "y");
+        DummySearchNode x2 = new DummySearchNode("x2", 3, 0, true, "x");
+
+        ListMultimap<DummySearchNode, DummySearchNode> successors = ArrayListMultimap.create();
+        successors.put(a, x1);
+        successors.put(a, y);
+        successors.put(y, x2);
+
+        final List<PriorityQueue<?, ?>> createdQueues = new ArrayList<>();
+        PriorityQueueFactory recordingFactory = new PriorityQueueFactory() {
+            @Override
+            public <K, V> PriorityQueue<K, V> create(Comparator<? super K> keyComparator) {
+                PriorityQueue<K, V> queue = DaryHeap.create(keyComparator);
+                createdQueues.add(queue);
+                return queue;
+            }
+        };
+
+        LoggingGenerator<DummySearchNode, Object> generator = new LoggingGenerator<>(new DummyGenerator<>(successors));
+        BasicManager<DummySearchNode> manager = new BasicManager<>(DoubleCost.valueOf(Double.MAX_VALUE));
+        Solvers.solve(new AStarStateSolver(recordingFactory), manager, generator, new DummyHeuristic(), null, a);
+
+        assertEquals(generator.getExpandedNodes(), Arrays.asList(a, y, x2));
+        assertEquals(manager.getSolution().getNode(), x2);
+        // The queued x1 was replaced by x2 rather than left behind as a stale entry.
+        assertEquals(createdQueues.size(), 1);
+        assertTrue(createdQueues.get(0).isEmpty());
+    }
+
+    @DataProvider(name = "tieBreakers")
+    public Object[][] tieBreakers() {
+        List<Object[]> result = new ArrayList<>();
+        for (TieBreaker tieBreaker : TieBreaker.values()) {
+            result.add(new Object[]{null, tieBreaker});
+            result.add(new Object[]{DaryHeap.factory(4), tieBreaker});
+        }
+        return result.toArray(new Object[result.size()][]);
+    }
+
+    @Test(dataProvider = "tieBreakers")
+    public void testTieBreakingKeepsOptimality(PriorityQueueFactory queueFactory, TieBreaker tieBreaker) {
+        Grid grid = Grid.random(40, 40, 9, 0);
+        GridGenerator generator = new GridGenerator();
+        GridHeuristic heuristic = new GridHeuristic();
+
+        BasicManager<GridSearchNode> referenceManager = new BasicManager<>(IntegerCost.valueOf(Integer.MAX_VALUE));
+        Solvers.solve(new AStarStateSolver(FibonacciHeap.factory()), referenceManager, generator, heuristic, grid, generator.createStartState(0, 0, grid));
+
+        BasicManager<GridSearchNode> manager = new BasicManager<>(IntegerCost.valueOf(Integer.MAX_VALUE));
+        Solvers.solve(new AStarStateSolver(queueFactory, tieBreaker), manager, generator, heuristic, grid, generator.createStartState(0, 0, grid));
+
+        assertEquals(manager.getSolution().getNode().getCost(), referenceManager.getSolution().getNode().getCost());
+        assertTrue(manager.getSolution().isOptimal());
+    }
+
+    @Test(dataProvider = "tieBreakers")
+    public void testTieBreakingOnPlateau(PriorityQueueFactory queueFactory, TieBreaker tieBreaker) {
+        // In a grid with uniform costs, all nodes on a shortest path have the same total estimated cost.
+        Grid grid = Grid.random(30, 30, 1, 0);
+        LoggingGenerator<GridSearchNode, Grid> generator = new LoggingGenerator<>(new GridGenerator());
+        BasicManager<GridSearchNode> manager = new BasicManager<>(IntegerCost.valueOf(Integer.MAX_VALUE));
+        Solvers.solve(new AStarStateSolver(queueFactory, tieBreaker), manager, generator, new GridHeuristic(), grid, new GridGenerator().createStartState(0, 0, grid));
+
+        assertEquals(manager.getSolution().getNode().getCost(), IntegerCost.valueOf(58));
+        if (tieBreaker != TieBreaker.ARBITRARY)
+            assertEquals(generator.getExpandedNodes().size(), 59);
+    }
+
+    @DataProvider(name = "lazyTieBreakers")
+    public Object[][] lazyTieBreakers() {
+        return new Object[][]{
+                {null, TieBreaker.ARBITRARY},
+                {null, TieBreaker.HIGHEST_COST_FIRST},
+                {DaryHeap.factory(4), TieBreaker.ARBITRARY},
+                {DaryHeap.factory(4), TieBreaker.HIGHEST_COST_FIRST}};
+    }
+
+    @Test(dataProvider = "lazyTieBreakers")
+    public void testLazyHeuristicEvaluation(PriorityQueueFactory queueFactory, TieBreaker tieBreaker) {
+        Grid grid = Grid.random(40, 40, 9, 0);
+        GridGenerator generator = new GridGenerator();
+        CountingHeuristic eagerHeuristic = new CountingHeuristic();
+        CountingHeuristic lazyHeuristic = new CountingHeuristic();
+
+        BasicManager<GridSearchNode> referenceManager = new BasicManager<>(IntegerCost.valueOf(Integer.MAX_VALUE));
+        Solvers.solve(new AStarStateSolver(queueFactory, tieBreaker), referenceManager, generator, eagerHeuristic, grid, generator.createStartState(0, 0, grid));
+
+        BasicManager<GridSearchNode> manager = new BasicManager<>(IntegerCost.valueOf(Integer.MAX_VALUE));
+        Solvers.solve(new AStarStateSolver(queueFactory, tieBreaker, HashClosedList.factory(), HeuristicEvaluation.LAZY),
+                manager, generator, lazyHeuristic, grid, generator.createStartState(0, 0, grid));
+
+        assertEquals(manager.getSolution().getNode().getCost(), referenceManager.getSolution().getNode().getCost());
+        assertTrue(manager.getSolution().isOptimal());
+        assertTrue(lazyHeuristic.evaluations < eagerHeuristic.evaluations);
+    }
+
+    @Test
+    public void testLazyHeuristicEvaluationWithGeneratorUsingEstimates() {
+        Grid grid = Grid.random(40, 40, 9, 0);
+        // A generator that inspects the estimates of the nodes it generates
+        GridGenerator generator = new GridGenerator() {
+            @Override
+            public List<InformedSearchNode<GridSearchNode>> generateSuccessorNodes(GridSearchNode node, Grid environment, Heuristic<? super GridSearchNode, ? super Grid> heuristic) {
+                List<InformedSearchNode<GridSearchNode>> result = super.generateSuccessorNodes(node, environment, heuristic);
+                for (InformedSearchNode<GridSearchNode> successor : result)
+                    assertTrue(successor.getEstimatedTotalCost().compareTo(successor.getSearchNode().getCost()) >= 0);
+                return result;
+            }
+        };
+        GridHeuristic heuristic = new GridHeuristic();
+
+        BasicManager<GridSearchNode> referenceManager = new BasicManager<>(IntegerCost.valueOf(Integer.MAX_VALUE));
+        Solvers.solve(new AStarStateSolver(), referenceManager, generator, heuristic, grid, generator.createStartState(0, 0, grid));
+
+        BasicManager<GridSearchNode> manager = new BasicManager<>(IntegerCost.valueOf(Integer.MAX_VALUE));
+        Solvers.solve(new AStarStateSolver(null, TieBreaker.ARBITRARY, HashClosedList.factory(), HeuristicEvaluation.LAZY),
+                manager, generator, heuristic, grid, generator.createStartState(0, 0, grid));
+
+        assertEquals(manager.getSolution().getNode().getCost(), referenceManager.getSolution().getNode().getCost());
+        assertTrue(manager.getSolution().isOptimal());
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testLazyHeuristicEvaluationRequiresKnownTieBreaker() {
+        new AStarStateSolver(null, TieBreaker.LOWEST_HEURISTIC_FIRST, HashClosedList.factory(), HeuristicEvaluation.LAZY);
+    }
+
+    @Test
+    public void testOffHeapClosedList() throws IOException {
+        Grid grid = Grid.random(40, 40, 9, 0);
+        GridGenerator generator = new GridGenerator();
+        GridHeuristic heuristic = new GridHeuristic();
+
+        BasicManager<GridSearchNode> referenceManager = new BasicManager<>(IntegerCost.valueOf(Integer.MAX_VALUE));
+        Solvers.solve(new AStarStateSolver(), referenceManager, generator, heuristic, grid, generator.createStartState(0, 0, grid));
+
+        File directory = Files.createTempDirectory("closed-list").toFile();
+        try {
+            List<ClosedListFactory> factories = Arrays.asList(
+                    OffHeapClosedList.factory(GridSearchNode.ENCODED_STATE_SIZE, 1600),
+                    OffHeapClosedList.mappedFactory(directory, GridSearchNode.ENCODED_STATE_SIZE, 1600));
+            for (ClosedListFactory factory : factories) {
+                BasicManager<GridSearchNode> manager = new BasicManager<>(IntegerCost.valueOf(Integer.MAX_VALUE));
+                Solvers.solve(new AStarStateSolver(null, TieBreaker.ARBITRARY, factory), manager, generator, heuristic, grid, generator.createStartState(0, 0, grid));
+
+                assertEquals(manager.getSolution().getNode().getCost(), referenceManager.getSolution().getNode().getCost());
+                assertTrue(manager.getSolution().isOptimal());
+            }
+        } finally {
+            for (File file : directory.listFiles())
+                file.delete();
+            directory.delete();
+        }
+    }
+
     @Override
     public Solver<StateSearchNode, Object> getBasicTestSolver() {
         return new AStarStateSolver();
     }
-}
\ No newline at end of file
+
+    private static class CountingHeuristic extends GridHeuristic {
+        private int evaluations;
+
+        @Override
+        public IntegerCost estimateRemainingCost(GridSearchNode node, Grid environment) {
+            evaluations++;
+            return super.estimateRemainingCost(node, environment);
+        }
+    }
+}
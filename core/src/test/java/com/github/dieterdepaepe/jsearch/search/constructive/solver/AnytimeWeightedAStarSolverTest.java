@@ -0,0 +1,84 @@
+package com.github.dieterdepaepe.jsearch.search.constructive.solver;
+
+import com.github.dieterdepaepe.jsearch.datastructure.priority.DaryHeap;
+import com.github.dieterdepaepe.jsearch.problem.grid.Grid;
+import com.github.dieterdepaepe.jsearch.problem.grid.GridGenerator;
+import com.github.dieterdepaepe.jsearch.problem.grid.GridHeuristic;
+import com.github.dieterdepaepe.jsearch.problem.grid.GridSearchNode;
+import com.github.dieterdepaepe.jsearch.search.constructive.Solution;
+import com.github.dieterdepaepe.jsearch.search.constructive.Solver;
+import com.github.dieterdepaepe.jsearch.search.constructive.Solvers;
+import com.github.dieterdepaepe.jsearch.search.constructive.StateSearchNode;
+import com.github.dieterdepaepe.jsearch.search.constructive.cost.IntegerCost;
+import com.github.dieterdepaepe.jsearch.search.constructive.util.BasicManager;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.testng.Assert.*;
+
+/**
+ * Test class for {@link com.github.dieterdepaepe.jsearch.search.constructive.solver.AnytimeWeightedAStarSolver}.
+ * @author Dieter De Paepe
+ */
+public class AnytimeWeightedAStarSolverTest extends BasicSolverTest {
+    @Override
+    public Solver<StateSearchNode, Object> getBasicTestSolver() {
+        return new AnytimeWeightedAStarSolver(2);
+    }
+
+    @DataProvider(name = "weights")
+    public Object[][] weights() {
+        return new Object[][]{{1.0}, {1.5}, {3.0}, {10.0}};
+    }
+
+    @Test(dataProvider = "weights")
+    public void testFindsOptimalSolution(double weight) {
+        Grid grid = Grid.random(40, 40, 9, 0);
+        GridGenerator generator = new GridGenerator();
+        GridHeuristic heuristic = new GridHeuristic();
+
+        BasicManager<GridSearchNode> referenceManager = new BasicManager<>(IntegerCost.valueOf(Integer.MAX_VALUE));
+        Solvers.solve(new AStarStateSolver(), referenceManager, generator, heuristic, grid, generator.createStartState(0, 0, grid));
+
+        BasicManager<GridSearchNode> manager = new BasicManager<>(IntegerCost.valueOf(Integer.MAX_VALUE));
+        Solvers.solve(new AnytimeWeightedAStarSolver(weight, DaryHeap.factory(4)), manager, generator, heuristic, grid, generator.createStartState(0, 0, grid));
+
+        assertEquals(manager.getSolution().getNode().getCost(), referenceManager.getSolution().getNode().getCost());
+        assertTrue(manager.getSolution().isOptimal());
+    }
+
+    @Test
+    public void testRegistersImprovingSolutions() {
+        Grid grid = Grid.random(40, 40, 9, 0);
+        GridGenerator generator = new GridGenerator();
+        final List<Solution<? extends GridSearchNode>> solutions = new ArrayList<>();
+        BasicManager<GridSearchNode> manager = new BasicManager<GridSearchNode>(IntegerCost.valueOf(Integer.MAX_VALUE)) {
+            @Override
+            public void registerSolution(Solution<? extends GridSearchNode> solution) {
+                solutions.add(solution);
+                super.registerSolution(solution);
+            }
+        };
+
+        Solvers.solve(new AnytimeWeightedAStarSolver(5), manager, generator, new GridHeuristic(), grid, generator.createStartState(0, 0, grid));
+
+        assertTrue(solutions.size() > 2);
+        for (int i = 1; i < solutions.size() - 1; i++)
+            assertTrue(solutions.get(i).getNode().getCost().compareTo(solutions.get(i - 1).getNode().getCost()) < 0);
+        for (Solution<? extends GridSearchNode> solution : solutions.subList(0, solutions.size() - 1))
+            assertFalse(solution.isOptimal());
+
+        // The final solution is the last improvement, now marked as optimal
+        Solution<? extends GridSearchNode> lastSolution = solutions.get(solutions.size() - 1);
+        assertTrue(lastSolution.isOptimal());
+        assertSame(lastSolution.getNode(), solutions.get(solutions.size() - 2).getNode());
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testWeightBelowOne() {
+        new AnytimeWeightedAStarSolver(0.5);
+    }
+}
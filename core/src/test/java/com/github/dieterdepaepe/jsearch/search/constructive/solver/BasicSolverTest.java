@@ -8,7 +8,11 @@ import com.github.dieterdepaepe.jsearch.search.constructive.Solver;
 import com.github.dieterdepaepe.jsearch.search.constructive.Solvers;
 import com.github.dieterdepaepe.jsearch.search.constructive.StateSearchNode;
 import com.github.dieterdepaepe.jsearch.search.constructive.cost.DoubleCost;
+import com.github.dieterdepaepe.jsearch.search.constructive.dev.LoggingGenerator;
 import com.github.dieterdepaepe.jsearch.search.constructive.util.BasicManager;
+import com.github.dieterdepaepe.jsearch.search.constructive.util.MonitoringManager;
+import com.github.dieterdepaepe.jsearch.search.constructive.util.SearchStatistics;
+import com.google.common.base.Ticker;
 import com.google.common.collect.ArrayListMultimap;
 import com.google.common.collect.ListMultimap;
 import org.testng.annotations.Test;
@@ -16,6 +20,7 @@ import org.testng.annotations.Test;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import static org.testng.Assert.*;
 
@@ -114,4 +119,36 @@ public abstract class BasicSolverTest {
         assertEquals(solution.getNode(), childState2);
         assertTrue(solution.isOptimal());
     }
+
+    @Test
+    public void testSearchListenerIsInformed() {
+        DummySearchNode startState1 = new DummySearchNode("a", 2.0, 0, false);
+        DummySearchNode startState2 = new DummySearchNode("b", 1.0, 0, false);
+        DummySearchNode childState1 = new DummySearchNode("c", 3, 0, false);
+        DummySearchNode childState2 = new DummySearchNode("d", 4, 0, true);
+
+        ListMultimap<DummySearchNode, DummySearchNode> stateChildren = ArrayListMultimap.create();
+        stateChildren.put(startState2, childState1);
+        stateChildren.put(startState2, childState2);
+
+        Solver<? super StateSearchNode, Object> solver = getBasicTestSolver();
+        LoggingGenerator<DummySearchNode, Object> generator = new LoggingGenerator<>(new DummyGenerator<>(stateChildren));
+        DummyHeuristic heuristic = new DummyHeuristic();
+        BasicManager<DummySearchNode> manager = new BasicManager<>(DoubleCost.valueOf(Double.MAX_VALUE));
+        SearchStatistics statistics = new SearchStatistics(new Ticker() {
+            private long time = 0;
+
+            @Override
+            public long read() {
+                return time++;
+            }
+        });
+
+        Solvers.solve(solver, new MonitoringManager<>(manager, statistics), generator, heuristic, null, startState1, startState2);
+
+        assertEquals(manager.getSolution().getNode(), childState2);
+        assertEquals(statistics.getNodesExpanded(), generator.getExpandedNodes().size());
+        assertTrue(statistics.getNodesGenerated() >= 2);
+        assertTrue(statistics.getSearchTime(TimeUnit.NANOSECONDS) > 0);
+    }
 }
@@ -0,0 +1,249 @@
+package com.github.dieterdepaepe.jsearch.search.constructive.solver;
+
+import com.github.dieterdepaepe.jsearch.problem.grid.Grid;
+import com.github.dieterdepaepe.jsearch.problem.grid.GridGenerator;
+import com.github.dieterdepaepe.jsearch.problem.grid.GridHeuristic;
+import com.github.dieterdepaepe.jsearch.problem.grid.GridSearchNode;
+import com.github.dieterdepaepe.jsearch.problem.grid.GridSearchNodeSerializer;
+import com.github.dieterdepaepe.jsearch.search.constructive.Cost;
+import com.github.dieterdepaepe.jsearch.search.constructive.Solvers;
+import com.github.dieterdepaepe.jsearch.search.constructive.cost.IntegerCost;
+import com.github.dieterdepaepe.jsearch.search.constructive.util.BasicManager;
+import com.github.dieterdepaepe.jsearch.search.constructive.util.MonitoringManager;
+import com.github.dieterdepaepe.jsearch.search.constructive.util.SearchStatistics;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.Collections;
+
+import static org.testng.Assert.*;
+
+/**
+ * Test class for {@link CheckpointingAStarSolver}.
+ * @author Dieter De Paepe
+ */
+public class CheckpointingAStarSolverTest {
+    private File journalFile;
+
+    @BeforeMethod
+    public void createJournalFile() throws IOException {
+        journalFile = File.createTempFile("journal", ".bin");
+    }
+
+    @AfterMethod
+    public void deleteJournalFile() {
+        journalFile.delete();
+    }
+
+    @Test
+    public void testFindsOptimalSolution() {
+        Grid grid = Grid.random(40, 40, 9, 0);
+        GridGenerator generator = new GridGenerator();
+        GridHeuristic heuristic = new GridHeuristic();
+
+        BasicManager<GridSearchNode> manager = new BasicManager<>(IntegerCost.valueOf(Integer.MAX_VALUE));
+        Solvers.solve(createSolver(), manager, generator, heuristic, grid, generator.createStartState(0, 0, grid));
+
+        assertTrue(manager.getSolution().isOptimal());
+        assertEquals(manager.getSolution().getNode().getCost(), getOptimalCost(grid));
+        assertTrue(journalFile.length() > 0);
+    }
+
+    @Test
+    public void testResumesStoppedSearch() {
+        Grid grid = Grid.random(40, 40, 9, 0);
+        GridGenerator generator = new GridGenerator();
+        GridHeuristic heuristic = new GridHeuristic();
+
+        SearchStatistics fullStatistics = new SearchStatistics();
+        BasicManager<GridSearchNode> fullManager = new BasicManager<>(IntegerCost.valueOf(Integer.MAX_VALUE));
+        Solvers.solve(new AStarStateSolver(), new MonitoringManager<>(fullManager, fullStatistics), generator, heuristic, grid, generator.createStartState(0, 0, grid));
+
+        StoppingManager stoppedManager = new StoppingManager(100, false);
+        Solvers.solve(createSolver(), stoppedManager, generator, heuristic, grid, generator.createStartState(0, 0, grid));
+        assertNull(stoppedManager.getSolution());
+
+        SearchStatistics statistics = new SearchStatistics();
+        BasicManager<GridSearchNode> manager = new BasicManager<>(IntegerCost.valueOf(Integer.MAX_VALUE));
+        Solvers.solve(createSolver(), new MonitoringManager<>(manager, statistics), generator, heuristic, grid, Collections.<GridSearchNode>emptyList());
+
+        assertTrue(manager.getSolution().isOptimal());
+        assertEquals(manager.getSolution().getNode().getCost(), fullManager.getSolution().getNode().getCost());
+        assertTrue(statistics.getNodesExpanded() < fullStatistics.getNodesExpanded());
+    }
+
+    @Test
+    public void testResumesCrashedSearchFromLastCheckpoint() throws IOException {
+        Grid grid = Grid.random(30, 50, 20, 1);
+        GridGenerator generator = new GridGenerator();
+        GridHeuristic heuristic = new GridHeuristic();
+
+        try {
+            Solvers.solve(createSolver(), new StoppingManager(105, true), generator, heuristic, grid, generator.createStartState(0, 0, grid));
+            fail("Search should have crashed");
+        } catch (IllegalStateException e) {
+            // Expected
+        }
+
+        // Simulate a partially written record
+        try (FileOutputStream output = new FileOutputStream(journalFile, true)) {
+            output.write(new byte[]{JournalWriter.OPEN_RECORD, 0, 0});
+        }
+
+        BasicManager<GridSearchNode> manager = new BasicManager<>(IntegerCost.valueOf(Integer.MAX_VALUE));
+        Solvers.solve(createSolver(), manager, generator, heuristic, grid, Collections.<GridSearchNode>emptyList());
+
+        assertTrue(manager.getSolution().isOptimal());
+        assertEquals(manager.getSolution().getNode().getCost(), getOptimalCost(grid));
+    }
+
+    @Test
+    public void testResumesJournalWithZeroedTail() throws IOException {
+        Grid grid = Grid.random(30, 50, 20, 1);
+        GridGenerator generator = new GridGenerator();
+        GridHeuristic heuristic = new GridHeuristic();
+
+        Solvers.solve(createSolver(), new StoppingManager(105, false), generator, heuristic, grid, generator.createStartState(0, 0, grid));
+
+        // Simulate a file system that extended the file before the crash, but did not write the data
+        try (FileOutputStream output = new FileOutputStream(journalFile, true)) {
+            output.write(new byte[4096]);
+        }
+
+        BasicManager<GridSearchNode> manager = new BasicManager<>(IntegerCost.valueOf(Integer.MAX_VALUE));
+        Solvers.solve(createSolver(), manager, generator, heuristic, grid, Collections.<GridSearchNode>emptyList());
+
+        assertTrue(manager.getSolution().isOptimal());
+        assertEquals(manager.getSolution().getNode().getCost(), getOptimalCost(grid));
+    }
+
+    @Test
+    public void testResumesFromEarlierCheckpointIfLastIsDamaged() throws IOException {
+        Grid grid = Grid.random(30, 50, 20, 1);
+        GridGenerator generator = new GridGenerator();
+        GridHeuristic heuristic = new GridHeuristic();
+
+        Solvers.solve(createSolver(), new StoppingManager(105, false), generator, heuristic, grid, generator.createStartState(0, 0, grid));
+
+        // Damage the checksum of the final checkpoint
+        try (RandomAccessFile file = new RandomAccessFile(journalFile, "rw")) {
+            file.seek(file.length() - 1);
+            int lastByte = file.read();
+            file.seek(file.length() - 1);
+            file.write(lastByte ^ 0xFF);
+        }
+
+        BasicManager<GridSearchNode> manager = new BasicManager<>(IntegerCost.valueOf(Integer.MAX_VALUE));
+        Solvers.solve(createSolver(), manager, generator, heuristic, grid, Collections.<GridSearchNode>emptyList());
+
+        assertTrue(manager.getSolution().isOptimal());
+        assertEquals(manager.getSolution().getNode().getCost(), getOptimalCost(grid));
+    }
+
+    @Test
+    public void testCompactsJournal() {
+        Grid grid = Grid.random(40, 40, 9, 0);
+        GridGenerator generator = new GridGenerator();
+        GridHeuristic heuristic = new GridHeuristic();
+
+        Solvers.solve(createSolver(), new BasicManager<GridSearchNode>(IntegerCost.valueOf(Integer.MAX_VALUE)), generator, heuristic, grid, generator.createStartState(0, 0, grid));
+        long uncompactedLength = journalFile.length();
+        journalFile.delete();
+
+        StoppingManager stoppedManager = new StoppingManager(500, false);
+        Solvers.solve(createCompactingSolver(), stoppedManager, generator, heuristic, grid, generator.createStartState(0, 0, grid));
+        assertNull(stoppedManager.getSolution());
+
+        BasicManager<GridSearchNode> manager = new BasicManager<>(IntegerCost.valueOf(Integer.MAX_VALUE));
+        Solvers.solve(createCompactingSolver(), manager, generator, heuristic, grid, Collections.<GridSearchNode>emptyList());
+
+        assertTrue(manager.getSolution().isOptimal());
+        assertEquals(manager.getSolution().getNode().getCost(), getOptimalCost(grid));
+        assertTrue(journalFile.length() < uncompactedLength);
+        File[] leftovers = journalFile.getAbsoluteFile().getParentFile().listFiles();
+        for (File file : leftovers)
+            assertFalse(file.getName().startsWith(journalFile.getName()) && file.getName().endsWith(".tmp"));
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testNegativeCompactionThreshold() {
+        new CheckpointingAStarSolver<>(new GridSearchNodeSerializer(), GridSearchNode.ENCODED_STATE_SIZE, journalFile, 10, -1);
+    }
+
+    @Test
+    public void testResumingFinishedSearchRegistersSolution() {
+        Grid grid = Grid.random(20, 20, 9, 0);
+        GridGenerator generator = new GridGenerator();
+        GridHeuristic heuristic = new GridHeuristic();
+
+        BasicManager<GridSearchNode> firstManager = new BasicManager<>(IntegerCost.valueOf(Integer.MAX_VALUE));
+        Solvers.solve(createSolver(), firstManager, generator, heuristic, grid, generator.createStartState(0, 0, grid));
+
+        SearchStatistics statistics = new SearchStatistics();
+        BasicManager<GridSearchNode> manager = new BasicManager<>(IntegerCost.valueOf(Integer.MAX_VALUE));
+        Solvers.solve(createSolver(), new MonitoringManager<>(manager, statistics), generator, heuristic, grid, Collections.<GridSearchNode>emptyList());
+
+        assertTrue(manager.getSolution().isOptimal());
+        assertEquals(manager.getSolution().getNode().getCost(), firstManager.getSolution().getNode().getCost());
+        assertEquals(statistics.getNodesExpanded(), 0);
+    }
+
+    @Test
+    public void testResumedSearchKeepsCostBound() {
+        Grid grid = Grid.random(20, 20, 9, 0);
+        GridGenerator generator = new GridGenerator();
+        GridHeuristic heuristic = new GridHeuristic();
+        IntegerCost optimalCost = (IntegerCost) getOptimalCost(grid);
+
+        BasicManager<GridSearchNode> boundedManager = new BasicManager<>(IntegerCost.valueOf(optimalCost.getValue() - 1));
+        Solvers.solve(createSolver(), boundedManager, generator, heuristic, grid, generator.createStartState(0, 0, grid));
+        assertNull(boundedManager.getSolution());
+
+        BasicManager<GridSearchNode> manager = new BasicManager<>(IntegerCost.valueOf(Integer.MAX_VALUE));
+        Solvers.solve(createSolver(), manager, generator, heuristic, grid, Collections.<GridSearchNode>emptyList());
+        assertNull(manager.getSolution());
+    }
+
+    private CheckpointingAStarSolver<GridSearchNode> createSolver() {
+        return new CheckpointingAStarSolver<>(new GridSearchNodeSerializer(), GridSearchNode.ENCODED_STATE_SIZE, journalFile, 10);
+    }
+
+    private CheckpointingAStarSolver<GridSearchNode> createCompactingSolver() {
+        return new CheckpointingAStarSolver<>(new GridSearchNodeSerializer(), GridSearchNode.ENCODED_STATE_SIZE, journalFile, 10, 1);
+    }
+
+    private Cost getOptimalCost(Grid grid) {
+        GridGenerator generator = new GridGenerator();
+        BasicManager<GridSearchNode> manager = new BasicManager<>(IntegerCost.valueOf(Integer.MAX_VALUE));
+        Solvers.solve(new AStarStateSolver(), manager, generator, new GridHeuristic(), grid, generator.createStartState(0, 0, grid));
+        return manager.getSolution().getNode().getCost();
+    }
+
+    /**
+     * A manager that stops the search, or makes it fail, after a number of calls to {@link #continueSearch()}.
+     */
+    private static class StoppingManager extends BasicManager<GridSearchNode> {
+        private int remainingCalls;
+        private final boolean fail;
+
+        private StoppingManager(int calls, boolean fail) {
+            super(IntegerCost.valueOf(Integer.MAX_VALUE));
+            this.remainingCalls = calls;
+            this.fail = fail;
+        }
+
+        @Override
+        public boolean continueSearch() {
+            if (remainingCalls-- > 0)
+                return super.continueSearch();
+            if (fail)
+                throw new IllegalStateException("Simulated crash");
+            return false;
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.github.dieterdepaepe.jsearch.search.constructive.solver;
+
+import com.github.dieterdepaepe.jsearch.problem.dummy.DummyGenerator;
+import com.github.dieterdepaepe.jsearch.problem.dummy.DummyHeuristic;
+import com.github.dieterdepaepe.jsearch.problem.dummy.DummySearchNode;
+import com.github.dieterdepaepe.jsearch.problem.grid.Grid;
+import com.github.dieterdepaepe.jsearch.problem.grid.GridGenerator;
+import com.github.dieterdepaepe.jsearch.problem.grid.GridHeuristic;
+import com.github.dieterdepaepe.jsearch.problem.grid.GridSearchNode;
+import com.github.dieterdepaepe.jsearch.search.constructive.Heuristic;
+import com.github.dieterdepaepe.jsearch.search.constructive.InformedSearchNode;
+import com.github.dieterdepaepe.jsearch.search.constructive.SearchNodeGenerator;
+import com.github.dieterdepaepe.jsearch.search.constructive.Solver;
+import com.github.dieterdepaepe.jsearch.search.constructive.Solvers;
+import com.github.dieterdepaepe.jsearch.search.constructive.StateSearchNode;
+import com.github.dieterdepaepe.jsearch.search.constructive.cost.DoubleCost;
+import com.github.dieterdepaepe.jsearch.search.constructive.cost.IntegerCost;
+import com.github.dieterdepaepe.jsearch.search.constructive.util.BasicManager;
+import com.github.dieterdepaepe.jsearch.search.constructive.util.MonitoringManager;
+import com.github.dieterdepaepe.jsearch.search.constructive.util.SearchStatistics;
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.ListMultimap;
+import com.google.common.util.concurrent.Uninterruptibles;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Test class for {@link com.github.dieterdepaepe.jsearch.search.constructive.solver.HDAStarSolver}.
+ * @author Dieter De Paepe
+ */
+public class HDAStarSolverTest extends BasicSolverTest {
+    @Override
+    public Solver<StateSearchNode, Object> getBasicTestSolver() {
+        return new HDAStarSolver(3);
+    }
+
+    @Test
+    public void testDropsMoreExpensiveDuplicateStates() {
+        // Same search space as AStarStateSolverTest.testNodeExpansionOrder, the cheapest path reaches d through e.
+        DummySearchNode a1 = new DummySearchNode("a1", 0, 0, false, "a");
+        DummySearchNode a2 = new DummySearchNode("a2", 4, 0, false, "a");
+        DummySearchNode b1 = new DummySearchNode("b1", 5, 0, false, "b");
+        DummySearchNode b2 = new DummySearchNode("b2", 4, 0, false, "b");
+        DummySearchNode c1 = new DummySearchNode("c1", 7, 0, false, "c");
+        DummySearchNode c2 = new DummySearchNode("c2", 6, 0, false, "c");
+        DummySearchNode d1 = new DummySearchNode("d1", 9, 0, true, "d");
+        DummySearchNode d2 = new DummySearchNode("d2", 8, 0, true, "d");
+        DummySearchNode e = new DummySearchNode("e", 2, 5.5, false, "e");
+
+        ListMultimap<DummySearchNode, DummySearchNode> successors = ArrayListMultimap.create();
+        successors.put(a1, e);
+        successors.put(a1, b1);
+        successors.put(e, a2);
+        successors.put(e, b2);
+        successors.put(b2, c2);
+        successors.put(c2, d2);
+        successors.put(b1, c1);
+        successors.put(c1, d1);
+
+        BasicManager<DummySearchNode> manager = new BasicManager<>(DoubleCost.valueOf(Double.MAX_VALUE));
+        Solvers.solve(new HDAStarSolver(2), manager, new DummyGenerator<>(successors), new DummyHeuristic(), null, a1);
+
+        assertEquals(manager.getSolution().getNode(), d2);
+        assertTrue(manager.getSolution().isOptimal());
+    }
+
+    @Test
+    public void testFindsSameCostAsSequentialSolver() {
+        Grid grid = Grid.random(60, 60, 9, 0);
+        GridGenerator generator = new GridGenerator();
+        GridHeuristic heuristic = new GridHeuristic();
+
+        BasicManager<GridSearchNode> sequentialManager = new BasicManager<>(IntegerCost.valueOf(Integer.MAX_VALUE));
+        Solvers.solve(new AStarStateSolver(), sequentialManager, generator, heuristic, grid, generator.createStartState(0, 0, grid));
+
+        for (int threads = 1; threads <= 4; threads++) {
+            BasicManager<GridSearchNode> manager = new BasicManager<>(IntegerCost.valueOf(Integer.MAX_VALUE));
+            Solvers.solve(new HDAStarSolver(threads), manager, generator, heuristic, grid, generator.createStartState(0, 0, grid));
+
+            assertEquals(manager.getSolution().getNode().getCost(), sequentialManager.getSolution().getNode().getCost());
+            assertTrue(manager.getSolution().isOptimal());
+        }
+    }
+
+    @Test
+    public void testReportsOpenListSizeOfAllWorkers() {
+        // A root with many dead end children, spread over the workers. Expanding a child is slow, so all workers
+        // have received their children by the time the first expansion of a child is reported.
+        final DummySearchNode root = new DummySearchNode("root", 0, 0, false);
+        ListMultimap<DummySearchNode, DummySearchNode> successors = ArrayListMultimap.create();
+        int childCount = 40;
+        for (int i = 0; i < childCount; i++)
+            successors.put(root, new DummySearchNode("child" + i, 1, 0, false));
+        final DummyGenerator<DummySearchNode> generator = new DummyGenerator<>(successors);
+        SearchNodeGenerator<DummySearchNode, Object> slowGenerator = new SearchNodeGenerator<DummySearchNode, Object>() {
+            @Override
+            public Iterable<InformedSearchNode<DummySearchNode>> generateSuccessorNodes(DummySearchNode node, Object environment, Heuristic<? super DummySearchNode, ? super Object> heuristic) {
+                if (node != root)
+                    Uninterruptibles.sleepUninterruptibly(20, TimeUnit.MILLISECONDS);
+                return generator.generateSuccessorNodes(node, environment, heuristic);
+            }
+        };
+
+        SearchStatistics statistics = new SearchStatistics();
+        BasicManager<DummySearchNode> manager = new BasicManager<>(DoubleCost.valueOf(Double.MAX_VALUE));
+        Solvers.solve(new HDAStarSolver(4), new MonitoringManager<>(manager, statistics), slowGenerator, new DummyHeuristic(), null, root);
+
+        // The heap of a single worker only holds about a quarter of the children
+        assertTrue(statistics.getPeakOpenListSize() > childCount / 2, "Peak open list size: " + statistics.getPeakOpenListSize());
+    }
+}
@@ -0,0 +1,113 @@
+package com.github.dieterdepaepe.jsearch.search.constructive.solver;
+
+import com.github.dieterdepaepe.jsearch.datastructure.priority.DaryHeap;
+import com.github.dieterdepaepe.jsearch.problem.dummy.DummyGenerator;
+import com.github.dieterdepaepe.jsearch.problem.dummy.DummyHeuristic;
+import com.github.dieterdepaepe.jsearch.problem.dummy.DummySearchNode;
+import com.github.dieterdepaepe.jsearch.problem.grid.Grid;
+import com.github.dieterdepaepe.jsearch.problem.grid.GridGenerator;
+import com.github.dieterdepaepe.jsearch.problem.grid.GridHeuristic;
+import com.github.dieterdepaepe.jsearch.problem.grid.GridSearchNode;
+import com.github.dieterdepaepe.jsearch.search.constructive.Solution;
+import com.github.dieterdepaepe.jsearch.search.constructive.Solvers;
+import com.github.dieterdepaepe.jsearch.search.constructive.cost.DoubleCost;
+import com.github.dieterdepaepe.jsearch.search.constructive.cost.IntegerCost;
+import com.github.dieterdepaepe.jsearch.search.constructive.util.BasicManager;
+import com.google.common.collect.ArrayListMultimap;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.testng.Assert.*;
+
+/**
+ * Test class for {@link com.github.dieterdepaepe.jsearch.search.constructive.solver.MMSolver}.
+ * @author Dieter De Paepe
+ */
+public class MMSolverTest {
+    @DataProvider(name = "grids")
+    public Object[][] grids() {
+        return new Object[][]{
+                {Grid.random(1, 1, 9, 0)},
+                {Grid.random(2, 1, 9, 0)},
+                {Grid.random(10, 10, 1, 0)},
+                {Grid.random(40, 40, 9, 0)},
+                {Grid.random(30, 50, 20, 1)}};
+    }
+
+    @Test(dataProvider = "grids")
+    public void testFindsOptimalSolution(Grid grid) {
+        GridGenerator generator = new GridGenerator();
+        GridHeuristic heuristic = new GridHeuristic();
+
+        BasicManager<GridSearchNode> referenceManager = new BasicManager<>(IntegerCost.valueOf(Integer.MAX_VALUE));
+        Solvers.solve(new AStarStateSolver(), referenceManager, generator, heuristic, grid, generator.createStartState(0, 0, grid));
+
+        BasicManager<GridSearchNode> manager = new BasicManager<>(IntegerCost.valueOf(Integer.MAX_VALUE));
+        Solvers.solve(new MMSolver(DaryHeap.factory(4)), manager, generator, heuristic, grid, generator.createStartState(0, 0, grid));
+
+        Solution<? extends GridSearchNode> solution = manager.getSolution();
+        assertEquals(solution.getNode().getCost(), referenceManager.getSolution().getNode().getCost());
+        assertTrue(solution.isOptimal());
+        assertTrue(solution.getNode().isGoal());
+        assertEquals(solution.getNode().getX(), grid.getGoalX());
+        assertEquals(solution.getNode().getY(), grid.getGoalY());
+    }
+
+    @Test
+    public void testRespectsCostBound() {
+        Grid grid = Grid.random(20, 20, 9, 0);
+        GridGenerator generator = new GridGenerator();
+        GridHeuristic heuristic = new GridHeuristic();
+
+        BasicManager<GridSearchNode> referenceManager = new BasicManager<>(IntegerCost.valueOf(Integer.MAX_VALUE));
+        Solvers.solve(new MMSolver(), referenceManager, generator, heuristic, grid, generator.createStartState(0, 0, grid));
+        IntegerCost optimalCost = (IntegerCost) referenceManager.getSolution().getNode().getCost();
+
+        BasicManager<GridSearchNode> manager = new BasicManager<>(IntegerCost.valueOf(optimalCost.getValue() - 1));
+        Solvers.solve(new MMSolver(), manager, generator, heuristic, grid, generator.createStartState(0, 0, grid));
+        assertNull(manager.getSolution());
+    }
+
+    @Test
+    public void testRegistersImprovingSolutions() {
+        Grid grid = Grid.random(40, 40, 9, 0);
+        GridGenerator generator = new GridGenerator();
+        final List<Solution<? extends GridSearchNode>> solutions = new ArrayList<>();
+        BasicManager<GridSearchNode> manager = new BasicManager<GridSearchNode>(IntegerCost.valueOf(Integer.MAX_VALUE)) {
+            @Override
+            public void registerSolution(Solution<? extends GridSearchNode> solution) {
+                solutions.add(solution);
+                super.registerSolution(solution);
+            }
+        };
+
+        Solvers.solve(new MMSolver(), manager, generator, new GridHeuristic(), grid, generator.createStartState(0, 0, grid));
+
+        assertTrue(solutions.size() >= 2);
+        for (int i = 1; i < solutions.size() - 1; i++)
+            assertTrue(solutions.get(i).getNode().getCost().compareTo(solutions.get(i - 1).getNode().getCost()) < 0);
+        Solution<? extends GridSearchNode> lastSolution = solutions.get(solutions.size() - 1);
+        assertTrue(lastSolution.isOptimal());
+        assertSame(lastSolution.getNode(), solutions.get(solutions.size() - 2).getNode());
+    }
+
+    @Test
+    public void testShouldReturnNothingIfNoStartStates() {
+        GridGenerator generator = new GridGenerator();
+        BasicManager<GridSearchNode> manager = new BasicManager<>(IntegerCost.valueOf(Integer.MAX_VALUE));
+        Solvers.solve(new MMSolver(), manager, generator, new GridHeuristic(), Grid.random(5, 5, 9, 0), Collections.<GridSearchNode>emptyList());
+
+        assertNull(manager.getSolution());
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testRequiresReversibleGenerator() {
+        DummyGenerator<DummySearchNode> generator = new DummyGenerator<>(ArrayListMultimap.<DummySearchNode, DummySearchNode>create());
+        BasicManager<DummySearchNode> manager = new BasicManager<>(DoubleCost.valueOf(Double.MAX_VALUE));
+        Solvers.solve(new MMSolver(), manager, generator, new DummyHeuristic(), null, new DummySearchNode("a", 1, 0, false));
+    }
+}
@@ -0,0 +1,182 @@
+package com.github.dieterdepaepe.jsearch.search.constructive.solver;
+
+import com.github.dieterdepaepe.jsearch.problem.grid.Grid;
+import com.github.dieterdepaepe.jsearch.problem.grid.GridGenerator;
+import com.github.dieterdepaepe.jsearch.problem.grid.GridHeuristic;
+import com.github.dieterdepaepe.jsearch.problem.grid.GridSearchNode;
+import com.github.dieterdepaepe.jsearch.search.constructive.*;
+import com.github.dieterdepaepe.jsearch.search.constructive.cost.IntegerCost;
+import com.github.dieterdepaepe.jsearch.search.constructive.solver.idastar.IDAStarSolver;
+import com.github.dieterdepaepe.jsearch.search.constructive.util.BasicManager;
+import com.github.dieterdepaepe.jsearch.search.constructive.util.BasicSolution;
+import com.github.dieterdepaepe.jsearch.search.constructive.util.MonitoringManager;
+import com.github.dieterdepaepe.jsearch.search.constructive.util.SearchStatistics;
+import com.google.common.base.Ticker;
+import com.google.common.util.concurrent.Uninterruptibles;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.testng.Assert.*;
+
+/**
+ * Test class for {@link PortfolioSolver}.
+ * @author Dieter De Paepe
+ */
+public class PortfolioSolverTest extends BasicSolverTest {
+    @Override
+    public Solver<StateSearchNode, Object> getBasicTestSolver() {
+        return new PortfolioSolver<StateSearchNode, Object>(new AStarStateSolver(), new IDAStarSolver(), new DepthFirstSolver());
+    }
+
+    @Test
+    public void testStopsOtherSolversWhenOptimal() {
+        Grid grid = Grid.random(40, 40, 9, 0);
+        GridGenerator generator = new GridGenerator();
+        GridHeuristic heuristic = new GridHeuristic();
+
+        BasicManager<GridSearchNode> referenceManager = new BasicManager<>(IntegerCost.valueOf(Integer.MAX_VALUE));
+        Solvers.solve(new AStarStateSolver(), referenceManager, generator, heuristic, grid, generator.createStartState(0, 0, grid));
+
+        // The endless solver only stops when instructed by the manager
+        BasicManager<GridSearchNode> manager = new BasicManager<>(IntegerCost.valueOf(Integer.MAX_VALUE));
+        Solvers.solve(new PortfolioSolver<StateSearchNode, Object>(new AStarStateSolver(), new EndlessSolver()),
+                manager, generator, heuristic, grid, generator.createStartState(0, 0, grid));
+
+        assertTrue(manager.getSolution().isOptimal());
+        assertEquals(manager.getSolution().getNode().getCost(), referenceManager.getSolution().getNode().getCost());
+    }
+
+    @Test
+    public void testSharesCostBound() {
+        Grid grid = Grid.random(20, 20, 9, 0);
+        GridGenerator generator = new GridGenerator();
+        GridHeuristic heuristic = new GridHeuristic();
+        final BasicManager<GridSearchNode> referenceManager = new BasicManager<>(IntegerCost.valueOf(Integer.MAX_VALUE));
+        Solvers.solve(new AStarStateSolver(), referenceManager, generator, heuristic, grid, generator.createStartState(0, 0, grid));
+
+        // This solver reports the optimal solution without proving optimality, the other solver observes its bound
+        Solver<SearchNode, Object> reportingSolver = new Solver<SearchNode, Object>() {
+            @Override
+            public <S extends SearchNode, E> void solve(Iterable<InformedSearchNode<S>> startNodes, E environment,
+                                                        Heuristic<? super S, ? super E> heuristic,
+                                                        SearchNodeGenerator<S, E> searchNodeGenerator,
+                                                        Manager<? super S> manager) {
+                @SuppressWarnings("unchecked")
+                S node = (S) referenceManager.getSolution().getNode();
+                manager.registerSolution(new BasicSolution<>(node, false));
+            }
+        };
+        final Cost[] observedBound = new Cost[1];
+        Solver<SearchNode, Object> observingSolver = new Solver<SearchNode, Object>() {
+            @Override
+            public <S extends SearchNode, E> void solve(Iterable<InformedSearchNode<S>> startNodes, E environment,
+                                                        Heuristic<? super S, ? super E> heuristic,
+                                                        SearchNodeGenerator<S, E> searchNodeGenerator,
+                                                        Manager<? super S> manager) {
+                Cost optimalCost = referenceManager.getSolution().getNode().getCost();
+                while (manager.getCostBound().compareTo(optimalCost) > 0)
+                    Thread.yield();
+                observedBound[0] = manager.getCostBound();
+            }
+        };
+
+        BasicManager<GridSearchNode> manager = new BasicManager<>(IntegerCost.valueOf(Integer.MAX_VALUE));
+        Solvers.solve(new PortfolioSolver<SearchNode, Object>(reportingSolver, observingSolver),
+                manager, generator, heuristic, grid, generator.createStartState(0, 0, grid));
+
+        assertEquals(observedBound[0], referenceManager.getSolution().getNode().getCost());
+        assertFalse(manager.getSolution().isOptimal());
+    }
+
+    @Test(expectedExceptions = IllegalStateException.class)
+    public void testPropagatesFailure() {
+        Solver<SearchNode, Object> failingSolver = new Solver<SearchNode, Object>() {
+            @Override
+            public <S extends SearchNode, E> void solve(Iterable<InformedSearchNode<S>> startNodes, E environment,
+                                                        Heuristic<? super S, ? super E> heuristic,
+                                                        SearchNodeGenerator<S, E> searchNodeGenerator,
+                                                        Manager<? super S> manager) {
+                throw new IllegalStateException("Solver failure");
+            }
+        };
+
+        Grid grid = Grid.random(5, 5, 9, 0);
+        GridGenerator generator = new GridGenerator();
+        BasicManager<GridSearchNode> manager = new BasicManager<>(IntegerCost.valueOf(Integer.MAX_VALUE));
+        Solvers.solve(new PortfolioSolver<SearchNode, Object>(failingSolver, new EndlessSolver()),
+                manager, generator, new GridHeuristic(), grid, generator.createStartState(0, 0, grid));
+    }
+
+    @Test
+    public void testConcurrentIterationTiming() {
+        final AtomicLong time = new AtomicLong();
+        SearchStatistics statistics = new SearchStatistics(new Ticker() {
+            @Override
+            public long read() {
+                return time.get();
+            }
+        });
+        final CountDownLatch firstStarted = new CountDownLatch(1);
+        final CountDownLatch secondStarted = new CountDownLatch(1);
+        final CountDownLatch firstFinished = new CountDownLatch(1);
+
+        // The iterations of both members overlap: the first starts at 0 and ends at 200, the second runs from 100 to 1000
+        Solver<SearchNode, Object> firstSolver = new Solver<SearchNode, Object>() {
+            @Override
+            public <S extends SearchNode, E> void solve(Iterable<InformedSearchNode<S>> startNodes, E environment,
+                                                        Heuristic<? super S, ? super E> heuristic,
+                                                        SearchNodeGenerator<S, E> searchNodeGenerator,
+                                                        Manager<? super S> manager) {
+                SearchListener listener = SearchListeners.of(manager);
+                listener.iterationStarted();
+                firstStarted.countDown();
+                Uninterruptibles.awaitUninterruptibly(secondStarted);
+                time.set(200);
+                listener.iterationFinished();
+                firstFinished.countDown();
+            }
+        };
+        Solver<SearchNode, Object> secondSolver = new Solver<SearchNode, Object>() {
+            @Override
+            public <S extends SearchNode, E> void solve(Iterable<InformedSearchNode<S>> startNodes, E environment,
+                                                        Heuristic<? super S, ? super E> heuristic,
+                                                        SearchNodeGenerator<S, E> searchNodeGenerator,
+                                                        Manager<? super S> manager) {
+                SearchListener listener = SearchListeners.of(manager);
+                Uninterruptibles.awaitUninterruptibly(firstStarted);
+                time.set(100);
+                listener.iterationStarted();
+                secondStarted.countDown();
+                Uninterruptibles.awaitUninterruptibly(firstFinished);
+                time.set(1000);
+                listener.iterationFinished();
+            }
+        };
+
+        Grid grid = Grid.random(5, 5, 9, 0);
+        GridGenerator generator = new GridGenerator();
+        BasicManager<GridSearchNode> manager = new BasicManager<>(IntegerCost.valueOf(Integer.MAX_VALUE));
+        Solvers.solve(new PortfolioSolver<SearchNode, Object>(firstSolver, secondSolver),
+                new MonitoringManager<>(manager, statistics), generator, new GridHeuristic(), grid, generator.createStartState(0, 0, grid));
+
+        assertEquals(statistics.getIterationTimes(TimeUnit.NANOSECONDS), Arrays.asList(200L, 900L));
+    }
+
+    /**
+     * A solver that does nothing until the manager instructs it to stop.
+     */
+    private static class EndlessSolver implements Solver<SearchNode, Object> {
+        @Override
+        public <S extends SearchNode, E> void solve(Iterable<InformedSearchNode<S>> startNodes, E environment,
+                                                    Heuristic<? super S, ? super E> heuristic,
+                                                    SearchNodeGenerator<S, E> searchNodeGenerator,
+                                                    Manager<? super S> manager) {
+            while (manager.continueSearch())
+                Thread.yield();
+        }
+    }
+}
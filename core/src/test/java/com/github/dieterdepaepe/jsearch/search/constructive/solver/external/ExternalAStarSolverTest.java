@@ -0,0 +1,162 @@
+package com.github.dieterdepaepe.jsearch.search.constructive.solver.external;
+
+import com.github.dieterdepaepe.jsearch.problem.grid.Grid;
+import com.github.dieterdepaepe.jsearch.problem.grid.GridGenerator;
+import com.github.dieterdepaepe.jsearch.problem.grid.GridHeuristic;
+import com.github.dieterdepaepe.jsearch.problem.grid.GridSearchNode;
+import com.github.dieterdepaepe.jsearch.problem.grid.GridSearchNodeSerializer;
+import com.github.dieterdepaepe.jsearch.search.constructive.Solution;
+import com.github.dieterdepaepe.jsearch.search.constructive.Solvers;
+import com.github.dieterdepaepe.jsearch.search.constructive.cost.IntegerCost;
+import com.github.dieterdepaepe.jsearch.search.constructive.solver.AStarStateSolver;
+import com.github.dieterdepaepe.jsearch.search.constructive.util.BasicManager;
+import com.github.dieterdepaepe.jsearch.search.constructive.util.MonitoringManager;
+import com.github.dieterdepaepe.jsearch.search.constructive.util.SearchStatistics;
+import com.github.dieterdepaepe.jsearch.search.constructive.util.ZeroHeuristic;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Collections;
+
+import static org.testng.Assert.*;
+
+/**
+ * Test class for {@link ExternalAStarSolver}.
+ * @author Dieter De Paepe
+ */
+public class ExternalAStarSolverTest {
+    private File directory;
+
+    @BeforeMethod
+    public void createDirectory() throws IOException {
+        directory = Files.createTempDirectory("external-search").toFile();
+    }
+
+    @AfterMethod
+    public void deleteDirectory() {
+        File[] files = directory.listFiles();
+        if (files != null)
+            for (File file : files)
+                file.delete();
+        directory.delete();
+    }
+
+    @DataProvider(name = "grids")
+    public Object[][] grids() {
+        return new Object[][]{
+                {Grid.random(1, 1, 9, 0)},
+                {Grid.random(10, 10, 1, 0)},
+                {Grid.random(40, 40, 9, 0)},
+                {Grid.random(30, 50, 20, 1)}};
+    }
+
+    @Test(dataProvider = "grids")
+    public void testFindsOptimalSolution(Grid grid) {
+        GridGenerator generator = new GridGenerator();
+        GridHeuristic heuristic = new GridHeuristic();
+
+        BasicManager<GridSearchNode> referenceManager = new BasicManager<>(IntegerCost.valueOf(Integer.MAX_VALUE));
+        Solvers.solve(new AStarStateSolver(), referenceManager, generator, heuristic, grid, generator.createStartState(0, 0, grid));
+
+        // A small buffer causes each layer to be spread over many runs
+        BasicManager<GridSearchNode> manager = new BasicManager<>(IntegerCost.valueOf(Integer.MAX_VALUE));
+        Solvers.solve(createSolver(256), manager, generator, heuristic, grid, generator.createStartState(0, 0, grid));
+
+        Solution<? extends GridSearchNode> solution = manager.getSolution();
+        assertEquals(solution.getNode().getCost(), referenceManager.getSolution().getNode().getCost());
+        assertTrue(solution.isOptimal());
+        assertEquals(solution.getNode().getX(), grid.getGoalX());
+        assertEquals(solution.getNode().getY(), grid.getGoalY());
+        assertEquals(directory.list().length, 0);
+    }
+
+    @Test
+    public void testFindsOptimalSolutionWithSmallBufferBudget() {
+        Grid grid = Grid.random(30, 30, 9, 3);
+        GridGenerator generator = new GridGenerator();
+        GridHeuristic heuristic = new GridHeuristic();
+
+        BasicManager<GridSearchNode> referenceManager = new BasicManager<>(IntegerCost.valueOf(Integer.MAX_VALUE));
+        Solvers.solve(new AStarStateSolver(), referenceManager, generator, heuristic, grid, generator.createStartState(0, 0, grid));
+
+        // The layers share 2 buffers, so buffers are often spilled to hand them over to another layer, and the
+        // resulting runs are merged 3 at a time
+        BasicManager<GridSearchNode> manager = new BasicManager<>(IntegerCost.valueOf(Integer.MAX_VALUE));
+        ExternalAStarSolver<GridSearchNode> solver = new ExternalAStarSolver<>(new GridSearchNodeSerializer(),
+                GridSearchNode.ENCODED_STATE_SIZE, directory, 256, 512, 3);
+        Solvers.solve(solver, manager, generator, heuristic, grid, generator.createStartState(0, 0, grid));
+
+        Solution<? extends GridSearchNode> solution = manager.getSolution();
+        assertEquals(solution.getNode().getCost(), referenceManager.getSolution().getNode().getCost());
+        assertTrue(solution.isOptimal());
+        assertEquals(directory.list().length, 0);
+    }
+
+    @Test
+    public void testExpandsEachStateOnce() {
+        Grid grid = Grid.random(30, 30, 9, 2);
+        GridGenerator generator = new GridGenerator();
+        BasicManager<GridSearchNode> manager = new BasicManager<>(IntegerCost.valueOf(Integer.MAX_VALUE));
+        SearchStatistics statistics = new SearchStatistics();
+
+        // Without heuristic, many nodes share a layer and many duplicates have to be detected during the merges
+        Solvers.solve(createSolver(1024), new MonitoringManager<>(manager, statistics), generator,
+                new ZeroHeuristic(IntegerCost.valueOf(0)), grid, generator.createStartState(0, 0, grid));
+
+        assertTrue(manager.getSolution().isOptimal());
+        assertTrue(statistics.getNodesExpanded() <= grid.getWidth() * grid.getHeight());
+        assertTrue(statistics.getDuplicatesDropped() > 0);
+    }
+
+    @Test
+    public void testRespectsCostBound() {
+        Grid grid = Grid.random(20, 20, 9, 0);
+        GridGenerator generator = new GridGenerator();
+        GridHeuristic heuristic = new GridHeuristic();
+
+        BasicManager<GridSearchNode> referenceManager = new BasicManager<>(IntegerCost.valueOf(Integer.MAX_VALUE));
+        Solvers.solve(new AStarStateSolver(), referenceManager, generator, heuristic, grid, generator.createStartState(0, 0, grid));
+        IntegerCost optimalCost = (IntegerCost) referenceManager.getSolution().getNode().getCost();
+
+        BasicManager<GridSearchNode> manager = new BasicManager<>(IntegerCost.valueOf(optimalCost.getValue() - 1));
+        Solvers.solve(createSolver(256), manager, generator, heuristic, grid, generator.createStartState(0, 0, grid));
+        assertNull(manager.getSolution());
+        assertEquals(directory.list().length, 0);
+    }
+
+    @Test
+    public void testShouldReturnNothingIfNoStartStates() {
+        GridGenerator generator = new GridGenerator();
+        BasicManager<GridSearchNode> manager = new BasicManager<>(IntegerCost.valueOf(Integer.MAX_VALUE));
+        Solvers.solve(createSolver(256), manager, generator, new GridHeuristic(), Grid.random(5, 5, 9, 0), Collections.<GridSearchNode>emptyList());
+
+        assertNull(manager.getSolution());
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testBufferTooSmallForNode() {
+        Grid grid = Grid.random(5, 5, 9, 0);
+        GridGenerator generator = new GridGenerator();
+        BasicManager<GridSearchNode> manager = new BasicManager<>(IntegerCost.valueOf(Integer.MAX_VALUE));
+        Solvers.solve(createSolver(16), manager, generator, new GridHeuristic(), grid, generator.createStartState(0, 0, grid));
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testBufferBudgetSmallerThanBuffer() {
+        new ExternalAStarSolver<>(new GridSearchNodeSerializer(), GridSearchNode.ENCODED_STATE_SIZE, directory, 256, 255, 2);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testMergeFanInTooSmall() {
+        new ExternalAStarSolver<>(new GridSearchNodeSerializer(), GridSearchNode.ENCODED_STATE_SIZE, directory, 256, 256, 1);
+    }
+
+    private ExternalAStarSolver<GridSearchNode> createSolver(int bufferSize) {
+        return new ExternalAStarSolver<>(new GridSearchNodeSerializer(), GridSearchNode.ENCODED_STATE_SIZE, directory, bufferSize);
+    }
+}
@@ -10,6 +10,8 @@ import com.github.dieterdepaepe.jsearch.search.constructive.cost.DoubleCost;
 import com.github.dieterdepaepe.jsearch.search.constructive.dev.LoggingGenerator;
 import com.github.dieterdepaepe.jsearch.search.constructive.solver.BasicSolverTest;
 import com.github.dieterdepaepe.jsearch.search.constructive.util.BasicManager;
+import com.github.dieterdepaepe.jsearch.search.constructive.util.MonitoringManager;
+import com.github.dieterdepaepe.jsearch.search.constructive.util.SearchStatistics;
 import com.google.common.collect.ArrayListMultimap;
 import com.google.common.collect.ListMultimap;
 import org.testng.annotations.Test;
@@ -83,6 +85,60 @@ public class IDAStarSolverTest extends BasicSolverTest {
         assertTrue(manager.getSolution().isOptimal());
     }
 
+    @Test
+    public void testSearchStatistics() {
+        // Search space for this test, node depth is their cost, goals nodes are written in capitals.
+        //0: +-a-+  +-b-+
+        //1: |   c  d   e
+        //   |     / \  |\
+        //2: f    g  |  h i
+        //   |       |
+        //3: j       K
+        //   |
+        //4: L
+
+        DummySearchNode a = new DummySearchNode("a", 0, 0, false);
+        DummySearchNode b = new DummySearchNode("b", 0, 0, false);
+        DummySearchNode c = new DummySearchNode("c", 1, 0, false);
+        DummySearchNode d = new DummySearchNode("d", 0, 1, false);
+        DummySearchNode e = new DummySearchNode("e", 0, 1, false);
+        DummySearchNode f = new DummySearchNode("f", 2, 0, false);
+        DummySearchNode g = new DummySearchNode("g", 0, 2, false);
+        DummySearchNode h = new DummySearchNode("h", 1, 1, false);
+        DummySearchNode i = new DummySearchNode("i", 1, 1, false);
+        DummySearchNode j = new DummySearchNode("j", 1, 2, false);
+        DummySearchNode k = new DummySearchNode("k", 3, 0, true);
+        DummySearchNode l = new DummySearchNode("l", 4, 0, true);
+
+        ListMultimap<DummySearchNode, DummySearchNode> successors = ArrayListMultimap.create();
+        successors.put(a, f);
+        successors.put(a, c);
+        successors.put(b, d);
+        successors.put(b, e);
+        successors.put(f, j);
+        successors.put(j, l);
+        successors.put(d, g);
+        successors.put(d, k);
+        successors.put(e, h);
+        successors.put(e, i);
+
+        LoggingGenerator<DummySearchNode, Object> generator = new LoggingGenerator<>(new DummyGenerator<>(successors));
+        DummyHeuristic heuristic = new DummyHeuristic();
+        SearchStatistics statistics = new SearchStatistics();
+        BasicManager<DummySearchNode> manager = new BasicManager<>(DoubleCost.valueOf(Double.MAX_VALUE));
+        IDAStarSolver solver = new IDAStarSolver();
+
+        Solvers.solve(solver, new MonitoringManager<>(manager, statistics), generator, heuristic, null, a, b);
+
+        int generatedNodes = 0;
+        for (DummySearchNode expandedNode : generator.getExpandedNodes())
+            generatedNodes += successors.get(expandedNode).size();
+        // The first iteration only determines the cost bound of the start nodes
+        assertEquals(statistics.getIterations(), 5);
+        assertEquals(statistics.getNodesExpanded(), generator.getExpandedNodes().size());
+        assertEquals(statistics.getNodesGenerated(), generatedNodes);
+    }
+
     @Test
     public void testNodeExpansionOrderForBorderlineCosts() {
         // Search space for this test, nodes are shown per depth with cost between brackets, no goal nodes
@@ -0,0 +1,99 @@
+package com.github.dieterdepaepe.jsearch.search.constructive.solver.idastar;
+
+import com.github.dieterdepaepe.jsearch.problem.dummy.DummyGenerator;
+import com.github.dieterdepaepe.jsearch.problem.dummy.DummyHeuristic;
+import com.github.dieterdepaepe.jsearch.problem.dummy.DummySearchNode;
+import com.github.dieterdepaepe.jsearch.search.constructive.SearchNode;
+import com.github.dieterdepaepe.jsearch.search.constructive.Solver;
+import com.github.dieterdepaepe.jsearch.search.constructive.Solvers;
+import com.github.dieterdepaepe.jsearch.search.constructive.cost.DoubleCost;
+import com.github.dieterdepaepe.jsearch.search.constructive.solver.BasicSolverTest;
+import com.github.dieterdepaepe.jsearch.search.constructive.util.BasicManager;
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.ListMultimap;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.testng.Assert.*;
+
+/**
+ * Test class for {@link ParallelIDAStarSolver}.
+ * @author Dieter De Paepe
+ */
+public class ParallelIDAStarSolverTest extends BasicSolverTest {
+    @Override
+    public Solver<SearchNode, Object> getBasicTestSolver() {
+        return new ParallelIDAStarSolver(3, 2);
+    }
+
+    @DataProvider
+    public Object[][] configurations() {
+        return new Object[][]{{1, 0}, {1, 4}, {4, 0}, {4, 2}, {4, 30}};
+    }
+
+    @Test(dataProvider = "configurations")
+    public void testFindsSameCostAsSequentialSolver(int parallelism, int frontierDepth) {
+        for (int seed = 0; seed < 5; seed++) {
+            DummySearchNode root = new DummySearchNode("", 0, 0, false);
+            DummyGenerator<DummySearchNode> generator = new DummyGenerator<>(createRandomTree(root, seed));
+            DummyHeuristic heuristic = new DummyHeuristic();
+
+            BasicManager<DummySearchNode> sequentialManager = new BasicManager<>(DoubleCost.valueOf(Double.MAX_VALUE));
+            Solvers.solve(new IDAStarSolver(), sequentialManager, generator, heuristic, null, root);
+
+            BasicManager<DummySearchNode> manager = new BasicManager<>(DoubleCost.valueOf(Double.MAX_VALUE));
+            Solvers.solve(new ParallelIDAStarSolver(parallelism, frontierDepth), manager, generator, heuristic, null, root);
+
+            assertEquals(manager.getSolution().getNode().getCost(), sequentialManager.getSolution().getNode().getCost());
+            assertTrue(manager.getSolution().isOptimal());
+        }
+    }
+
+    @Test
+    public void testRespectsCostBound() {
+        DummySearchNode root = new DummySearchNode("", 0, 0, false);
+        DummyGenerator<DummySearchNode> generator = new DummyGenerator<>(createRandomTree(root, 0));
+        DummyHeuristic heuristic = new DummyHeuristic();
+
+        BasicManager<DummySearchNode> referenceManager = new BasicManager<>(DoubleCost.valueOf(Double.MAX_VALUE));
+        Solvers.solve(new IDAStarSolver(), referenceManager, generator, heuristic, null, root);
+        DoubleCost optimalCost = (DoubleCost) referenceManager.getSolution().getNode().getCost();
+
+        BasicManager<DummySearchNode> manager = new BasicManager<>(DoubleCost.valueOf(optimalCost.getValue() - 0.5));
+        Solvers.solve(new ParallelIDAStarSolver(4, 3), manager, generator, heuristic, null, root);
+        assertNull(manager.getSolution());
+    }
+
+    /**
+     * Creates a tree of depth 8 in which each node has up to 4 children and each step costs 1 to 3.
+     */
+    private ListMultimap<DummySearchNode, DummySearchNode> createRandomTree(DummySearchNode root, long seed) {
+        Random random = new Random(seed);
+        ListMultimap<DummySearchNode, DummySearchNode> successors = ArrayListMultimap.create();
+        List<DummySearchNode> level = Collections.singletonList(root);
+        for (int depth = 1; depth <= 8; depth++) {
+            List<DummySearchNode> nextLevel = new ArrayList<>();
+            for (DummySearchNode parent : level) {
+                int children = 1 + random.nextInt(4);
+                for (int i = 0; i < children; i++) {
+                    double cost = ((DoubleCost) parent.getCost()).getValue() + 1 + random.nextInt(3);
+                    DummySearchNode child = new DummySearchNode(parent.toString() + i, cost, 0, random.nextInt(100) < depth);
+                    successors.put(parent, child);
+                    nextLevel.add(child);
+                }
+            }
+            level = nextLevel;
+        }
+        return successors;
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testInvalidParallelism() {
+        new ParallelIDAStarSolver(0, 2);
+    }
+}
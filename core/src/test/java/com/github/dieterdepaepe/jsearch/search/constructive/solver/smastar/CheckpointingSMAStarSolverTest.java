@@ -0,0 +1,188 @@
+package com.github.dieterdepaepe.jsearch.search.constructive.solver.smastar;
+
+import com.github.dieterdepaepe.jsearch.problem.grid.Grid;
+import com.github.dieterdepaepe.jsearch.problem.grid.GridGenerator;
+import com.github.dieterdepaepe.jsearch.problem.grid.GridHeuristic;
+import com.github.dieterdepaepe.jsearch.problem.grid.GridSearchNode;
+import com.github.dieterdepaepe.jsearch.problem.grid.GridSearchNodeSerializer;
+import com.github.dieterdepaepe.jsearch.search.constructive.Cost;
+import com.github.dieterdepaepe.jsearch.search.constructive.Solvers;
+import com.github.dieterdepaepe.jsearch.search.constructive.cost.IntegerCost;
+import com.github.dieterdepaepe.jsearch.search.constructive.dev.LoggingGenerator;
+import com.github.dieterdepaepe.jsearch.search.constructive.solver.AStarStateSolver;
+import com.github.dieterdepaepe.jsearch.search.constructive.util.BasicManager;
+import com.github.dieterdepaepe.jsearch.search.constructive.util.MonitoringManager;
+import com.github.dieterdepaepe.jsearch.search.constructive.util.SearchStatistics;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.Collections;
+
+import static org.testng.Assert.*;
+
+/**
+ * Test class for {@link CheckpointingSMAStarSolver}.
+ * @author Dieter De Paepe
+ */
+public class CheckpointingSMAStarSolverTest {
+    private File snapshotFile;
+
+    @BeforeMethod
+    public void createSnapshotFile() throws IOException {
+        snapshotFile = File.createTempFile("snapshot", ".bin");
+    }
+
+    @AfterMethod
+    public void deleteSnapshotFile() {
+        snapshotFile.delete();
+    }
+
+    @Test
+    public void testFindsOptimalSolution() {
+        Grid grid = Grid.random(6, 6, 9, 0);
+        GridGenerator generator = new GridGenerator();
+
+        BasicManager<GridSearchNode> manager = new BasicManager<>(IntegerCost.valueOf(Integer.MAX_VALUE));
+        Solvers.solve(createSolver(), manager, generator, new GridHeuristic(), grid, generator.createStartState(0, 0, grid));
+
+        assertTrue(manager.getSolution().isOptimal());
+        assertEquals(manager.getSolution().getNode().getCost(), getOptimalCost(grid));
+        assertTrue(snapshotFile.length() > 0);
+    }
+
+    @Test
+    public void testResumesStoppedSearch() {
+        Grid grid = Grid.random(6, 6, 9, 0);
+        GridGenerator generator = new GridGenerator();
+        GridHeuristic heuristic = new GridHeuristic();
+
+        StoppingManager stoppedManager = new StoppingManager(400, false);
+        Solvers.solve(createSolver(), stoppedManager, generator, heuristic, grid, generator.createStartState(0, 0, grid));
+        assertNull(stoppedManager.getSolution());
+
+        LoggingGenerator<GridSearchNode, Grid> loggingGenerator = new LoggingGenerator<>(generator);
+        BasicManager<GridSearchNode> manager = new BasicManager<>(IntegerCost.valueOf(Integer.MAX_VALUE));
+        Solvers.solve(createSolver(), manager, loggingGenerator, heuristic, grid, Collections.<GridSearchNode>emptyList());
+
+        assertTrue(manager.getSolution().isOptimal());
+        assertEquals(manager.getSolution().getNode().getCost(), getOptimalCost(grid));
+        // The resumed search should not start over from the start node, the only node without cost
+        for (GridSearchNode node : loggingGenerator.getExpandedNodes())
+            assertTrue(node.getCost().getValue() > 0);
+    }
+
+    @Test
+    public void testResumesCrashedSearchFromLastSnapshot() {
+        Grid grid = Grid.random(6, 6, 9, 0);
+        GridGenerator generator = new GridGenerator();
+        GridHeuristic heuristic = new GridHeuristic();
+
+        try {
+            Solvers.solve(createSolver(), new StoppingManager(400, true), generator, heuristic, grid, generator.createStartState(0, 0, grid));
+            fail("Search should have crashed");
+        } catch (IllegalStateException e) {
+            // Expected
+        }
+        assertTrue(snapshotFile.length() > 0);
+
+        BasicManager<GridSearchNode> manager = new BasicManager<>(IntegerCost.valueOf(Integer.MAX_VALUE));
+        Solvers.solve(createSolver(), manager, generator, heuristic, grid, Collections.<GridSearchNode>emptyList());
+
+        assertTrue(manager.getSolution().isOptimal());
+        assertEquals(manager.getSolution().getNode().getCost(), getOptimalCost(grid));
+    }
+
+    @Test
+    public void testResumingFinishedSearchRegistersSolution() {
+        Grid grid = Grid.random(6, 6, 9, 0);
+        GridGenerator generator = new GridGenerator();
+        GridHeuristic heuristic = new GridHeuristic();
+
+        BasicManager<GridSearchNode> firstManager = new BasicManager<>(IntegerCost.valueOf(Integer.MAX_VALUE));
+        Solvers.solve(createSolver(), firstManager, generator, heuristic, grid, generator.createStartState(0, 0, grid));
+
+        SearchStatistics statistics = new SearchStatistics();
+        BasicManager<GridSearchNode> manager = new BasicManager<>(IntegerCost.valueOf(Integer.MAX_VALUE));
+        Solvers.solve(createSolver(), new MonitoringManager<>(manager, statistics), generator, heuristic, grid, Collections.<GridSearchNode>emptyList());
+
+        assertTrue(manager.getSolution().isOptimal());
+        assertEquals(manager.getSolution().getNode().getCost(), firstManager.getSolution().getNode().getCost());
+        assertEquals(statistics.getNodesExpanded(), 0);
+    }
+
+    @Test
+    public void testResumedSearchKeepsCostBound() {
+        Grid grid = Grid.random(6, 6, 9, 0);
+        GridGenerator generator = new GridGenerator();
+        GridHeuristic heuristic = new GridHeuristic();
+        IntegerCost optimalCost = (IntegerCost) getOptimalCost(grid);
+
+        BasicManager<GridSearchNode> boundedManager = new BasicManager<>(IntegerCost.valueOf(optimalCost.getValue() - 1));
+        Solvers.solve(createSolver(), boundedManager, generator, heuristic, grid, generator.createStartState(0, 0, grid));
+        assertNull(boundedManager.getSolution());
+
+        BasicManager<GridSearchNode> manager = new BasicManager<>(IntegerCost.valueOf(Integer.MAX_VALUE));
+        Solvers.solve(createSolver(), manager, generator, heuristic, grid, Collections.<GridSearchNode>emptyList());
+        assertNull(manager.getSolution());
+    }
+
+    @Test(expectedExceptions = IllegalStateException.class)
+    public void testDamagedSnapshot() throws IOException {
+        Grid grid = Grid.random(6, 6, 9, 0);
+        GridGenerator generator = new GridGenerator();
+        GridHeuristic heuristic = new GridHeuristic();
+
+        Solvers.solve(createSolver(), new StoppingManager(50, false), generator, heuristic, grid, generator.createStartState(0, 0, grid));
+        try (RandomAccessFile file = new RandomAccessFile(snapshotFile, "rw")) {
+            file.seek(file.length() / 2);
+            int middleByte = file.read();
+            file.seek(file.length() / 2);
+            file.write(middleByte ^ 0xFF);
+        }
+
+        Solvers.solve(createSolver(), new BasicManager<GridSearchNode>(IntegerCost.valueOf(Integer.MAX_VALUE)), generator, heuristic, grid, Collections.<GridSearchNode>emptyList());
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testInvalidCheckpointInterval() {
+        new CheckpointingSMAStarSolver<>(500, new GridSearchNodeSerializer(), snapshotFile, 0);
+    }
+
+    private CheckpointingSMAStarSolver<GridSearchNode> createSolver() {
+        return new CheckpointingSMAStarSolver<>(500, new GridSearchNodeSerializer(), snapshotFile, 50);
+    }
+
+    private Cost getOptimalCost(Grid grid) {
+        GridGenerator generator = new GridGenerator();
+        BasicManager<GridSearchNode> manager = new BasicManager<>(IntegerCost.valueOf(Integer.MAX_VALUE));
+        Solvers.solve(new AStarStateSolver(), manager, generator, new GridHeuristic(), grid, generator.createStartState(0, 0, grid));
+        return manager.getSolution().getNode().getCost();
+    }
+
+    /**
+     * A manager that stops the search, or makes it fail, after a number of calls to {@link #continueSearch()}.
+     */
+    private static class StoppingManager extends BasicManager<GridSearchNode> {
+        private int remainingCalls;
+        private final boolean fail;
+
+        private StoppingManager(int calls, boolean fail) {
+            super(IntegerCost.valueOf(Integer.MAX_VALUE));
+            this.remainingCalls = calls;
+            this.fail = fail;
+        }
+
+        @Override
+        public boolean continueSearch() {
+            if (remainingCalls-- > 0)
+                return super.continueSearch();
+            if (fail)
+                throw new IllegalStateException("Simulated crash");
+            return false;
+        }
+    }
+}
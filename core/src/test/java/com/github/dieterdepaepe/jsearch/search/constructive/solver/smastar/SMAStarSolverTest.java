@@ -10,6 +10,8 @@ import com.github.dieterdepaepe.jsearch.search.constructive.cost.DoubleCost;
 import com.github.dieterdepaepe.jsearch.search.constructive.dev.LoggingGenerator;
 import com.github.dieterdepaepe.jsearch.search.constructive.solver.BasicSolverTest;
 import com.github.dieterdepaepe.jsearch.search.constructive.util.BasicManager;
+import com.github.dieterdepaepe.jsearch.search.constructive.util.MonitoringManager;
+import com.github.dieterdepaepe.jsearch.search.constructive.util.SearchStatistics;
 import com.google.common.collect.ArrayListMultimap;
 import com.google.common.collect.ListMultimap;
 import org.testng.annotations.Test;
@@ -160,6 +162,53 @@ public class SMAStarSolverTest extends BasicSolverTest {
         assertEquals(generator.getExpandedNodes(), Arrays.asList(a, b, c));
     }
 
+    @Test
+    public void testSearchStatisticsWhenPurging() {
+        // Search space for this test, nodes are ordered from cheap to expensive, goals nodes are written in capitals.
+        //  ----a-------
+        //  |      b   |
+        //  c     / \  |
+        // / \   d   | |
+        // | |   |   | |
+        // | |   E   | |
+        // | F       | |
+        // |         G |
+        // H           |
+        //             I
+
+        DummySearchNode a = new DummySearchNode("a", 0, 0, false);
+        DummySearchNode b = new DummySearchNode("b", 1, 0, false);
+        DummySearchNode c = new DummySearchNode("c", 2, 0, false);
+        DummySearchNode d = new DummySearchNode("d", 3, 0, false);
+        DummySearchNode e = new DummySearchNode("e", 4, 0, true);
+        DummySearchNode f = new DummySearchNode("f", 5, 0, true);
+        DummySearchNode g = new DummySearchNode("g", 6, 0, true);
+        DummySearchNode h = new DummySearchNode("h", 7, 0, true);
+        DummySearchNode i = new DummySearchNode("i", 8, 0, true);
+
+        ListMultimap<DummySearchNode, DummySearchNode> successors = ArrayListMultimap.create();
+        successors.put(a, b);
+        successors.put(a, c);
+        successors.put(a, i);
+        successors.put(b, d);
+        successors.put(b, g);
+        successors.put(c, h);
+        successors.put(c, f);
+        successors.put(d, e);
+
+        LoggingGenerator<DummySearchNode, Object> generator = new LoggingGenerator<>(new DummyGenerator<>(successors));
+        DummyHeuristic heuristic = new DummyHeuristic();
+        SearchStatistics statistics = new SearchStatistics();
+        BasicManager<DummySearchNode> manager = new BasicManager<>(DoubleCost.valueOf(Double.MAX_VALUE));
+        SMAStarSolver solver = new SMAStarSolver(3); //Insufficient memory to find the true optimal solution (E)
+
+        Solvers.solve(solver, new MonitoringManager<>(manager, statistics), generator, heuristic, null, a);
+
+        assertEquals(statistics.getNodesExpanded(), 3);
+        assertEquals(statistics.getPeakOpenListSize(), 3);
+        assertTrue(statistics.getNodesPurged() > 0);
+    }
+
     @Test
     public void testFindsNoSolutionDueToMemoryRestrictions() {
         // Search space for this test, nodes are ordered from cheap to expensive, goals nodes are written in capitals.
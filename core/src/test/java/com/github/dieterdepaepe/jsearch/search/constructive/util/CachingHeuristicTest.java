@@ -0,0 +1,127 @@
+package com.github.dieterdepaepe.jsearch.search.constructive.util;
+
+import com.github.dieterdepaepe.jsearch.problem.grid.Grid;
+import com.github.dieterdepaepe.jsearch.problem.grid.GridGenerator;
+import com.github.dieterdepaepe.jsearch.problem.grid.GridHeuristic;
+import com.github.dieterdepaepe.jsearch.problem.grid.GridSearchNode;
+import com.github.dieterdepaepe.jsearch.search.constructive.Cost;
+import com.github.dieterdepaepe.jsearch.search.constructive.Solvers;
+import com.github.dieterdepaepe.jsearch.search.constructive.cost.IntegerCost;
+import com.github.dieterdepaepe.jsearch.search.constructive.solver.idastar.IDAStarSolver;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.testng.Assert.*;
+
+/**
+ * Test class for {@link com.github.dieterdepaepe.jsearch.search.constructive.util.CachingHeuristic}.
+ * @author Dieter De Paepe
+ */
+public class CachingHeuristicTest {
+    @Test
+    public void testCachesEstimates() {
+        Grid grid = Grid.random(5, 5, 9, 0);
+        CountingHeuristic countingHeuristic = new CountingHeuristic();
+        CachingHeuristic<GridSearchNode, Grid> heuristic = new CachingHeuristic<>(countingHeuristic, 100);
+
+        GridSearchNode node = new GridSearchNode(1, 2, 5, false);
+        GridSearchNode sameState = new GridSearchNode(1, 2, 7, false);
+        Cost estimate = heuristic.estimateRemainingCost(node, grid);
+
+        assertEquals(estimate, new GridHeuristic().estimateRemainingCost(node, grid));
+        assertEquals(heuristic.estimateRemainingCost(sameState, grid), estimate);
+        assertEquals(countingHeuristic.evaluations.get(), 1);
+        assertEquals(heuristic.getHitCount(), 1);
+        assertEquals(heuristic.getMissCount(), 1);
+        assertEquals(heuristic.getHitRate(), 0.5);
+
+        heuristic.clear();
+        assertEquals(heuristic.getSize(), 0);
+        heuristic.estimateRemainingCost(node, grid);
+        assertEquals(countingHeuristic.evaluations.get(), 2);
+    }
+
+    @Test
+    public void testSizeIsBounded() {
+        Grid grid = Grid.random(10, 10, 9, 0);
+        CachingHeuristic<GridSearchNode, Grid> heuristic = new CachingHeuristic<>(new GridHeuristic(), 10, 1);
+
+        for (int x = 0; x < grid.getWidth(); x++)
+            for (int y = 0; y < grid.getHeight(); y++)
+                heuristic.estimateRemainingCost(new GridSearchNode(x, y, 0, false), grid);
+
+        assertTrue(heuristic.getSize() <= 10);
+        assertEquals(heuristic.getEvictionCount(), 100 - heuristic.getSize());
+    }
+
+    @Test
+    public void testIterativeDeepeningReusesEstimates() {
+        Grid grid = Grid.random(6, 6, 3, 0);
+        GridGenerator generator = new GridGenerator();
+        CountingHeuristic countingHeuristic = new CountingHeuristic();
+        CachingHeuristic<GridSearchNode, Grid> heuristic = new CachingHeuristic<>(countingHeuristic, 1000);
+
+        BasicManager<GridSearchNode> referenceManager = new BasicManager<>(IntegerCost.valueOf(Integer.MAX_VALUE));
+        Solvers.solve(new IDAStarSolver(), referenceManager, generator, new GridHeuristic(), grid, generator.createStartState(0, 0, grid));
+
+        BasicManager<GridSearchNode> manager = new BasicManager<>(IntegerCost.valueOf(Integer.MAX_VALUE));
+        Solvers.solve(new IDAStarSolver(), manager, generator, heuristic, grid, generator.createStartState(0, 0, grid));
+
+        assertEquals(manager.getSolution().getNode().getCost(), referenceManager.getSolution().getNode().getCost());
+        // Each of the 36 cells is evaluated at most once.
+        assertTrue(countingHeuristic.evaluations.get() <= 36);
+        assertTrue(heuristic.getHitRate() > 0.9);
+    }
+
+    @Test
+    public void testConcurrentUse() throws Exception {
+        final Grid grid = Grid.random(30, 30, 9, 0);
+        final CachingHeuristic<GridSearchNode, Grid> heuristic = new CachingHeuristic<>(new GridHeuristic(), 500, 8);
+        final GridHeuristic reference = new GridHeuristic();
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                final int offset = i;
+                results.add(executor.submit(new Callable<Boolean>() {
+                    @Override
+                    public Boolean call() {
+                        boolean correct = true;
+                        for (int round = 0; round < 5; round++)
+                            for (int x = 0; x < grid.getWidth(); x++)
+                                for (int y = 0; y < grid.getHeight(); y++) {
+                                    GridSearchNode node = new GridSearchNode((x + offset) % grid.getWidth(), y, 0, false);
+                                    correct &= heuristic.estimateRemainingCost(node, grid).equals(reference.estimateRemainingCost(node, grid));
+                                }
+                        return correct;
+                    }
+                }));
+            }
+            for (Future<Boolean> result : results)
+                assertTrue(result.get());
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(heuristic.getHitCount() + heuristic.getMissCount(), 4 * 5 * 900);
+        assertTrue(heuristic.getSize() <= 500);
+    }
+
+    private static class CountingHeuristic extends GridHeuristic {
+        private final AtomicInteger evaluations = new AtomicInteger();
+
+        @Override
+        public IntegerCost estimateRemainingCost(GridSearchNode node, Grid environment) {
+            evaluations.incrementAndGet();
+            return super.estimateRemainingCost(node, environment);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.github.dieterdepaepe.jsearch.search.constructive.util;
+
+import com.github.dieterdepaepe.jsearch.problem.dummy.DummySearchNode;
+import com.github.dieterdepaepe.jsearch.search.constructive.cost.DoubleCost;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.testng.Assert.*;
+
+/**
+ * Test class for {@link ConcurrentManager}.
+ * @author Dieter De Paepe
+ */
+public class ConcurrentManagerTest {
+    @Test
+    public void testKeepsBestSolution() {
+        ConcurrentManager<DummySearchNode> manager = new ConcurrentManager<>(DoubleCost.valueOf(10));
+        DummySearchNode tooExpensive = new DummySearchNode("a", 11, 0, true);
+        DummySearchNode first = new DummySearchNode("b", 8, 0, true);
+        DummySearchNode worse = new DummySearchNode("c", 9, 0, true);
+        DummySearchNode equal = new DummySearchNode("d", 8, 0, true);
+        DummySearchNode best = new DummySearchNode("e", 5, 0, true);
+
+        manager.registerSolution(new BasicSolution<>(tooExpensive, false));
+        assertNull(manager.getSolution());
+        assertEquals(manager.getCostBound(), DoubleCost.valueOf(10));
+
+        manager.registerSolution(new BasicSolution<>(first, false));
+        manager.registerSolution(new BasicSolution<>(worse, false));
+        assertEquals(manager.getSolution().getNode(), first);
+        assertEquals(manager.getCostBound(), DoubleCost.valueOf(8));
+        assertTrue(manager.continueSearch());
+
+        // An optimal solution of equal cost replaces a non-optimal one
+        manager.registerSolution(new BasicSolution<>(equal, true));
+        assertEquals(manager.getSolution().getNode(), equal);
+        assertFalse(manager.continueSearch());
+
+        manager.registerSolution(new BasicSolution<>(best, false));
+        assertEquals(manager.getSolution().getNode(), best);
+        assertEquals(manager.getCostBound(), DoubleCost.valueOf(5));
+        assertTrue(manager.continueSearch());
+    }
+
+    @Test
+    public void testConcurrentRegistrations() throws InterruptedException {
+        final ConcurrentManager<DummySearchNode> manager = new ConcurrentManager<>(DoubleCost.valueOf(Double.MAX_VALUE));
+        final CountDownLatch start = new CountDownLatch(1);
+        final double[] cheapestCosts = new double[4];
+        // Assertions fail silently in other threads, so violations are collected instead
+        final AtomicBoolean boundExceeded = new AtomicBoolean();
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < cheapestCosts.length; i++) {
+            final int index = i;
+            Thread thread = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    Random random = new Random(index);
+                    double cheapestCost = Double.MAX_VALUE;
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    for (int j = 0; j < 10000; j++) {
+                        double cost = random.nextInt(1000000);
+                        cheapestCost = Math.min(cheapestCost, cost);
+                        manager.registerSolution(new BasicSolution<>(new DummySearchNode("", cost, 0, true), false));
+                        if (((DoubleCost) manager.getCostBound()).getValue() > cheapestCost)
+                            boundExceeded.set(true);
+                    }
+                    cheapestCosts[index] = cheapestCost;
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        start.countDown();
+        for (Thread thread : threads)
+            thread.join();
+        assertFalse(boundExceeded.get());
+
+        double cheapestCost = Double.MAX_VALUE;
+        for (double cost : cheapestCosts)
+            cheapestCost = Math.min(cheapestCost, cost);
+        assertEquals(manager.getCostBound(), DoubleCost.valueOf(cheapestCost));
+        assertEquals(manager.getSolution().getNode().getCost(), DoubleCost.valueOf(cheapestCost));
+    }
+}
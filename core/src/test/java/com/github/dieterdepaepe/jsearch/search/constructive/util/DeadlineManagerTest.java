@@ -0,0 +1,140 @@
+package com.github.dieterdepaepe.jsearch.search.constructive.util;
+
+import com.github.dieterdepaepe.jsearch.problem.grid.Grid;
+import com.github.dieterdepaepe.jsearch.problem.grid.GridGenerator;
+import com.github.dieterdepaepe.jsearch.problem.grid.GridHeuristic;
+import com.github.dieterdepaepe.jsearch.problem.grid.GridSearchNode;
+import com.github.dieterdepaepe.jsearch.search.constructive.Solvers;
+import com.github.dieterdepaepe.jsearch.search.constructive.cost.IntegerCost;
+import com.github.dieterdepaepe.jsearch.search.constructive.solver.AStarStateSolver;
+import com.github.dieterdepaepe.jsearch.search.constructive.solver.AnytimeWeightedAStarSolver;
+import com.google.common.base.Ticker;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.testng.Assert.*;
+
+/**
+ * Test class for {@link DeadlineManager}.
+ * @author Dieter De Paepe
+ */
+public class DeadlineManagerTest {
+    @Test
+    public void testTimeBudget() {
+        final long[] time = {0};
+        final int[] reads = {0};
+        Ticker ticker = new Ticker() {
+            @Override
+            public long read() {
+                reads[0]++;
+                return time[0];
+            }
+        };
+        BasicManager<GridSearchNode> basicManager = new BasicManager<>(IntegerCost.valueOf(Integer.MAX_VALUE));
+        DeadlineManager<GridSearchNode> manager = new DeadlineManager<>(basicManager,
+                TimeUnit.SECONDS.toNanos(1), DeadlineManager.UNLIMITED, DeadlineManager.UNLIMITED, ticker);
+        manager.getSearchListener().searchStarted();
+
+        // Fast calls should only rarely read the clock
+        for (int i = 0; i < 100000; i++)
+            assertTrue(manager.continueSearch());
+        assertTrue(reads[0] < 100);
+
+        time[0] = TimeUnit.SECONDS.toNanos(1);
+        int calls = 0;
+        while (manager.continueSearch())
+            calls++;
+        assertTrue(calls <= 1 << 16);
+        assertTrue(manager.isBudgetExhausted());
+        assertFalse(manager.continueSearch());
+    }
+
+    @Test
+    public void testTimeBudgetStartsWithSearch() {
+        final long[] time = {0};
+        Ticker ticker = new Ticker() {
+            @Override
+            public long read() {
+                return time[0];
+            }
+        };
+        BasicManager<GridSearchNode> basicManager = new BasicManager<>(IntegerCost.valueOf(Integer.MAX_VALUE));
+        DeadlineManager<GridSearchNode> manager = new DeadlineManager<>(basicManager,
+                10, DeadlineManager.UNLIMITED, DeadlineManager.UNLIMITED, ticker);
+
+        // Time passing before the search starts does not count
+        time[0] = 100;
+        assertTrue(manager.continueSearch());
+        manager.getSearchListener().searchStarted();
+        assertTrue(manager.continueSearch());
+
+        time[0] = 110;
+        int calls = 0;
+        while (manager.continueSearch())
+            calls++;
+        assertTrue(calls <= 1 << 16);
+    }
+
+    @Test
+    public void testZeroNodeBudget() {
+        Grid grid = Grid.random(10, 10, 9, 0);
+        GridGenerator generator = new GridGenerator();
+        SearchStatistics statistics = new SearchStatistics();
+        BasicManager<GridSearchNode> basicManager = new BasicManager<>(IntegerCost.valueOf(Integer.MAX_VALUE));
+        DeadlineManager<GridSearchNode> manager = new DeadlineManager<>(new MonitoringManager<>(basicManager, statistics),
+                DeadlineManager.UNLIMITED, 0, DeadlineManager.UNLIMITED, Ticker.systemTicker());
+
+        Solvers.solve(new AStarStateSolver(), manager, generator, new GridHeuristic(), grid, generator.createStartState(0, 0, grid));
+
+        assertTrue(manager.isBudgetExhausted());
+        assertEquals(statistics.getNodesExpanded(), 0);
+    }
+
+    @Test
+    public void testNodeBudget() {
+        Grid grid = Grid.random(40, 40, 9, 0);
+        GridGenerator generator = new GridGenerator();
+        SearchStatistics statistics = new SearchStatistics();
+        BasicManager<GridSearchNode> basicManager = new BasicManager<>(IntegerCost.valueOf(Integer.MAX_VALUE));
+        DeadlineManager<GridSearchNode> manager = new DeadlineManager<>(new MonitoringManager<>(basicManager, statistics),
+                DeadlineManager.UNLIMITED, 10, DeadlineManager.UNLIMITED, Ticker.systemTicker());
+
+        Solvers.solve(new AStarStateSolver(), manager, generator, new GridHeuristic(), grid, generator.createStartState(0, 0, grid));
+
+        assertTrue(manager.isBudgetExhausted());
+        assertNull(basicManager.getSolution());
+        assertEquals(statistics.getNodesExpanded(), 10);
+    }
+
+    @Test
+    public void testKeepsBestSolution() {
+        Grid grid = Grid.random(100, 100, 9, 0);
+        GridGenerator generator = new GridGenerator();
+        BasicManager<GridSearchNode> basicManager = new BasicManager<>(IntegerCost.valueOf(Integer.MAX_VALUE));
+        DeadlineManager<GridSearchNode> manager = new DeadlineManager<>(basicManager,
+                DeadlineManager.UNLIMITED, 2000, DeadlineManager.UNLIMITED, Ticker.systemTicker());
+
+        Solvers.solve(new AnytimeWeightedAStarSolver(5), manager, generator, new GridHeuristic(), grid, generator.createStartState(0, 0, grid));
+
+        assertTrue(manager.isBudgetExhausted());
+        assertNotNull(basicManager.getSolution());
+        assertFalse(basicManager.getSolution().isOptimal());
+    }
+
+    @Test
+    public void testMemoryBudget() {
+        BasicManager<GridSearchNode> basicManager = new BasicManager<>(IntegerCost.valueOf(Integer.MAX_VALUE));
+        DeadlineManager<GridSearchNode> manager = new DeadlineManager<>(basicManager,
+                DeadlineManager.UNLIMITED, DeadlineManager.UNLIMITED, 0, Ticker.systemTicker());
+
+        assertFalse(manager.continueSearch());
+        assertTrue(manager.isBudgetExhausted());
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testNegativeBudget() {
+        BasicManager<GridSearchNode> basicManager = new BasicManager<>(IntegerCost.valueOf(Integer.MAX_VALUE));
+        new DeadlineManager<>(basicManager, -1, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,124 @@
+package com.github.dieterdepaepe.jsearch.search.constructive.util;
+
+import com.github.dieterdepaepe.jsearch.problem.dummy.DummySearchNode;
+import com.github.dieterdepaepe.jsearch.search.constructive.Cost;
+import com.github.dieterdepaepe.jsearch.search.constructive.Heuristic;
+import com.github.dieterdepaepe.jsearch.search.constructive.InformedSearchNode;
+import com.github.dieterdepaepe.jsearch.search.constructive.SearchNodeGenerator;
+import com.github.dieterdepaepe.jsearch.search.constructive.cost.DoubleCost;
+import com.google.common.base.Ticker;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import static org.testng.Assert.assertEquals;
+
+/**
+ * Test class for {@link com.github.dieterdepaepe.jsearch.search.constructive.util.SearchStatistics}.
+ * @author Dieter De Paepe
+ */
+public class SearchStatisticsTest {
+    @Test
+    public void testCounters() {
+        SearchStatistics statistics = new SearchStatistics();
+        DummySearchNode node = new DummySearchNode("a", 0, 0, false);
+
+        statistics.nodeExpanded(node);
+        statistics.nodeExpanded(node);
+        statistics.nodesGenerated(3);
+        statistics.nodesGenerated(2);
+        statistics.nodePruned(node);
+        statistics.duplicateDropped(node);
+        statistics.duplicateDropped(node);
+        statistics.nodesPurged(4);
+        statistics.openListSizeChanged(5);
+        statistics.openListSizeChanged(8);
+        statistics.openListSizeChanged(2);
+
+        assertEquals(statistics.getNodesExpanded(), 2);
+        assertEquals(statistics.getNodesGenerated(), 5);
+        assertEquals(statistics.getNodesPruned(), 1);
+        assertEquals(statistics.getDuplicatesDropped(), 2);
+        assertEquals(statistics.getNodesPurged(), 4);
+        assertEquals(statistics.getPeakOpenListSize(), 8);
+
+        statistics.reset();
+        assertEquals(statistics.getNodesExpanded(), 0);
+        assertEquals(statistics.getPeakOpenListSize(), 0);
+    }
+
+    @Test
+    public void testTiming() {
+        final long[] time = {0};
+        SearchStatistics statistics = new SearchStatistics(new Ticker() {
+            @Override
+            public long read() {
+                return time[0];
+            }
+        });
+
+        statistics.searchStarted();
+        time[0] = 10;
+        statistics.iterationStarted();
+        // A nested search, as done by a solver delegating to another solver
+        statistics.searchStarted();
+        time[0] = 15;
+        statistics.searchFinished();
+        statistics.iterationFinished();
+        statistics.iterationStarted();
+        time[0] = 35;
+        statistics.iterationFinished();
+        time[0] = 40;
+        statistics.searchFinished();
+
+        assertEquals(statistics.getIterations(), 2);
+        assertEquals(statistics.getIterationTimes(TimeUnit.NANOSECONDS), Arrays.asList(5L, 20L));
+        assertEquals(statistics.getSearchTime(TimeUnit.NANOSECONDS), 40);
+
+        statistics.searchStarted();
+        time[0] = 50;
+        statistics.searchFinished();
+        assertEquals(statistics.getSearchTime(TimeUnit.NANOSECONDS), 50);
+    }
+
+    @Test
+    public void testPhaseTiming() {
+        final long[] time = {0};
+        SearchStatistics statistics = new SearchStatistics(new Ticker() {
+            @Override
+            public long read() {
+                return time[0];
+            }
+        });
+        final DummySearchNode node = new DummySearchNode("a", 0, 0, false);
+
+        Heuristic<DummySearchNode, Object> heuristic = statistics.timeHeuristic(new Heuristic<DummySearchNode, Object>() {
+            @Override
+            public Cost estimateRemainingCost(DummySearchNode node, Object environment) {
+                time[0] += 3;
+                return DoubleCost.valueOf(0);
+            }
+        });
+        SearchNodeGenerator<DummySearchNode, Object> generator = statistics.timeGenerator(new SearchNodeGenerator<DummySearchNode, Object>() {
+            @Override
+            public Iterable<InformedSearchNode<DummySearchNode>> generateSuccessorNodes(DummySearchNode parent, Object environment, Heuristic<? super DummySearchNode, ? super Object> heuristic) {
+                time[0] += 10;
+                return Collections.singletonList(new InformedSearchNode<>(node, heuristic.estimateRemainingCost(node, environment)));
+            }
+        });
+
+        generator.generateSuccessorNodes(node, null, heuristic);
+        generator.generateSuccessorNodes(node, null, heuristic);
+        heuristic.estimateRemainingCost(node, null);
+
+        // Generation time includes the heuristic evaluations made by the generator
+        assertEquals(statistics.getGenerationTime(TimeUnit.NANOSECONDS), 26);
+        assertEquals(statistics.getHeuristicTime(TimeUnit.NANOSECONDS), 9);
+
+        statistics.reset();
+        assertEquals(statistics.getGenerationTime(TimeUnit.NANOSECONDS), 0);
+        assertEquals(statistics.getHeuristicTime(TimeUnit.NANOSECONDS), 0);
+    }
+}
@@ -0,0 +1,287 @@
+package com.github.dieterdepaepe.jsearch.problem.npuzzle;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Lookup tables for the distance based heuristics of a sliding puzzle with a specific target state. For puzzles up to
+ * 4 x 4, the heuristics read the field values directly from the packed representation of {@link PuzzleFields}, and
+ * use them as table indices.
+ *
+ * <p>The linear conflict penalty of a line only depends on the target positions of the fields in the line that
+ * belong to it. These positions are encoded in 3 bits per field, and the penalty of each encoding is precomputed. For
+ * puzzles up to 4 x 4, the penalties are additionally precomputed for every possible content of each line. For larger
+ * puzzles, these tables would be too large, so the encoding is composed when needed, without allocating.</p>
+ *
+ * <p>This class is immutable and therefor thread-safe.</p>
+ * @author Dieter De Paepe
+ */
+class DistanceTables {
+    /** The encoded target position of a field that does not belong to the line it is in. */
+    private static final int NOT_IN_LINE = 7;
+    private static final AtomicInteger TAGS = new AtomicInteger();
+
+    /** A non-zero value that is unique for each instance. */
+    private final int tag;
+
+    private final int dimension;
+    private final long targetState;
+    private final long extendedTargetState;
+    private final int emptyFieldValue;
+    /** The target position within its row of each value in each row, indexed by {@code row << 5 | value}, or {@link #NOT_IN_LINE}. */
+    private final byte[] rowPositions;
+    /** The target position within its column of each value in each column, indexed by {@code column << 5 | value}, or {@link #NOT_IN_LINE}. */
+    private final byte[] columnPositions;
+    /** The linear conflict penalty of a line, indexed by the target positions of its fields (3 bits per field). */
+    private final byte[] lineConflicts;
+    /** The Manhattan distance of each value at each position, indexed by {@code value << 5 | position}. */
+    private final byte[] distances;
+    /** The linear conflict penalty of each row, indexed by {@code row << (4 * dimension) | rowValues}, or null. */
+    private final byte[] rowConflicts;
+    /** The linear conflict penalty of each column, indexed by {@code column << (4 * dimension) | columnValues}, or null. */
+    private final byte[] columnConflicts;
+
+    private DistanceTables(SlidingPuzzle puzzle, PuzzleFields targetState) {
+        int newTag;
+        do {
+            newTag = TAGS.incrementAndGet();
+        } while (newTag == 0);
+        this.tag = newTag;
+        this.dimension = puzzle.getDimension();
+        this.targetState = targetState.getPackedValues();
+        this.extendedTargetState = targetState.getExtendedPackedValues();
+        this.emptyFieldValue = puzzle.getEmptyFieldValue();
+
+        int size = dimension * dimension;
+        // The target row and column of each value
+        int[] targetRows = new int[32];
+        int[] targetColumns = new int[32];
+        for (int position = 0; position < size; position++) {
+            int value = targetState.getValue(position);
+            targetRows[value] = position / dimension;
+            targetColumns[value] = position % dimension;
+        }
+
+        distances = new byte[32 * 32];
+        for (int value = 0; value < size; value++) {
+            if (value == emptyFieldValue)
+                continue;
+            for (int position = 0; position < size; position++)
+                distances[value << 5 | position] = (byte) (Math.abs(targetRows[value] - position / dimension)
+                        + Math.abs(targetColumns[value] - position % dimension));
+        }
+
+        rowPositions = new byte[dimension << 5];
+        columnPositions = new byte[dimension << 5];
+        for (int line = 0; line < dimension; line++) {
+            for (int value = 0; value < 32; value++) {
+                boolean isTile = value < size && value != emptyFieldValue;
+                rowPositions[line << 5 | value] = (byte) (isTile && targetRows[value] == line ? targetColumns[value] : NOT_IN_LINE);
+                columnPositions[line << 5 | value] = (byte) (isTile && targetColumns[value] == line ? targetRows[value] : NOT_IN_LINE);
+            }
+        }
+
+        lineConflicts = new byte[1 << (3 * dimension)];
+        int[] positions = new int[dimension];
+        int[] lengths = new int[dimension];
+        for (int key = 0; key < lineConflicts.length; key++)
+            lineConflicts[key] = (byte) getLineConflicts(key, positions, lengths);
+
+        if (dimension > 4) {
+            rowConflicts = null;
+            columnConflicts = null;
+            return;
+        }
+
+        int lineKeys = 1 << (4 * dimension);
+        rowConflicts = new byte[dimension * lineKeys];
+        columnConflicts = new byte[dimension * lineKeys];
+        for (int line = 0; line < dimension; line++) {
+            for (int key = 0; key < lineKeys; key++) {
+                int rowKey = 0;
+                int columnKey = 0;
+                for (int i = 0; i < dimension; i++) {
+                    int value = (key >>> (4 * i)) & 0xF;
+                    rowKey |= rowPositions[line << 5 | value] << (3 * i);
+                    columnKey |= columnPositions[line << 5 | value] << (3 * i);
+                }
+                rowConflicts[line * lineKeys + key] = lineConflicts[rowKey];
+                columnConflicts[line * lineKeys + key] = lineConflicts[columnKey];
+            }
+        }
+    }
+
+    /**
+     * Creates the tables for the given puzzle and target state.
+     * @param puzzle the puzzle
+     * @param targetState the target state
+     * @return the tables
+     */
+    static DistanceTables create(SlidingPuzzle puzzle, PuzzleFields targetState) {
+        return new DistanceTables(puzzle, targetState);
+    }
+
+    /**
+     * Returns tables suited for the given environment, reusing previously created tables if possible.
+     * @param tables previously created tables, or null
+     * @param environment the environment
+     * @return the given tables if they were created for the environment, new tables otherwise
+     */
+    static DistanceTables reuseOrCreate(DistanceTables tables, PuzzleEnvironment environment) {
+        if (tables != null && tables.isCreatedFor(environment))
+            return tables;
+        return create(environment.getPuzzle(), environment.getTargetState());
+    }
+
+    /**
+     * Calculates the linear conflict penalty of a line: the fields in the line whose target is also this line, ordered
+     * by their target position within the line. Each field that is not part of the longest increasing subsequence of
+     * target positions has to leave the line and return to it, costing at least 2 additional moves.
+     * @param key the target positions within the line of the fields in the line, 3 bits per field, with
+     *            {@link #NOT_IN_LINE} for fields that do not belong to the line
+     * @param positions scratch space of {@code dimension} elements
+     * @param lengths scratch space of {@code dimension} elements
+     * @return the penalty
+     */
+    private int getLineConflicts(int key, int[] positions, int[] lengths) {
+        int count = 0;
+        for (int i = 0; i < dimension; i++) {
+            int position = (key >>> (3 * i)) & 0x7;
+            if (position < dimension)
+                positions[count++] = position;
+        }
+
+        int longest = 0;
+        for (int i = 0; i < count; i++) {
+            lengths[i] = 1;
+            for (int j = 0; j < i; j++)
+                if (positions[j] < positions[i])
+                    lengths[i] = Math.max(lengths[i], lengths[j] + 1);
+            longest = Math.max(longest, lengths[i]);
+        }
+        return 2 * (count - longest);
+    }
+
+    /**
+     * Gets a value that is unique for these tables, which heuristics using their own tables return as
+     * {@link com.github.dieterdepaepe.jsearch.search.constructive.IncrementalHeuristic#getEstimateTag(Object) estimate tag}.
+     * @return the tag, which is never 0
+     */
+    int getTag() {
+        return tag;
+    }
+
+    /**
+     * Checks whether these tables were created for the given environment.
+     * @param environment an environment
+     * @return true if the tables can be used for the environment
+     */
+    boolean isCreatedFor(PuzzleEnvironment environment) {
+        PuzzleFields environmentTarget = environment.getTargetState();
+        return environment.getPuzzle().getDimension() == dimension
+                && environmentTarget.getPackedValues() == targetState
+                && environmentTarget.getExtendedPackedValues() == extendedTargetState;
+    }
+
+    /**
+     * Calculates the sum of the Manhattan distances of all fields.
+     * @param fields the state of the puzzle
+     * @return the sum of the distances
+     */
+    int getManhattanDistance(PuzzleFields fields) {
+        int size = dimension * dimension;
+        int result = 0;
+        if (dimension > 4) {
+            long packedValues = fields.getPackedValues();
+            long extendedPackedValues = fields.getExtendedPackedValues();
+            for (int position = 0; position < size; position++)
+                result += distances[PuzzleFields.getValue(packedValues, extendedPackedValues, position) << 5 | position];
+        } else {
+            long packedValues = fields.getPackedValues();
+            for (int position = 0; position < size; position++) {
+                int value = (int) (packedValues >>> (4 * position)) & 0xF;
+                result += distances[value << 5 | position];
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Calculates the change in the sum of the Manhattan distances caused by a single move.
+     * @param move the move
+     * @return the Manhattan distance after the move minus the distance before the move
+     */
+    int getManhattanDistanceDelta(FieldMove move) {
+        int value = move.getValue();
+        return distances[value << 5 | move.getToPosition()] - distances[value << 5 | move.getFromPosition()];
+    }
+
+    /**
+     * Calculates the number of additional moves needed to resolve all linear conflicts.
+     * @param fields the state of the puzzle
+     * @return the sum of all row and column penalties
+     */
+    int getLinearConflicts(PuzzleFields fields) {
+        int result = 0;
+        for (int line = 0; line < dimension; line++)
+            result += getRowConflicts(fields, line) + getColumnConflicts(fields, line);
+        return result;
+    }
+
+    /**
+     * Calculates the change in the linear conflict penalties caused by a single move. A move only changes the order of
+     * the fields in the 2 lines perpendicular to its direction, so only the penalties of those lines are looked up.
+     * @param fields the state of the puzzle before the move
+     * @param movedFields the state of the puzzle after the move
+     * @param move the move
+     * @return the linear conflict penalties after the move minus the penalties before the move
+     */
+    int getLinearConflictsDelta(PuzzleFields fields, PuzzleFields movedFields, FieldMove move) {
+        int fromRow = move.getFromPosition() / dimension;
+        int toRow = move.getToPosition() / dimension;
+        if (fromRow == toRow) {
+            int fromColumn = move.getFromPosition() % dimension;
+            int toColumn = move.getToPosition() % dimension;
+            return getColumnConflicts(movedFields, fromColumn) + getColumnConflicts(movedFields, toColumn)
+                    - getColumnConflicts(fields, fromColumn) - getColumnConflicts(fields, toColumn);
+        } else {
+            return getRowConflicts(movedFields, fromRow) + getRowConflicts(movedFields, toRow)
+                    - getRowConflicts(fields, fromRow) - getRowConflicts(fields, toRow);
+        }
+    }
+
+    private int getRowConflicts(PuzzleFields fields, int row) {
+        if (rowConflicts == null) {
+            long packedValues = fields.getPackedValues();
+            long extendedPackedValues = fields.getExtendedPackedValues();
+            int key = 0;
+            for (int column = 0; column < dimension; column++) {
+                int value = PuzzleFields.getValue(packedValues, extendedPackedValues, row * dimension + column);
+                key |= rowPositions[row << 5 | value] << (3 * column);
+            }
+            return lineConflicts[key];
+        }
+
+        int lineBits = 4 * dimension;
+        int key = (int) (fields.getPackedValues() >>> (row * lineBits)) & ((1 << lineBits) - 1);
+        return rowConflicts[row << lineBits | key];
+    }
+
+    private int getColumnConflicts(PuzzleFields fields, int column) {
+        if (columnConflicts == null) {
+            long packedValues = fields.getPackedValues();
+            long extendedPackedValues = fields.getExtendedPackedValues();
+            int key = 0;
+            for (int row = 0; row < dimension; row++) {
+                int value = PuzzleFields.getValue(packedValues, extendedPackedValues, row * dimension + column);
+                key |= columnPositions[column << 5 | value] << (3 * row);
+            }
+            return lineConflicts[key];
+        }
+
+        long packedValues = fields.getPackedValues();
+        int key = 0;
+        for (int row = 0; row < dimension; row++)
+            key |= ((int) (packedValues >>> (4 * (row * dimension + column))) & 0xF) << (4 * row);
+        return columnConflicts[column << (4 * dimension) | key];
+    }
+}
@@ -0,0 +1,50 @@
+package com.github.dieterdepaepe.jsearch.problem.npuzzle;
+
+/**
+ * Describes the effect of a single {@link Move} on the fields of a {@link SlidingPuzzle}: the value that switched
+ * places with the empty field, along with its position before and after the move. Positions are the 1 dimensional
+ * indices used by {@link PuzzleFields}.
+ *
+ * <p>Instances for all possible moves are cached by {@link SlidingPuzzle#getFieldMove(int, int, Move)}.</p>
+ *
+ * <p>This class is immutable and therefor thread-safe.</p>
+ * @author Dieter De Paepe
+ */
+public class FieldMove {
+    private final int value;
+    private final int fromPosition;
+    private final int toPosition;
+
+    /**
+     * Creates a new field move.
+     * @param value the value that was moved
+     * @param fromPosition the position of the value before the move (the new position of the empty field)
+     * @param toPosition the position of the value after the move (the old position of the empty field)
+     */
+    public FieldMove(int value, int fromPosition, int toPosition) {
+        this.value = value;
+        this.fromPosition = fromPosition;
+        this.toPosition = toPosition;
+    }
+
+    public int getValue() {
+        return value;
+    }
+
+    public int getFromPosition() {
+        return fromPosition;
+    }
+
+    public int getToPosition() {
+        return toPosition;
+    }
+
+    @Override
+    public String toString() {
+        return "FieldMove{" +
+                "value=" + value +
+                ", fromPosition=" + fromPosition +
+                ", toPosition=" + toPosition +
+                '}';
+    }
+}
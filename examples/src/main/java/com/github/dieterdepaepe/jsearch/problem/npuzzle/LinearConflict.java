@@ -0,0 +1,62 @@
+package com.github.dieterdepaepe.jsearch.problem.npuzzle;
+
+import com.github.dieterdepaepe.jsearch.search.constructive.BatchHeuristic;
+import com.github.dieterdepaepe.jsearch.search.constructive.IncrementalHeuristic;
+import com.github.dieterdepaepe.jsearch.search.constructive.cost.IntegerCost;
+
+import java.util.List;
+
+/**
+ * Linear conflict heuristic for N-Puzzle, which improves on the {@link ManhattanDistance}. Two fields are in linear
+ * conflict if they are in the row (or column) of their target position, but in the reverse order. One of them has to
+ * leave the line and return to it, which costs 2 moves on top of the Manhattan distance. For each line, only the
+ * fields outside the longest sequence of correctly ordered fields have to move aside.
+ *
+ * <p>The penalty for every possible content of each row and column is precomputed for the target state of the
+ * environment, so an estimate only requires a table lookup per field and per line. The tables of the most recently
+ * used target state are kept. When derived from the estimate of the parent node, only the moved field and the 2
+ * lines whose order changed are looked up.</p>
+ *
+ * <p>This class is thread-safe.</p>
+ * @author Dieter De Paepe
+ */
+public class LinearConflict implements BatchHeuristic<PuzzleSearchNode, PuzzleEnvironment>,
+        IncrementalHeuristic<PuzzleSearchNode, PuzzleEnvironment, FieldMove> {
+    private volatile DistanceTables tables;
+
+    @Override
+    public IntegerCost estimateRemainingCost(PuzzleSearchNode node, PuzzleEnvironment environment) {
+        return IntegerCost.valueOf(estimate(getTables(environment), node.getPuzzleFields()));
+    }
+
+    @Override
+    public void estimateRemainingCosts(List<? extends PuzzleSearchNode> nodes, PuzzleEnvironment environment, long[] estimates) {
+        DistanceTables currentTables = getTables(environment);
+        for (int i = 0; i < nodes.size(); i++)
+            estimates[i] = estimate(currentTables, nodes.get(i).getPuzzleFields());
+    }
+
+    @Override
+    public long estimateRemainingCost(PuzzleSearchNode parent, long parentEstimate, FieldMove transition, PuzzleSearchNode successor, PuzzleEnvironment environment) {
+        DistanceTables currentTables = getTables(environment);
+        return parentEstimate + currentTables.getManhattanDistanceDelta(transition)
+                + currentTables.getLinearConflictsDelta(parent.getPuzzleFields(), successor.getPuzzleFields(), transition);
+    }
+
+    private static int estimate(DistanceTables tables, PuzzleFields fields) {
+        return tables.getManhattanDistance(fields) + tables.getLinearConflicts(fields);
+    }
+
+    @Override
+    public int getEstimateTag(PuzzleEnvironment environment) {
+        return getTables(environment).getTag();
+    }
+
+    private DistanceTables getTables(PuzzleEnvironment environment) {
+        DistanceTables currentTables = tables;
+        DistanceTables result = DistanceTables.reuseOrCreate(currentTables, environment);
+        if (result != currentTables)
+            tables = result;
+        return result;
+    }
+}
@@ -1,30 +1,54 @@
 package com.github.dieterdepaepe.jsearch.problem.npuzzle;
 
-import com.github.dieterdepaepe.jsearch.search.constructive.Heuristic;
+import com.github.dieterdepaepe.jsearch.search.constructive.BatchHeuristic;
+import com.github.dieterdepaepe.jsearch.search.constructive.IncrementalHeuristic;
 import com.github.dieterdepaepe.jsearch.search.constructive.cost.IntegerCost;
 
+import java.util.List;
+
 /**
  * Manhattan distance heuristic for N-Puzzle. It estimates the remaining cost as the total distance that each field
  * in the puzzle still has to move, ignoring the limitation that fields may only move by switching with the empty field.
+ *
+ * <p>The distance of each value at each position is precomputed for the target state of the environment, so an
+ * estimate only requires a table lookup per field. The tables of the most recently used target state are kept.
+ * When derived from the estimate of the parent node, only the distance of the moved field is looked up.</p>
+ *
+ * <p>This class is thread-safe.</p>
  * @author Dieter De Paepe
+ * @see LinearConflict
  */
-public class ManhattanDistance implements Heuristic<PuzzleSearchNode, PuzzleEnvironment> {
+public class ManhattanDistance implements BatchHeuristic<PuzzleSearchNode, PuzzleEnvironment>,
+        IncrementalHeuristic<PuzzleSearchNode, PuzzleEnvironment, FieldMove> {
+    private volatile DistanceTables tables;
+
     @Override
     public IntegerCost estimateRemainingCost(PuzzleSearchNode node, PuzzleEnvironment environment) {
-        SlidingPuzzle puzzle = environment.getPuzzle();
-        PuzzleFields targetState = environment.getTargetState();
-        PuzzleFields currentState = node.getPuzzleFields();
-        int estimate = 0;
-
-        for (int row = 0; row < puzzle.getDimension(); row++)
-            for (int column = 0; column < puzzle.getDimension(); column++) {
-                int fieldValue = puzzle.getValue(currentState, row, column);
-                if (fieldValue == puzzle.getEmptyFieldValue())
-                    continue;
-                PuzzleIndex targetIndex = puzzle.findValue(targetState, fieldValue);
-                estimate += Math.abs(targetIndex.row - row) + Math.abs(targetIndex.column - column);
-            }
-
-        return IntegerCost.valueOf(estimate);
+        return IntegerCost.valueOf(getTables(environment).getManhattanDistance(node.getPuzzleFields()));
+    }
+
+    @Override
+    public void estimateRemainingCosts(List<? extends PuzzleSearchNode> nodes, PuzzleEnvironment environment, long[] estimates) {
+        DistanceTables currentTables = getTables(environment);
+        for (int i = 0; i < nodes.size(); i++)
+            estimates[i] = currentTables.getManhattanDistance(nodes.get(i).getPuzzleFields());
+    }
+
+    @Override
+    public long estimateRemainingCost(PuzzleSearchNode parent, long parentEstimate, FieldMove transition, PuzzleSearchNode successor, PuzzleEnvironment environment) {
+        return parentEstimate + getTables(environment).getManhattanDistanceDelta(transition);
+    }
+
+    @Override
+    public int getEstimateTag(PuzzleEnvironment environment) {
+        return getTables(environment).getTag();
+    }
+
+    private DistanceTables getTables(PuzzleEnvironment environment) {
+        DistanceTables currentTables = tables;
+        DistanceTables result = DistanceTables.reuseOrCreate(currentTables, environment);
+        if (result != currentTables)
+            tables = result;
+        return result;
     }
 }
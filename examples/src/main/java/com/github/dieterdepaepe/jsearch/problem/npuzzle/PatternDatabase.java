@@ -0,0 +1,473 @@
+package com.github.dieterdepaepe.jsearch.problem.npuzzle;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * A table with the exact number of moves needed to bring a subset of the fields (the pattern) of a sliding puzzle to
+ * their target position, ignoring all other fields. Only moves of the fields in the pattern are counted, so the costs
+ * of multiple databases for disjoint patterns can be added up without overestimating the remaining cost, see
+ * {@link PatternDatabaseHeuristic}.
+ *
+ * <p>A database is built by a breadth-first search backwards from the target state, over the abstract states formed by
+ * the positions of the pattern fields and the empty field. Moving the empty field to a field outside the pattern does
+ * not count as a move. Each entry of the table is a single byte, indexed by the rank of the positions of the pattern
+ * fields (a perfect hash of the ordered selection of positions). A database for {@code k} fields of a puzzle with
+ * {@code n} positions has {@code n! / (n - k)!} entries. During construction, a temporary table with an entry for
+ * each position of the empty field is used, which requires {@code n - k} times more memory.</p>
+ *
+ * <p>A database can be saved to a file and loaded using a {@link MappedByteBuffer}, so loading takes constant time
+ * and the table is paged in by the operating system as it is used.</p>
+ *
+ * <p>This class is immutable and therefor thread-safe.</p>
+ * @author Dieter De Paepe
+ */
+public class PatternDatabase {
+    private static final int MAGIC = 0x4A504442; // "JPDB"
+    private static final int VERSION = 1;
+    private static final int UNVISITED = 0xFF;
+    private static final int MIN_DIMENSION = 2;
+    private static final int MAX_DIMENSION = 5;
+    private static final int MAX_STATE_COUNT = Integer.MAX_VALUE - 8;
+
+    private final int dimension;
+    private final int[] targetValues;
+    private final int[] patternValues;
+    /** The index of each value in the pattern, or -1 for values that are not part of the pattern. */
+    private final byte[] patternIndexPerValue;
+    private final ByteBuffer table;
+
+    private PatternDatabase(int dimension, int[] targetValues, int[] patternValues, ByteBuffer table) {
+        this.dimension = dimension;
+        this.targetValues = targetValues;
+        this.patternValues = patternValues;
+        this.table = table;
+        this.patternIndexPerValue = new byte[targetValues.length];
+        Arrays.fill(patternIndexPerValue, (byte) -1);
+        for (int i = 0; i < patternValues.length; i++)
+            patternIndexPerValue[patternValues[i]] = (byte) i;
+    }
+
+    /**
+     * Builds a new database in memory.
+     * @param puzzle the puzzle
+     * @param targetState the target state of the puzzle
+     * @param patternValues the values of the fields in the pattern, the empty field can not be part of the pattern
+     * @return a new database
+     * @throws java.lang.IllegalArgumentException if the pattern contains invalid or duplicate values, or if the
+     *                                            database is too large
+     */
+    public static PatternDatabase build(SlidingPuzzle puzzle, PuzzleFields targetState, int... patternValues) {
+        int size = puzzle.getDimension() * puzzle.getDimension();
+        int patternSize = patternValues.length;
+        checkArgument(patternSize > 0, "The pattern should contain at least one value.");
+        boolean[] inPattern = new boolean[size];
+        for (int value : patternValues) {
+            checkArgument(value >= 0 && value < size && value != puzzle.getEmptyFieldValue(), "Invalid pattern value: %s", value);
+            checkArgument(!inPattern[value], "Duplicate pattern value: %s", value);
+            inPattern[value] = true;
+        }
+        long stateCount = permutations(size, patternSize + 1);
+        checkArgument(stateCount <= MAX_STATE_COUNT, "Pattern too large for a %s-puzzle: %s values", size - 1, patternSize);
+
+        int[] targetValues = toValues(targetState, size);
+        int[] positionPerValue = toPositions(targetValues);
+
+        // The positions of the pattern fields, followed by the position of the empty field.
+        int[] positions = new int[patternSize + 1];
+        for (int i = 0; i < patternSize; i++)
+            positions[i] = positionPerValue[patternValues[i]];
+        positions[patternSize] = positionPerValue[puzzle.getEmptyFieldValue()];
+
+        byte[] distances = search(puzzle.getDimension(), positions, (int) stateCount);
+
+        // Remove the position of the empty field from the abstraction, by keeping the lowest cost for each position.
+        int emptyPositions = size - patternSize;
+        byte[] table = new byte[(int) (stateCount / emptyPositions)];
+        for (int rank = 0; rank < table.length; rank++) {
+            int best = UNVISITED;
+            for (int i = 0; i < emptyPositions; i++)
+                best = Math.min(best, distances[rank * emptyPositions + i] & 0xFF);
+            table[rank] = (byte) best;
+        }
+
+        return new PatternDatabase(puzzle.getDimension(), targetValues, patternValues.clone(), ByteBuffer.wrap(table));
+    }
+
+    /**
+     * Performs a breadth-first search over the abstract states, where moving a pattern field costs 1 and moving the
+     * empty field over a non-pattern field costs nothing. The states are processed per layer of equal cost, free moves
+     * add states to the current layer.
+     */
+    private static byte[] search(int dimension, int[] startPositions, int stateCount) {
+        int size = dimension * dimension;
+        int patternSize = startPositions.length - 1;
+        byte[] distances = new byte[stateCount];
+        Arrays.fill(distances, (byte) UNVISITED);
+
+        int startRank = rank(startPositions, size);
+        distances[startRank] = 0;
+        IntStack currentLayer = new IntStack();
+        IntStack nextLayer = new IntStack();
+        currentLayer.push(startRank);
+
+        int[] positions = new int[patternSize + 1];
+        for (int distance = 0; !currentLayer.isEmpty(); distance++) {
+            checkArgument(distance < UNVISITED - 1, "Pattern distances exceed the capacity of a byte.");
+            while (!currentLayer.isEmpty()) {
+                int stateRank = currentLayer.pop();
+                // A state may have been reached by a cheaper path after it was added to this layer.
+                if ((distances[stateRank] & 0xFF) != distance)
+                    continue;
+
+                unrank(stateRank, size, positions);
+                int emptyPosition = positions[patternSize];
+                int emptyRow = emptyPosition / dimension;
+                int emptyColumn = emptyPosition % dimension;
+                for (Move move : Move.values()) {
+                    int row = emptyRow + move.getDeltaRow();
+                    int column = emptyColumn + move.getDeltaColumn();
+                    if (row < 0 || row >= dimension || column < 0 || column >= dimension)
+                        continue;
+
+                    int newEmptyPosition = row * dimension + column;
+                    int movedField = -1;
+                    for (int i = 0; i < patternSize; i++)
+                        if (positions[i] == newEmptyPosition)
+                            movedField = i;
+
+                    if (movedField >= 0)
+                        positions[movedField] = emptyPosition;
+                    positions[patternSize] = newEmptyPosition;
+                    int successorRank = rank(positions, size);
+                    positions[patternSize] = emptyPosition;
+                    if (movedField >= 0)
+                        positions[movedField] = newEmptyPosition;
+
+                    int successorDistance = movedField >= 0 ? distance + 1 : distance;
+                    if ((distances[successorRank] & 0xFF) <= successorDistance)
+                        continue;
+                    distances[successorRank] = (byte) successorDistance;
+                    if (movedField >= 0)
+                        nextLayer.push(successorRank);
+                    else
+                        currentLayer.push(successorRank);
+                }
+            }
+
+            IntStack emptyLayer = currentLayer;
+            currentLayer = nextLayer;
+            nextLayer = emptyLayer;
+        }
+        return distances;
+    }
+
+    /**
+     * Loads a database saved by {@link #save(File)}. The table is mapped into memory rather than read.
+     * @param file the file containing the database
+     * @return the database
+     * @throws IOException if the file could not be read or does not contain a pattern database
+     */
+    public static PatternDatabase load(File file) throws IOException {
+        MappedByteBuffer buffer;
+        try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r");
+             FileChannel channel = randomAccessFile.getChannel()) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        if (buffer.remaining() < 12 || buffer.getInt() != MAGIC)
+            throw new IOException("Not a pattern database: " + file);
+        int version = buffer.getInt();
+        if (version != VERSION)
+            throw new IOException("Unsupported pattern database version " + version + ": " + file);
+
+        int dimension = buffer.getInt();
+        if (dimension < MIN_DIMENSION || dimension > MAX_DIMENSION)
+            throw new IOException("Invalid pattern database dimension " + dimension + ": " + file);
+        int size = dimension * dimension;
+        // The target values and the pattern size
+        checkRemaining(buffer, 4L * size + 4, file);
+        int[] targetValues = readValues(buffer, size, size, file);
+
+        int patternSize = buffer.getInt();
+        if (patternSize <= 0 || patternSize >= size || permutations(size, patternSize + 1) > MAX_STATE_COUNT)
+            throw new IOException("Invalid pattern database pattern size " + patternSize + ": " + file);
+        checkRemaining(buffer, 4L * patternSize, file);
+        int[] patternValues = readValues(buffer, patternSize, size, file);
+        // The empty field is the highest value, and is never part of the pattern
+        for (int value : patternValues)
+            if (value == size - 1)
+                throw new IOException("Invalid pattern database pattern value " + value + ": " + file);
+
+        if (buffer.remaining() != permutations(size, patternSize))
+            throw new IOException("Pattern database is truncated: " + file);
+        return new PatternDatabase(dimension, targetValues, patternValues, buffer.slice());
+    }
+
+    private static void checkRemaining(ByteBuffer buffer, long length, File file) throws IOException {
+        if (buffer.remaining() < length)
+            throw new IOException("Pattern database is truncated: " + file);
+    }
+
+    /**
+     * Reads distinct values in the range {@code [0, size)}.
+     */
+    private static int[] readValues(ByteBuffer buffer, int count, int size, File file) throws IOException {
+        int[] values = new int[count];
+        boolean[] isRead = new boolean[size];
+        for (int i = 0; i < count; i++) {
+            int value = buffer.getInt();
+            if (value < 0 || value >= size || isRead[value])
+                throw new IOException("Invalid pattern database value " + value + ": " + file);
+            isRead[value] = true;
+            values[i] = value;
+        }
+        return values;
+    }
+
+    /**
+     * Saves this database to a file, which can be loaded by {@link #load(File)}.
+     * @param file the file to write to, it is overwritten if it exists
+     * @throws IOException if the file could not be written
+     */
+    public void save(File file) throws IOException {
+        try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+            output.writeInt(MAGIC);
+            output.writeInt(VERSION);
+            output.writeInt(dimension);
+            for (int value : targetValues)
+                output.writeInt(value);
+            output.writeInt(patternValues.length);
+            for (int value : patternValues)
+                output.writeInt(value);
+
+            ByteBuffer entries = table.duplicate();
+            entries.clear();
+            byte[] chunk = new byte[8192];
+            while (entries.hasRemaining()) {
+                int length = Math.min(chunk.length, entries.remaining());
+                entries.get(chunk, 0, length);
+                output.write(chunk, 0, length);
+            }
+        }
+    }
+
+    /**
+     * Gets the number of moves needed to bring the pattern fields to their target position.
+     * @param positionPerValue the position of each field value in a puzzle state, as filled in by
+     *                         {@link #getPositions(PuzzleFields, int[])}
+     * @return the number of moves of pattern fields needed to reach the target state
+     */
+    public int getCost(int[] positionPerValue) {
+        return table.get(getIndex(positionPerValue)) & 0xFF;
+    }
+
+    /**
+     * Gets the index of the table entry for a puzzle state. Callers evaluating many states may compute all indices
+     * first and read the entries afterwards using {@link #getCost(int)}.
+     * @param positionPerValue the position of each field value in a puzzle state
+     * @return the table index
+     */
+    public int getIndex(int[] positionPerValue) {
+        long patternPositions = 0;
+        for (int i = 0; i < patternValues.length; i++)
+            patternPositions |= (long) positionPerValue[patternValues[i]] << (5 * i);
+        return getIndex(patternPositions);
+    }
+
+    /**
+     * Gets the index of the table entry for a puzzle state, reading the positions of the pattern fields directly from
+     * the packed state rather than from an array.
+     * @param packedValues the packed values of the state, see {@link PuzzleFields#getPackedValues()}
+     * @param extendedPackedValues the extended packed values of the state
+     * @return the table index
+     */
+    int getIndex(long packedValues, long extendedPackedValues) {
+        long patternPositions = 0;
+        for (int position = 0; position < targetValues.length; position++) {
+            int patternIndex = patternIndexPerValue[PuzzleFields.getValue(packedValues, extendedPackedValues, position)];
+            if (patternIndex >= 0)
+                patternPositions |= (long) position << (5 * patternIndex);
+        }
+        return getIndex(patternPositions);
+    }
+
+    /**
+     * Ranks the positions of the pattern fields. Since the state count is limited, a pattern has at most 8 fields, so
+     * their positions fit in a single {@code long} of 5 bits per field.
+     * @param patternPositions the position of the i-th pattern field in bits {@code [5i .. 5i + 4]}
+     */
+    private int getIndex(long patternPositions) {
+        int size = targetValues.length;
+        int rank = 0;
+        int selected = 0;
+        for (int i = 0; i < patternValues.length; i++) {
+            int position = (int) (patternPositions >>> (5 * i)) & 0x1F;
+            int smallerPositions = Integer.bitCount(selected & ((1 << position) - 1));
+            rank = rank * (size - i) + position - smallerPositions;
+            selected |= 1 << position;
+        }
+        return rank;
+    }
+
+    /**
+     * Gets the table entry at the given index.
+     * @param index an index returned by {@link #getIndex(int[])}
+     * @return the number of moves of pattern fields needed to reach the target state
+     */
+    public int getCost(int index) {
+        return table.get(index) & 0xFF;
+    }
+
+    /**
+     * Fills in the position of each field value of a puzzle state.
+     * @param fields the puzzle state
+     * @param positionPerValue the array to fill in, its length should be the number of fields in the puzzle
+     * @return the array that was passed
+     */
+    public static int[] getPositions(PuzzleFields fields, int[] positionPerValue) {
+        for (int position = 0; position < positionPerValue.length; position++)
+            positionPerValue[fields.getValue(position)] = position;
+        return positionPerValue;
+    }
+
+    public int getDimension() {
+        return dimension;
+    }
+
+    /**
+     * Gets the target state for which this database was built.
+     * @param puzzle the puzzle to create the state for
+     * @return a new field state
+     */
+    public PuzzleFields getTargetState(SlidingPuzzle puzzle) {
+        checkArgument(puzzle.getDimension() == dimension, "Puzzle dimension %s does not match %s", puzzle.getDimension(), dimension);
+        return puzzle.createFields(targetValues);
+    }
+
+    /**
+     * Checks whether this database was built for the given target state.
+     * @param targetState a target state
+     * @return true if the costs in this database lead to the given target state
+     */
+    public boolean isBuiltFor(PuzzleFields targetState) {
+        for (int i = 0; i < targetValues.length; i++)
+            if (targetState.getValue(i) != targetValues[i])
+                return false;
+        return true;
+    }
+
+    /**
+     * Gets the values of the fields in the pattern.
+     * @return a new array
+     */
+    public int[] getPatternValues() {
+        return patternValues.clone();
+    }
+
+    /**
+     * Gets the number of entries in the table.
+     * @return the number of entries
+     */
+    public int getSize() {
+        return table.capacity();
+    }
+
+    @Override
+    public String toString() {
+        return "PatternDatabase{" +
+                "dimension=" + dimension +
+                ", patternValues=" + Arrays.toString(patternValues) +
+                '}';
+    }
+
+    private static int[] toValues(PuzzleFields fields, int size) {
+        checkNotNull(fields);
+        int[] values = new int[size];
+        for (int i = 0; i < size; i++)
+            values[i] = fields.getValue(i);
+        return values;
+    }
+
+    private static int[] toPositions(int[] values) {
+        int[] positions = new int[values.length];
+        for (int i = 0; i < values.length; i++)
+            positions[values[i]] = i;
+        return positions;
+    }
+
+    /**
+     * Calculates the number of ordered selections of {@code k} out of {@code n} elements.
+     */
+    private static long permutations(int n, int k) {
+        long result = 1;
+        for (int i = 0; i < k; i++)
+            result *= n - i;
+        return result;
+    }
+
+    /**
+     * Ranks an ordered selection of distinct positions: each position is numbered among the positions not selected
+     * before it, and these numbers form the digits of a mixed radix number. The selected positions are tracked in a
+     * bit mask, which is possible since a puzzle has at most 25 positions.
+     */
+    private static int rank(int[] positions, int size) {
+        int rank = 0;
+        int selected = 0;
+        for (int i = 0; i < positions.length; i++) {
+            int position = positions[i];
+            int smallerPositions = Integer.bitCount(selected & ((1 << position) - 1));
+            rank = rank * (size - i) + position - smallerPositions;
+            selected |= 1 << position;
+        }
+        return rank;
+    }
+
+    /**
+     * Inverse of {@link #rank(int[], int)}.
+     */
+    private static void unrank(int rank, int size, int[] positions) {
+        for (int i = positions.length - 1; i >= 0; i--) {
+            positions[i] = rank % (size - i);
+            rank /= size - i;
+        }
+        // Convert each digit to the position it numbers among the positions not selected before it.
+        int free = (1 << size) - 1;
+        for (int i = 0; i < positions.length; i++) {
+            int remaining = free;
+            for (int digit = positions[i]; digit > 0; digit--)
+                remaining &= remaining - 1;
+            int position = Integer.numberOfTrailingZeros(remaining);
+            positions[i] = position;
+            free &= ~(1 << position);
+        }
+    }
+
+    /**
+     * A growable stack of primitive {@code int}s.
+     */
+    private static class IntStack {
+        private int[] elements = new int[1024];
+        private int size;
+
+        private void push(int element) {
+            if (size == elements.length)
+                elements = Arrays.copyOf(elements, size * 2);
+            elements[size++] = element;
+        }
+
+        private int pop() {
+            return elements[--size];
+        }
+
+        private boolean isEmpty() {
+            return size == 0;
+        }
+    }
+}
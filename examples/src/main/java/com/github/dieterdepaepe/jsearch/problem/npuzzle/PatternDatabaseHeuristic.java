@@ -0,0 +1,102 @@
+package com.github.dieterdepaepe.jsearch.problem.npuzzle;
+
+import com.github.dieterdepaepe.jsearch.search.constructive.BatchHeuristic;
+import com.github.dieterdepaepe.jsearch.search.constructive.cost.IntegerCost;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Disjoint additive pattern database heuristic for N-Puzzle. It estimates the remaining cost as the sum of the costs
+ * found in a number of {@link PatternDatabase}s for disjoint patterns. Since each database only counts the moves of
+ * its own pattern fields, this sum never overestimates the remaining cost. When all fields except the empty field are
+ * covered by a pattern, this heuristic dominates the {@link ManhattanDistance}.
+ *
+ * <p>When evaluating multiple nodes at once, the table indices of all nodes are calculated before any table entry is
+ * read, which allows the memory accesses to overlap. The table indices are calculated directly from the packed puzzle
+ * state, so a single estimate does not allocate any memory.</p>
+ *
+ * <p>This class is thread-safe. It remembers the most recently verified {@link PuzzleEnvironment}, so the check that
+ * the databases were built for the environment only runs when a different environment is used.</p>
+ * @author Dieter De Paepe
+ */
+public class PatternDatabaseHeuristic implements BatchHeuristic<PuzzleSearchNode, PuzzleEnvironment> {
+    private final PatternDatabase[] databases;
+    private volatile PuzzleEnvironment verifiedEnvironment;
+
+    /**
+     * Creates a new heuristic.
+     * @param databases databases for disjoint patterns, built for the same puzzle dimension and target state
+     * @throws java.lang.IllegalArgumentException if no databases are specified, if the patterns overlap or if the
+     *                                            databases were built for different puzzles
+     */
+    public PatternDatabaseHeuristic(PatternDatabase... databases) {
+        checkArgument(databases.length > 0, "At least one pattern database is required.");
+        PatternDatabase first = databases[0];
+        int size = first.getDimension() * first.getDimension();
+        boolean[] inPattern = new boolean[size];
+        for (PatternDatabase database : databases) {
+            checkArgument(database.getDimension() == first.getDimension(), "Pattern databases for different puzzle dimensions.");
+            checkArgument(database.isBuiltFor(first.getTargetState(new SlidingPuzzle(first.getDimension()))),
+                    "Pattern databases for different target states.");
+            for (int value : database.getPatternValues()) {
+                checkArgument(!inPattern[value], "Value %s is part of multiple patterns.", value);
+                inPattern[value] = true;
+            }
+        }
+        this.databases = databases.clone();
+    }
+
+    @Override
+    public IntegerCost estimateRemainingCost(PuzzleSearchNode node, PuzzleEnvironment environment) {
+        checkEnvironment(environment);
+        PuzzleFields fields = node.getPuzzleFields();
+        long packedValues = fields.getPackedValues();
+        long extendedPackedValues = fields.getExtendedPackedValues();
+
+        int estimate = 0;
+        for (PatternDatabase database : databases)
+            estimate += database.getCost(database.getIndex(packedValues, extendedPackedValues));
+        return IntegerCost.valueOf(estimate);
+    }
+
+    @Override
+    public void estimateRemainingCosts(List<? extends PuzzleSearchNode> nodes, PuzzleEnvironment environment, long[] estimates) {
+        checkEnvironment(environment);
+        int databaseCount = databases.length;
+
+        int[] indices = new int[nodes.size() * databaseCount];
+        for (int i = 0; i < nodes.size(); i++) {
+            PuzzleFields fields = nodes.get(i).getPuzzleFields();
+            long packedValues = fields.getPackedValues();
+            long extendedPackedValues = fields.getExtendedPackedValues();
+            for (int j = 0; j < databaseCount; j++)
+                indices[i * databaseCount + j] = databases[j].getIndex(packedValues, extendedPackedValues);
+        }
+
+        for (int i = 0; i < nodes.size(); i++) {
+            long estimate = 0;
+            for (int j = 0; j < databaseCount; j++)
+                estimate += databases[j].getCost(indices[i * databaseCount + j]);
+            estimates[i] = estimate;
+        }
+    }
+
+    private void checkEnvironment(PuzzleEnvironment environment) {
+        if (environment == verifiedEnvironment)
+            return;
+        checkArgument(environment.getPuzzle().getDimension() == databases[0].getDimension()
+                && databases[0].isBuiltFor(environment.getTargetState()),
+                "The pattern databases were not built for this puzzle environment.");
+        verifiedEnvironment = environment;
+    }
+
+    @Override
+    public String toString() {
+        return "PatternDatabaseHeuristic{" +
+                "databases=" + Arrays.toString(databases) +
+                '}';
+    }
+}
@@ -3,41 +3,111 @@ package com.github.dieterdepaepe.jsearch.problem.npuzzle;
 /**
  * An array-like structure that stores the field values used in a {@link SlidingPuzzle}.
  * <p>
- * This implementation uses a {@code long} as internal storage. It can store a maximum of 16 numbers, with each number
- * in the range <tt>[0..15]</tt>.
+ * This implementation uses 2 {@code long}s as internal storage. It can store a maximum of 25 numbers, with each number
+ * in the range <tt>[0..31]</tt>. The first {@code long} holds the lowest 4 bits of the numbers at index
+ * <tt>[0..15]</tt>. The second {@code long} holds the numbers at index <tt>[16..24]</tt> as 5-bit values, and the
+ * highest bit of the numbers at index <tt>[0..15]</tt>. As long as only the first 16 numbers are used and all numbers
+ * are below 16 (as is the case for puzzles up to 4 x 4), the second {@code long} remains 0.
  * @author Dieter De Paepe
  */
 public class PuzzleFields {
+    /** The bit of the second {@code long} that holds the highest bit of the number at index 0. */
+    private static final int HIGH_BIT_OFFSET = 48;
+
     private long fieldArray;
+    private long extendedFieldArray;
 
     public PuzzleFields(PuzzleFields original) {
         this.fieldArray = original.fieldArray;
+        this.extendedFieldArray = original.extendedFieldArray;
     }
 
     public PuzzleFields() {
     }
 
+    PuzzleFields(long packedValues, long extendedPackedValues) {
+        this.fieldArray = packedValues;
+        this.extendedFieldArray = extendedPackedValues;
+    }
+
     public int getValue(int index) {
-        if (index < 0 || index > 15)
+        if (index < 0 || index > 24)
             throw new IllegalArgumentException("Invalid index: " + index);
 
-        long mask = ((long) 0xF) << (index * 4);
-        return (int) ((mask & fieldArray) >>> index * 4);
+        return getValue(fieldArray, extendedFieldArray, index);
+    }
+
+    /**
+     * Reads a value from the internal storage, without checking the index.
+     * @param packedValues the packed values, as returned by {@link #getPackedValues()}
+     * @param extendedPackedValues the extended packed values, as returned by {@link #getExtendedPackedValues()}
+     * @param index an index in the range <tt>[0..24]</tt>
+     * @return the value at the index
+     */
+    static int getValue(long packedValues, long extendedPackedValues, int index) {
+        if (index < 16)
+            return (int) ((packedValues >>> (index * 4)) & 0xF) | (int) ((extendedPackedValues >>> (HIGH_BIT_OFFSET + index)) & 1) << 4;
+        return (int) ((extendedPackedValues >>> ((index - 16) * 5)) & 0x1F);
+    }
+
+    /**
+     * Gets the first part of the internal storage, in which the lowest 4 bits of the value at index {@code i < 16} are
+     * stored in bits {@code [4i .. 4i + 3]}. If {@link #getExtendedPackedValues()} is 0, this fully describes the values.
+     * @return the packed values
+     */
+    long getPackedValues() {
+        return fieldArray;
+    }
+
+    /**
+     * Gets the second part of the internal storage, which is 0 for puzzles up to 4 x 4.
+     * @return the packed values at index {@code [16..24]} and the highest bits of the values at index {@code [0..15]}
+     */
+    long getExtendedPackedValues() {
+        return extendedFieldArray;
     }
 
     public void setValue(int index, int value) {
-        if (index < 0 || index > 15)
+        if (index < 0 || index > 24)
             throw new IllegalArgumentException("Invalid index: " + index);
-        if (value < 0 || value > 15)
+        if (value < 0 || value > 31)
             throw new IllegalArgumentException("Invalid value: " + value);
 
-        // Clear current value
-        long mask = ~(((long) 0xF) << (index * 4));
-        fieldArray &= mask;
+        xorValue(index, getValue(index) ^ value);
+    }
+
+    /**
+     * Creates a copy of these fields in which the values at the given indices are switched.
+     * @param index1 an index
+     * @param index2 another index
+     * @return a new field state
+     */
+    PuzzleFields switchValues(int index1, int index2) {
+        return xorValues(index1, index2, getValue(index1) ^ getValue(index2));
+    }
+
+    /**
+     * Creates a copy of these fields in which the values at the given indices are XOR-ed with the same value. If that
+     * value is the XOR of the values at both indices, this switches them. The indices are not checked.
+     * @param index1 an index
+     * @param index2 another index
+     * @param difference the 5-bit value to XOR with
+     * @return a new field state
+     */
+    PuzzleFields xorValues(int index1, int index2, int difference) {
+        PuzzleFields result = new PuzzleFields(this);
+        result.xorValue(index1, difference);
+        result.xorValue(index2, difference);
+        return result;
+    }
 
-        // Store new value
-        mask = ((long) value) << (index * 4);
-        fieldArray |= mask;
+    private void xorValue(int index, int difference) {
+        if (index < 16) {
+            fieldArray ^= ((long) (difference & 0xF)) << (index * 4);
+            extendedFieldArray ^= ((long) (difference >>> 4)) << (HIGH_BIT_OFFSET + index);
+        } else {
+            extendedFieldArray ^= ((long) difference) << ((index - 16) * 5);
+        }
     }
 
     @Override
@@ -46,11 +116,13 @@ public class PuzzleFields {
         if (o == null || getClass() != o.getClass()) return false;
 
         PuzzleFields that = (PuzzleFields) o;
-        return fieldArray == that.fieldArray;
+        return fieldArray == that.fieldArray && extendedFieldArray == that.extendedFieldArray;
     }
 
     @Override
     public int hashCode() {
-        return (int) (fieldArray ^ (fieldArray >>> 32));
+        // Equal to the hash of the first long for puzzles up to 4 x 4
+        long combined = fieldArray ^ (extendedFieldArray * 0x9E3779B97F4A7C15L);
+        return (int) (combined ^ (combined >>> 32));
     }
 }
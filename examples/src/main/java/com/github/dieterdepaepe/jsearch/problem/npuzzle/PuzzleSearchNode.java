@@ -1,18 +1,27 @@
 package com.github.dieterdepaepe.jsearch.problem.npuzzle;
 
 import com.github.dieterdepaepe.jsearch.datastructure.lightweight.SingleLinkedListing;
-import com.github.dieterdepaepe.jsearch.search.constructive.StateSearchNode;
+import com.github.dieterdepaepe.jsearch.search.constructive.EncodableStateSearchNode;
 import com.github.dieterdepaepe.jsearch.search.constructive.cost.IntegerCost;
+import com.github.dieterdepaepe.jsearch.search.constructive.solver.iterativedeepening.DepthSearchNode;
+
+import java.nio.ByteBuffer;
 
 /**
  * Implementation of {@code SearchNode} for solving the N-Puzzle problem.
  * @author Dieter De Paepe
  */
-public class PuzzleSearchNode implements StateSearchNode {
+public class PuzzleSearchNode implements EncodableStateSearchNode, DepthSearchNode {
+    /** The size of an encoded search space state, in bytes. */
+    public static final int ENCODED_STATE_SIZE = 16;
+
     private PuzzleFields puzzleFields;
     private SingleLinkedListing<Move> moves;
     private IntegerCost movesPerformed;
     private boolean isGoal;
+    private int emptyPosition;
+    /** An estimate in the lower 32 bits and the estimate tag of its heuristic in the upper 32 bits, or 0 if none. */
+    private long taggedEstimate;
 
     /**
      * Creates a new node.
@@ -22,16 +31,37 @@ public class PuzzleSearchNode implements StateSearchNode {
      * @param isGoal whether or not this node is an acceptable solution
      */
     public PuzzleSearchNode(PuzzleFields puzzleFields, SingleLinkedListing<Move> moves, int movesPerformed, boolean isGoal) {
+        this(puzzleFields, moves, movesPerformed, isGoal, -1);
+    }
+
+    /**
+     * Creates a new node, for which the position of the empty field is known.
+     * @param puzzleFields the field values of the puzzle in this search node
+     * @param moves the moves performed from the start node to reach this search node
+     * @param movesPerformed the number of moves performed so far
+     * @param isGoal whether or not this node is an acceptable solution
+     * @param emptyPosition the position of the empty field in the puzzle fields, or -1 if unknown
+     */
+    public PuzzleSearchNode(PuzzleFields puzzleFields, SingleLinkedListing<Move> moves, int movesPerformed, boolean isGoal, int emptyPosition) {
         this.puzzleFields = puzzleFields;
         this.moves = moves;
         this.movesPerformed = IntegerCost.valueOf(movesPerformed);
         this.isGoal = isGoal;
+        this.emptyPosition = emptyPosition;
     }
 
     public PuzzleFields getPuzzleFields() {
         return puzzleFields;
     }
 
+    /**
+     * Gets the position of the empty field in the puzzle fields, as tracked during the search.
+     * @return the position of the empty field, or -1 if unknown
+     */
+    public int getEmptyPosition() {
+        return emptyPosition;
+    }
+
     public SingleLinkedListing<Move> getMoves() {
         return moves;
     }
@@ -40,6 +70,34 @@ public class PuzzleSearchNode implements StateSearchNode {
         return movesPerformed.getValue();
     }
 
+    /**
+     * Stores the estimate of a heuristic for this node, so the estimates of its successors can be derived from it.
+     * @param estimateTag the estimate tag of the heuristic, see
+     *                    {@link com.github.dieterdepaepe.jsearch.search.constructive.IncrementalHeuristic#getEstimateTag(Object)}
+     * @param estimate the estimate
+     */
+    void setEstimate(int estimateTag, int estimate) {
+        this.taggedEstimate = (long) estimateTag << 32 | (estimate & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Checks whether an estimate of a heuristic was stored for this node.
+     * @param estimateTag the current estimate tag of the heuristic
+     * @return true if {@link #getEstimate()} holds an estimate with the given tag
+     */
+    boolean hasEstimate(int estimateTag) {
+        return (int) (taggedEstimate >>> 32) == estimateTag;
+    }
+
+    int getEstimate() {
+        return (int) taggedEstimate;
+    }
+
+    @Override
+    public int getDepth() {
+        return movesPerformed.getValue();
+    }
+
     @Override
     public boolean isGoal() {
         return isGoal;
@@ -55,6 +113,12 @@ public class PuzzleSearchNode implements StateSearchNode {
         return puzzleFields;
     }
 
+    @Override
+    public void encodeSearchSpaceState(ByteBuffer buffer) {
+        buffer.putLong(puzzleFields.getPackedValues());
+        buffer.putLong(puzzleFields.getExtendedPackedValues());
+    }
+
     @Override
     public String toString() {
         return "PuzzleSearchNode{" +
@@ -1,45 +1,184 @@
 package com.github.dieterdepaepe.jsearch.problem.npuzzle;
 
 import com.github.dieterdepaepe.jsearch.datastructure.lightweight.SingleLinkedListing;
+import com.github.dieterdepaepe.jsearch.search.constructive.BatchHeuristic;
 import com.github.dieterdepaepe.jsearch.search.constructive.Heuristic;
+import com.github.dieterdepaepe.jsearch.search.constructive.IncrementalHeuristic;
 import com.github.dieterdepaepe.jsearch.search.constructive.InformedSearchNode;
-import com.github.dieterdepaepe.jsearch.search.constructive.SearchNodeGenerator;
+import com.github.dieterdepaepe.jsearch.search.constructive.ReversibleSearchNodeGenerator;
+import com.github.dieterdepaepe.jsearch.search.constructive.cost.IntegerCost;
+import com.google.common.primitives.Ints;
 
 import java.util.ArrayList;
 import java.util.List;
 
 /**
- * Implementation of {@code SearchNodeGenerator} for solving the N-Puzzle problem.
+ * Implementation of {@code SearchNodeGenerator} for solving the N-Puzzle problem. Since each move can be undone by its
+ * inverse move, this generator can also be used for bidirectional search.
+ *
+ * <p>If the heuristic is an {@link IncrementalHeuristic} accepting {@link FieldMove}s, the estimate of each successor
+ * is derived from the estimate of the expanded node. The estimate is stored in the generated nodes for this purpose,
+ * together with the {@link IncrementalHeuristic#getEstimateTag(Object) estimate tag} of the heuristic.
+ * Otherwise, if the heuristic is a {@link BatchHeuristic}, all successors are evaluated in a single call. The list of
+ * successors and the array of estimates passed to the heuristic are scratch buffers, reused by each thread.</p>
+ *
+ * <p>The position of the empty field is tracked in the search nodes, so the possible moves are found through the move
+ * table of the {@link SlidingPuzzle} without searching the fields.</p>
  * @author Dieter De Paepe
  */
-public class PuzzleSearchNodeGenerator implements SearchNodeGenerator<PuzzleSearchNode, PuzzleEnvironment> {
+public class PuzzleSearchNodeGenerator implements ReversibleSearchNodeGenerator<PuzzleSearchNode, PuzzleEnvironment> {
+    private static final Move[] MOVES = Move.values();
+
+    private final ThreadLocal<BatchBuffer> batchBuffers = new ThreadLocal<BatchBuffer>() {
+        @Override
+        protected BatchBuffer initialValue() {
+            return new BatchBuffer();
+        }
+    };
+
     @Override
     public List<InformedSearchNode<PuzzleSearchNode>> generateSuccessorNodes(PuzzleSearchNode node, PuzzleEnvironment environment, Heuristic<? super PuzzleSearchNode, ? super PuzzleEnvironment> heuristic) {
+        if (heuristic instanceof IncrementalHeuristic)
+            return generateSuccessorNodesIncrementally(node, environment, heuristic);
+        if (heuristic instanceof BatchHeuristic)
+            return generateSuccessorNodesInBatch(node, environment, heuristic);
+
+        SlidingPuzzle puzzle = environment.getPuzzle();
+        int emptyPosition = getEmptyPosition(node, puzzle);
+
         List<InformedSearchNode<PuzzleSearchNode>> result = new ArrayList<>(4);
+        for (Move move : MOVES) {
+            int movedEmptyPosition = puzzle.getMovedEmptyPosition(emptyPosition, move);
+
+            //Skip if the move is not possible
+            if (movedEmptyPosition < 0)
+                continue;
+
+            PuzzleSearchNode successor = createSuccessor(node, move, emptyPosition, movedEmptyPosition, environment);
+            result.add(new InformedSearchNode<>(successor, heuristic.estimateRemainingCost(successor, environment)));
+        }
+        return result;
+    }
+
+    private List<InformedSearchNode<PuzzleSearchNode>> generateSuccessorNodesInBatch(PuzzleSearchNode node, PuzzleEnvironment environment, Heuristic<? super PuzzleSearchNode, ? super PuzzleEnvironment> heuristic) {
+        @SuppressWarnings("unchecked")
+        BatchHeuristic<? super PuzzleSearchNode, ? super PuzzleEnvironment> batchHeuristic =
+                (BatchHeuristic<? super PuzzleSearchNode, ? super PuzzleEnvironment>) heuristic;
+        SlidingPuzzle puzzle = environment.getPuzzle();
+        int emptyPosition = getEmptyPosition(node, puzzle);
+
+        BatchBuffer buffer = batchBuffers.get();
+        List<PuzzleSearchNode> successors = buffer.successors;
+        try {
+            for (Move move : MOVES) {
+                int movedEmptyPosition = puzzle.getMovedEmptyPosition(emptyPosition, move);
+                if (movedEmptyPosition >= 0)
+                    successors.add(createSuccessor(node, move, emptyPosition, movedEmptyPosition, environment));
+            }
+
+            //Evaluate all successors at once
+            long[] estimates = buffer.estimates;
+            batchHeuristic.estimateRemainingCosts(successors, environment, estimates);
+            List<InformedSearchNode<PuzzleSearchNode>> result = new ArrayList<>(successors.size());
+            for (int i = 0; i < successors.size(); i++)
+                result.add(new InformedSearchNode<>(successors.get(i), IntegerCost.valueOf(Ints.checkedCast(estimates[i]))));
+            return result;
+        } finally {
+            //Do not keep the successors reachable
+            successors.clear();
+        }
+    }
+
+    private List<InformedSearchNode<PuzzleSearchNode>> generateSuccessorNodesIncrementally(PuzzleSearchNode node, PuzzleEnvironment environment, Heuristic<? super PuzzleSearchNode, ? super PuzzleEnvironment> heuristic) {
+        @SuppressWarnings("unchecked")
+        IncrementalHeuristic<? super PuzzleSearchNode, ? super PuzzleEnvironment, ? super FieldMove> incrementalHeuristic =
+                (IncrementalHeuristic<? super PuzzleSearchNode, ? super PuzzleEnvironment, ? super FieldMove>) heuristic;
+        SlidingPuzzle puzzle = environment.getPuzzle();
         PuzzleFields startingFieldsState = node.getPuzzleFields();
+        int emptyPosition = getEmptyPosition(node, puzzle);
 
-        for (Move move : Move.values()) {
-            PuzzleFields movedFieldsState = environment.getPuzzle().move(startingFieldsState, move);
+        //Nodes created outside of this generator (such as start nodes) have no stored estimate yet
+        int estimateTag = incrementalHeuristic.getEstimateTag(environment);
+        long estimate = node.hasEstimate(estimateTag)
+                ? node.getEstimate()
+                : incrementalHeuristic.estimateRemainingCost(node, environment).longValue();
 
-            //Skip if the move had no effect
-            if (movedFieldsState == startingFieldsState)
+        List<InformedSearchNode<PuzzleSearchNode>> result = new ArrayList<>(4);
+        for (Move move : MOVES) {
+            int movedEmptyPosition = puzzle.getMovedEmptyPosition(emptyPosition, move);
+
+            //Skip if the move is not possible
+            if (movedEmptyPosition < 0)
                 continue;
 
-            //Construct the new search node by adding one extra move
-            PuzzleSearchNode newNode = new PuzzleSearchNode(
-                    movedFieldsState,
-                    node.getMoves().extend(move),
-                    node.getMovesPerformed() + 1,
-                    environment.getTargetState().equals(movedFieldsState));
+            //The value moving into the empty field comes from the new position of the empty field
+            FieldMove fieldMove = puzzle.getFieldMove(startingFieldsState.getValue(movedEmptyPosition), emptyPosition, move);
 
-            //Add heuristic information to the search node
-            result.add(new InformedSearchNode<>(newNode, heuristic.estimateRemainingCost(newNode, environment)));
+            PuzzleSearchNode successor = createSuccessor(node, move, emptyPosition, movedEmptyPosition, environment);
+            int successorEstimate = Ints.checkedCast(incrementalHeuristic.estimateRemainingCost(node, estimate, fieldMove, successor, environment));
+            successor.setEstimate(estimateTag, successorEstimate);
+            result.add(new InformedSearchNode<>(successor, IntegerCost.valueOf(successorEstimate)));
         }
-
         return result;
     }
 
+    private static int getEmptyPosition(PuzzleSearchNode node, SlidingPuzzle puzzle) {
+        int emptyPosition = node.getEmptyPosition();
+        return emptyPosition >= 0 ? emptyPosition : puzzle.getEmptyPosition(node.getPuzzleFields());
+    }
+
+    private static PuzzleSearchNode createSuccessor(PuzzleSearchNode node, Move move, int emptyPosition, int movedEmptyPosition, PuzzleEnvironment environment) {
+        PuzzleFields movedFieldsState = environment.getPuzzle().move(node.getPuzzleFields(), emptyPosition, movedEmptyPosition);
+
+        //Construct the new search node by adding one extra move
+        return new PuzzleSearchNode(
+                movedFieldsState,
+                node.getMoves().extend(move),
+                node.getMovesPerformed() + 1,
+                environment.getTargetState().equals(movedFieldsState),
+                movedEmptyPosition);
+    }
+
+    @Override
+    public PuzzleEnvironment createBackwardEnvironment(PuzzleSearchNode startNode, PuzzleEnvironment environment) {
+        return new PuzzleEnvironment(environment.getPuzzle(), startNode.getPuzzleFields());
+    }
+
+    @Override
+    public PuzzleSearchNode createBackwardStartNode(PuzzleEnvironment environment, PuzzleEnvironment backwardEnvironment) {
+        return createStartState(environment.getTargetState(), backwardEnvironment);
+    }
+
+    @Override
+    public List<InformedSearchNode<PuzzleSearchNode>> generatePredecessorNodes(PuzzleSearchNode node, PuzzleEnvironment backwardEnvironment, Heuristic<? super PuzzleSearchNode, ? super PuzzleEnvironment> heuristic) {
+        //All moves are reversible, so the predecessors of a node are its successors
+        return generateSuccessorNodes(node, backwardEnvironment, heuristic);
+    }
+
+    @Override
+    public PuzzleSearchNode join(PuzzleSearchNode forwardNode, PuzzleSearchNode backwardNode, PuzzleEnvironment environment) {
+        //The backward moves lead from the target to the meeting point, so they are undone in reverse order
+        List<Move> remainingMoves = new ArrayList<>(backwardNode.getMovesPerformed());
+        for (Move move : backwardNode.getMoves().fromEndToStart())
+            remainingMoves.add(Move.inverse(move));
+
+        return new PuzzleSearchNode(
+                environment.getTargetState(),
+                forwardNode.getMoves().extend(remainingMoves),
+                forwardNode.getMovesPerformed() + backwardNode.getMovesPerformed(),
+                true);
+    }
+
     public PuzzleSearchNode createStartState(PuzzleFields fieldState, PuzzleEnvironment environment) {
-        return new PuzzleSearchNode(fieldState, SingleLinkedListing.<Move>of(), 0, environment.getTargetState().equals(fieldState));
+        return new PuzzleSearchNode(fieldState, SingleLinkedListing.<Move>of(), 0, environment.getTargetState().equals(fieldState),
+                environment.getPuzzle().getEmptyPosition(fieldState));
+    }
+
+    /**
+     * The scratch buffers for evaluating the successors of a node in a batch, of which each node has at most 4.
+     */
+    private static class BatchBuffer {
+        private final List<PuzzleSearchNode> successors = new ArrayList<>(4);
+        private final long[] estimates = new long[4];
     }
 }
@@ -0,0 +1,69 @@
+package com.github.dieterdepaepe.jsearch.problem.npuzzle;
+
+import com.github.dieterdepaepe.jsearch.datastructure.lightweight.SingleLinkedListing;
+import com.github.dieterdepaepe.jsearch.search.constructive.SearchNodeSerializer;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Implementation of {@code SearchNodeSerializer} for {@link PuzzleSearchNode}s. The moves of a node are stored using
+ * 2 bits per move. Heuristic estimates stored in a node for incremental evaluation are not serialized.
+ *
+ * <p>This implementation is stateless and therefor thread-safe.</p>
+ * @author Dieter De Paepe
+ */
+public class PuzzleSearchNodeSerializer implements SearchNodeSerializer<PuzzleSearchNode> {
+    private static final Move[] MOVES = Move.values();
+
+    @Override
+    public int getSerializedSize(PuzzleSearchNode node) {
+        // Fields, empty position, goal flag, moves performed, number of moves and the moves
+        return 16 + 1 + 1 + 4 + 4 + (countMoves(node.getMoves()) + 3) / 4;
+    }
+
+    @Override
+    public void serialize(PuzzleSearchNode node, ByteBuffer buffer) {
+        PuzzleFields fields = node.getPuzzleFields();
+        buffer.putLong(fields.getPackedValues());
+        buffer.putLong(fields.getExtendedPackedValues());
+        buffer.put((byte) node.getEmptyPosition());
+        buffer.put((byte) (node.isGoal() ? 1 : 0));
+        buffer.putInt(node.getMovesPerformed());
+
+        int moveCount = countMoves(node.getMoves());
+        buffer.putInt(moveCount);
+        byte[] packedMoves = new byte[(moveCount + 3) / 4];
+        int index = moveCount;
+        for (Move move : node.getMoves().fromEndToStart()) {
+            index--;
+            packedMoves[index / 4] |= move.ordinal() << (2 * (index % 4));
+        }
+        buffer.put(packedMoves);
+    }
+
+    @Override
+    public PuzzleSearchNode deserialize(ByteBuffer buffer) {
+        PuzzleFields fields = new PuzzleFields(buffer.getLong(), buffer.getLong());
+        int emptyPosition = buffer.get();
+        boolean isGoal = buffer.get() != 0;
+        int movesPerformed = buffer.getInt();
+
+        int moveCount = buffer.getInt();
+        byte[] packedMoves = new byte[(moveCount + 3) / 4];
+        buffer.get(packedMoves);
+        List<Move> moves = new ArrayList<>(moveCount);
+        for (int index = 0; index < moveCount; index++)
+            moves.add(MOVES[(packedMoves[index / 4] >>> (2 * (index % 4))) & 0x3]);
+
+        return new PuzzleSearchNode(fields, SingleLinkedListing.of(moves), movesPerformed, isGoal, emptyPosition);
+    }
+
+    private static int countMoves(SingleLinkedListing<Move> moves) {
+        int count = 0;
+        for (SingleLinkedListing<Move> listing = moves; !listing.isEmpty(); listing = listing.getPrefixListing())
+            count++;
+        return count;
+    }
+}
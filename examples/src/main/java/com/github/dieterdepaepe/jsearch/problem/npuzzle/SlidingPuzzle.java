@@ -9,17 +9,43 @@ package com.github.dieterdepaepe.jsearch.problem.npuzzle;
 public class SlidingPuzzle {
     private int dimension;
     private int emptyFieldValue;
+    /** The position of the empty field after each move, indexed by {@code emptyPosition * 4 + move.ordinal()}. */
+    private int[] moveTable;
+    /** The effect of each move, indexed by {@code (value * size + emptyPosition) * 4 + move.ordinal()}. */
+    private FieldMove[] fieldMoves;
 
     /**
      * Creates a new puzzle instance for puzzles of the specified dimension.
-     * @param dimension the dimension - should be 2, 3 or 4
+     * @param dimension the dimension - should be 2, 3, 4 or 5
      */
     public SlidingPuzzle(int dimension) {
-        if (dimension < 2 || dimension > 4)
+        if (dimension < 2 || dimension > 5)
             throw new IllegalArgumentException("Dimension not supported: " + dimension);
 
         this.dimension = dimension;
         this.emptyFieldValue = dimension * dimension - 1;
+
+        int size = dimension * dimension;
+        this.moveTable = new int[size * 4];
+        for (int position = 0; position < size; position++) {
+            for (Move move : Move.values()) {
+                int newRow = position / dimension + move.getDeltaRow();
+                int newColumn = position % dimension + move.getDeltaColumn();
+                boolean isValid = newRow >= 0 && newRow < dimension && newColumn >= 0 && newColumn < dimension;
+                moveTable[position * 4 + move.ordinal()] = isValid ? to1DIndex(newRow, newColumn) : -1;
+            }
+        }
+
+        this.fieldMoves = new FieldMove[size * size * 4];
+        for (int value = 0; value < size; value++) {
+            for (int position = 0; position < size; position++) {
+                for (Move move : Move.values()) {
+                    int movedEmptyPosition = moveTable[position * 4 + move.ordinal()];
+                    if (movedEmptyPosition >= 0)
+                        fieldMoves[(value * size + position) * 4 + move.ordinal()] = new FieldMove(value, movedEmptyPosition, position);
+                }
+            }
+        }
     }
 
     /**
@@ -87,16 +113,77 @@ public class SlidingPuzzle {
      * @return the resulting state of the puzzle
      */
     public PuzzleFields move(PuzzleFields fields, Move move) {
-        PuzzleIndex emptySpace = findValue(fields, emptyFieldValue);
-        int newRow = emptySpace.row + move.getDeltaRow();
-        int newColumn = emptySpace.column + move.getDeltaColumn();
-        if (newRow >= 0 && newRow < dimension && newColumn >= 0 && newColumn < dimension) {
-            PuzzleFields copy = new PuzzleFields(fields);
-            switchValues(copy, emptySpace.row, emptySpace.column, newRow, newColumn);
-            return copy;
-        } else {
+        int emptyPosition = getEmptyPosition(fields);
+        int movedEmptyPosition = getMovedEmptyPosition(emptyPosition, move);
+        if (movedEmptyPosition < 0)
             return fields;
+        return move(fields, emptyPosition, movedEmptyPosition);
+    }
+
+    /**
+     * Performs a move of the empty field in the sliding puzzle, for which the positions of the empty field are known.
+     * @param fields the starting state of the puzzle
+     * @param emptyPosition the position of the empty field in the starting state
+     * @param movedEmptyPosition the position of the empty field after the move, as returned by
+     *                           {@link #getMovedEmptyPosition(int, Move)}
+     * @return the resulting state of the puzzle
+     */
+    public PuzzleFields move(PuzzleFields fields, int emptyPosition, int movedEmptyPosition) {
+        if (dimension > 4) {
+            int movedValue = PuzzleFields.getValue(fields.getPackedValues(), fields.getExtendedPackedValues(), movedEmptyPosition);
+            return fields.xorValues(emptyPosition, movedEmptyPosition, movedValue ^ emptyFieldValue);
         }
+
+        long packedValues = fields.getPackedValues();
+        long movedValue = (packedValues >>> (4 * movedEmptyPosition)) & 0xF;
+
+        // XOR-ing both positions with (movedValue ^ emptyFieldValue) switches their values
+        long difference = movedValue ^ emptyFieldValue;
+        return new PuzzleFields(packedValues ^ (difference << (4 * emptyPosition)) ^ (difference << (4 * movedEmptyPosition)), 0);
+    }
+
+    /**
+     * Gets the position of the empty field after a move.
+     * @param emptyPosition the position of the empty field before the move
+     * @param move the move to execute on the empty field
+     * @return the new position of the empty field, or -1 if the move is not possible
+     */
+    public int getMovedEmptyPosition(int emptyPosition, Move move) {
+        return moveTable[emptyPosition * 4 + move.ordinal()];
+    }
+
+    /**
+     * Gets the effect of a move on a single field value.
+     * @param value the value that is switched with the empty field, found at the position of the empty field after
+     *              the move
+     * @param emptyPosition the position of the empty field before the move
+     * @param move the move to execute on the empty field
+     * @return a cached instance describing the move of the value, or null if the move is not possible
+     */
+    public FieldMove getFieldMove(int value, int emptyPosition, Move move) {
+        return fieldMoves[(value * dimension * dimension + emptyPosition) * 4 + move.ordinal()];
+    }
+
+    /**
+     * Finds the position of the empty field, using the 1 dimensional index used by {@link PuzzleFields}.
+     * @param fields the state of the puzzle
+     * @return the position of the empty field
+     */
+    public int getEmptyPosition(PuzzleFields fields) {
+        int size = dimension * dimension;
+        if (dimension > 4) {
+            long packedValues = fields.getPackedValues();
+            long extendedPackedValues = fields.getExtendedPackedValues();
+            for (int position = 0; position < size; position++)
+                if (PuzzleFields.getValue(packedValues, extendedPackedValues, position) == emptyFieldValue)
+                    return position;
+        } else {
+            long packedValues = fields.getPackedValues();
+            for (int position = 0; position < size; position++)
+                if (((packedValues >>> (4 * position)) & 0xF) == emptyFieldValue)
+                    return position;
+        }
+        throw new IllegalArgumentException("The fields do not contain the empty field.");
     }
 
     public String toString(PuzzleFields fields) {
@@ -167,15 +254,6 @@ public class SlidingPuzzle {
         return ((field1Inversions + field1EmptyRow) % 2) == ((field2Inversions + field2EmptyRow) % 2);
     }
 
-    private void switchValues(PuzzleFields fields, int row1, int column1, int row2, int column2) {
-        int index1 = to1DIndex(row1, column1);
-        int index2 = to1DIndex(row2, column2);
-        int value1 = fields.getValue(index1);
-        int value2 = fields.getValue(index2);
-        fields.setValue(index2, value1);
-        fields.setValue(index1, value2);
-    }
-
     private PuzzleIndex to2DIndex(int index) {
         return new PuzzleIndex(index / dimension, index % dimension);
     }
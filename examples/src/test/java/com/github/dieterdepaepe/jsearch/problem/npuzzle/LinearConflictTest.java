@@ -0,0 +1,124 @@
+package com.github.dieterdepaepe.jsearch.problem.npuzzle;
+
+import com.github.dieterdepaepe.jsearch.search.constructive.Solvers;
+import com.github.dieterdepaepe.jsearch.search.constructive.cost.IntegerCost;
+import com.github.dieterdepaepe.jsearch.search.constructive.solver.AStarStateSolver;
+import com.github.dieterdepaepe.jsearch.search.constructive.util.BasicManager;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Test class for {@link LinearConflict}.
+ * @author Dieter De Paepe
+ */
+public class LinearConflictTest {
+    @Test
+    public void testEstimateRemainingCost() {
+        SlidingPuzzle puzzle = new SlidingPuzzle(3);
+        PuzzleEnvironment environment = new PuzzleEnvironment(puzzle, puzzle.createFields());
+
+        // Fields 0 and 1 are swapped within their target row: Manhattan distance 2, one conflict.
+        PuzzleFields rowConflict = puzzle.createFields(
+                1, 0, 2,
+                3, 4, 5,
+                6, 7, 8);
+        assertEquals(new LinearConflict().estimateRemainingCost(createNode(rowConflict), environment), IntegerCost.valueOf(4));
+
+        // Fields 0, 3 and 6 are reversed within their target column: Manhattan distance 4, two fields have to move aside.
+        PuzzleFields columnConflict = puzzle.createFields(
+                6, 1, 2,
+                3, 4, 5,
+                0, 7, 8);
+        assertEquals(new LinearConflict().estimateRemainingCost(createNode(columnConflict), environment), IntegerCost.valueOf(8));
+
+        assertEquals(new LinearConflict().estimateRemainingCost(createNode(puzzle.createFields()), environment), IntegerCost.valueOf(0));
+    }
+
+    @Test
+    public void testEstimateRemainingCostLargePuzzle() {
+        SlidingPuzzle puzzle = new SlidingPuzzle(5);
+        PuzzleEnvironment environment = new PuzzleEnvironment(puzzle, puzzle.createFields());
+
+        // Fields 0 to 4 are reversed within their target row: Manhattan distance 12, four fields have to move aside.
+        PuzzleFields rowConflict = puzzle.createFields(
+                 4,  3,  2,  1,  0,
+                 5,  6,  7,  8,  9,
+                10, 11, 12, 13, 14,
+                15, 16, 17, 18, 19,
+                20, 21, 22, 23, 24);
+        assertEquals(new LinearConflict().estimateRemainingCost(createNode(rowConflict), environment), IntegerCost.valueOf(20));
+
+        // Fields 0 and 20 are swapped within their target column: Manhattan distance 8, two fields have to move aside.
+        PuzzleFields columnConflict = puzzle.createFields(
+                20,  1,  2,  3,  4,
+                 5,  6,  7,  8,  9,
+                10, 11, 12, 13, 14,
+                15, 16, 17, 18, 19,
+                 0, 21, 22, 23, 24);
+        assertEquals(new LinearConflict().estimateRemainingCost(createNode(columnConflict), environment), IntegerCost.valueOf(12));
+    }
+
+    @Test
+    public void testAdmissibleAndDominatesManhattanDistance() {
+        SlidingPuzzle puzzle = new SlidingPuzzle(3);
+        PuzzleFields target = puzzle.createFields();
+        PuzzleEnvironment environment = new PuzzleEnvironment(puzzle, target);
+        PuzzleSearchNodeGenerator generator = new PuzzleSearchNodeGenerator();
+        LinearConflict heuristic = new LinearConflict();
+        ManhattanDistance manhattanDistance = new ManhattanDistance();
+
+        boolean stronger = false;
+        for (PuzzleFields fields : randomStates(puzzle, target, 30, 0)) {
+            PuzzleSearchNode node = createNode(fields);
+            BasicManager<PuzzleSearchNode> manager = new BasicManager<>(IntegerCost.valueOf(Integer.MAX_VALUE));
+            Solvers.solve(new AStarStateSolver(), manager, generator, heuristic, environment, generator.createStartState(fields, environment));
+
+            IntegerCost estimate = heuristic.estimateRemainingCost(node, environment);
+            IntegerCost manhattanEstimate = manhattanDistance.estimateRemainingCost(node, environment);
+            assertTrue(estimate.compareTo(manager.getSolution().getNode().getCost()) <= 0);
+            assertTrue(estimate.compareTo(manhattanEstimate) >= 0);
+            stronger |= estimate.compareTo(manhattanEstimate) > 0;
+        }
+        assertTrue(stronger);
+    }
+
+    @Test
+    public void testBatchEstimatesMatchSingleEstimates() {
+        SlidingPuzzle puzzle = new SlidingPuzzle(4);
+        PuzzleFields target = puzzle.createFields();
+        PuzzleEnvironment environment = new PuzzleEnvironment(puzzle, target);
+        LinearConflict heuristic = new LinearConflict();
+
+        List<PuzzleSearchNode> nodes = new ArrayList<>();
+        for (PuzzleFields fields : randomStates(puzzle, target, 20, 1))
+            nodes.add(createNode(fields));
+        long[] estimates = new long[nodes.size()];
+        heuristic.estimateRemainingCosts(nodes, environment, estimates);
+
+        for (int i = 0; i < nodes.size(); i++)
+            assertEquals(estimates[i], heuristic.estimateRemainingCost(nodes.get(i), environment).longValue());
+    }
+
+    private static PuzzleSearchNode createNode(PuzzleFields fields) {
+        return new PuzzleSearchNode(fields, null, 0, false);
+    }
+
+    private static List<PuzzleFields> randomStates(SlidingPuzzle puzzle, PuzzleFields target, int count, long seed) {
+        Random random = new Random(seed);
+        List<PuzzleFields> result = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            PuzzleFields fields = target;
+            int moves = 10 + random.nextInt(30);
+            for (int j = 0; j < moves; j++)
+                fields = puzzle.move(fields, Move.values()[random.nextInt(Move.values().length)]);
+            result.add(fields);
+        }
+        return result;
+    }
+}
@@ -4,6 +4,10 @@ package com.github.dieterdepaepe.jsearch.problem.npuzzle;
 import com.github.dieterdepaepe.jsearch.search.constructive.cost.IntegerCost;
 import org.testng.annotations.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
 import static org.testng.Assert.assertEquals;
 
 /**
@@ -44,4 +48,69 @@ public class ManhattanDistanceTest {
 
         assertEquals(heuristic.estimateRemainingCost(node, environment), IntegerCost.valueOf(1));
     }
+
+    @Test
+    public void testEstimateRemainingCostsMatchesSingleEstimates() {
+        SlidingPuzzle puzzle = new SlidingPuzzle(4);
+        ManhattanDistance heuristic = new ManhattanDistance();
+        PuzzleFields targetFields = puzzle.createFields(
+                1,  2,  3,  4,
+                5,  6,  7,  8,
+                9, 10, 11, 12,
+               13, 14, 15,  0);
+        PuzzleEnvironment environment = new PuzzleEnvironment(puzzle, targetFields);
+
+        List<PuzzleSearchNode> nodes = new ArrayList<>();
+        PuzzleFields fields = puzzle.createFields();
+        Move[] moves = {Move.RIGHT, Move.DOWN, Move.DOWN, Move.LEFT, Move.DOWN, Move.RIGHT, Move.RIGHT, Move.UP};
+        for (Move move : moves) {
+            fields = puzzle.move(fields, move);
+            nodes.add(new PuzzleSearchNode(fields, null, 0, false));
+        }
+
+        long[] estimates = new long[nodes.size() + 1];
+        estimates[nodes.size()] = -1;
+        heuristic.estimateRemainingCosts(nodes, environment, estimates);
+
+        for (int i = 0; i < nodes.size(); i++)
+            assertEquals(estimates[i], heuristic.estimateRemainingCost(nodes.get(i), environment).longValue());
+        assertEquals(estimates[nodes.size()], -1);
+    }
+
+    @Test
+    public void testEstimateRemainingCostForOtherTargetStates() {
+        ManhattanDistance heuristic = new ManhattanDistance();
+        Random random = new Random(0);
+        for (int dimension = 2; dimension <= 5; dimension++) {
+            SlidingPuzzle puzzle = new SlidingPuzzle(dimension);
+            for (int i = 0; i < 20; i++) {
+                // Alternate between environments, so the tables of the heuristic have to be replaced.
+                PuzzleFields targetFields = scramble(puzzle, puzzle.createFields(), random);
+                PuzzleFields testFields = scramble(puzzle, targetFields, random);
+                PuzzleEnvironment environment = new PuzzleEnvironment(puzzle, targetFields);
+                PuzzleSearchNode node = new PuzzleSearchNode(testFields, null, 0, false);
+
+                assertEquals(heuristic.estimateRemainingCost(node, environment).getValue(), sumOfDistances(puzzle, testFields, targetFields));
+            }
+        }
+    }
+
+    private static PuzzleFields scramble(SlidingPuzzle puzzle, PuzzleFields fields, Random random) {
+        for (int i = 0; i < 50; i++)
+            fields = puzzle.move(fields, Move.values()[random.nextInt(Move.values().length)]);
+        return fields;
+    }
+
+    private static int sumOfDistances(SlidingPuzzle puzzle, PuzzleFields fields, PuzzleFields targetFields) {
+        int result = 0;
+        for (int row = 0; row < puzzle.getDimension(); row++)
+            for (int column = 0; column < puzzle.getDimension(); column++) {
+                int value = puzzle.getValue(fields, row, column);
+                if (value == puzzle.getEmptyFieldValue())
+                    continue;
+                PuzzleIndex targetIndex = puzzle.findValue(targetFields, value);
+                result += Math.abs(targetIndex.row - row) + Math.abs(targetIndex.column - column);
+            }
+        return result;
+    }
 }
@@ -0,0 +1,205 @@
+package com.github.dieterdepaepe.jsearch.problem.npuzzle;
+
+import com.github.dieterdepaepe.jsearch.search.constructive.Solvers;
+import com.github.dieterdepaepe.jsearch.search.constructive.cost.IntegerCost;
+import com.github.dieterdepaepe.jsearch.search.constructive.solver.AStarStateSolver;
+import com.github.dieterdepaepe.jsearch.search.constructive.util.BasicManager;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.testng.Assert.*;
+
+/**
+ * Test class for {@link PatternDatabase} and {@link PatternDatabaseHeuristic}.
+ * @author Dieter De Paepe
+ */
+public class PatternDatabaseTest {
+    @Test
+    public void testCompletePatternIsExact() {
+        SlidingPuzzle puzzle = new SlidingPuzzle(3);
+        PuzzleFields target = puzzle.createFields();
+        PatternDatabaseHeuristic heuristic = new PatternDatabaseHeuristic(PatternDatabase.build(puzzle, target, 0, 1, 2, 3, 4, 5, 6, 7));
+        PuzzleEnvironment environment = new PuzzleEnvironment(puzzle, target);
+
+        for (PuzzleFields fields : randomStates(puzzle, target, 10, 0))
+            assertEquals(heuristic.estimateRemainingCost(createNode(fields), environment), solve(puzzle, target, fields));
+    }
+
+    @Test
+    public void testDisjointPatternsAreAdmissibleAndDominateManhattanDistance() {
+        SlidingPuzzle puzzle = new SlidingPuzzle(3);
+        PuzzleFields target = puzzle.createFields();
+        PatternDatabaseHeuristic heuristic = new PatternDatabaseHeuristic(
+                PatternDatabase.build(puzzle, target, 0, 1, 2, 3),
+                PatternDatabase.build(puzzle, target, 4, 5, 6, 7));
+        ManhattanDistance manhattanDistance = new ManhattanDistance();
+        PuzzleEnvironment environment = new PuzzleEnvironment(puzzle, target);
+
+        for (PuzzleFields fields : randomStates(puzzle, target, 10, 1)) {
+            PuzzleSearchNode node = createNode(fields);
+            IntegerCost estimate = heuristic.estimateRemainingCost(node, environment);
+            assertTrue(estimate.compareTo(manhattanDistance.estimateRemainingCost(node, environment)) >= 0);
+            assertTrue(estimate.compareTo(solve(puzzle, target, fields)) <= 0);
+        }
+        assertEquals(heuristic.estimateRemainingCost(createNode(target), environment), IntegerCost.valueOf(0));
+    }
+
+    @Test
+    public void testBatchEstimatesMatchSingleEstimates() {
+        SlidingPuzzle puzzle = new SlidingPuzzle(4);
+        PuzzleFields target = puzzle.createFields();
+        PatternDatabaseHeuristic heuristic = new PatternDatabaseHeuristic(
+                PatternDatabase.build(puzzle, target, 0, 1, 4),
+                PatternDatabase.build(puzzle, target, 2, 3, 7));
+        PuzzleEnvironment environment = new PuzzleEnvironment(puzzle, target);
+
+        List<PuzzleSearchNode> nodes = new ArrayList<>();
+        for (PuzzleFields fields : randomStates(puzzle, target, 20, 2))
+            nodes.add(createNode(fields));
+        long[] estimates = new long[nodes.size()];
+        heuristic.estimateRemainingCosts(nodes, environment, estimates);
+
+        for (int i = 0; i < nodes.size(); i++)
+            assertEquals(estimates[i], heuristic.estimateRemainingCost(nodes.get(i), environment).longValue());
+    }
+
+    @Test
+    public void testSaveAndLoad() throws IOException {
+        SlidingPuzzle puzzle = new SlidingPuzzle(4);
+        PuzzleFields target = puzzle.createFields();
+        PatternDatabase database = PatternDatabase.build(puzzle, target, 0, 1, 2, 3);
+
+        File file = Files.createTempFile("pattern", ".pdb").toFile();
+        try {
+            database.save(file);
+            PatternDatabase loadedDatabase = PatternDatabase.load(file);
+
+            assertEquals(loadedDatabase.getSize(), 16 * 15 * 14 * 13);
+            assertEquals(loadedDatabase.getPatternValues(), new int[]{0, 1, 2, 3});
+            assertTrue(loadedDatabase.isBuiltFor(target));
+            assertEquals(loadedDatabase.getTargetState(puzzle), target);
+
+            int[] positions = new int[16];
+            for (PuzzleFields fields : randomStates(puzzle, target, 50, 3)) {
+                PatternDatabase.getPositions(fields, positions);
+                assertEquals(loadedDatabase.getCost(positions), database.getCost(positions));
+                assertEquals(loadedDatabase.getIndex(fields.getPackedValues(), fields.getExtendedPackedValues()),
+                        database.getIndex(positions));
+            }
+        } finally {
+            file.delete();
+        }
+    }
+
+    @Test(expectedExceptions = IOException.class)
+    public void testLoadInvalidFile() throws IOException {
+        File file = Files.createTempFile("pattern", ".pdb").toFile();
+        try {
+            Files.write(file.toPath(), new byte[]{1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12});
+            PatternDatabase.load(file);
+        } finally {
+            file.delete();
+        }
+    }
+
+    @Test
+    public void testLoadCorruptFile() throws IOException {
+        SlidingPuzzle puzzle = new SlidingPuzzle(4);
+        PatternDatabase database = PatternDatabase.build(puzzle, puzzle.createFields(), 0, 1, 2);
+        File file = Files.createTempFile("pattern", ".pdb").toFile();
+        try {
+            database.save(file);
+            byte[] content = Files.readAllBytes(file.toPath());
+            // Header: magic, version, dimension, 16 target values, pattern size, 3 pattern values
+            int dimensionOffset = 8;
+            int targetOffset = 12;
+            int patternSizeOffset = targetOffset + 16 * 4;
+            int patternOffset = patternSizeOffset + 4;
+
+            assertLoadFails(file, corrupt(content, dimensionOffset, 1));
+            assertLoadFails(file, corrupt(content, dimensionOffset, 46341));
+            assertLoadFails(file, corrupt(content, targetOffset, 1));
+            assertLoadFails(file, corrupt(content, targetOffset, 16));
+            assertLoadFails(file, corrupt(content, patternSizeOffset, 0));
+            assertLoadFails(file, corrupt(content, patternSizeOffset, 16));
+            assertLoadFails(file, corrupt(content, patternSizeOffset, Integer.MAX_VALUE));
+            assertLoadFails(file, corrupt(content, patternOffset, -1));
+            assertLoadFails(file, corrupt(content, patternOffset, 1));
+            assertLoadFails(file, corrupt(content, patternOffset, 15));
+            assertLoadFails(file, Arrays.copyOf(content, content.length - 1));
+            assertLoadFails(file, Arrays.copyOf(content, patternOffset));
+        } finally {
+            file.delete();
+        }
+    }
+
+    private static byte[] corrupt(byte[] content, int offset, int value) {
+        byte[] result = content.clone();
+        ByteBuffer.wrap(result).putInt(offset, value);
+        return result;
+    }
+
+    private static void assertLoadFails(File file, byte[] content) throws IOException {
+        Files.write(file.toPath(), content);
+        try {
+            PatternDatabase.load(file);
+            fail("Loading a corrupt pattern database should fail");
+        } catch (IOException e) {
+            // Expected
+        }
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testPatternWithEmptyField() {
+        SlidingPuzzle puzzle = new SlidingPuzzle(3);
+        PatternDatabase.build(puzzle, puzzle.createFields(), 0, 8);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testOverlappingPatterns() {
+        SlidingPuzzle puzzle = new SlidingPuzzle(3);
+        PuzzleFields target = puzzle.createFields();
+        new PatternDatabaseHeuristic(PatternDatabase.build(puzzle, target, 0, 1), PatternDatabase.build(puzzle, target, 1, 2));
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testOtherTargetState() {
+        SlidingPuzzle puzzle = new SlidingPuzzle(3);
+        PatternDatabaseHeuristic heuristic = new PatternDatabaseHeuristic(PatternDatabase.build(puzzle, puzzle.createFields(), 0, 1));
+        PuzzleFields otherTarget = puzzle.move(puzzle.createFields(), Move.LEFT);
+        heuristic.estimateRemainingCost(createNode(otherTarget), new PuzzleEnvironment(puzzle, otherTarget));
+    }
+
+    private static PuzzleSearchNode createNode(PuzzleFields fields) {
+        return new PuzzleSearchNode(fields, null, 0, false);
+    }
+
+    private static IntegerCost solve(SlidingPuzzle puzzle, PuzzleFields target, PuzzleFields start) {
+        PuzzleEnvironment environment = new PuzzleEnvironment(puzzle, target);
+        PuzzleSearchNodeGenerator generator = new PuzzleSearchNodeGenerator();
+        BasicManager<PuzzleSearchNode> manager = new BasicManager<>(IntegerCost.valueOf(Integer.MAX_VALUE));
+        Solvers.solve(new AStarStateSolver(), manager, generator, new ManhattanDistance(), environment, generator.createStartState(start, environment));
+        return manager.getSolution().getNode().getCost();
+    }
+
+    private static List<PuzzleFields> randomStates(SlidingPuzzle puzzle, PuzzleFields target, int count, long seed) {
+        Random random = new Random(seed);
+        List<PuzzleFields> result = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            PuzzleFields fields = target;
+            int moves = 10 + random.nextInt(30);
+            for (int j = 0; j < moves; j++)
+                fields = puzzle.move(fields, Move.values()[random.nextInt(Move.values().length)]);
+            result.add(fields);
+        }
+        return result;
+    }
+}
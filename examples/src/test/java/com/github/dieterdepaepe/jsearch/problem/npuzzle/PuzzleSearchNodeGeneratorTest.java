@@ -0,0 +1,205 @@
+package com.github.dieterdepaepe.jsearch.problem.npuzzle;
+
+import com.github.dieterdepaepe.jsearch.search.constructive.BatchHeuristic;
+import com.github.dieterdepaepe.jsearch.search.constructive.IncrementalHeuristic;
+import com.github.dieterdepaepe.jsearch.search.constructive.InformedSearchNode;
+import com.github.dieterdepaepe.jsearch.search.constructive.Solvers;
+import com.github.dieterdepaepe.jsearch.search.constructive.solver.AStarStateSolver;
+import com.github.dieterdepaepe.jsearch.search.constructive.solver.MMSolver;
+import com.github.dieterdepaepe.jsearch.search.constructive.solver.idastar.IDAStarSolver;
+import com.github.dieterdepaepe.jsearch.search.constructive.solver.idastar.ParallelIDAStarSolver;
+import com.github.dieterdepaepe.jsearch.search.constructive.util.BasicManager;
+import com.github.dieterdepaepe.jsearch.search.constructive.cost.IntegerCost;
+import com.github.dieterdepaepe.jsearch.search.constructive.cost.PrimitiveCost;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.testng.Assert.*;
+
+/**
+ * Test class for {@link PuzzleSearchNodeGenerator}.
+ * @author Dieter De Paepe
+ */
+public class PuzzleSearchNodeGeneratorTest {
+    @Test
+    public void testJoinedSolutionReachesTarget() {
+        SlidingPuzzle puzzle = new SlidingPuzzle(3);
+        PuzzleFields target = puzzle.createFields();
+        PuzzleFields start = puzzle.createFields(
+                8, 1, 3,
+                4, 0, 2,
+                7, 6, 5);
+        PuzzleEnvironment environment = new PuzzleEnvironment(puzzle, target);
+        PuzzleSearchNodeGenerator generator = new PuzzleSearchNodeGenerator();
+        ManhattanDistance heuristic = new ManhattanDistance();
+
+        BasicManager<PuzzleSearchNode> referenceManager = new BasicManager<>(IntegerCost.valueOf(Integer.MAX_VALUE));
+        Solvers.solve(new AStarStateSolver(), referenceManager, generator, heuristic, environment, generator.createStartState(start, environment));
+
+        BasicManager<PuzzleSearchNode> manager = new BasicManager<>(IntegerCost.valueOf(Integer.MAX_VALUE));
+        Solvers.solve(new MMSolver(), manager, generator, heuristic, environment, generator.createStartState(start, environment));
+
+        PuzzleSearchNode solution = manager.getSolution().getNode();
+        assertTrue(manager.getSolution().isOptimal());
+        assertEquals(solution.getCost(), referenceManager.getSolution().getNode().getCost());
+        assertEquals(solution.getMoves().toList().size(), solution.getMovesPerformed());
+
+        PuzzleFields fields = start;
+        for (Move move : solution.getMoves().toList())
+            fields = puzzle.move(fields, move);
+        assertEquals(fields, target);
+    }
+
+    @DataProvider
+    public Object[][] incrementalHeuristics() {
+        return new Object[][]{
+                {new ManhattanDistance(), 4},
+                {new LinearConflict(), 4},
+                {new ManhattanDistance(), 5},
+                {new LinearConflict(), 5}};
+    }
+
+    @Test(dataProvider = "incrementalHeuristics")
+    public void testIncrementalEstimatesMatchFullEstimates(IncrementalHeuristic<PuzzleSearchNode, PuzzleEnvironment, FieldMove> heuristic, int dimension) {
+        SlidingPuzzle puzzle = new SlidingPuzzle(dimension);
+        PuzzleFields target = puzzle.move(puzzle.move(puzzle.createFields(), Move.LEFT), Move.UP);
+        PuzzleEnvironment environment = new PuzzleEnvironment(puzzle, target);
+        PuzzleSearchNodeGenerator generator = new PuzzleSearchNodeGenerator();
+        Random random = new Random(0);
+
+        // Walk randomly through the search space, so each estimate is derived from a chain of incremental estimates
+        PuzzleSearchNode node = generator.createStartState(target, environment);
+        for (int i = 0; i < 500; i++) {
+            List<InformedSearchNode<PuzzleSearchNode>> successors = generator.generateSuccessorNodes(node, environment, heuristic);
+            for (InformedSearchNode<PuzzleSearchNode> successor : successors) {
+                PuzzleSearchNode successorNode = successor.getSearchNode();
+                assertEquals(successor.getEstimatedRemainingCost(), heuristic.estimateRemainingCost(successorNode, environment));
+                assertEquals(successorNode.getEmptyPosition(), puzzle.getEmptyPosition(successorNode.getPuzzleFields()));
+            }
+            node = successors.get(random.nextInt(successors.size())).getSearchNode();
+        }
+    }
+
+    @Test
+    public void testStoredEstimatesAreOnlyReusedByTheirHeuristic() {
+        SlidingPuzzle puzzle = new SlidingPuzzle(4);
+        PuzzleFields target = puzzle.createFields();
+        PuzzleEnvironment environment = new PuzzleEnvironment(puzzle, target);
+        PuzzleEnvironment otherEnvironment = new PuzzleEnvironment(puzzle, puzzle.move(target, Move.LEFT));
+        PuzzleSearchNodeGenerator generator = new PuzzleSearchNodeGenerator();
+        ManhattanDistance manhattanDistance = new ManhattanDistance();
+        LinearConflict linearConflict = new LinearConflict();
+
+        PuzzleFields start = target;
+        for (Move move : new Move[]{Move.LEFT, Move.LEFT, Move.UP, Move.RIGHT})
+            start = puzzle.move(start, move);
+        PuzzleSearchNode node = generator.createStartState(start, environment);
+        PuzzleSearchNode successor = generator.generateSuccessorNodes(node, environment, manhattanDistance).get(0).getSearchNode();
+
+        assertEquals(manhattanDistance.getEstimateTag(environment), manhattanDistance.getEstimateTag(environment));
+        assertNotEquals(linearConflict.getEstimateTag(environment), manhattanDistance.getEstimateTag(environment));
+        for (InformedSearchNode<PuzzleSearchNode> next : generator.generateSuccessorNodes(successor, environment, linearConflict))
+            assertEquals(next.getEstimatedRemainingCost(), linearConflict.estimateRemainingCost(next.getSearchNode(), environment));
+        for (InformedSearchNode<PuzzleSearchNode> next : generator.generateSuccessorNodes(successor, otherEnvironment, manhattanDistance))
+            assertEquals(next.getEstimatedRemainingCost(), manhattanDistance.estimateRemainingCost(next.getSearchNode(), otherEnvironment));
+    }
+
+    @Test
+    public void testBatchEvaluationReusesScratchBuffers() {
+        SlidingPuzzle puzzle = new SlidingPuzzle(4);
+        PuzzleFields target = puzzle.createFields();
+        PuzzleEnvironment environment = new PuzzleEnvironment(puzzle, target);
+        PuzzleSearchNodeGenerator generator = new PuzzleSearchNodeGenerator();
+        RecordingBatchHeuristic heuristic = new RecordingBatchHeuristic();
+        Random random = new Random(1);
+
+        PuzzleSearchNode node = generator.createStartState(target, environment);
+        for (int i = 0; i < 50; i++) {
+            List<InformedSearchNode<PuzzleSearchNode>> successors = generator.generateSuccessorNodes(node, environment, heuristic);
+            // No intermediate list or array is created for an expansion
+            assertEquals(heuristic.calls, i + 1);
+            assertTrue(heuristic.nodes.isEmpty());
+            assertNotSame(successors, heuristic.nodes);
+            for (InformedSearchNode<PuzzleSearchNode> successor : successors)
+                assertEquals(successor.getEstimatedRemainingCost(), heuristic.estimateRemainingCost(successor.getSearchNode(), environment));
+            node = successors.get(random.nextInt(successors.size())).getSearchNode();
+        }
+    }
+
+    @Test
+    public void testSolveLargePuzzle() {
+        SlidingPuzzle puzzle = new SlidingPuzzle(5);
+        PuzzleFields target = puzzle.createFields();
+        PuzzleFields start = target;
+        for (Move move : new Move[]{Move.UP, Move.UP, Move.LEFT, Move.LEFT, Move.DOWN, Move.LEFT, Move.UP, Move.UP})
+            start = puzzle.move(start, move);
+        PuzzleEnvironment environment = new PuzzleEnvironment(puzzle, target);
+        PuzzleSearchNodeGenerator generator = new PuzzleSearchNodeGenerator();
+
+        BasicManager<PuzzleSearchNode> manager = new BasicManager<>(IntegerCost.valueOf(Integer.MAX_VALUE));
+        Solvers.solve(new IDAStarSolver(), manager, generator, new LinearConflict(), environment, generator.createStartState(start, environment));
+
+        PuzzleSearchNode solution = manager.getSolution().getNode();
+        assertEquals(solution.getMovesPerformed(), 8);
+        PuzzleFields fields = start;
+        for (Move move : solution.getMoves().toList())
+            fields = puzzle.move(fields, move);
+        assertEquals(fields, target);
+    }
+
+    @Test
+    public void testParallelSolverMatchesSequentialSolver() {
+        SlidingPuzzle puzzle = new SlidingPuzzle(4);
+        PuzzleFields target = puzzle.createFields();
+        PuzzleFields start = target;
+        Random random = new Random(3);
+        for (int i = 0; i < 60; i++)
+            start = puzzle.move(start, Move.values()[random.nextInt(Move.values().length)]);
+        PuzzleEnvironment environment = new PuzzleEnvironment(puzzle, target);
+        PuzzleSearchNodeGenerator generator = new PuzzleSearchNodeGenerator();
+        LinearConflict heuristic = new LinearConflict();
+
+        BasicManager<PuzzleSearchNode> sequentialManager = new BasicManager<>(IntegerCost.valueOf(Integer.MAX_VALUE));
+        Solvers.solve(new IDAStarSolver(), sequentialManager, generator, heuristic, environment, generator.createStartState(start, environment));
+
+        BasicManager<PuzzleSearchNode> manager = new BasicManager<>(IntegerCost.valueOf(Integer.MAX_VALUE));
+        Solvers.solve(new ParallelIDAStarSolver(4, 3), manager, generator, heuristic, environment, generator.createStartState(start, environment));
+
+        PuzzleSearchNode solution = manager.getSolution().getNode();
+        assertTrue(manager.getSolution().isOptimal());
+        assertEquals(solution.getCost(), sequentialManager.getSolution().getNode().getCost());
+        PuzzleFields fields = start;
+        for (Move move : solution.getMoves().toList())
+            fields = puzzle.move(fields, move);
+        assertEquals(fields, target);
+    }
+
+    /**
+     * A {@link ManhattanDistance} that checks that each batch evaluation receives the same list and array.
+     */
+    private static class RecordingBatchHeuristic implements BatchHeuristic<PuzzleSearchNode, PuzzleEnvironment> {
+        private final ManhattanDistance heuristic = new ManhattanDistance();
+        private List<? extends PuzzleSearchNode> nodes;
+        private long[] estimates;
+        private int calls;
+
+        @Override
+        public PrimitiveCost estimateRemainingCost(PuzzleSearchNode node, PuzzleEnvironment environment) {
+            return heuristic.estimateRemainingCost(node, environment);
+        }
+
+        @Override
+        public void estimateRemainingCosts(List<? extends PuzzleSearchNode> nodes, PuzzleEnvironment environment, long[] estimates) {
+            if (calls++ > 0) {
+                assertSame(nodes, this.nodes);
+                assertSame(estimates, this.estimates);
+            }
+            this.nodes = nodes;
+            this.estimates = estimates;
+            heuristic.estimateRemainingCosts(nodes, environment, estimates);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.github.dieterdepaepe.jsearch.problem.npuzzle;
+
+import com.github.dieterdepaepe.jsearch.datastructure.lightweight.SingleLinkedListing;
+import com.github.dieterdepaepe.jsearch.search.constructive.Solvers;
+import com.github.dieterdepaepe.jsearch.search.constructive.cost.IntegerCost;
+import com.github.dieterdepaepe.jsearch.search.constructive.solver.AStarStateSolver;
+import com.github.dieterdepaepe.jsearch.search.constructive.solver.external.ExternalAStarSolver;
+import com.github.dieterdepaepe.jsearch.search.constructive.util.BasicManager;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+
+import static org.testng.Assert.*;
+
+/**
+ * Test class for {@link PuzzleSearchNodeSerializer}.
+ * @author Dieter De Paepe
+ */
+public class PuzzleSearchNodeSerializerTest {
+    @Test
+    public void testRoundTrip() {
+        SlidingPuzzle puzzle = new SlidingPuzzle(5);
+        PuzzleFields fields = puzzle.move(puzzle.move(puzzle.createFields(), Move.LEFT), Move.UP);
+        SingleLinkedListing<Move> moves = SingleLinkedListing.of(Move.LEFT, Move.UP, Move.RIGHT, Move.DOWN, Move.UP);
+        PuzzleSearchNode node = new PuzzleSearchNode(fields, moves, 5, false, puzzle.getEmptyPosition(fields));
+        PuzzleSearchNodeSerializer serializer = new PuzzleSearchNodeSerializer();
+
+        ByteBuffer buffer = ByteBuffer.allocate(serializer.getSerializedSize(node));
+        serializer.serialize(node, buffer);
+        assertFalse(buffer.hasRemaining());
+        buffer.flip();
+        PuzzleSearchNode result = serializer.deserialize(buffer);
+
+        assertFalse(buffer.hasRemaining());
+        assertEquals(result.getPuzzleFields(), fields);
+        assertEquals(result.getMoves().toList(), moves.toList());
+        assertEquals(result.getMovesPerformed(), 5);
+        assertEquals(result.getEmptyPosition(), node.getEmptyPosition());
+        assertFalse(result.isGoal());
+    }
+
+    @Test
+    public void testSolveWithExternalAStar() throws IOException {
+        SlidingPuzzle puzzle = new SlidingPuzzle(3);
+        PuzzleFields target = puzzle.createFields();
+        PuzzleFields start = puzzle.createFields(
+                8, 1, 3,
+                4, 0, 2,
+                7, 6, 5);
+        PuzzleEnvironment environment = new PuzzleEnvironment(puzzle, target);
+        PuzzleSearchNodeGenerator generator = new PuzzleSearchNodeGenerator();
+        ManhattanDistance heuristic = new ManhattanDistance();
+
+        BasicManager<PuzzleSearchNode> referenceManager = new BasicManager<>(IntegerCost.valueOf(Integer.MAX_VALUE));
+        Solvers.solve(new AStarStateSolver(), referenceManager, generator, heuristic, environment, generator.createStartState(start, environment));
+
+        File directory = Files.createTempDirectory("puzzle-search").toFile();
+        try {
+            ExternalAStarSolver<PuzzleSearchNode> solver = new ExternalAStarSolver<>(
+                    new PuzzleSearchNodeSerializer(), PuzzleSearchNode.ENCODED_STATE_SIZE, directory, 4096);
+            BasicManager<PuzzleSearchNode> manager = new BasicManager<>(IntegerCost.valueOf(Integer.MAX_VALUE));
+            Solvers.solve(solver, manager, generator, heuristic, environment, generator.createStartState(start, environment));
+
+            PuzzleSearchNode solution = manager.getSolution().getNode();
+            assertEquals(solution.getCost(), referenceManager.getSolution().getNode().getCost());
+            PuzzleFields fields = start;
+            for (Move move : solution.getMoves().toList())
+                fields = puzzle.move(fields, move);
+            assertEquals(fields, target);
+        } finally {
+            assertEquals(directory.list().length, 0);
+            directory.delete();
+        }
+    }
+}
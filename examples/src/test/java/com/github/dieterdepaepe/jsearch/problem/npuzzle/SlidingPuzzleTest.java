@@ -71,6 +71,98 @@ public class SlidingPuzzleTest {
         assertEquals(puzzle.move(fields, Move.RIGHT), resultRight);
     }
 
+    @Test
+    public void testMoveAtBorder() {
+        SlidingPuzzle puzzle = new SlidingPuzzle(3);
+        PuzzleFields fields = puzzle.createFields(
+                8, 0, 1,
+                2, 3, 4,
+                5, 6, 7);
+
+        assertSame(puzzle.move(fields, Move.UP), fields);
+        assertSame(puzzle.move(fields, Move.LEFT), fields);
+        assertEquals(puzzle.getMovedEmptyPosition(0, Move.UP), -1);
+        assertEquals(puzzle.getMovedEmptyPosition(0, Move.LEFT), -1);
+        assertEquals(puzzle.getMovedEmptyPosition(0, Move.RIGHT), 1);
+        assertEquals(puzzle.getMovedEmptyPosition(0, Move.DOWN), 3);
+    }
+
+    @Test
+    public void testMoveWithKnownPositions() {
+        SlidingPuzzle puzzle = new SlidingPuzzle(4);
+        PuzzleFields fields = puzzle.createFields(
+                5,  0,  9,  1,
+                6, 10,  3, 13,
+                4, 15,  8, 14,
+                7, 11, 12,  2);
+
+        int emptyPosition = puzzle.getEmptyPosition(fields);
+        assertEquals(emptyPosition, 9);
+        for (Move move : Move.values()) {
+            int movedEmptyPosition = puzzle.getMovedEmptyPosition(emptyPosition, move);
+            PuzzleFields movedFields = puzzle.move(fields, emptyPosition, movedEmptyPosition);
+            assertEquals(movedFields, puzzle.move(fields, move));
+            assertEquals(puzzle.getEmptyPosition(movedFields), movedEmptyPosition);
+            assertEquals(movedFields.getValue(emptyPosition), fields.getValue(movedEmptyPosition));
+        }
+    }
+
+    @Test
+    public void testLargePuzzleFields() {
+        SlidingPuzzle puzzle = new SlidingPuzzle(5);
+        PuzzleFields fields = puzzle.createFields(
+                24, 23, 22, 21, 20,
+                19, 18, 17, 16, 15,
+                14, 13, 12, 11, 10,
+                 9,  8,  7,  6,  5,
+                 4,  3,  2,  1,  0);
+
+        for (int i = 0; i < 25; i++)
+            assertEquals(fields.getValue(i), 24 - i);
+        assertEquals(puzzle.getEmptyPosition(fields), 0);
+        assertEquals(puzzle.getValue(fields, 4, 4), 0);
+
+        PuzzleFields copy = new PuzzleFields(fields);
+        assertEquals(copy, fields);
+        assertEquals(copy.hashCode(), fields.hashCode());
+        copy.setValue(12, 31);
+        assertNotEquals(copy, fields);
+        assertEquals(copy.getValue(12), 31);
+        assertEquals(copy.getValue(11), 13);
+        assertEquals(copy.getValue(13), 11);
+    }
+
+    @Test
+    public void testLargePuzzleMove() {
+        SlidingPuzzle puzzle = new SlidingPuzzle(5);
+        PuzzleFields fields = puzzle.createFields(
+                 0,  1,  2,  3,  4,
+                 5,  6,  7,  8,  9,
+                10, 11, 12, 13, 14,
+                15, 24, 16, 17, 18,
+                19, 20, 21, 22, 23);
+
+        PuzzleFields resultUp = puzzle.createFields(
+                 0,  1,  2,  3,  4,
+                 5,  6,  7,  8,  9,
+                10, 24, 12, 13, 14,
+                15, 11, 16, 17, 18,
+                19, 20, 21, 22, 23);
+
+        PuzzleFields resultDown = puzzle.createFields(
+                 0,  1,  2,  3,  4,
+                 5,  6,  7,  8,  9,
+                10, 11, 12, 13, 14,
+                15, 20, 16, 17, 18,
+                19, 24, 21, 22, 23);
+
+        assertEquals(puzzle.move(fields, Move.UP), resultUp);
+        assertEquals(puzzle.move(fields, Move.DOWN), resultDown);
+        assertEquals(puzzle.move(puzzle.move(fields, Move.LEFT), Move.RIGHT), fields);
+        assertEquals(puzzle.getEmptyPosition(resultUp), 11);
+        assertTrue(puzzle.canReach(puzzle.createFields(), resultDown));
+    }
+
     @Test
     public void testCanReach() {
         //Test for even width puzzle